@@ -0,0 +1,65 @@
+package com.ktriasia.contractmanager.benchmark;
+
+import com.ktriasia.contractmanager.model.enums.ClauseCategory;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+
+/**
+ * 基准测试使用的数据构造方法
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 构造大约为指定字节数的属性JSON
+     * @param bytes 目标字节数，0 表示无属性
+     * @return JSON字符串，bytes 为 0 时返回null
+     */
+    static String attributesJson(int bytes) {
+        if (bytes <= 0) {
+            return null;
+        }
+        StringBuilder json = new StringBuilder("{\"rows\":[");
+        int row = 0;
+        while (json.length() < bytes - 2) {
+            if (row > 0) {
+                json.append(',');
+            }
+            json.append("{\"key\":\"field").append(row).append("\",\"value\":\"值").append(row).append("\"}");
+            row++;
+        }
+        return json.append("]}").toString();
+    }
+
+    static TemplateElementConfig templateElementConfig(int index, boolean fromClauseLibrary, String attributes) {
+        TemplateElementConfig config = new TemplateElementConfig();
+        config.setConfigId(index);
+        config.setTemplateId(1);
+        config.setOrderIndex(index);
+        config.setDefaultAttributes(attributes);
+        if (fromClauseLibrary) {
+            config.setElementType("CLAUSE");
+            config.setContentSource("CLAUSE_LIBRARY");
+            config.setSourceClauseId(index);
+        } else {
+            config.setElementType(index % 5 == 0 ? "HEADER_2" : "PARAGRAPH");
+            config.setContentSource("STATIC");
+            config.setStaticContent("第" + index + "段 双方应本着诚实信用原则履行本合同约定的各项义务。");
+        }
+        return config;
+    }
+
+    static Clause clause(Integer clauseId) {
+        Clause clause = new Clause();
+        clause.setClauseId(clauseId);
+        clause.setTitle("条款" + clauseId);
+        clause.setContent("条款" + clauseId + "：任何一方违反本合同约定的，应向守约方承担违约责任，并赔偿由此造成的全部损失。");
+        clause.setClauseCategory(ClauseCategory.values()[clauseId % ClauseCategory.values().length]);
+        return clause;
+    }
+}
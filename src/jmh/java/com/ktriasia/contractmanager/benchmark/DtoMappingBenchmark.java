@@ -0,0 +1,87 @@
+package com.ktriasia.contractmanager.benchmark;
+
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体到DTO转换及元素类型解析的基准测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    /** 元素类型 */
+    @Param({"PARAGRAPH", "CLAUSE", "TABLE", "FILLABLE_FIELD"})
+    private ElementType elementType;
+
+    /** 元素属性JSON的大致字节数 */
+    @Param({"0", "256", "4096"})
+    private int attributesBytes;
+
+    /** 传给 ElementType.fromString 的原始写法：规范名、小写或别名 */
+    @Param({"canonical", "lowercase", "alias"})
+    private String rawTypeStyle;
+
+    private ContractElement element;
+    private Clause clause;
+    private String rawType;
+
+    @Setup
+    public void setUp() {
+        element = new ContractElement();
+        element.setElementId(1);
+        element.setContractId(1);
+        element.setElementType(elementType);
+        element.setContent("第一条 双方应本着诚实信用原则履行本合同约定的各项义务。");
+        element.setAttributes(ElementAttributes.of(BenchmarkData.attributesJson(attributesBytes)));
+        element.setSourceClauseId(elementType == ElementType.CLAUSE ? 100 : null);
+        element.setOrderIndex(1024);
+
+        clause = BenchmarkData.clause(100);
+
+        rawType = switch (rawTypeStyle) {
+            case "lowercase" -> " " + elementType.name().toLowerCase() + " ";
+            case "alias" -> "HEADER";
+            default -> elementType.name();
+        };
+    }
+
+    @Benchmark
+    public ContractElementDTO contractElementFromEntity() {
+        return ContractElementDTO.fromEntity(element);
+    }
+
+    @Benchmark
+    public ClauseDTO clauseFromEntity() {
+        return ClauseDTO.fromEntity(clause);
+    }
+
+    @Benchmark
+    public ElementType elementTypeFromString() {
+        return ElementType.fromString(rawType);
+    }
+}
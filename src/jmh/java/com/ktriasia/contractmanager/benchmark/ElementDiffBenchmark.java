@@ -0,0 +1,142 @@
+package com.ktriasia.contractmanager.benchmark;
+
+import com.ktriasia.contractmanager.model.dto.ContractDiffDTO;
+import com.ktriasia.contractmanager.model.dto.TextSegmentDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.diff.ElementDiffer;
+import com.ktriasia.contractmanager.service.diff.TextDiff;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合同元素差异比较的基准测试
+ * <p>在合成的大合同上比较：右侧由左侧按给定比例随机改写、删除和插入元素得到，
+ * 元素约一半来自条款库（按条款ID对齐），其余按内容对齐。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementDiffBenchmark {
+
+    private static final ElementType[] TYPES = {
+            ElementType.CLAUSE, ElementType.PARAGRAPH, ElementType.HEADER_2, ElementType.FILLABLE_FIELD};
+
+    /** 左侧合同的元素数量 */
+    @Param({"1000", "5000", "20000"})
+    private int elementCount;
+
+    /** 被改写、删除或插入的元素比例（百分比） */
+    @Param({"1", "10", "50"})
+    private int changePercent;
+
+    private List<ContractElement> left;
+    private List<ContractElement> right;
+    private String leftText;
+    private String rightText;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(elementCount * 31L + changePercent);
+        left = new ArrayList<>(elementCount);
+        right = new ArrayList<>(elementCount);
+        int nextId = 1;
+        for (int i = 0; i < elementCount; i++) {
+            ContractElement original = element(nextId++, i, random);
+            left.add(original);
+            if (random.nextInt(100) >= changePercent) {
+                right.add(copy(original, nextId++, original.getContent()));
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0 -> right.add(copy(original, nextId++, reword(original.getContent(), random)));
+                case 1 -> {
+                    // 删除
+                }
+                default -> {
+                    right.add(copy(original, nextId++, original.getContent()));
+                    ContractElement inserted = element(nextId++, i, random);
+                    inserted.setOrderIndex(original.getOrderIndex() + 512);
+                    right.add(inserted);
+                }
+            }
+        }
+        leftText = content(0, 400);
+        rightText = reword(leftText, random);
+    }
+
+    @Benchmark
+    public ContractDiffDTO diffElements() {
+        return ElementDiffer.diff(left, right, false);
+    }
+
+    @Benchmark
+    public List<TextSegmentDTO> diffLongClauseText() {
+        return TextDiff.diff(leftText, rightText);
+    }
+
+    private static ContractElement element(int id, int position, Random random) {
+        ContractElement element = new ContractElement();
+        element.setElementId(id);
+        element.setContractId(1);
+        element.setOrderIndex(position * 1024);
+        element.setElementType(TYPES[random.nextInt(TYPES.length)]);
+        if (element.getElementType() == ElementType.CLAUSE) {
+            element.setSourceClauseId(id);
+        }
+        element.setContent(content(id, 20 + random.nextInt(200)));
+        return element;
+    }
+
+    private static ContractElement copy(ContractElement original, int id, String content) {
+        ContractElement element = new ContractElement();
+        element.setElementId(id);
+        element.setContractId(2);
+        element.setOrderIndex(original.getOrderIndex());
+        element.setElementType(original.getElementType());
+        element.setSourceClauseId(original.getSourceClauseId());
+        element.setContent(content);
+        return element;
+    }
+
+    /**
+     * 约每十个词改写一个
+     */
+    private static String reword(String content, Random random) {
+        String[] words = content.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            if (random.nextInt(10) == 0) {
+                words[i] = "修订" + random.nextInt(1000);
+            }
+        }
+        return String.join(" ", words);
+    }
+
+    private static String content(int seed, int words) {
+        StringBuilder content = new StringBuilder("第" + seed + "条");
+        for (int i = 0; i < words; i++) {
+            content.append(' ').append(i % 7 == 0 ? "甲方" : "term" + (seed + i) % 97);
+        }
+        return content.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ktriasia.contractmanager.benchmark;
+
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 模板到合同元素转换的基准测试
+ * <p>与转换器单元测试一样使用模拟的 {@link ClauseMapper}，只衡量转换本身的开销。
+ * 模板规模、条款元素占比和默认属性JSON大小均可参数化。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateConversionBenchmark {
+
+    /** 模板中的元素数量 */
+    @Param({"10", "100", "1000"})
+    private int templateSize;
+
+    /** 来源于条款库的元素占比（百分比） */
+    @Param({"0", "50", "100"})
+    private int clausePercent;
+
+    /** 每个元素默认属性JSON的大致字节数 */
+    @Param({"0", "256", "4096"})
+    private int attributesBytes;
+
+    private TemplateToContractConverter converter;
+    private List<TemplateElementConfig> configs;
+    private CompiledTemplate compiledTemplate;
+
+    @Setup
+    public void setUp() {
+        // stubOnly：不记录调用，避免长时间运行时的内存增长
+        ClauseMapper clauseMapper = mock(ClauseMapper.class, withSettings().stubOnly());
+        when(clauseMapper.selectByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream().map(BenchmarkData::clause).toList();
+        });
+        converter = new TemplateToContractConverter(clauseMapper);
+
+        configs = new ArrayList<>(templateSize);
+        String attributes = BenchmarkData.attributesJson(attributesBytes);
+        for (int i = 1; i <= templateSize; i++) {
+            configs.add(BenchmarkData.templateElementConfig(i, i * 100 <= clausePercent * templateSize, attributes));
+        }
+        Collections.shuffle(configs, new Random(42));
+        compiledTemplate = converter.compile(1, new ArrayList<>(configs));
+    }
+
+    /**
+     * 未命中缓存时的完整路径：排序、批量加载条款并编译，再生成合同元素
+     */
+    @Benchmark
+    public List<ContractElement> compileAndConvert() {
+        return converter.convertToContractElements(new ArrayList<>(configs), 1);
+    }
+
+    /**
+     * 仅编译模板（排序与批量加载条款）
+     */
+    @Benchmark
+    public CompiledTemplate compile() {
+        return converter.compile(1, new ArrayList<>(configs));
+    }
+
+    /**
+     * 命中模板缓存时的路径：由编译后的模板生成合同元素
+     */
+    @Benchmark
+    public List<ContractElement> convertCompiled() {
+        return converter.convertToContractElements(compiledTemplate, 1);
+    }
+
+}
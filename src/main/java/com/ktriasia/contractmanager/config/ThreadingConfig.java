@@ -0,0 +1,48 @@
+package com.ktriasia.contractmanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线程执行配置
+ * <p>是否使用虚拟线程由 {@code spring.threads.virtual.enabled} 统一控制：开启后Tomcat请求处理、
+ * {@code @Async} 任务（applicationTaskExecutor）以及通过 {@link ThreadingMode} 创建的内部执行器都运行在虚拟线程上。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.0
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    /** 模板异步创建任务线程池的Bean名称 */
+    public static final String TEMPLATE_JOB_EXECUTOR = "templateJobExecutor";
+
+    /** 模板任务线程池在指标中的名称 */
+    static final String TEMPLATE_JOB_EXECUTOR_METRIC = "templateJobs";
+
+    /**
+     * 模板异步创建任务的线程池：固定线程数、有界队列，队列已满时抛出 {@link java.util.concurrent.RejectedExecutionException}
+     */
+    @Bean(name = TEMPLATE_JOB_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor templateJobExecutor(ThreadingMode threadingMode,
+                                                  MeterRegistry meterRegistry,
+                                                  @Value("${contract-manager.template-jobs.threads:2}") int threads,
+                                                  @Value("${contract-manager.template-jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadingMode.newThreadFactory("template-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, TEMPLATE_JOB_EXECUTOR_METRIC, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+}
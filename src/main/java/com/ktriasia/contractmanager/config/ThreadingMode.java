@@ -0,0 +1,39 @@
+package com.ktriasia.contractmanager.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 当前的线程模式（平台线程或虚拟线程）
+ * <p>应用内部自建的执行器须通过 {@link #newThreadFactory(String)} 创建线程，以便与容器保持同一种线程模式。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Getter
+@Component
+public class ThreadingMode {
+
+    /** 是否启用虚拟线程 */
+    private final boolean virtualThreads;
+
+    public ThreadingMode(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * 按当前线程模式创建线程工厂
+     * @param namePrefix 线程名前缀
+     * @return 线程工厂
+     */
+    public ThreadFactory newThreadFactory(String namePrefix) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(namePrefix, 0).factory();
+        }
+        return Thread.ofPlatform().name(namePrefix, 0).daemon(true).factory();
+    }
+}
@@ -0,0 +1,167 @@
+package com.ktriasia.contractmanager.config;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 虚拟线程固定（pinning）检测报告
+ * <p>虚拟线程在 {@code synchronized} 块内阻塞时会固定其载体线程，数据库驱动或连接池中的此类代码会抵消虚拟线程的收益。
+ * 启用虚拟线程时，应用启动完成后会在虚拟线程上并发执行一批探测查询，同时通过JFR的 {@code jdk.VirtualThreadPinned}
+ * 事件记录固定发生的位置，并按驱动/连接池的代码位置汇总输出到日志。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningReporter {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final DataSource dataSource;
+
+    /** 探测查询次数 */
+    @Value("${contract-manager.threads.pinning-probe.queries:200}")
+    private int probeQueries;
+
+    /**
+     * 应用启动完成后在后台执行探测，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("pinning-probe").start(() -> {
+            try {
+                probe().log();
+            } catch (Exception e) {
+                log.warn("虚拟线程固定检测失败: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 执行一次固定检测
+     * @return 检测报告
+     * @throws Exception 探测查询失败时抛出
+     */
+    public PinningReport probe() throws Exception {
+        Map<String, Integer> sites = new ConcurrentHashMap<>();
+        AtomicLong longestNanos = new AtomicLong();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent(PINNED_EVENT, event -> {
+                sites.merge(describeSite(event.getStackTrace()), 1, Integer::sum);
+                longestNanos.accumulateAndGet(event.getDuration().toNanos(), Math::max);
+            });
+            stream.startAsync();
+            runProbeQueries();
+            stream.stop();
+        }
+        return new PinningReport(describeDriver(), probeQueries, Map.copyOf(sites), Duration.ofNanos(longestNanos.get()));
+    }
+
+    private void runProbeQueries() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(probeQueries);
+            for (int i = 0; i < probeQueries; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT 1");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private String describeDriver() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDriverName() + " " + metaData.getDriverVersion();
+        } catch (SQLException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * 取栈上第一个非JDK的帧作为固定位置（通常是驱动或连接池内持有监视器锁的方法）
+     */
+    static String describeSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return className + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "<jdk internal>";
+    }
+
+    /**
+     * 固定检测报告
+     * @param driver JDBC驱动名称及版本
+     * @param probeQueries 探测查询次数
+     * @param sites 固定位置及次数
+     * @param longest 最长一次固定的持续时间
+     */
+    public record PinningReport(String driver, int probeQueries, Map<String, Integer> sites, Duration longest) {
+
+        /**
+         * 是否检测到固定
+         * @return 检测到固定时返回true
+         */
+        public boolean pinned() {
+            return !sites.isEmpty();
+        }
+
+        void log() {
+            if (!pinned()) {
+                log.info("虚拟线程固定检测: 驱动 [{}]，{} 次探测查询未发现固定", driver, probeQueries);
+                return;
+            }
+            int total = sites.values().stream().mapToInt(Integer::intValue).sum();
+            StringBuilder report = new StringBuilder();
+            sites.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(site -> report.append(System.lineSeparator())
+                            .append("  ").append(site.getValue()).append(" x ").append(site.getKey()));
+            log.warn("虚拟线程固定检测: 驱动 [{}]，{} 次探测查询共发生 {} 次固定，最长 {} ms。"
+                            + "synchronized 内的阻塞会占住载体线程，建议升级到以 ReentrantLock 实现的驱动版本（如 mysql-connector-j 9.x）。固定位置:{}",
+                    driver, probeQueries, total, longest.toMillis(), report);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.spring.boot3.autoconfigure.DruidDataSourceWrapper;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置，配置了 contract-manager.datasource.replica-urls 时生效
+ * <ul>
+ *   <li>主库仍是按 spring.datasource.* 配置的Druid连接池；每个副本复制主库连接池的配置，只替换URL（及可选的账号）；</li>
+ *   <li>应用使用的数据源是包装了 {@link ReadWriteRoutingDataSource} 的 {@link LazyConnectionDataSourceProxy}，
+ *       连接在执行第一条语句时才获取，此时事务的只读标志与 {@link ReplicaRead} 作用域均已生效；</li>
+ *   <li>只读事务（{@code @Transactional(readOnly = true)}）与 {@link ReplicaRead} 标注的方法读副本，其余读写都走主库。</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "contract-manager.datasource", name = "replica-urls")
+public class DataSourceRoutingConfig {
+
+    @Value("${contract-manager.datasource.max-lag:2s}")
+    private Duration maxLag;
+
+    @Value("${contract-manager.datasource.stickiness:5s}")
+    private Duration stickiness;
+
+    @Value("${contract-manager.datasource.retry-after:10s}")
+    private Duration retryAfter;
+
+    /**
+     * 主库连接池，与未启用读写分离时的自动配置相同
+     */
+    @Bean(initMethod = "init", destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.druid")
+    public DruidDataSource primaryDataSource() {
+        return new DruidDataSourceWrapper();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DruidDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${contract-manager.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${contract-manager.datasource.replica-username:}") String replicaUsername,
+            @Value("${contract-manager.datasource.replica-password:}") String replicaPassword) {
+        List<Replica> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            DruidDataSource replica = primaryDataSource.cloneDruidDataSource();
+            replica.setName("replica-" + i);
+            replica.setUrl(replicaUrls.get(i).trim());
+            if (!replicaUsername.isEmpty()) {
+                replica.setUsername(replicaUsername);
+                replica.setPassword(replicaPassword);
+            }
+            replicas.add(new Replica(replica.getName(), replica));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, maxLag, stickiness, retryAfter, meterRegistry);
+    }
+
+    /**
+     * 应用使用的数据源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * 启动时即写入心跳，须等待数据库迁移创建心跳表
+     */
+    @Bean
+    @DependsOnDatabaseInitialization
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                               ThreadingMode threadingMode,
+                                               @Value("${contract-manager.datasource.heartbeat-interval:500ms}") Duration heartbeatInterval) {
+        return new ReplicaLagMonitor(readWriteRoutingDataSource.primary(), readWriteRoutingDataSource.replicas(),
+                threadingMode, heartbeatInterval);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor() {
+        return new ReadYourWritesInterceptor();
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(stickiness));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,154 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的读路由状态
+ * <ul>
+ *   <li>读作用域：{@link #onReplica(Supplier)} 允许作用域内的查询读副本，并记录选中的副本；
+ *       {@link #onPrimary(Supplier)} 强制读主库，其内嵌套的副本作用域不再生效。</li>
+ *   <li>会话：记录当前会话最近一次写入的时间，用于写后读一致（read-your-writes）。会话只存在于Web请求中，
+ *       由 {@link ReadYourWritesFilter} 从Cookie还原并在请求结束时清除；调度器、执行器等后台线程没有会话，
+ *       其写入不做记录，池化线程上不会残留状态，也不会因此被长期固定到主库。</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * 读作用域
+     */
+    static final class Scope {
+        private final boolean replica;
+        /** 作用域内已选中的副本，保证同一作用域的查询读同一个副本 */
+        private Replica pinned;
+
+        private Scope(boolean replica) {
+            this.replica = replica;
+        }
+
+        Replica pinned() {
+            return pinned;
+        }
+
+        void pin(Replica replica) {
+            this.pinned = replica;
+        }
+    }
+
+    /**
+     * 会话的写入状态
+     */
+    static final class Session {
+        private long lastWriteMillis;
+        private final Runnable onWrite;
+        private boolean written;
+
+        Session(long lastWriteMillis, Runnable onWrite) {
+            this.lastWriteMillis = lastWriteMillis;
+            this.onWrite = onWrite;
+        }
+    }
+
+    /**
+     * 在允许读副本的作用域中执行；已处于某个作用域时沿用该作用域
+     * @param action 只读操作
+     * @return 操作的结果
+     */
+    public static <T> T onReplica(Supplier<T> action) {
+        if (SCOPE.get() != null) {
+            return action.get();
+        }
+        return within(new Scope(true), action);
+    }
+
+    /**
+     * 在强制读主库的作用域中执行，用于结果会被缓存、不能容忍副本延迟的读取
+     * @param action 操作
+     * @return 操作的结果
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        return within(new Scope(false), action);
+    }
+
+    private static <T> T within(Scope scope, Supplier<T> action) {
+        Scope previous = SCOPE.get();
+        SCOPE.set(scope);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                SCOPE.set(previous);
+            } else {
+                SCOPE.remove();
+            }
+        }
+    }
+
+    /**
+     * 当前的查询是否可以读副本：处于副本作用域，或处于只读事务且没有被强制读主库
+     * @return 可以读副本时返回当前作用域（只读事务没有作用域时返回的作用域不记录选中的副本），否则返回null
+     */
+    static Scope replicaScope() {
+        Scope scope = SCOPE.get();
+        if (scope != null) {
+            return scope.replica ? scope : null;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // 只读事务本身只使用一个连接
+            return new Scope(true);
+        }
+        return null;
+    }
+
+    /**
+     * 开始一个会话（Web请求）
+     * @param lastWriteMillis 该会话最近一次写入的时间（毫秒），没有时为0
+     * @param onWrite 本次请求首次写入时的回调，如下发Cookie
+     */
+    static void startSession(long lastWriteMillis, Runnable onWrite) {
+        SESSION.set(new Session(lastWriteMillis, onWrite));
+    }
+
+    /**
+     * 结束当前会话
+     */
+    static void endSession() {
+        SESSION.remove();
+    }
+
+    /**
+     * 记录当前会话的写入；不在会话中（非Web请求线程）时忽略
+     */
+    public static void markWrite() {
+        Session session = SESSION.get();
+        if (session == null) {
+            return;
+        }
+        session.lastWriteMillis = System.currentTimeMillis();
+        if (!session.written && session.onWrite != null) {
+            session.onWrite.run();
+        }
+        session.written = true;
+    }
+
+    /**
+     * @return 当前会话最近一次写入的时间（毫秒），没有写入时为0
+     */
+    static long lastWriteMillis() {
+        Session session = SESSION.get();
+        return session != null ? session.lastWriteMillis : 0L;
+    }
+}
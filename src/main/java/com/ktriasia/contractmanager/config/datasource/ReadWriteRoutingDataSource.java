@@ -0,0 +1,149 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离的路由数据源
+ * <p>可以读副本（见 {@link ReadRouting}）的连接按轮询分配到延迟不超过 max-lag 的副本，其余连接都取自主库：</p>
+ * <ul>
+ *   <li>当前会话在 stickiness 时长内写入过时读主库，保证写后读一致；</li>
+ *   <li>同一读作用域固定使用首次选中的副本，该副本不再可用时改读主库（主库总是更新），读到的数据不会倒退；</li>
+ *   <li>没有可用的副本，或从副本获取连接失败时读主库；失败的副本在 retry-after 之后才再次使用。</li>
+ * </ul>
+ * <p>须包装在 {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 中使用，
+ * 使事务的只读标志在真正获取连接之前生效。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /** 路由计数器名称 */
+    public static final String ROUTE_METRIC = "contractmanager.datasource.routes";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long stickinessMillis;
+    private final long retryAfterMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter stickyRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, Duration stickiness,
+                                      Duration retryAfter, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickinessMillis = stickiness.toMillis();
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.primaryRoutes = routeCounter(meterRegistry, "primary");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica");
+        this.stickyRoutes = routeCounter(meterRegistry, "sticky");
+        this.fallbackRoutes = routeCounter(meterRegistry, "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = select();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource().getConnection();
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("从只读副本 {} 获取连接失败，{} 内改读主库", replica.name(), Duration.ofMillis(retryAfterMillis), e);
+                replica.markDown(System.currentTimeMillis() + retryAfterMillis);
+                fallbackRoutes.increment();
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryRoutes.increment();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 选择本次连接使用的副本
+     * @return 副本，应读主库时返回null
+     */
+    private Replica select() {
+        ReadRouting.Scope scope = ReadRouting.replicaScope();
+        if (scope == null || replicas.isEmpty()) {
+            primaryRoutes.increment();
+            return null;
+        }
+        if (System.currentTimeMillis() - ReadRouting.lastWriteMillis() < stickinessMillis) {
+            stickyRoutes.increment();
+            return null;
+        }
+        Replica pinned = scope.pinned();
+        if (pinned != null) {
+            if (pinned.isUsable(maxLagMillis)) {
+                return pinned;
+            }
+            fallbackRoutes.increment();
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.isUsable(maxLagMillis)) {
+                scope.pin(candidate);
+                return candidate;
+            }
+        }
+        fallbackRoutes.increment();
+        return null;
+    }
+
+    /**
+     * @return 主库数据源
+     */
+    public DataSource primary() {
+        return primary;
+    }
+
+    /**
+     * @return 只读副本
+     */
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * 关闭副本的连接池（主库的连接池由容器管理）
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder(ROUTE_METRIC)
+                .description("按路由结果统计的数据库连接获取次数")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
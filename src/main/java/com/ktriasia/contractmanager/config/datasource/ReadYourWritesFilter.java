@@ -0,0 +1,76 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 跨请求的写后读一致
+ * <p>请求写入数据库时下发Cookie {@value #COOKIE_NAME}（写入时间，毫秒），有效期为 stickiness；
+ * 同一客户端随后的请求由Cookie还原会话，在有效期内的读取都走主库，不会因副本延迟读不到自己刚写入的数据。</p>
+ * <p>Cookie只影响读主库还是读副本，客户端篡改不会读到错误的数据。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /** 记录最近一次写入时间的Cookie名称 */
+    public static final String COOKIE_NAME = "cm_last_write";
+
+    private final Duration stickiness;
+
+    public ReadYourWritesFilter(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadRouting.startSession(lastWriteMillis(request), () -> response.addCookie(cookie(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.endSession();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private Cookie cookie(HttpServletRequest request) {
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(System.currentTimeMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+        return cookie;
+    }
+
+    private static long lastWriteMillis(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0L;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    // 不接受未来的时间，避免客户端把会话长期固定在主库
+                    return Math.min(Long.parseLong(cookie.getValue()), System.currentTimeMillis());
+                } catch (NumberFormatException e) {
+                    return 0L;
+                }
+            }
+        }
+        return 0L;
+    }
+}
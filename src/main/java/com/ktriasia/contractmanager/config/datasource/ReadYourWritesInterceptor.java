@@ -0,0 +1,26 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * 记录当前会话的写入
+ * <p>拦截MyBatis执行器的更新，使会话在 stickiness 时长内的读取都走主库。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class ReadYourWritesInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        ReadRouting.markWrite();
+        return invocation.proceed();
+    }
+}
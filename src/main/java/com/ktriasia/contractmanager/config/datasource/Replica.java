@@ -0,0 +1,62 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * 一个只读副本及其由 {@link ReplicaLagMonitor} 维护的状态
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    /** 最近一次测得的延迟（毫秒），-1 表示尚未测得或无法测得 */
+    private volatile long lagMillis = -1;
+    /** 获取连接失败后，在该时间（毫秒）之前不再使用 */
+    private volatile long downUntilMillis;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return 最近一次测得的延迟（毫秒），-1 表示未知
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    void lagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    /**
+     * 标记副本不可用直到指定时间
+     * @param untilMillis 时间（毫秒）
+     */
+    void markDown(long untilMillis) {
+        this.downUntilMillis = untilMillis;
+    }
+
+    /**
+     * 副本可用且延迟已知、不超过容忍值
+     * @param maxLagMillis 延迟容忍值（毫秒）
+     * @return 是否可以读取
+     */
+    boolean isUsable(long maxLagMillis) {
+        long lag = lagMillis;
+        return lag >= 0 && lag <= maxLagMillis && System.currentTimeMillis() >= downUntilMillis;
+    }
+}
@@ -0,0 +1,123 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测量只读副本的复制延迟
+ * <p>每隔 heartbeat-interval 在主库的 replication_heartbeat 表中写入当前时间，随即读取各副本上复制到的心跳时间，
+ * 两者之差即为延迟的保守估计（副本完全同步时接近0，落后 L 时不小于 L）。读取失败的副本延迟记为未知，不再使用，
+ * 恢复后自动重新使用。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE heartbeat_id = 1";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO replication_heartbeat (heartbeat_id, beat_at) VALUES (1, ?)";
+    private static final String SELECT_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE heartbeat_id = 1";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ThreadingMode threadingMode;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, List<Replica> replicas, ThreadingMode threadingMode, Duration interval) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.threadingMode = threadingMode;
+        this.interval = interval;
+    }
+
+    /**
+     * 立即测量一次，并按间隔启动后台测量（间隔为0时不启动，由调用方执行 {@link #check()}）
+     */
+    @PostConstruct
+    public void start() {
+        checkQuietly();
+        if (interval.isPositive()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadingMode.newThreadFactory("replica-lag-"));
+            scheduler.scheduleWithFixedDelay(this::checkQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 写入心跳并测量各副本的延迟
+     */
+    public void check() {
+        try {
+            beat(System.currentTimeMillis());
+        } catch (SQLException e) {
+            log.warn("写入主库心跳失败", e);
+        }
+        for (Replica replica : replicas) {
+            long lag;
+            try {
+                Long beatAt = readBeat(replica.dataSource());
+                lag = beatAt != null ? Math.max(0, System.currentTimeMillis() - beatAt) : -1;
+            } catch (SQLException e) {
+                log.debug("读取只读副本 {} 的心跳失败", replica.name(), e);
+                lag = -1;
+            }
+            if ((lag < 0) != (replica.lagMillis() < 0)) {
+                log.info("只读副本 {} 的延迟{}", replica.name(), lag < 0 ? "无法测得，暂停使用" : "已恢复为 " + lag + "ms");
+            }
+            replica.lagMillis(lag);
+        }
+    }
+
+    private void checkQuietly() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.warn("测量只读副本延迟失败", e);
+        }
+    }
+
+    private void beat(long now) throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_HEARTBEAT)) {
+                update.setLong(1, now);
+                if (update.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_HEARTBEAT)) {
+                insert.setLong(1, now);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private static Long readBeat(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_HEARTBEAT);
+             ResultSet resultSet = select.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+}
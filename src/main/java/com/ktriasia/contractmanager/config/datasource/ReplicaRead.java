@@ -0,0 +1,22 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记只读的服务方法，方法内的查询可以路由到只读副本
+ * <p>与 {@code @Transactional(readOnly = true)} 的效果相同，但不开启事务。只在配置了只读副本时生效；
+ * 同一调用中的查询固定使用同一个副本，读到的数据不会倒退。副本延迟超过容忍值、当前会话刚写入过或副本不可用时仍读主库。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReplicaRead {
+}
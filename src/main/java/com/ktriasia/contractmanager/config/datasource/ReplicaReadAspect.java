@@ -0,0 +1,34 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 使 {@link ReplicaRead} 标注的方法在允许读副本的作用域中执行
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Aspect
+public class ReplicaReadAspect {
+
+    @Around("@annotation(com.ktriasia.contractmanager.config.datasource.ReplicaRead) "
+            + "|| @within(com.ktriasia.contractmanager.config.datasource.ReplicaRead)")
+    public Object onReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        Throwable[] failure = new Throwable[1];
+        Object result = ReadRouting.onReplica(() -> {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                failure[0] = e;
+                return null;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return result;
+    }
+}
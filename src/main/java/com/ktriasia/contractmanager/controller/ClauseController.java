@@ -3,22 +3,35 @@ package com.ktriasia.contractmanager.controller;
 import com.ktriasia.contractmanager.model.dto.ClauseDTO;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.enums.ClauseCategory;
+import com.ktriasia.contractmanager.model.pojo.Clause;
 import com.ktriasia.contractmanager.service.ClauseService;
+import com.ktriasia.contractmanager.service.cache.SerializedResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
- * 条款的控制层，提供获取所有条款、根据标题获取条款、根据分类获取条款以及获取所有条款分类的功能
+ * 条款的控制层，提供获取所有条款、根据标题获取条款、根据分类获取条款、获取所有条款分类以及条款增删改的功能
+ * <p>条款列表与分类由服务层以缓存的序列化字节返回，控制层按 Accept-Encoding 选择 gzip 或原始表示并带上对应的强ETag；
+ * If-None-Match 与ETag一致时由 Spring MVC 返回304。</p>
  * @author ktriasia
- * @version 1.0.1
+ * @version 1.2.1
  * @since 2025-09-18
  */
 @Controller
@@ -27,44 +40,161 @@ import java.util.List;
 @RequestMapping("api/clauses")
 public class ClauseController {
 
+    private static final String GZIP = "gzip";
+
     private final ClauseService clauseService;
 
     /**
-     * 获取所有条款
-     * @return 所有条款的响应实体
+     * 分页获取所有条款
+     * @param cursor 上一页返回的游标（可选）
+     * @param size 分页大小（可选）
+     * @param acceptEncoding 请求的 Accept-Encoding（可选）
+     * @return 一页条款的响应实体
      */
     @GetMapping
-    public ResponseEntity<Result<Object>> getAllClauses(){
-        return clauseService.getAllClauses();
+    public ResponseEntity<byte[]> getAllClauses(@RequestParam(value = "cursor", required = false) String cursor,
+                                                @RequestParam(value = "size", required = false) Integer size,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return respond(clauseService.getAllClauses(cursor, size), acceptEncoding);
     }
 
     /**
-     * 根据标题获取条款
+     * 根据标题分页获取条款
      * @param title 条款标题
-     * @return 匹配条款的响应实体
+     * @param cursor 上一页返回的游标（可选）
+     * @param size 分页大小（可选）
+     * @return 一页匹配条款的响应实体
      */
     @GetMapping(params = {"title"})
-    public ResponseEntity<Result<Object>> getClausesByTitle(@RequestParam("title") String title){
-        return clauseService.getClausesByTitle(title);
+    public ResponseEntity<Result<Object>> getClausesByTitle(@RequestParam("title") String title,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "size", required = false) Integer size){
+        return clauseService.getClausesByTitle(title, cursor, size);
+    }
+
+    /**
+     * 按标题和内容全文检索条款，结果按相关度排序
+     * @param query 查询文本
+     * @param topK 返回的最大条数（可选，默认10）
+     * @return 检索结果的响应实体
+     */
+    @GetMapping("search")
+    public ResponseEntity<Result<Object>> searchClauses(@RequestParam("q") String query,
+                                                        @RequestParam(value = "topK", required = false) Integer topK){
+        return clauseService.searchClauses(query, topK);
     }
 
     /**
-     * 根据分类获取条款
+     * 根据分类分页获取条款
      * @param category 条款分类
-     * @return 匹配条款的响应实体
+     * @param cursor 上一页返回的游标（可选）
+     * @param size 分页大小（可选）
+     * @param acceptEncoding 请求的 Accept-Encoding（可选）
+     * @return 一页匹配条款的响应实体
      */
     @GetMapping(params = {"category"})
-    public ResponseEntity<Result<Object>> getClausesByCategory(@RequestParam("category") String category){
-        return clauseService.getClausesByCategory(category);
+    public ResponseEntity<byte[]> getClausesByCategory(@RequestParam("category") String category,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", required = false) Integer size,
+                                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return respond(clauseService.getClausesByCategory(category, cursor, size), acceptEncoding);
     }
 
     /**
      * 获取所有条款分类
+     * @param acceptEncoding 请求的 Accept-Encoding（可选）
      * @return 所有条款分类的响应实体
      */
     @GetMapping("categories")
-    public ResponseEntity<Result<Object>> getAllCategories(){
-        return clauseService.getAllCategories();
+    public ResponseEntity<byte[]> getAllCategories(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return respond(clauseService.getAllCategories(), acceptEncoding);
+    }
+
+    /**
+     * 根据ID获取条款
+     * @param clauseId 条款ID
+     * @return 条款的响应实体
+     */
+    @GetMapping("/{clauseId}")
+    public ResponseEntity<Result<Object>> getClause(@PathVariable Integer clauseId){
+        return clauseService.getClause(clauseId);
+    }
+
+    /**
+     * 创建条款
+     * @param clause 条款对象
+     * @return 包含创建的条款信息的响应实体
+     */
+    @PostMapping
+    public ResponseEntity<Result<Object>> createClause(@RequestBody Clause clause){
+        return clauseService.createClause(clause);
+    }
+
+    /**
+     * 更新条款
+     * @param clauseId 条款ID
+     * @param clause 条款对象
+     * @return 包含更新的条款信息的响应实体
+     */
+    @PutMapping("/{clauseId}")
+    public ResponseEntity<Result<Object>> updateClause(@PathVariable Integer clauseId, @RequestBody Clause clause){
+        return clauseService.updateClause(clauseId, clause);
+    }
+
+    /**
+     * 删除条款
+     * @param clauseId 条款ID
+     * @return 删除结果的响应实体
+     */
+    @DeleteMapping("/{clauseId}")
+    public ResponseEntity<Result<Object>> deleteClause(@PathVariable Integer clauseId){
+        return clauseService.deleteClause(clauseId);
     }
 
+    /**
+     * 以缓存的字节构造响应：客户端接受 gzip 且有压缩表示时以 gzip 写出，ETag随所选表示变化
+     * <p>不在此处判断条件请求：返回的200响应带有ETag，If-None-Match 一致时由 Spring MVC 改为304并去掉响应体。</p>
+     */
+    private static ResponseEntity<byte[]> respond(SerializedResponse response, String acceptEncoding) {
+        boolean gzip = response.hasGzip() && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(gzip ? response.gzipETag() : response.eTag())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(response.gzipBody());
+        }
+        return builder.body(response.body());
+    }
+
+    /**
+     * 判断 Accept-Encoding 是否接受 gzip：显式列出 gzip 时以其 q 值为准，否则看通配符 *；q=0 表示不接受
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(GZIP)) {
+                return isAcceptable(parts);
+            }
+            if (name.equals("*")) {
+                wildcard = isAcceptable(parts);
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean isAcceptable(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].replace(" ", "").toLowerCase(Locale.ROOT);
+            if (parameter.startsWith("q=")) {
+                return !parameter.substring(2).matches("0(\\.0{0,3})?");
+            }
+        }
+        return true;
+    }
 }
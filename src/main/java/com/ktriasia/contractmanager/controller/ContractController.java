@@ -1,11 +1,18 @@
 package com.ktriasia.contractmanager.controller;
 
 import com.ktriasia.contractmanager.model.dto.ContractDTO;
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
 import com.ktriasia.contractmanager.model.dto.CreateContractFromTemplateDTO;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.service.ContractDiffService;
+import com.ktriasia.contractmanager.service.ContractHistoryService;
+import com.ktriasia.contractmanager.service.ContractImportService;
+import com.ktriasia.contractmanager.service.ContractRenderService;
 import com.ktriasia.contractmanager.service.ContractService;
+import com.ktriasia.contractmanager.service.TemplateJobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -14,13 +21,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * 合同的控制层，提供创建合同、删除合同、获取合同的所有元素以及获取合同的所有条款元素的功能
  *
  * @author ktriasia
- * @version 1.0.1
+ * @version 1.7.0
  * @since 2025-09-18
  */
 @Controller
@@ -30,6 +44,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class ContractController {
 
     private final ContractService contractService;
+    private final TemplateJobService templateJobService;
+    private final ContractImportService contractImportService;
+    private final ContractRenderService contractRenderService;
+    private final ContractDiffService contractDiffService;
+    private final ContractHistoryService contractHistoryService;
 
     /**
      * 创建合同
@@ -42,6 +61,18 @@ public class ContractController {
         return contractService.createContract(contract);
     }
 
+    /**
+     * 批量导入合同及其元素
+     * <p>请求体为NDJSON（application/x-ndjson），每行一个包含 elements 数组的合同对象，边读取边分块写入。</p>
+     *
+     * @param body 请求体输入流
+     * @return 包含导入统计和逐行错误的响应实体
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/jsonl", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Result<Object>> importContracts(InputStream body) {
+        return contractImportService.importContracts(body);
+    }
+
     /**
      * 删除合同
      *
@@ -54,44 +85,181 @@ public class ContractController {
     }
 
     /**
-     * 获取合同的所有元素
+     * 批量删除合同，每个合同的元素按块在短事务中删除
+     *
+     * @param contractIds 合同ID列表
+     * @return 包含每个合同删除结果与进度的响应实体
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Result<Object>> deleteContracts(@RequestBody List<Integer> contractIds) {
+        return contractService.deleteContracts(contractIds);
+    }
+
+    /**
+     * 获取合同的所有元素，支持 If-None-Match / If-Modified-Since 条件请求
      *
      * @param contractId 合同ID
+     * @param includeClauses 是否同时返回元素引用的条款
      * @return 包含合同所有元素的响应实体
      */
     @GetMapping("/{contractId}/elements")
-    public ResponseEntity<Result<Object>> getContractElements(@PathVariable Integer contractId) {
-        return contractService.getContractElements(contractId);
+    public ResponseEntity<Result<Object>> getContractElements(@PathVariable Integer contractId,
+                                                              @RequestParam(defaultValue = "false") boolean includeClauses,
+                                                              WebRequest webRequest) {
+        return contractService.getContractElements(contractId, includeClauses, webRequest);
+    }
+
+    /**
+     * 以流式方式获取合同的所有元素，适用于元素数量很多的合同
+     *
+     * @param contractId 合同ID
+     * @return 以流式写出元素列表的响应实体
+     */
+    @GetMapping("/{contractId}/elements/stream")
+    public ResponseEntity<StreamingResponseBody> streamContractElements(@PathVariable Integer contractId) {
+        return contractService.streamContractElements(contractId);
     }
 
     /**
-     * 获取合同的所有条款元素
+     * 在服务端将合同渲染为HTML或纯文本，合同未变化时返回缓存的结果，支持 If-None-Match 条件请求
      *
      * @param contractId 合同ID
+     * @param format 输出格式：html（默认）或 text
+     * @return 以流式写出渲染结果的响应实体
+     */
+    @GetMapping("/{contractId}/render")
+    public ResponseEntity<StreamingResponseBody> renderContract(@PathVariable Integer contractId,
+                                                                @RequestParam(defaultValue = "html") String format,
+                                                                WebRequest webRequest) {
+        return contractRenderService.renderContract(contractId, format, webRequest);
+    }
+
+    /**
+     * 比较两份合同：按元素对齐，列出新增、删除和改写的元素，改写的元素给出内容的词级差异
+     *
+     * @param contractId 左侧（基准）合同ID
+     * @param otherContractId 右侧合同ID
+     * @param includeUnchanged 是否同时列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    @GetMapping("/{contractId}/diff/contracts/{otherContractId}")
+    public ResponseEntity<Result<Object>> diffContracts(@PathVariable Integer contractId,
+                                                        @PathVariable Integer otherContractId,
+                                                        @RequestParam(defaultValue = "false") boolean includeUnchanged) {
+        return contractDiffService.diffContracts(contractId, otherContractId, includeUnchanged);
+    }
+
+    /**
+     * 比较合同与模板，列出合同相对模板新增、删除和改写的元素
+     *
+     * @param contractId 合同ID
+     * @param templateId 模板ID
+     * @param includeUnchanged 是否同时列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    @GetMapping("/{contractId}/diff/templates/{templateId}")
+    public ResponseEntity<Result<Object>> diffWithTemplate(@PathVariable Integer contractId,
+                                                           @PathVariable Integer templateId,
+                                                           @RequestParam(defaultValue = "false") boolean includeUnchanged) {
+        return contractDiffService.diffWithTemplate(contractId, templateId, includeUnchanged);
+    }
+
+    /**
+     * 比较合同的两个历史版本
+     *
+     * @param contractId 合同ID
+     * @param fromVersion 左侧（较早）内容版本
+     * @param toVersion 右侧内容版本
+     * @param includeUnchanged 是否同时列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    @GetMapping("/{contractId}/diff/versions/{fromVersion}/{toVersion}")
+    public ResponseEntity<Result<Object>> diffVersions(@PathVariable Integer contractId,
+                                                       @PathVariable long fromVersion,
+                                                       @PathVariable long toVersion,
+                                                       @RequestParam(defaultValue = "false") boolean includeUnchanged) {
+        return contractDiffService.diffVersions(contractId, fromVersion, toVersion, includeUnchanged);
+    }
+
+    /**
+     * 获取合同在指定内容版本时的全部元素，由最近的快照与其后的变更日志还原
+     *
+     * @param contractId 合同ID
+     * @param version 内容版本
+     * @return 包含该版本元素的响应实体
+     */
+    @GetMapping("/{contractId}/versions/{version}/elements")
+    public ResponseEntity<Result<Object>> getContractVersion(@PathVariable Integer contractId,
+                                                             @PathVariable long version) {
+        return contractHistoryService.getContractVersion(contractId, version);
+    }
+
+    /**
+     * 批量操作合同元素（插入、移动、更新、删除），所有操作在一个事务中按顺序执行
+     *
+     * @param contractId 合同ID
+     * @param operations 操作列表
+     * @return 包含操作后合同全部元素的响应实体
+     */
+    @PostMapping("/{contractId}/elements/batch")
+    public ResponseEntity<Result<Object>> applyElementOperations(
+            @PathVariable Integer contractId,
+            @RequestBody List<ContractElementOperationDTO> operations
+    ) {
+        return contractService.applyElementOperations(contractId, operations);
+    }
+
+    /**
+     * 获取合同的所有条款元素，支持 If-None-Match / If-Modified-Since 条件请求
+     *
+     * @param contractId 合同ID
+     * @param includeClauses 是否同时返回元素引用的条款
      * @return 包含合同所有条款元素的响应实体
      */
     @GetMapping("/{contractId}/clause-elements")
-    public ResponseEntity<Result<Object>> getContractClauseElements(@PathVariable Integer contractId) {
-        return contractService.getContractClauseElements(contractId);
+    public ResponseEntity<Result<Object>> getContractClauseElements(@PathVariable Integer contractId,
+                                                                    @RequestParam(defaultValue = "false") boolean includeClauses,
+                                                                    WebRequest webRequest) {
+        return contractService.getContractClauseElements(contractId, includeClauses, webRequest);
     }
 
     /**
      * 从模板创建合同
+     * <p>async 为 true 时提交异步任务并立即返回202，通过 Location 中的任务地址轮询状态与进度；
+     * 可携带 Idempotency-Key 请求头，超时重试时返回同一个任务。</p>
      *
      * @param templateId 模板ID
+     * @param async 是否以异步任务方式创建
+     * @param idempotencyKey 异步任务的幂等键（可选）
      * @param createRequest 创建合同的请求DTO
-     * @return 包含新创建的合同及其所有元素的响应实体
+     * @return 包含新创建的合同及其所有元素的响应实体；异步方式下为包含任务信息的202响应
      */
     @PostMapping("/from-template/{templateId}")
     public ResponseEntity<Result<Object>> createContractFromTemplate(
             @PathVariable Integer templateId,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody CreateContractFromTemplateDTO createRequest
     ) {
         // 构建Contract对象
         Contract contractDetails = new Contract();
         contractDetails.setContractName(createRequest.getContractName());
 
+        if (async) {
+            return templateJobService.submitCreateContractFromTemplate(templateId, contractDetails, idempotencyKey);
+        }
         return contractService.createContractFromTemplate(templateId, contractDetails);
     }
 
+    /**
+     * 查询从模板创建合同的异步任务的状态与进度
+     *
+     * @param jobId 任务ID
+     * @return 包含任务状态与进度（已写入元素数 / 元素总数）的响应实体
+     */
+    @GetMapping("/template-jobs/{jobId}")
+    public ResponseEntity<Result<Object>> getTemplateJob(@PathVariable String jobId) {
+        return templateJobService.getTemplateJob(jobId);
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.ktriasia.contractmanager.controller;
 
 import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.dto.ElementAttributeFilterDTO;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.pojo.ContractElement;
 import com.ktriasia.contractmanager.service.ContractElementService;
@@ -9,16 +10,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
- * 合同元素的控制层，提供创建合同元素、更新合同元素以及删除合同元素的功能
+ * 合同元素的控制层，提供创建合同元素、更新合同元素、删除合同元素以及按属性查询元素的功能
  * @author ktriasia
- * @version 1.0.0
+ * @version 1.1.0
  * @since 2025-09-18
  */
 @Controller
@@ -60,4 +63,32 @@ public class ContractElementController {
         return contractElementService.deleteContractElement(elementId);
     }
 
+    /**
+     * 按属性查询元素，例如 {@code ?elementType=FILLABLE_FIELD&valueEmpty=true}
+     * @param filter 过滤条件（elementType、contractId、value、valueEmpty、checked）
+     * @param cursor 上一页返回的游标（可选）
+     * @param size 分页大小（可选）
+     * @return 一页匹配元素的响应实体
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Result<Object>> searchElementsByAttributes(ElementAttributeFilterDTO filter,
+                                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false) Integer size) {
+        return contractElementService.searchElementsByAttributes(filter, cursor, size);
+    }
+
+    /**
+     * 按元素属性查询合同ID，例如仍有空白待填写字段的合同：{@code ?elementType=FILLABLE_FIELD&valueEmpty=true}
+     * @param filter 过滤条件（elementType、value、valueEmpty、checked）
+     * @param cursor 上一页返回的游标（可选）
+     * @param size 分页大小（可选）
+     * @return 一页合同ID的响应实体
+     */
+    @GetMapping("/search/contract-ids")
+    public ResponseEntity<Result<Object>> searchContractIdsByAttributes(ElementAttributeFilterDTO filter,
+                                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                                        @RequestParam(value = "size", required = false) Integer size) {
+        return contractElementService.searchContractIdsByAttributes(filter, cursor, size);
+    }
+
 }
\ No newline at end of file
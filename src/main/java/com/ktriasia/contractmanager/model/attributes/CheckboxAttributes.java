@@ -0,0 +1,16 @@
+package com.ktriasia.contractmanager.model.attributes;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 复选框的属性，例如 {@code {"label": "同意", "checked": false}}
+ *
+ * @param label 显示文字
+ * @param checked 是否已勾选
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CheckboxAttributes(String label, Boolean checked) implements TypedAttributes {
+}
@@ -0,0 +1,156 @@
+package com.ktriasia.contractmanager.model.attributes;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+
+import java.util.Objects;
+
+/**
+ * 合同元素的属性
+ * <p>以原始JSON字符串为准，由 {@link com.ktriasia.contractmanager.model.handler.ElementAttributesTypeHandler}
+ * 从数据库读取时不做解析；首次访问 {@link #typed(ElementType)} 或 {@link #as(Class)} 时才解析，并在实例上缓存结果，
+ * 同一实体重复访问不会再次解析。写回数据库时原样写出原始JSON，模型中未声明的字段不会丢失。</p>
+ * <p>序列化为JSON时仍是字符串，与原先 {@code String attributes} 的接口格式一致；反序列化时同时接受JSON字符串和JSON对象。</p>
+ * <p>相等性按解析后的JSON树比较，对象字段的顺序和空白不影响结果；原始JSON无法解析时退回按文本比较。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+public final class ElementAttributes {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private final String json;
+    /** 最近一次解析的结果 */
+    private volatile Object parsed;
+    /** 用于相等性比较的JSON树，首次比较时解析 */
+    private volatile JsonNode tree;
+
+    private ElementAttributes(String json) {
+        this.json = json;
+    }
+
+    /**
+     * 包装原始JSON，不做解析
+     * @param json 原始JSON字符串
+     * @return 元素属性；json为null时返回null
+     */
+    public static ElementAttributes of(String json) {
+        return json != null ? new ElementAttributes(json) : null;
+    }
+
+    /**
+     * 由结构化属性生成元素属性
+     * @param attributes 结构化属性
+     * @return 元素属性；attributes为null时返回null
+     */
+    public static ElementAttributes of(TypedAttributes attributes) {
+        if (attributes == null) {
+            return null;
+        }
+        try {
+            ElementAttributes result = new ElementAttributes(MAPPER.writeValueAsString(attributes));
+            result.parsed = attributes;
+            return result;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("元素属性无法序列化: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * 反序列化入口：JSON字符串按原样保存，JSON对象或数组转换为其JSON文本
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    static ElementAttributes fromJson(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return of(node.isTextual() ? node.textValue() : node.toString());
+    }
+
+    /**
+     * @return 原始JSON字符串
+     */
+    @JsonValue
+    public String json() {
+        return json;
+    }
+
+    /**
+     * 按元素类型解析为结构化属性
+     * @param elementType 元素类型
+     * @return 结构化属性；该类型没有结构化属性时返回null
+     * @throws IllegalArgumentException 原始JSON与属性模型不符时抛出
+     */
+    public TypedAttributes typed(ElementType elementType) {
+        Class<? extends TypedAttributes> model = TypedAttributes.modelFor(elementType);
+        return model != null ? as(model) : null;
+    }
+
+    /**
+     * 解析为指定类型，结果缓存在实例上
+     * @param type 目标类型
+     * @param <T> 目标类型
+     * @return 解析结果
+     * @throws IllegalArgumentException 原始JSON与目标类型不符时抛出
+     */
+    public <T> T as(Class<T> type) {
+        Object cached = parsed;
+        if (type.isInstance(cached)) {
+            return type.cast(cached);
+        }
+        try {
+            T value = MAPPER.readValue(json, type);
+            parsed = value;
+            return value;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("元素属性不是有效的 " + type.getSimpleName() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ElementAttributes that)) {
+            return false;
+        }
+        return json.equals(that.json) || Objects.equals(tree(), that.tree());
+    }
+
+    @Override
+    public int hashCode() {
+        return tree().hashCode();
+    }
+
+    /**
+     * 解析为JSON树，对象节点的相等性与散列值不受字段顺序影响
+     */
+    private JsonNode tree() {
+        JsonNode cached = tree;
+        if (cached == null) {
+            try {
+                cached = MAPPER.readTree(json);
+            } catch (JsonProcessingException e) {
+                cached = MAPPER.getNodeFactory().pojoNode(json);
+            }
+            tree = cached;
+        }
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
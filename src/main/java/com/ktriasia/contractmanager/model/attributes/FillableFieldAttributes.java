@@ -0,0 +1,25 @@
+package com.ktriasia.contractmanager.model.attributes;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 待填写字段的属性，例如 {@code {"type": "text", "placeholder": "请输入...", "value": "用户填写的值"}}
+ *
+ * @param type 输入类型
+ * @param placeholder 占位提示
+ * @param value 已填写的值
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FillableFieldAttributes(String type, String placeholder, String value) implements TypedAttributes {
+
+    /**
+     * 判断字段是否尚未填写，与数据库中 {@code attr_value IS NULL OR attr_value = ''} 的判断一致
+     * @return 未填写时返回true
+     */
+    public boolean isEmpty() {
+        return value == null || value.isEmpty();
+    }
+}
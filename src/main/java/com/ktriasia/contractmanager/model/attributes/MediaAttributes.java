@@ -0,0 +1,17 @@
+package com.ktriasia.contractmanager.model.attributes;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 图片与印章的属性，例如 {@code {"url": "https://bucket.example.com/images/seal.png", "width": 150, "height": 150}}
+ *
+ * @param url 图片地址
+ * @param width 宽度
+ * @param height 高度
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MediaAttributes(String url, Integer width, Integer height) implements TypedAttributes {
+}
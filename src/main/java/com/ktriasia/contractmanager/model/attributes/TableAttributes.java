@@ -0,0 +1,19 @@
+package com.ktriasia.contractmanager.model.attributes;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * 表格元素的属性，例如 {@code {"rows": 3, "cols": 4, "data": [["..."], ["..."]]}}
+ *
+ * @param rows 行数
+ * @param cols 列数
+ * @param data 按行排列的单元格内容
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TableAttributes(Integer rows, Integer cols, List<List<String>> data) implements TypedAttributes {
+}
@@ -0,0 +1,34 @@
+package com.ktriasia.contractmanager.model.attributes;
+
+import com.ktriasia.contractmanager.model.enums.ElementType;
+
+/**
+ * 按元素类型区分的结构化元素属性
+ * <p>每种复杂元素类型对应一个只读的属性模型，由 {@link ElementAttributes#typed(ElementType)} 按需解析。
+ * 模型只声明已知字段，JSON中的其他字段被忽略但仍保留在原始JSON中。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public sealed interface TypedAttributes
+        permits TableAttributes, FillableFieldAttributes, CheckboxAttributes, MediaAttributes {
+
+    /**
+     * 获取元素类型对应的属性模型
+     * @param elementType 元素类型
+     * @return 属性模型类型；没有结构化属性的元素类型返回null
+     */
+    static Class<? extends TypedAttributes> modelFor(ElementType elementType) {
+        if (elementType == null) {
+            return null;
+        }
+        return switch (elementType) {
+            case TABLE -> TableAttributes.class;
+            case FILLABLE_FIELD -> FillableFieldAttributes.class;
+            case CHECKBOX -> CheckboxAttributes.class;
+            case IMAGE, SEAL -> MediaAttributes.class;
+            default -> null;
+        };
+    }
+}
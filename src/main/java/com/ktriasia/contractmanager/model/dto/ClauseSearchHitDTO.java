@@ -0,0 +1,24 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 条款检索结果DTO类。
+ * <p>用于封装全文检索命中的条款及其相关度得分。</p>
+ * <ul>
+ *   <li>clause：命中的条款</li>
+ *   <li>score：相关度得分，越高越相关</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClauseSearchHitDTO {
+    private ClauseDTO clause;
+    private Double score;
+}
@@ -0,0 +1,33 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ktriasia.contractmanager.model.enums.DeletionStatus;
+import lombok.Data;
+
+/**
+ * 合同分块删除的进度与结果DTO
+ * <ul>
+ *   <li>contractId：合同ID</li>
+ *   <li>status：删除结果</li>
+ *   <li>elementsDeleted：本次已提交删除的元素数量</li>
+ *   <li>chunks：本次提交的删除事务数量</li>
+ *   <li>error：失败原因（仅失败时返回）</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ContractDeletionDTO {
+    private Integer contractId;
+    private DeletionStatus status;
+    private long elementsDeleted;
+    private int chunks;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    public ContractDeletionDTO(Integer contractId) {
+        this.contractId = contractId;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 两份合同（或合同与其模板）的差异比较结果DTO
+ * <p>left、right 标明比较的两侧，如 {@code contract:12}、{@code template:3}。
+ * 各类变化的数量总是完整统计；未变化的元素只在请求时列出。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ContractDiffDTO {
+    private String left;
+    private String right;
+    private int leftElements;
+    private int rightElements;
+    private int unchanged;
+    private int modified;
+    private int inserted;
+    private int deleted;
+    private List<ElementDiffDTO> elements = new ArrayList<>();
+}
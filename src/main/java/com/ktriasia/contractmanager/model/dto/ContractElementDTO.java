@@ -1,5 +1,6 @@
 package com.ktriasia.contractmanager.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 /**
@@ -12,10 +13,11 @@ import lombok.Data;
  *   <li>content：元素内容</li>
  *   <li>attributes：元素属性（JSON格式）</li>
  *   <li>sourceClauseId：来源条款ID（如果适用）</li>
+ *   <li>clause：来源条款（仅在请求包含条款时返回）</li>
  * </ul>
  * @author Ktriasia
  * @since 2025-9-19
- * @version 1.1.0
+ * @version 1.2.0
  */
 @Data
 public class ContractElementDTO {
@@ -26,6 +28,8 @@ public class ContractElementDTO {
     private String attributes;
     private Integer sourceClauseId;
     private Integer orderIndex;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ClauseDTO clause;
 
     public static ContractElementDTO fromEntity(com.ktriasia.contractmanager.model.pojo.ContractElement element) {
         ContractElementDTO dto = new ContractElementDTO();
@@ -35,9 +39,14 @@ public class ContractElementDTO {
             dto.elementType = element.getElementType().name();
         }
         dto.content = element.getContent();
-        dto.attributes = element.getAttributes();
+        if (element.getAttributes() != null) {
+            dto.attributes = element.getAttributes().json();
+        }
         dto.sourceClauseId = element.getSourceClauseId();
         dto.orderIndex = element.getOrderIndex();
+        if (element.getClause() != null) {
+            dto.clause = ClauseDTO.fromEntity(element.getClause());
+        }
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import com.ktriasia.contractmanager.model.enums.ElementOperationType;
+import lombok.Data;
+
+/**
+ * 合同元素批量操作中的单个操作
+ * <p>操作按请求中的顺序依次执行。目标元素由 elementId（已有元素）或 ref（同一批次中先前插入的元素）指定；
+ * 插入与移动的位置由 afterElementId / afterRef 指定：二者都为空时放到末尾，afterElementId 为 0 时放到开头。</p>
+ * <ul>
+ *   <li>op：操作类型</li>
+ *   <li>elementId：目标元素ID（UPDATE、MOVE、DELETE）</li>
+ *   <li>ref：客户端为插入的元素指定的临时引用，供同一批次中后续操作引用</li>
+ *   <li>afterElementId / afterRef：插入或移动到该元素之后</li>
+ *   <li>elementType、content、attributes、sourceClauseId：插入或更新的字段，更新时为空表示不修改</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ContractElementOperationDTO {
+    private ElementOperationType op;
+    private Integer elementId;
+    private String ref;
+    private Integer afterElementId;
+    private String afterRef;
+    private String elementType;
+    private String content;
+    private String attributes;
+    private Integer sourceClauseId;
+}
@@ -0,0 +1,32 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量导入中的一行合同数据
+ * <p>NDJSON请求体的每一行为一个该对象，包含合同信息及其按顺序排列的元素。
+ * 元素只读取 elementType、content、attributes、sourceClauseId 和 orderIndex，
+ * 未提供 orderIndex 时按元素在行内的位置编号。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ContractImportDTO {
+
+    /** 合同名称 */
+    private String contractName;
+
+    /** 合同创建时间（可选，默认为导入时间） */
+    private LocalDateTime createdAt;
+
+    /** 合同更新时间（可选，默认为创建时间） */
+    private LocalDateTime updatedAt;
+
+    /** 合同元素（可选） */
+    private List<ContractElementDTO> elements;
+}
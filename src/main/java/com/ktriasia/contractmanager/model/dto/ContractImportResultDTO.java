@@ -0,0 +1,37 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入合同的结果DTO
+ * <p>统计读取的行数与成功写入的合同、元素数量，并按行号列出失败的行。失败的行过多时只保留前若干条，
+ * errorsTruncated 为 true。lastCommittedLine 为已提交的最后一行行号，请求体读取中断时可从其后一行重新导入。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ContractImportResultDTO {
+    private long linesRead;
+    private long contractsImported;
+    private long elementsImported;
+    private long failedLines;
+    private long lastCommittedLine;
+    private boolean errorsTruncated;
+    private List<LineError> errors = new ArrayList<>();
+
+    /**
+     * 单行的导入错误
+     */
+    @Data
+    public static class LineError {
+        /** 行号（从1开始） */
+        private final long line;
+        /** 错误信息 */
+        private final String message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 合同历史版本DTO
+ * <ul>
+ *   <li>contractId：合同ID</li>
+ *   <li>contentVersion：请求的内容版本</li>
+ *   <li>snapshotVersion：还原时作为起点的快照版本</li>
+ *   <li>eventsReplayed：在快照之上重放的变更事件数</li>
+ *   <li>elements：该版本的元素（按显示顺序）</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ContractVersionDTO {
+    private Integer contractId;
+    private long contentVersion;
+    private long snapshotVersion;
+    private int eventsReplayed;
+    private List<ContractElementDTO> elements;
+}
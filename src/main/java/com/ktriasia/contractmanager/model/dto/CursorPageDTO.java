@@ -0,0 +1,29 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO类。
+ * <p>用于封装基于主键的键集（keyset）分页结果，客户端将 nextCursor 原样传回即可获取下一页。</p>
+ * <ul>
+ *   <li>items：当前页数据</li>
+ *   <li>size：本次请求生效的分页大小</li>
+ *   <li>nextCursor：下一页的不透明游标，没有下一页时为null</li>
+ * </ul>
+ * @param <T> 数据类型
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private Integer size;
+    private String nextCursor;
+}
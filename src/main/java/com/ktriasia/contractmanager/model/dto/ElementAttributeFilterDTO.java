@@ -0,0 +1,29 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import lombok.Data;
+
+/**
+ * 按元素属性查询的过滤条件DTO
+ * <p>条件在数据库中基于生成列 {@code attr_value}（属性 $.value）和 {@code attr_checked}（属性 $.checked）判断，
+ * 并由以元素类型开头的索引支持，因此元素类型必须指定。</p>
+ * <ul>
+ *   <li>elementType：元素类型（必填）</li>
+ *   <li>contractId：只查询指定合同（可选）</li>
+ *   <li>value：$.value 等于该值（可选）</li>
+ *   <li>valueEmpty：true 时 $.value 缺失或为空字符串，false 时 $.value 非空（可选）</li>
+ *   <li>checked：$.checked 等于该值（可选）</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+public class ElementAttributeFilterDTO {
+    private ElementType elementType;
+    private Integer contractId;
+    private String value;
+    private Boolean valueEmpty;
+    private Boolean checked;
+}
@@ -0,0 +1,40 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 差异比较中一组对应元素（或单侧元素）的结果DTO
+ * <ul>
+ *   <li>operation：UNCHANGED、MODIFIED、INSERTED（仅右侧）或 DELETED（仅左侧）</li>
+ *   <li>leftElementId / rightElementId：两侧的元素ID，模板一侧的元素没有ID</li>
+ *   <li>leftPosition / rightPosition：元素在各自一侧按顺序排列时的位置（从0开始）</li>
+ *   <li>content：UNCHANGED、INSERTED、DELETED 时为元素内容</li>
+ *   <li>contentDiff：MODIFIED 且内容不同时为词级差异片段</li>
+ *   <li>leftAttributes / rightAttributes：MODIFIED 且属性不同时为两侧属性</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ElementDiffDTO {
+    private DiffOperation operation;
+    private ElementType elementType;
+    private Integer sourceClauseId;
+    private Integer leftElementId;
+    private Integer rightElementId;
+    private Integer leftPosition;
+    private Integer rightPosition;
+    private String content;
+    private List<TextSegmentDTO> contentDiff;
+    private ElementAttributes leftAttributes;
+    private ElementAttributes rightAttributes;
+}
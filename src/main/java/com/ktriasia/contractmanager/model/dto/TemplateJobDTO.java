@@ -0,0 +1,52 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ktriasia.contractmanager.model.enums.TemplateJobStatus;
+import com.ktriasia.contractmanager.service.job.TemplateJob;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 从模板创建合同的异步任务DTO
+ * <p>任务状态与进度的快照。进度为已写入的元素数 / 元素总数，模板尚未加载时总数为空；
+ * 任务成功后 contractId 为新合同的ID，可通过元素接口读取合同内容。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateJobDTO {
+    private String jobId;
+    private Integer templateId;
+    private String contractName;
+    private TemplateJobStatus status;
+    private Integer elementsWritten;
+    private Integer totalElements;
+    private Integer contractId;
+    private String errorCode;
+    private String errorMessage;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public static TemplateJobDTO fromJob(TemplateJob job) {
+        TemplateJobDTO dto = new TemplateJobDTO();
+        // 先读状态，保证进度不早于状态
+        dto.status = job.getStatus();
+        dto.jobId = job.getJobId();
+        dto.templateId = job.getTemplateId();
+        dto.contractName = job.getContractName();
+        dto.elementsWritten = job.getElementsWritten();
+        dto.totalElements = job.getTotalElements() >= 0 ? job.getTotalElements() : null;
+        dto.contractId = job.getContractId();
+        dto.errorCode = job.getErrorCode();
+        dto.errorMessage = job.getErrorMessage();
+        dto.submittedAt = job.getSubmittedAt();
+        dto.startedAt = job.getStartedAt();
+        dto.finishedAt = job.getFinishedAt();
+        return dto;
+    }
+}
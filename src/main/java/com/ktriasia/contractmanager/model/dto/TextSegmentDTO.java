@@ -0,0 +1,22 @@
+package com.ktriasia.contractmanager.model.dto;
+
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 词级文本差异中的一个片段
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextSegmentDTO {
+    /** UNCHANGED、INSERTED 或 DELETED */
+    private DiffOperation operation;
+    private String text;
+}
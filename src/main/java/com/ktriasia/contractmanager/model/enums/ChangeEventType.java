@@ -0,0 +1,19 @@
+package com.ktriasia.contractmanager.model.enums;
+
+/**
+ * 合同变更日志中的事件类型
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public enum ChangeEventType {
+    /** 插入元素，payload 为元素插入后的完整状态 */
+    INSERT,
+    /** 修改元素（含移动），payload 为元素修改后的完整状态 */
+    UPDATE,
+    /** 删除元素，payload 为被删除元素的ID数组 */
+    DELETE,
+    /** 重新编号，payload 为元素ID到新顺序值的映射 */
+    REINDEX
+}
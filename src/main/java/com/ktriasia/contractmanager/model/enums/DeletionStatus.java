@@ -0,0 +1,17 @@
+package com.ktriasia.contractmanager.model.enums;
+
+/**
+ * 合同分块删除的结果状态
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public enum DeletionStatus {
+    /** 合同及其全部元素已删除 */
+    DELETED,
+    /** 合同不存在 */
+    NOT_FOUND,
+    /** 删除中途失败，已提交的块保留删除结果，合同仍然存在，重新删除时从剩余元素继续 */
+    FAILED
+}
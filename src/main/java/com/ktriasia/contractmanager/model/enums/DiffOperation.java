@@ -0,0 +1,19 @@
+package com.ktriasia.contractmanager.model.enums;
+
+/**
+ * 差异比较结果中元素或文本片段的变化类型
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public enum DiffOperation {
+    /** 两侧相同 */
+    UNCHANGED,
+    /** 两侧对应但内容或属性不同 */
+    MODIFIED,
+    /** 仅右侧存在 */
+    INSERTED,
+    /** 仅左侧存在 */
+    DELETED
+}
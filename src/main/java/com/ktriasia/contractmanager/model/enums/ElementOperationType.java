@@ -0,0 +1,19 @@
+package com.ktriasia.contractmanager.model.enums;
+
+/**
+ * 合同元素批量操作的类型
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public enum ElementOperationType {
+    /** 插入新元素 */
+    INSERT,
+    /** 更新元素内容（不改变位置） */
+    UPDATE,
+    /** 移动元素到新位置 */
+    MOVE,
+    /** 删除元素 */
+    DELETE
+}
@@ -0,0 +1,26 @@
+package com.ktriasia.contractmanager.model.enums;
+
+/**
+ * 从模板创建合同的异步任务状态
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public enum TemplateJobStatus {
+    /** 已提交，等待执行 */
+    QUEUED,
+    /** 正在创建合同并写入元素 */
+    RUNNING,
+    /** 已完成，合同已创建 */
+    SUCCEEDED,
+    /** 执行失败，事务已回滚，未创建合同 */
+    FAILED;
+
+    /**
+     * @return 任务是否已结束
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
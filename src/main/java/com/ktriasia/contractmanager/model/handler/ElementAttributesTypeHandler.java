@@ -0,0 +1,44 @@
+package com.ktriasia.contractmanager.model.handler;
+
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 合同元素属性的类型处理器
+ * <p>读取时只包装原始JSON字符串，解析推迟到业务代码首次访问结构化属性时进行；
+ * 只读取元素列表的请求（如直接返回JSON字符串）不产生解析开销。通过 {@code mybatis-plus.type-handlers-package} 全局注册。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@MappedTypes(ElementAttributes.class)
+public class ElementAttributesTypeHandler extends BaseTypeHandler<ElementAttributes> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, ElementAttributes parameter, JdbcType jdbcType) throws SQLException {
+        ps.setString(i, parameter.json());
+    }
+
+    @Override
+    public ElementAttributes getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return ElementAttributes.of(rs.getString(columnName));
+    }
+
+    @Override
+    public ElementAttributes getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return ElementAttributes.of(rs.getString(columnIndex));
+    }
+
+    @Override
+    public ElementAttributes getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return ElementAttributes.of(cs.getString(columnIndex));
+    }
+}
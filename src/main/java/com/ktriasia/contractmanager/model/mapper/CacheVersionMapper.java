@@ -0,0 +1,100 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.ktriasia.contractmanager.model.pojo.CacheVersion;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 缓存版本表的Mapper接口
+ * <p>全局序号保存在 cache_name、cache_key 均为 {@value #SEQUENCE} 的行中。递增序号会锁定该行直到事务提交，
+ * 因此各事务取得的序号顺序与提交顺序一致，轮询方按序号推进不会漏掉尚未提交的修改。</p>
+ * @author Ktriasia
+ * @version 1.0.1
+ * @since 2026-10-18
+ */
+@Mapper
+public interface CacheVersionMapper {
+
+    /** 全局序号行的区域和键 */
+    String SEQUENCE = "#";
+
+    /**
+     * 写入序号行（已存在时忽略）
+     * @param updatedAt 写入时间
+     * @return 实际写入的行数
+     */
+    @Insert("INSERT IGNORE INTO cache_version (cache_name, cache_key, version, origin, updated_at) "
+            + "VALUES ('" + SEQUENCE + "', '" + SEQUENCE + "', 0, '', #{updatedAt})")
+    int insertSequence(@Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 递增全局序号并锁定序号行直到事务结束
+     * @return 影响的行数，序号行不存在时为0
+     */
+    @Update("UPDATE cache_version SET version = version + 1 "
+            + "WHERE cache_name = '" + SEQUENCE + "' AND cache_key = '" + SEQUENCE + "'")
+    int incrementSequence();
+
+    /**
+     * 查询当前的全局序号
+     * @return 序号，序号行不存在时返回null
+     */
+    @Select("SELECT version FROM cache_version WHERE cache_name = '" + SEQUENCE + "' AND cache_key = '" + SEQUENCE + "'")
+    Long selectSequence();
+
+    /**
+     * 以单条多行 INSERT 写入或更新缓存键的版本
+     * @param versions 缓存键及其新版本（不可为空列表）
+     * @return 影响的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT INTO cache_version (cache_name, cache_key, version, origin, updated_at) VALUES",
+            "<foreach collection='list' item='v' separator=','>",
+            "(#{v.cacheName}, #{v.cacheKey}, #{v.version}, #{v.origin}, #{v.updatedAt})",
+            "</foreach>",
+            "ON DUPLICATE KEY UPDATE version = VALUES(version), origin = VALUES(origin), updated_at = VALUES(updated_at)",
+            "</script>"
+    })
+    int upsertBatch(@Param("list") List<CacheVersion> versions);
+
+    /**
+     * 按 (序号, 区域, 键) 的键集分页查询某个位置之后修改的缓存键
+     * <p>同一事务写入的多个键版本相同，只按序号分页会在页边界处跳过同一序号中尚未读取的行，因此以唯一的
+     * (序号, 区域, 键) 作为分页位置；版本索引的叶子节点包含主键列，排序仍可使用该索引。</p>
+     * @param afterVersion 上一行的序号
+     * @param afterName 上一行的区域，为null时从序号大于 afterVersion 的行开始
+     * @param afterKey 上一行的键
+     * @param limit 最多返回的行数
+     * @return 按 (序号, 区域, 键) 升序排列的缓存键
+     */
+    @Select({
+            "<script>",
+            "SELECT cache_name, cache_key, version, origin, updated_at FROM cache_version",
+            "WHERE cache_name &lt;&gt; '" + SEQUENCE + "'",
+            "<choose>",
+            "<when test='afterName == null'>AND version &gt; #{afterVersion}</when>",
+            "<otherwise>AND version &gt;= #{afterVersion} AND (version &gt; #{afterVersion}",
+            "OR cache_name &gt; #{afterName} OR (cache_name = #{afterName} AND cache_key &gt; #{afterKey}))</otherwise>",
+            "</choose>",
+            "ORDER BY version, cache_name, cache_key LIMIT #{limit}",
+            "</script>"
+    })
+    List<CacheVersion> selectAfter(@Param("afterVersion") long afterVersion, @Param("afterName") String afterName,
+                                   @Param("afterKey") String afterKey, @Param("limit") int limit);
+
+    /**
+     * 删除早于指定时间修改的缓存键（序号行除外）
+     * @param before 时间下限
+     * @return 删除的行数
+     */
+    @Delete("DELETE FROM cache_version WHERE updated_at < #{before} AND cache_name <> '" + SEQUENCE + "'")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
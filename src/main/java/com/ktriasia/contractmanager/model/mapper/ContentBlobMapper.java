@@ -0,0 +1,34 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ktriasia.contractmanager.model.pojo.ContentBlob;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 按内容寻址文本的Mapper接口
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Mapper
+public interface ContentBlobMapper extends BaseMapper<ContentBlob> {
+
+    /**
+     * 以单条多行 INSERT IGNORE 写入文本，已存在的地址被忽略（内容相同，无需覆盖）
+     * @param blobs 待写入的文本（不可为空列表）
+     * @return 实际写入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT IGNORE INTO content_blob (content_hash, content, created_at) VALUES",
+            "<foreach collection='list' item='b' separator=','>",
+            "(#{b.contentHash}, #{b.content}, #{b.createdAt})",
+            "</foreach>",
+            "</script>"
+    })
+    int insertIgnoreBatch(@Param("list") List<ContentBlob> blobs);
+}
@@ -0,0 +1,73 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractChangeEvent;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 合同变更日志的Mapper接口
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Mapper
+public interface ContractChangeEventMapper extends BaseMapper<ContractChangeEvent> {
+
+    /**
+     * 以单条多行 INSERT 追加事件
+     * <p>未指定版本的事件取合同行的当前内容版本；须在递增版本之后、事务提交之前执行。</p>
+     * @param events 待写入的事件（不可为空列表）
+     * @return 写入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT INTO contract_change_event (contract_id, content_version, event_type, element_id, payload, created_at) VALUES",
+            "<foreach collection='list' item='e' separator=','>",
+            "(#{e.contractId},",
+            " COALESCE(#{e.contentVersion}, (SELECT c.content_version FROM contract c WHERE c.contract_id = #{e.contractId}), 0),",
+            " #{e.eventType}, #{e.elementId}, #{e.payload}, #{e.createdAt})",
+            "</foreach>",
+            "</script>"
+    })
+    int insertBatch(@Param("list") List<ContractChangeEvent> events);
+
+    /**
+     * 按顺序查询某条事件之后、不晚于指定版本的事件
+     * @param contractId 合同ID
+     * @param afterEventId 起点事件ID（不含）
+     * @param maxVersion 最大内容版本（含）
+     * @return 按事件ID升序排列的事件
+     */
+    @Select("SELECT event_id, contract_id, content_version, event_type, element_id, payload, created_at "
+            + "FROM contract_change_event WHERE contract_id = #{contractId} AND event_id > #{afterEventId} "
+            + "AND content_version <= #{maxVersion} ORDER BY event_id")
+    List<ContractChangeEvent> selectAfter(@Param("contractId") Integer contractId,
+                                          @Param("afterEventId") long afterEventId,
+                                          @Param("maxVersion") long maxVersion);
+
+    /**
+     * 统计某条事件之后的事件数量，最多数到 limit
+     * @param contractId 合同ID
+     * @param afterEventId 起点事件ID（不含）
+     * @param limit 计数上限
+     * @return 事件数量
+     */
+    @Select("SELECT COUNT(*) FROM (SELECT 1 FROM contract_change_event "
+            + "WHERE contract_id = #{contractId} AND event_id > #{afterEventId} LIMIT #{limit}) t")
+    int countAfter(@Param("contractId") Integer contractId,
+                   @Param("afterEventId") long afterEventId,
+                   @Param("limit") int limit);
+
+    /**
+     * 查询合同最后一条事件的ID
+     * @param contractId 合同ID
+     * @return 事件ID，没有事件时返回null
+     */
+    @Select("SELECT MAX(event_id) FROM contract_change_event WHERE contract_id = #{contractId}")
+    Long selectMaxEventId(@Param("contractId") Integer contractId);
+}
@@ -1,15 +1,143 @@
 package com.ktriasia.contractmanager.model.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ktriasia.contractmanager.model.dto.ElementAttributeFilterDTO;
 import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.util.List;
 
 /**
  * 合同元素的Mapper接口
  * @author ktriasia
- * @version 1.0.0
+ * @version 1.4.0
  * @since 2025-09-18
  */
 @Mapper
 public interface ContractElementMapper extends BaseMapper<ContractElement> {
+
+    /**
+     * 以单条多行 INSERT 批量写入合同元素，并回填自增主键
+     * <p>带有内容地址的元素只写入地址，content 列为NULL；调用方须先确保 content_blob 中已有对应内容。</p>
+     * @param elements 待写入的合同元素（不可为空列表）
+     * @return 写入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT INTO contract_element (contract_id, element_type, content, content_hash, attributes, source_clause_id, order_index) VALUES",
+            "<foreach collection='list' item='e' separator=','>",
+            "(#{e.contractId}, #{e.elementType},",
+            "<choose><when test='e.contentHash != null'>NULL</when><otherwise>#{e.content}</otherwise></choose>,",
+            "#{e.contentHash}, #{e.attributes}, #{e.sourceClauseId}, #{e.orderIndex})",
+            "</foreach>",
+            "</script>"
+    })
+    @Options(useGeneratedKeys = true, keyProperty = "elementId", keyColumn = "element_id")
+    int insertBatch(@Param("list") List<ContractElement> elements);
+
+    /**
+     * 按主键顺序查询合同的一批元素ID，用于分块删除
+     * @param contractId 合同ID
+     * @param limit 最多返回的ID数量
+     * @return 元素ID列表
+     */
+    @Select("SELECT element_id FROM contract_element WHERE contract_id = #{contractId} ORDER BY element_id LIMIT #{limit}")
+    List<Integer> selectIdsByContractId(@Param("contractId") Integer contractId, @Param("limit") int limit);
+
+    /** 按属性生成列过滤元素的条件，供下方两个查询共用 */
+    String ATTRIBUTE_FILTER = "element_type = #{filter.elementType}"
+            + "<if test='filter.contractId != null'> AND contract_id = #{filter.contractId}</if>"
+            + "<if test='filter.value != null'> AND attr_value = #{filter.value}</if>"
+            + "<if test='filter.valueEmpty == true'> AND (attr_value IS NULL OR attr_value = '')</if>"
+            + "<if test='filter.valueEmpty == false'> AND attr_value &lt;&gt; ''</if>"
+            + "<if test='filter.checked != null'> AND attr_checked = #{filter.checked}</if>";
+
+    /**
+     * 在数据库中按属性生成列过滤元素，按主键做键集分页
+     * @param filter 过滤条件，elementType 必填
+     * @param afterId 上一页最后一个元素ID，首页为null
+     * @param limit 最多返回的行数
+     * @return 按元素ID升序排列的元素
+     */
+    @Select({
+            "<script>",
+            "SELECT element_id, contract_id, element_type, content, content_hash, attributes, source_clause_id, order_index",
+            "FROM contract_element WHERE " + ATTRIBUTE_FILTER,
+            "<if test='afterId != null'> AND element_id &gt; #{afterId}</if>",
+            "ORDER BY element_id LIMIT #{limit}",
+            "</script>"
+    })
+    List<ContractElement> selectByAttributes(@Param("filter") ElementAttributeFilterDTO filter,
+                                             @Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 在数据库中按属性生成列查询包含匹配元素的合同ID，按合同ID做键集分页
+     * <p>过滤条件与合同ID都在 (element_type, attr_*, contract_id) 索引中，查询只读索引。</p>
+     * @param filter 过滤条件，elementType 必填
+     * @param afterId 上一页最后一个合同ID，首页为null
+     * @param limit 最多返回的行数
+     * @return 升序排列的合同ID
+     */
+    @Select({
+            "<script>",
+            "SELECT DISTINCT contract_id FROM contract_element WHERE " + ATTRIBUTE_FILTER,
+            "<if test='afterId != null'> AND contract_id &gt; #{afterId}</if>",
+            "ORDER BY contract_id LIMIT #{limit}",
+            "</script>"
+    })
+    List<Integer> selectContractIdsByAttributes(@Param("filter") ElementAttributeFilterDTO filter,
+                                                @Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 以游标方式按顺序读取合同的所有元素
+     * <p>结果按 fetchSize 分批从数据库读取（MySQL需在连接串中开启 useCursorFetch，只有设置了 fetchSize 的语句使用服务端游标），
+     * 调用方须在事务内遍历并关闭游标。</p>
+     * @param contractId 合同ID
+     * @return 合同元素游标
+     */
+    @Select("SELECT element_id, contract_id, element_type, content, content_hash, attributes, source_clause_id, order_index "
+            + "FROM contract_element WHERE contract_id = #{contractId} ORDER BY order_index, element_id")
+    @Options(fetchSize = 500, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<ContractElement> streamByContractId(@Param("contractId") Integer contractId);
+
+    /**
+     * 查询最大的元素ID，作为内容迁移的终点
+     * @return 最大元素ID；表为空时为null
+     */
+    @Select("SELECT MAX(element_id) FROM contract_element")
+    Integer selectMaxElementId();
+
+    /**
+     * 锁定主键区间内仍内联存储的条款库长文本，供迁移为按地址存储
+     * @param afterId 区间起点（不含）
+     * @param toId 区间终点（含）
+     * @param minLength 按地址存储的最小内容长度
+     * @return 只包含 element_id 与 content 的元素
+     */
+    @Select("SELECT element_id, content FROM contract_element "
+            + "WHERE element_id > #{afterId} AND element_id <= #{toId} AND content_hash IS NULL "
+            + "AND source_clause_id IS NOT NULL AND CHAR_LENGTH(content) >= #{minLength} ORDER BY element_id FOR UPDATE")
+    List<ContractElement> selectInlineClauseContentForUpdate(@Param("afterId") int afterId, @Param("toId") int toId,
+                                                             @Param("minLength") int minLength);
+
+    /**
+     * 将一组内容相同的元素改为引用内容地址，并清空内联内容
+     * @param contentHash 内容地址
+     * @param elementIds 元素ID（不可为空）
+     * @return 更新的行数
+     */
+    @Update({
+            "<script>",
+            "UPDATE contract_element SET content = NULL, content_hash = #{contentHash} WHERE element_id IN",
+            "<foreach collection='elementIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"
+    })
+    int moveContentToBlob(@Param("contentHash") String contentHash, @Param("elementIds") List<Integer> elementIds);
 }
@@ -2,15 +2,76 @@ package com.ktriasia.contractmanager.model.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ktriasia.contractmanager.model.pojo.Contract;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 合同的Mapper接口
  * @author ktriasia
- * @version 1.0.0
+ * @version 1.4.0
  * @since 2025-09-18
  */
 @Mapper
 public interface ContractMapper extends BaseMapper<Contract> {
 
+    /**
+     * 以单条多行 INSERT 批量写入合同，并按顺序回填自增主键
+     * @param contracts 待写入的合同（不可为空列表）
+     * @return 写入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT INTO contract (contract_name, created_at, updated_at, content_version) VALUES",
+            "<foreach collection='list' item='c' separator=','>",
+            "(#{c.contractName}, #{c.createdAt}, #{c.updatedAt}, #{c.contentVersion})",
+            "</foreach>",
+            "</script>"
+    })
+    @Options(useGeneratedKeys = true, keyProperty = "contractId", keyColumn = "contract_id")
+    int insertBatch(@Param("list") List<Contract> contracts);
+
+    /**
+     * 查询合同并对该行加写锁，用于串行化同一合同元素顺序的修改
+     * @param contractId 合同ID
+     * @return 合同对象，不存在时返回null
+     */
+    @Select("SELECT contract_id, contract_name, created_at, updated_at, content_version FROM contract WHERE contract_id = #{contractId} FOR UPDATE")
+    Contract selectByIdForUpdate(@Param("contractId") Integer contractId);
+
+    /**
+     * 只查询合同的内容版本与更新时间，用于条件请求的快速判断
+     * @param contractId 合同ID
+     * @return 仅填充 contractId、contentVersion、updatedAt 的合同对象，不存在时返回null
+     */
+    @Select("SELECT contract_id, content_version, updated_at FROM contract WHERE contract_id = #{contractId}")
+    Contract selectVersion(@Param("contractId") Integer contractId);
+
+    /**
+     * 以一条关联查询读取合同聚合：合同主信息、按显示顺序排列的元素，以及可选的元素引用条款
+     * <p>定义于 mapper/ContractMapper.xml。合同不存在时返回null；合同存在但没有（符合条件的）元素时，
+     * {@code contractElements} 为空列表。</p>
+     * @param contractId 合同ID
+     * @param clauseOnly 是否只包含条款类型的元素
+     * @param withClauses 是否同时读取元素引用的条款并填充 {@code ContractElement.clause}
+     * @return 填充了 contractElements 的合同对象
+     */
+    Contract selectAggregate(@Param("contractId") Integer contractId,
+                             @Param("clauseOnly") boolean clauseOnly,
+                             @Param("withClauses") boolean withClauses);
+
+    /**
+     * 递增合同内容版本并刷新更新时间，合同元素的每次写入都须调用
+     * @param contractId 合同ID
+     * @param updatedAt 更新时间
+     * @return 影响的行数
+     */
+    @Update("UPDATE contract SET content_version = content_version + 1, updated_at = #{updatedAt} WHERE contract_id = #{contractId}")
+    int bumpContentVersion(@Param("contractId") Integer contractId, @Param("updatedAt") LocalDateTime updatedAt);
 }
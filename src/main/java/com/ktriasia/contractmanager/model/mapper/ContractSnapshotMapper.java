@@ -0,0 +1,55 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractSnapshot;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 合同快照的Mapper接口
+ * @author Ktriasia
+ * @version 1.0.1
+ * @since 2026-10-18
+ */
+@Mapper
+public interface ContractSnapshotMapper extends BaseMapper<ContractSnapshot> {
+
+    /**
+     * 写入快照；同一合同同一版本的快照已存在时忽略（内容相同）
+     * @param snapshot 快照
+     * @return 实际写入的行数
+     */
+    @Insert("INSERT IGNORE INTO contract_snapshot (contract_id, content_version, last_event_id, element_count, elements, created_at) "
+            + "VALUES (#{contractId}, #{contentVersion}, #{lastEventId}, #{elementCount}, #{elements}, #{createdAt})")
+    int insertIgnore(ContractSnapshot snapshot);
+
+    /**
+     * 以单条多行 INSERT 写入快照，已存在的忽略
+     * @param snapshots 待写入的快照（不可为空列表）
+     * @return 实际写入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT IGNORE INTO contract_snapshot (contract_id, content_version, last_event_id, element_count, elements, created_at) VALUES",
+            "<foreach collection='list' item='s' separator=','>",
+            "(#{s.contractId}, #{s.contentVersion}, #{s.lastEventId}, #{s.elementCount}, #{s.elements}, #{s.createdAt})",
+            "</foreach>",
+            "</script>"
+    })
+    int insertBatch(@Param("list") List<ContractSnapshot> snapshots);
+
+    /**
+     * 查询不晚于指定版本的最近一个快照
+     * @param contractId 合同ID
+     * @param maxVersion 最大内容版本（含）
+     * @return 快照，不存在时返回null
+     */
+    @Select("SELECT snapshot_id, contract_id, content_version, last_event_id, element_count, elements, created_at "
+            + "FROM contract_snapshot WHERE contract_id = #{contractId} AND content_version <= #{maxVersion} "
+            + "ORDER BY content_version DESC, last_event_id DESC LIMIT 1")
+    ContractSnapshot selectLatest(@Param("contractId") Integer contractId, @Param("maxVersion") long maxVersion);
+}
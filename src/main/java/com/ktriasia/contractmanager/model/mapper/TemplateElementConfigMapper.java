@@ -0,0 +1,16 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 模板元素配置的Mapper接口
+ * @author ktriasia
+ * @version 1.0.0
+ * @since 2025-09-22
+ */
+@Mapper
+public interface TemplateElementConfigMapper extends BaseMapper<TemplateElementConfig> {
+
+}
@@ -0,0 +1,35 @@
+package com.ktriasia.contractmanager.model.pojo;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 进程内缓存条目的集群版本。
+ * <p>某个缓存键被修改时，其行的版本被更新为全局递增序号的新值；各节点轮询版本大于已处理序号的行并使本地对应的键失效。</p>
+ * <ul>
+ *   <li>cacheName：缓存区域，如 clause、template</li>
+ *   <li>cacheKey：缓存键，{@code *} 表示整个区域</li>
+ *   <li>version：最近一次修改时的全局序号</li>
+ *   <li>origin：最近一次修改所在的节点</li>
+ *   <li>updatedAt：最近一次修改的时间</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@TableName("cache_version")
+public class CacheVersion {
+    /** 缓存区域 */
+    private String cacheName;
+    /** 缓存键 */
+    private String cacheKey;
+    /** 全局序号 */
+    private Long version;
+    /** 修改所在的节点 */
+    private String origin;
+    /** 修改时间 */
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.ktriasia.contractmanager.model.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按内容寻址的文本实体类。
+ * <p>来自条款库的长文本以其SHA-256为主键只存储一份，合同元素通过 {@code content_hash} 引用。
+ * 行写入后不再修改。</p>
+ * <ul>
+ *   <li>contentHash：内容UTF-8字节的SHA-256（小写十六进制）</li>
+ *   <li>content：文本内容</li>
+ *   <li>createdAt：首次写入时间</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("content_blob")
+public class ContentBlob {
+    /** 内容地址 */
+    @TableId(type = IdType.INPUT)
+    private String contentHash;
+    /** 文本内容 */
+    private String content;
+    /** 首次写入时间 */
+    private LocalDateTime createdAt;
+}
@@ -18,10 +18,11 @@ import java.util.List;
  *   <li>contractName：合同名称</li>
  *   <li>createdAt：合同创建时间</li>
  *   <li>updatedAt：合同最后更新时间</li>
+ *   <li>contentVersion：合同内容版本，合同元素每次写入时递增</li>
  * </ul>
  * @author Ktriasia
  * @since 2025-9-16
- * @version 1.0.0
+ * @version 1.1.0
  */
 @Data
 @TableName("contract")
@@ -35,6 +36,9 @@ public class Contract implements Serializable {
     LocalDateTime createdAt;
     /** 合同最后更新时间 */
     LocalDateTime updatedAt;
+
+    /** 合同内容版本，合同元素每次写入时递增，用作元素列表的ETag */
+    Long contentVersion;
     /** 合同元素列表（不持久化到数据库） */
     @TableField(exist = false)
     List<ContractElement> contractElements;
@@ -0,0 +1,45 @@
+package com.ktriasia.contractmanager.model.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.ktriasia.contractmanager.model.enums.ChangeEventType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 合同变更日志中的一条事件。
+ * <p>只追加、不修改。同一合同的事件按 eventId 的顺序即为提交顺序（写入事件时持有合同行锁）。</p>
+ * <ul>
+ *   <li>eventId：事件ID，自增</li>
+ *   <li>contractId：合同ID</li>
+ *   <li>contentVersion：产生该事件的事务提交后合同的内容版本，同一事务中的事件版本相同</li>
+ *   <li>eventType：事件类型</li>
+ *   <li>elementId：单个元素的事件对应的元素ID</li>
+ *   <li>payload：事件内容（JSON），格式见 {@link ChangeEventType}</li>
+ *   <li>createdAt：写入时间</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@TableName("contract_change_event")
+public class ContractChangeEvent {
+    /** 事件ID */
+    @TableId(type = IdType.AUTO)
+    private Long eventId;
+    /** 合同ID */
+    private Integer contractId;
+    /** 事务提交后的合同内容版本；写入时为null表示取合同行的当前版本 */
+    private Long contentVersion;
+    /** 事件类型 */
+    private ChangeEventType eventType;
+    /** 元素ID */
+    private Integer elementId;
+    /** 事件内容（JSON） */
+    private String payload;
+    /** 写入时间 */
+    private LocalDateTime createdAt;
+}
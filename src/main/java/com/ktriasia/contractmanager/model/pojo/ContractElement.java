@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.attributes.TypedAttributes;
 import com.ktriasia.contractmanager.model.enums.ElementType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -17,12 +19,14 @@ import lombok.Data;
  * <li>contractId：所属合同ID</li>
  * <li>elementType：元素类型</li>
  * <li>content：对于简单文本类元素 (如标题、段落)，存储其文本内容。对于复杂元素，可存储其标签或标题。</li>
- * <li>attributes：存储复杂元素的元数据或数据，格式为JSON字符串。例如，存储表格的结构、待填字段的默认值、图片的URL等。</li>
+ * <li>attributes：存储复杂元素的元数据或数据，格式为JSON。例如，存储表格的结构、待填字段的默认值、图片的URL等。
+ * 按需解析为 {@link TypedAttributes}，见 {@link #typedAttributes()}。</li>
+ * <li>contentHash：内容地址。来自条款库的长文本只在 content_blob 表中存储一份，元素只保存其SHA-256，读取时自动还原到 content。</li>
  * <li>sourceClauseId：来源条款ID（如果适用）</li>
  * </ul>
  * @author Ktriasia
  * @since 2025-9-19
- * @version 2.0.0
+ * @version 2.2.0
  */
 @Data
 @TableName("contract_element")
@@ -45,14 +49,20 @@ public class ContractElement {
      */
     private String content;
 
-    /** * 元素的附加属性 (存储为JSON字符串)。
+    /**
+     * 内容在 content_blob 表中的地址（SHA-256十六进制），为null时内容内联存储在 content 列。
+     * 数据库中两者都有值时以内联内容为准（编辑过的条款只改写 content，不清除地址）。
+     */
+    private String contentHash;
+
+    /** * 元素的附加属性 (存储为JSON，读取时不解析，首次访问结构化属性时才解析并缓存)。
      * 用于描述非文本的、结构化的或动态的数据。
      * - TABLE: '{"rows": 3, "cols": 4, "data": [["..."], ["..."]]}'
      * - FILLABLE_FIELD: '{"type": "text", "placeholder": "请输入...", "value": "用户填写的值"}'
      * - CHECKBOX: '{"label": "同意", "checked": false}'
      * - IMAGE/SEAL: '{"url": "https://bucket.example.com/images/seal.png", "width": 150, "height": 150}'
      */
-    private String attributes;
+    private ElementAttributes attributes;
 
     /** 来源条款ID(如果适用) */
     private Integer sourceClauseId;
@@ -67,4 +77,12 @@ public class ContractElement {
     /** 关联的合同对象(不持久化到数据库) */
     @TableField(exist = false)
     private Contract contract;
+
+    /**
+     * 按元素类型获取结构化属性，同一实体只解析一次
+     * @return 结构化属性；没有属性或该类型没有结构化属性时返回null
+     */
+    public TypedAttributes typedAttributes() {
+        return attributes != null ? attributes.typed(elementType) : null;
+    }
 }
\ No newline at end of file
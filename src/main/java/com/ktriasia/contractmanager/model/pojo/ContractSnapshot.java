@@ -0,0 +1,44 @@
+package com.ktriasia.contractmanager.model.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 合同元素列表的快照。
+ * <p>快照加上其后 eventId 大于 lastEventId 的变更事件即可还原之后任一版本。</p>
+ * <ul>
+ *   <li>snapshotId：快照ID，自增</li>
+ *   <li>contractId：合同ID</li>
+ *   <li>contentVersion：快照对应的合同内容版本</li>
+ *   <li>lastEventId：快照已包含的最后一条事件ID，创建合同时的快照为0</li>
+ *   <li>elementCount：元素数量</li>
+ *   <li>elements：元素状态数组（JSON）</li>
+ *   <li>createdAt：写入时间</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Data
+@TableName("contract_snapshot")
+public class ContractSnapshot {
+    /** 快照ID */
+    @TableId(type = IdType.AUTO)
+    private Long snapshotId;
+    /** 合同ID */
+    private Integer contractId;
+    /** 合同内容版本 */
+    private Long contentVersion;
+    /** 已包含的最后一条事件ID */
+    private Long lastEventId;
+    /** 元素数量 */
+    private Integer elementCount;
+    /** 元素状态数组（JSON） */
+    private String elements;
+    /** 写入时间 */
+    private LocalDateTime createdAt;
+}
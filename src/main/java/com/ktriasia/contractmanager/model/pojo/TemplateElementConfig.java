@@ -0,0 +1,47 @@
+package com.ktriasia.contractmanager.model.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 模板元素配置实体类。
+ * <p>定义合同模板中各个元素的类型、顺序与内容来源，是从模板生成合同元素的蓝图。</p>
+ * <ul>
+ *   <li>configId：配置项唯一标识</li>
+ *   <li>templateId：所属合同模板ID</li>
+ *   <li>orderIndex：元素在模板中的排列顺序</li>
+ *   <li>elementType：元素类型（字符串，由 {@link com.ktriasia.contractmanager.model.enums.ElementType#fromString(String)} 解析）</li>
+ *   <li>contentSource：内容来源，STATIC 或 CLAUSE_LIBRARY</li>
+ *   <li>staticContent：内容来源为 STATIC 时使用的内容</li>
+ *   <li>sourceClauseId：内容来源为 CLAUSE_LIBRARY 时关联的条款ID</li>
+ *   <li>defaultAttributes：元素的默认属性（JSON格式）</li>
+ * </ul>
+ * @author Ktriasia
+ * @since 2025-09-22
+ * @version 1.0.0
+ */
+@Data
+@TableName("template_element_config")
+public class TemplateElementConfig implements Serializable {
+    /** 配置项唯一标识 */
+    @TableId(type = IdType.AUTO)
+    Integer configId;
+    /** 所属合同模板ID */
+    Integer templateId;
+    /** 元素在模板中的排列顺序 */
+    Integer orderIndex;
+    /** 元素类型 */
+    String elementType;
+    /** 内容来源，STATIC 或 CLAUSE_LIBRARY */
+    String contentSource;
+    /** 内容来源为 STATIC 时使用的内容 */
+    String staticContent;
+    /** 内容来源为 CLAUSE_LIBRARY 时关联的条款ID */
+    Integer sourceClauseId;
+    /** 元素的默认属性（JSON格式） */
+    String defaultAttributes;
+}
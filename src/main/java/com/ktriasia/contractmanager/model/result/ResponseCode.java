@@ -7,7 +7,7 @@ import org.springframework.http.HttpStatus;
  * 返回给客户端的响应码枚举类（增强版）
  * <p>集成了业务错误码和对应的HTTP状态，成为唯一的响应状态信息源。</p>
  * @author Ktriasia
- * @version 1.1.0
+ * @version 1.2.0
  * @since 2025-09-23
  */
 @Getter
@@ -31,6 +31,9 @@ public enum ResponseCode {
     CONTRACT_UPDATE_ERROR(1004, "合同更新失败", HttpStatus.INTERNAL_SERVER_ERROR),
     CONTRACT_TEMPLATE_NOT_FOUND(1005, "合同模板不存在", HttpStatus.NOT_FOUND),
     CONTRACT_TEMPLATE_CONFIG_EMPTY(1006, "模板配置为空", HttpStatus.BAD_REQUEST),
+    CONTRACT_TEMPLATE_JOB_NOT_FOUND(1007, "模板创建任务不存在或已过期", HttpStatus.NOT_FOUND),
+    CONTRACT_TEMPLATE_JOB_REJECTED(1008, "模板创建任务队列已满", HttpStatus.SERVICE_UNAVAILABLE),
+    CONTRACT_IMPORT_ERROR(1009, "合同导入失败", HttpStatus.BAD_REQUEST),
     CONTRACT_OPERATION_ERROR(1099, "合同操作失败", HttpStatus.INTERNAL_SERVER_ERROR),
 
     // 合同元素相关 (2000-2999)
@@ -3,35 +3,84 @@ package com.ktriasia.contractmanager.service;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.pojo.Clause;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ktriasia.contractmanager.service.cache.SerializedResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 /**
  * 条款的服务层，提供获取所有条款、根据标题获取条款、根据分类获取条款以及获取所有条款分类的业务逻辑
  * @author ktriasia
- * @version 1.0.0
+ * @version 1.2.1
  * @since 2025-09-18
  */
 @Service
 public interface ClauseService extends IService<Clause> {
     /**
-     * 获取所有条款
-     * @return 所有条款的响应实体
+     * 分页获取所有条款，响应为缓存的序列化字节（带ETag与gzip表示）
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小，为null时使用默认值
+     * @return 一页条款的序列化响应
      */
-    ResponseEntity<Result<Object>> getAllClauses();
+    SerializedResponse getAllClauses(String cursor, Integer size);
 
-    ResponseEntity<Result<Object>> getClausesByTitle(String title);
+    /**
+     * 根据标题分页获取条款
+     * @param title 条款标题
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小，为null时使用默认值
+     * @return 一页匹配条款的响应实体
+     */
+    ResponseEntity<Result<Object>> getClausesByTitle(String title, String cursor, Integer size);
+
+    /**
+     * 按标题和内容全文检索条款，结果按相关度排序
+     * @param query 查询文本
+     * @param topK 返回的最大条数
+     * @return 检索结果的响应实体
+     */
+    ResponseEntity<Result<Object>> searchClauses(String query, Integer topK);
 
     /**
-     * 根据分类获取条款
+     * 根据分类分页获取条款，响应为缓存的序列化字节
      * @param category 条款分类
-     * @return 匹配条款的响应实体
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小，为null时使用默认值
+     * @return 一页匹配条款的序列化响应
+     */
+    SerializedResponse getClausesByCategory(String category, String cursor, Integer size);
+
+    /**
+     * 获取所有条款分类，响应为缓存的序列化字节
+     * @return 所有条款分类的序列化响应
+     */
+    SerializedResponse getAllCategories();
+
+    /**
+     * 根据ID获取条款
+     * @param clauseId 条款ID
+     * @return 条款的响应实体
+     */
+    ResponseEntity<Result<Object>> getClause(Integer clauseId);
+
+    /**
+     * 创建条款
+     * @param clause 条款对象
+     * @return 包含创建的条款信息的响应实体
+     */
+    ResponseEntity<Result<Object>> createClause(Clause clause);
+
+    /**
+     * 更新条款
+     * @param clauseId 条款ID
+     * @param clause 条款对象
+     * @return 包含更新的条款信息的响应实体
      */
-    ResponseEntity<Result<Object>> getClausesByCategory(String category);
+    ResponseEntity<Result<Object>> updateClause(Integer clauseId, Clause clause);
 
     /**
-     * 获取所有条款分类
-     * @return 所有条款分类的响应实体
+     * 删除条款
+     * @param clauseId 条款ID
+     * @return 删除结果的响应实体
      */
-    ResponseEntity<Result<Object>> getAllCategories();
+    ResponseEntity<Result<Object>> deleteClause(Integer clauseId);
 }
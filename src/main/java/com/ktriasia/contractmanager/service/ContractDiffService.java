@@ -0,0 +1,41 @@
+package com.ktriasia.contractmanager.service;
+
+import com.ktriasia.contractmanager.model.result.Result;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 合同差异比较的服务层，提供合同之间、合同与模板之间、合同的两个历史版本之间按元素对齐并给出词级内容差异的业务逻辑
+ * @author Ktriasia
+ * @version 1.1.0
+ * @since 2026-10-18
+ */
+public interface ContractDiffService {
+
+    /**
+     * 比较两份合同
+     * @param contractId 左侧（基准）合同ID
+     * @param otherContractId 右侧合同ID
+     * @param includeUnchanged 是否列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    ResponseEntity<Result<Object>> diffContracts(Integer contractId, Integer otherContractId, boolean includeUnchanged);
+
+    /**
+     * 比较合同与模板：左侧为模板实例化出的元素，右侧为合同当前的元素
+     * @param contractId 合同ID
+     * @param templateId 模板ID
+     * @param includeUnchanged 是否列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    ResponseEntity<Result<Object>> diffWithTemplate(Integer contractId, Integer templateId, boolean includeUnchanged);
+
+    /**
+     * 比较合同的两个历史版本，版本由快照与变更日志还原
+     * @param contractId 合同ID
+     * @param fromVersion 左侧（较早）版本
+     * @param toVersion 右侧版本
+     * @param includeUnchanged 是否列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    ResponseEntity<Result<Object>> diffVersions(Integer contractId, long fromVersion, long toVersion, boolean includeUnchanged);
+}
@@ -1,5 +1,6 @@
 package com.ktriasia.contractmanager.service;
 
+import com.ktriasia.contractmanager.model.dto.ElementAttributeFilterDTO;
 import com.ktriasia.contractmanager.model.pojo.ContractElement;
 import com.ktriasia.contractmanager.model.result.Result;
 import org.springframework.http.ResponseEntity;
@@ -9,7 +10,7 @@ import java.util.List;
 /**
  * 合同元素的服务层，提供获取合同元素、获取合同的所有元素、创建合同元素、更新合同元素以及删除合同元素的业务逻辑
  * @author ktriasia
- * @version 1.0.0
+ * @version 1.1.0
  * @since 2025-09-18
  */
 public interface ContractElementService {
@@ -48,4 +49,22 @@ public interface ContractElementService {
      * @return 删除结果的响应实体
      */
     ResponseEntity<Result<Object>> deleteContractElement(Integer elementId);
+
+    /**
+     * 在数据库中按属性过滤元素，游标分页
+     * @param filter 过滤条件
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小
+     * @return 包含匹配元素分页结果的响应实体
+     */
+    ResponseEntity<Result<Object>> searchElementsByAttributes(ElementAttributeFilterDTO filter, String cursor, Integer size);
+
+    /**
+     * 在数据库中按元素属性查询包含匹配元素的合同ID，游标分页
+     * @param filter 过滤条件
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小
+     * @return 包含合同ID分页结果的响应实体
+     */
+    ResponseEntity<Result<Object>> searchContractIdsByAttributes(ElementAttributeFilterDTO filter, String cursor, Integer size);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.ktriasia.contractmanager.service;
+
+import com.ktriasia.contractmanager.model.result.Result;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 合同历史的服务层，提供由快照与变更日志还原合同历史版本的业务逻辑
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface ContractHistoryService {
+
+    /**
+     * 获取合同在指定内容版本时的全部元素
+     * <p>合同已删除时仍可读取删除前的版本；早于变更日志启用的版本无法还原。</p>
+     * @param contractId 合同ID
+     * @param version 内容版本
+     * @return 包含该版本元素的响应实体
+     */
+    ResponseEntity<Result<Object>> getContractVersion(Integer contractId, long version);
+}
@@ -0,0 +1,23 @@
+package com.ktriasia.contractmanager.service;
+
+import com.ktriasia.contractmanager.model.result.Result;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+
+/**
+ * 合同批量导入的服务层，提供以NDJSON流批量导入合同及其元素的业务逻辑
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface ContractImportService {
+
+    /**
+     * 逐行读取NDJSON请求体并分块写入合同及其元素
+     * <p>每行一个合同，格式错误或写入失败的行单独报告，不影响其他行。</p>
+     * @param body NDJSON格式的请求体
+     * @return 包含导入统计和逐行错误的响应实体
+     */
+    ResponseEntity<Result<Object>> importContracts(InputStream body);
+}
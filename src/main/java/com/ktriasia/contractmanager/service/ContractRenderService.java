@@ -0,0 +1,24 @@
+package com.ktriasia.contractmanager.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 合同渲染的服务层，提供在服务端将合同渲染为HTML或纯文本的业务逻辑
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface ContractRenderService {
+
+    /**
+     * 渲染合同
+     * <p>渲染结果按（合同ID、内容版本、格式）缓存，合同未变化时直接返回缓存；支持 If-None-Match 条件请求。</p>
+     * @param contractId 合同ID
+     * @param format 输出格式：html 或 text
+     * @param webRequest 当前请求，用于判断条件请求头
+     * @return 以流式写出渲染结果的响应实体
+     */
+    ResponseEntity<StreamingResponseBody> renderContract(Integer contractId, String format, WebRequest webRequest);
+}
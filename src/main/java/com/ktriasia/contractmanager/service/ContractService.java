@@ -1,16 +1,20 @@
 package com.ktriasia.contractmanager.service;
 
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
 import com.ktriasia.contractmanager.model.pojo.Contract;
 import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.job.InstantiationProgress;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * 合同的服务层，提供创建合同、删除合同、获取合同的所有元素以及获取合同的所有条款元素的业务逻辑
  * @author ktriasia
- * @version 1.0.0
+ * @version 1.2.0
  * @since 2025-09-18
  */
 @Service
@@ -23,25 +27,51 @@ public interface ContractService {
     ResponseEntity<Result<Object>> createContract(Contract contract);
 
     /**
-     * 删除合同
+     * 删除合同，元素按块在多个短事务中删除；中途失败时再次删除即可从剩余元素继续
      * @param contractId 合同ID
      * @return 删除结果的响应实体
      */
     ResponseEntity<Result<Object>> deleteContract(Integer contractId);
 
     /**
-     * 获取合同的所有元素
+     * 批量删除合同，每个合同以与 {@link #deleteContract(Integer)} 相同的方式分块删除
+     * @param contractIds 合同ID列表
+     * @return 包含每个合同删除结果与进度的响应实体
+     */
+    ResponseEntity<Result<Object>> deleteContracts(List<Integer> contractIds);
+
+    /**
+     * 获取合同的所有元素，支持基于ETag/Last-Modified的条件请求
      * @param contractId 合同ID
-     * @return 包含合同所有元素的响应实体
+     * @param includeClauses 是否同时返回元素引用的条款
+     * @param webRequest 当前请求，可为null（不做条件判断）
+     * @return 包含合同所有元素的响应实体，未修改时为304
      */
-    ResponseEntity<Result<Object>> getContractElements(Integer contractId);
+    ResponseEntity<Result<Object>> getContractElements(Integer contractId, boolean includeClauses, WebRequest webRequest);
 
     /**
-     * 获取合同的所有条款元素
+     * 以流式方式获取合同的所有元素，逐行读取并写出，内存占用与合同规模无关
      * @param contractId 合同ID
-     * @return 包含合同所有条款元素的响应实体
+     * @return 以流式写出元素列表的响应实体
      */
-    ResponseEntity<Result<Object>> getContractClauseElements(Integer contractId);
+    ResponseEntity<StreamingResponseBody> streamContractElements(Integer contractId);
+
+    /**
+     * 获取合同的所有条款元素，支持基于ETag/Last-Modified的条件请求
+     * @param contractId 合同ID
+     * @param includeClauses 是否同时返回元素引用的条款
+     * @param webRequest 当前请求，可为null（不做条件判断）
+     * @return 包含合同所有条款元素的响应实体，未修改时为304
+     */
+    ResponseEntity<Result<Object>> getContractClauseElements(Integer contractId, boolean includeClauses, WebRequest webRequest);
+
+    /**
+     * 在一个事务中批量插入、移动、更新和删除合同元素
+     * @param contractId 合同ID
+     * @param operations 按顺序执行的操作列表
+     * @return 包含操作后合同全部元素的响应实体
+     */
+    ResponseEntity<Result<Object>> applyElementOperations(Integer contractId, List<ContractElementOperationDTO> operations);
 
     /**
      * 从模板创建合同
@@ -50,4 +80,15 @@ public interface ContractService {
      * @return 包含新创建的合同及其所有元素的响应实体
      */
     ResponseEntity<Result<Object>> createContractFromTemplate(Integer templateId, Contract contractDetails);
+
+    /**
+     * 从模板创建合同，并在写入元素的过程中报告进度
+     * <p>供异步任务调用；合同与全部元素在同一事务中写入，成功后 contractDetails 中回填新合同的ID。</p>
+     * @param templateId 模板ID
+     * @param contractDetails 合同详细信息
+     * @param progress 进度回调
+     * @return 包含新创建的合同及其所有元素的响应实体
+     */
+    ResponseEntity<Result<Object>> createContractFromTemplate(Integer templateId, Contract contractDetails,
+                                                              InstantiationProgress progress);
 }
@@ -0,0 +1,33 @@
+package com.ktriasia.contractmanager.service;
+
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.result.Result;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 从模板异步创建合同的任务服务，提供提交任务和查询任务状态与进度的业务逻辑
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface TemplateJobService {
+
+    /**
+     * 提交从模板创建合同的任务
+     * <p>任务在有界线程池中执行，队列已满时拒绝提交。携带幂等键重复提交时返回同一个任务，
+     * 不会再次创建合同。</p>
+     * @param templateId 模板ID
+     * @param contractDetails 合同详细信息
+     * @param idempotencyKey 客户端提供的幂等键，可为null
+     * @return 202响应，包含任务信息，Location指向任务状态地址
+     */
+    ResponseEntity<Result<Object>> submitCreateContractFromTemplate(Integer templateId, Contract contractDetails,
+                                                                    String idempotencyKey);
+
+    /**
+     * 查询任务的状态与进度；已结束的任务在保留时间内可查询
+     * @param jobId 任务ID
+     * @return 包含任务状态与进度的响应实体
+     */
+    ResponseEntity<Result<Object>> getTemplateJob(String jobId);
+}
@@ -0,0 +1,280 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.mapper.CacheVersionMapper;
+import com.ktriasia.contractmanager.model.pojo.CacheVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多节点间进程内缓存的一致性
+ * <p>不依赖消息中间件，只使用现有的MySQL：</p>
+ * <ul>
+ *   <li>服务层写入后调用 {@link #publish(String, Object)}。缓存键先缓存在当前事务中，在提交前递增全局序号，
+ *       并以一条多行 INSERT 把这些键的版本更新为该序号，与数据的修改同时提交；没有活动事务时立即在独立事务中写入。</li>
+ *   <li>各节点每隔 contract-manager.cache-coherence.poll-interval 以一条走版本索引的查询读取序号大于已处理序号的行，
+ *       跳过本节点发布的行，通知对应区域的 {@link CacheInvalidationListener}。没有修改时查询不返回任何行。
+ *       一个事务写入的键共用一个序号，分页以 (序号, 区域, 键) 为位置，读完最后一页后才推进已处理序号。</li>
+ *   <li>序号行在递增后锁定到事务提交，序号顺序即提交顺序，轮询方按序号推进不会漏掉未提交的修改。</li>
+ *   <li>超过保留时长的行会被清理；本节点连续轮询失败超过保留时长时，可能错过已清理的通知，因此使全部区域失效。</li>
+ * </ul>
+ * <p>本节点的缓存仍由写入方直接失效，轮询只负责其他节点。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Slf4j
+@Component
+public class CacheCoherence {
+
+    /** 表示整个区域的缓存键 */
+    public static final String ALL_KEYS = "*";
+
+    private final CacheVersionMapper cacheVersionMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, List<CacheInvalidationListener>> listeners = new HashMap<>();
+    private final ThreadingMode threadingMode;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter invalidations;
+    /** 本节点的标识，每个应用上下文不同 */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** 已处理的全局序号 */
+    private volatile long watermark = -1;
+    private volatile LocalDateTime lastSuccessfulPoll = LocalDateTime.now();
+    private LocalDateTime lastPrune = LocalDateTime.now();
+    private ScheduledExecutorService scheduler;
+
+    public CacheCoherence(CacheVersionMapper cacheVersionMapper,
+                          TransactionTemplate transactionTemplate,
+                          List<CacheInvalidationListener> listeners,
+                          ThreadingMode threadingMode,
+                          MeterRegistry meterRegistry,
+                          @Value("${contract-manager.cache-coherence.poll-interval:1s}") Duration pollInterval,
+                          @Value("${contract-manager.cache-coherence.batch-size:1000}") int batchSize,
+                          @Value("${contract-manager.cache-coherence.retention:1d}") Duration retention) {
+        this.cacheVersionMapper = cacheVersionMapper;
+        this.transactionTemplate = transactionTemplate;
+        listeners.forEach(listener -> this.listeners.computeIfAbsent(listener.cacheName(), name -> new ArrayList<>()).add(listener));
+        this.threadingMode = threadingMode;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.invalidations = Counter.builder("cache.coherence.invalidations")
+                .description("由其他节点的修改触发的本地缓存失效次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 从当前序号开始跟踪修改，并按轮询间隔启动后台轮询（间隔为0时不启动，由调用方执行 {@link #poll()}）
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            watermark = currentSequence();
+        } catch (RuntimeException e) {
+            log.warn("读取缓存版本的全局序号失败，将在首次轮询时重试", e);
+        }
+        lastSuccessfulPoll = LocalDateTime.now();
+        if (pollInterval.isPositive()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadingMode.newThreadFactory("cache-coherence-"));
+            scheduler.scheduleWithFixedDelay(this::pollQuietly, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 通知其他节点缓存键已修改；在事务中调用时随事务提交
+     * @param cacheName 缓存区域
+     * @param key 缓存键
+     */
+    public void publish(String cacheName, Object key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(Set.of(new Entry(cacheName, String.valueOf(key)))));
+            return;
+        }
+        pendingEntries().entries.add(new Entry(cacheName, String.valueOf(key)));
+    }
+
+    /**
+     * 通知其他节点整个缓存区域已失效
+     * @param cacheName 缓存区域
+     */
+    public void publishAll(String cacheName) {
+        publish(cacheName, ALL_KEYS);
+    }
+
+    /**
+     * 读取其他节点自上次轮询以来的修改并使本地缓存失效
+     * @return 处理的修改数量
+     */
+    public int poll() {
+        LocalDateTime now = LocalDateTime.now();
+        if (watermark < 0) {
+            // 启动时未能读取序号，期间的修改无从得知
+            watermark = currentSequence();
+            invalidateAll();
+        } else if (Duration.between(lastSuccessfulPoll, now).compareTo(retention) > 0) {
+            log.warn("缓存一致性轮询已中断超过 {}，可能错过了已清理的通知，使全部本地缓存失效", retention);
+            invalidateAll();
+        }
+
+        // 同一序号可能跨越多页，按 (序号, 区域, 键) 分页，全部读完后才推进已处理序号
+        int applied = 0;
+        CacheVersion last = null;
+        List<CacheVersion> changes;
+        do {
+            changes = last == null
+                    ? cacheVersionMapper.selectAfter(watermark, null, null, batchSize)
+                    : cacheVersionMapper.selectAfter(last.getVersion(), last.getCacheName(), last.getCacheKey(), batchSize);
+            for (CacheVersion change : changes) {
+                if (!nodeId.equals(change.getOrigin())) {
+                    apply(change.getCacheName(), change.getCacheKey());
+                    applied++;
+                }
+                last = change;
+            }
+        } while (changes.size() == batchSize);
+        if (last != null) {
+            watermark = last.getVersion();
+        }
+        lastSuccessfulPoll = now;
+
+        if (Duration.between(lastPrune, now).compareTo(Duration.ofHours(1)) > 0) {
+            lastPrune = now;
+            int pruned = cacheVersionMapper.deleteOlderThan(now.minus(retention));
+            log.debug("已清理 {} 个过期的缓存版本", pruned);
+        }
+        return applied;
+    }
+
+    /**
+     * @return 本节点已处理的全局序号
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    private void pollQuietly() {
+        try {
+            int applied = poll();
+            if (applied > 0) {
+                log.debug("已按其他节点的修改使 {} 个本地缓存键失效", applied);
+            }
+        } catch (RuntimeException e) {
+            log.warn("缓存一致性轮询失败", e);
+        }
+    }
+
+    private void invalidateAll() {
+        listeners.values().forEach(regionListeners -> regionListeners.forEach(CacheInvalidationListener::invalidateAll));
+    }
+
+    private void apply(String cacheName, String key) {
+        for (CacheInvalidationListener listener : listeners.getOrDefault(cacheName, List.of())) {
+            if (ALL_KEYS.equals(key)) {
+                listener.invalidateAll();
+            } else {
+                listener.invalidate(key);
+            }
+            invalidations.increment();
+        }
+    }
+
+    private long currentSequence() {
+        Long sequence = cacheVersionMapper.selectSequence();
+        if (sequence == null) {
+            cacheVersionMapper.insertSequence(LocalDateTime.now());
+            sequence = cacheVersionMapper.selectSequence();
+        }
+        return sequence != null ? sequence : 0L;
+    }
+
+    /**
+     * 递增全局序号并把缓存键的版本更新为新序号；须在事务中执行
+     */
+    private void write(Set<Entry> entries) {
+        if (cacheVersionMapper.incrementSequence() == 0) {
+            cacheVersionMapper.insertSequence(LocalDateTime.now());
+            cacheVersionMapper.incrementSequence();
+        }
+        long version = cacheVersionMapper.selectSequence();
+        LocalDateTime now = LocalDateTime.now();
+        List<CacheVersion> versions = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            CacheVersion cacheVersion = new CacheVersion();
+            cacheVersion.setCacheName(entry.cacheName());
+            cacheVersion.setCacheKey(entry.key());
+            cacheVersion.setVersion(version);
+            cacheVersion.setOrigin(nodeId);
+            cacheVersion.setUpdatedAt(now);
+            versions.add(cacheVersion);
+        }
+        cacheVersionMapper.upsertBatch(versions);
+    }
+
+    /**
+     * 当前事务的待发布缓存键；在同步回调列表中查找，事务挂起与恢复时随之切换
+     */
+    private PendingEntries pendingEntries() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEntries pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingEntries pending = new PendingEntries();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private record Entry(String cacheName, String key) {
+    }
+
+    /**
+     * 一个事务中待发布的缓存键；序号行在提交前才锁定，锁只持有到提交
+     */
+    private final class PendingEntries implements TransactionSynchronization {
+
+        private final Set<Entry> entries = new LinkedHashSet<>();
+
+        private CacheCoherence owner() {
+            return CacheCoherence.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(entries);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ktriasia.contractmanager.service.cache;
+
+/**
+ * 接收其他节点的缓存失效通知
+ * <p>实现为Spring Bean即由 {@link CacheCoherence} 收集；同一区域可以有多个监听器。回调在轮询线程中执行。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * @return 监听的缓存区域
+     */
+    String cacheName();
+
+    /**
+     * 其他节点修改了该区域中的一个键
+     * @param key 缓存键
+     */
+    void invalidate(String key);
+
+    /**
+     * 该区域需要整体失效：其他节点发布了整个区域的失效，或本节点可能错过了部分通知
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,49 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.ktriasia.contractmanager.service.search.ClauseSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 其他节点修改条款后，使本节点依赖条款的缓存失效
+ * <p>与写入节点的处理一致：条款库在下次读取时重新加载，检索索引按新的条款库更新该条款，
+ * 条款列表的缓存响应与引用该条款的编译模板失效。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ClauseCacheInvalidator implements CacheInvalidationListener {
+
+    /** 条款的缓存区域，键为条款ID */
+    public static final String CACHE_NAME = "clause";
+
+    private final ClauseLibrary clauseLibrary;
+    private final ClauseSearchIndex clauseSearchIndex;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final SerializedResponseCache serializedResponseCache;
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidate(String key) {
+        Integer clauseId = Integer.valueOf(key);
+        clauseLibrary.invalidate();
+        serializedResponseCache.invalidate(CACHE_NAME);
+        clauseSearchIndex.update(clauseId);
+        compiledTemplateCache.invalidateClause(clauseId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        clauseLibrary.invalidate();
+        serializedResponseCache.invalidate(CACHE_NAME);
+        clauseSearchIndex.invalidate();
+        compiledTemplateCache.invalidateAll();
+    }
+}
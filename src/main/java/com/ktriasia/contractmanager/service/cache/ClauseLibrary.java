@@ -0,0 +1,169 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.ktriasia.contractmanager.config.datasource.ReadRouting;
+import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.model.enums.ClauseCategory;
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 进程内条款库
+ * <p>条款库规模小且几乎只读，因此整体加载到内存，并维护按类别的 {@link EnumMap} 索引和ID索引。
+ * 首次读取时从数据库加载（read-through）；条款写入后由服务层调用 {@link #refresh()} 重新加载，
+ * 新快照构建完成后以写时复制的方式原子替换，读取方始终看到完整一致的快照，且不会访问数据库。</p>
+ * <p>加载时不持有任何锁或监视器，查询期间不会固定虚拟线程的载体线程。每次刷新或失效都会递增代数，
+ * 加载完成时只有代数未变才安装快照，先开始的加载不会覆盖之后写入触发的更新快照；
+ * 并发的延迟加载合并为同一次查询（single-flight）。</p>
+ * <p>快照中的 {@link ClauseDTO} 在多个请求间共享，调用方不得修改。快照总是从主库加载，不会缓存副本上的旧数据。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.2
+ */
+@Component
+@RequiredArgsConstructor
+public class ClauseLibrary {
+
+    private final ClauseMapper clauseMapper;
+
+    /** 当前代数与快照，快照为 null 表示尚未加载或已失效 */
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, null));
+    /** 正在进行的延迟加载，null 表示没有 */
+    private final AtomicReference<Load> inFlight = new AtomicReference<>();
+
+    /**
+     * 获取所有条款，按条款ID升序
+     * @return 不可修改的条款列表
+     */
+    public List<ClauseDTO> getAll() {
+        return current().all;
+    }
+
+    /**
+     * 获取指定类别的条款，按条款ID升序
+     * @param category 条款类别
+     * @return 不可修改的条款列表
+     */
+    public List<ClauseDTO> getByCategory(ClauseCategory category) {
+        return current().byCategory.getOrDefault(category, Collections.emptyList());
+    }
+
+    /**
+     * 根据ID获取条款
+     * @param clauseId 条款ID
+     * @return 条款，不存在时返回null
+     */
+    public ClauseDTO getById(Integer clauseId) {
+        return current().byId.get(clauseId);
+    }
+
+    /**
+     * 从数据库重新加载条款库并原子替换当前快照；加载期间读取方仍看到旧快照
+     */
+    public void refresh() {
+        long generation = state.updateAndGet(current -> new State(current.generation() + 1, current.snapshot())).generation();
+        install(generation, load());
+    }
+
+    /**
+     * 使当前快照失效，下次读取时重新加载
+     */
+    public void invalidate() {
+        state.updateAndGet(current -> new State(current.generation() + 1, null));
+    }
+
+    private Snapshot current() {
+        while (true) {
+            State current = state.get();
+            if (current.snapshot() != null) {
+                return current.snapshot();
+            }
+            Load load = inFlight.get();
+            if (load != null && load.generation() == current.generation()) {
+                try {
+                    return load.future().join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+            Load mine = new Load(current.generation(), new CompletableFuture<>());
+            if (inFlight.compareAndSet(load, mine)) {
+                try {
+                    Snapshot loaded = load();
+                    install(mine.generation(), loaded);
+                    mine.future().complete(loaded);
+                    return loaded;
+                } catch (RuntimeException e) {
+                    mine.future().completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.compareAndSet(mine, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * 加载开始后没有新的刷新或失效时才安装快照
+     */
+    private void install(long generation, Snapshot loaded) {
+        State current = state.get();
+        while (current.generation() == generation
+                && !state.compareAndSet(current, new State(generation, loaded))) {
+            current = state.get();
+        }
+    }
+
+    private Snapshot load() {
+        QueryWrapper<Clause> queryWrapper = new QueryWrapper<>();
+        queryWrapper.orderByAsc("clause_id");
+        List<Clause> clauses = ReadRouting.onPrimary(() -> clauseMapper.selectList(queryWrapper));
+
+        List<ClauseDTO> all = new ArrayList<>(clauses.size());
+        Map<Integer, ClauseDTO> byId = new HashMap<>(clauses.size() * 2);
+        EnumMap<ClauseCategory, List<ClauseDTO>> byCategory = new EnumMap<>(ClauseCategory.class);
+        for (Clause clause : clauses) {
+            ClauseDTO dto = ClauseDTO.fromEntity(clause);
+            all.add(dto);
+            byId.put(dto.getClauseId(), dto);
+            if (clause.getClauseCategory() != null) {
+                byCategory.computeIfAbsent(clause.getClauseCategory(), key -> new ArrayList<>()).add(dto);
+            }
+        }
+        byCategory.replaceAll((category, list) -> Collections.unmodifiableList(list));
+        return new Snapshot(Collections.unmodifiableList(all), Collections.unmodifiableMap(byId), byCategory);
+    }
+
+    /**
+     * 代数与对应的快照
+     */
+    private record State(long generation, Snapshot snapshot) {
+    }
+
+    /**
+     * 一次延迟加载，等待中的读取方共享其结果
+     */
+    private record Load(long generation, CompletableFuture<Snapshot> future) {
+    }
+
+    /**
+     * 条款库的不可变快照
+     */
+    private record Snapshot(List<ClauseDTO> all,
+                            Map<Integer, ClauseDTO> byId,
+                            EnumMap<ClauseCategory, List<ClauseDTO>> byCategory) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktriasia.contractmanager.config.datasource.ReadRouting;
+import com.ktriasia.contractmanager.model.mapper.TemplateElementConfigMapper;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 编译后合同模板的进程内缓存
+ * <p>以模板ID为键缓存 {@link CompiledTemplate}，按容量淘汰并设置兜底过期时间。
+ * 模板或其引用的条款发生变化时，须调用 {@link #invalidate(Integer)}、{@link #invalidateClause(Integer)}
+ * 或 {@link #invalidateAll()} 使缓存失效；其他节点发布的模板失效通过 {@link CacheCoherence} 送达。
+ * 命中率等指标以 {@code cache.*} 的名称注册到Actuator。模板配置总是从主库加载，不会缓存副本上的旧数据。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.2.0
+ */
+@Component
+public class CompiledTemplateCache implements CacheInvalidationListener {
+
+    /** 缓存在指标中的名称 */
+    public static final String CACHE_NAME = "compiledTemplates";
+    /** 模板的缓存区域，键为模板ID */
+    public static final String COHERENCE_NAME = "template";
+
+    private final TemplateElementConfigMapper templateElementConfigMapper;
+    private final TemplateToContractConverter templateToContractConverter;
+    private final Cache<Integer, CompiledTemplate> cache;
+
+    public CompiledTemplateCache(TemplateElementConfigMapper templateElementConfigMapper,
+                                 TemplateToContractConverter templateToContractConverter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${contract-manager.template-cache.maximum-size:500}") long maximumSize,
+                                 @Value("${contract-manager.template-cache.expire-after-write:30m}") Duration expireAfterWrite) {
+        this.templateElementConfigMapper = templateElementConfigMapper;
+        this.templateToContractConverter = templateToContractConverter;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 获取编译后的模板，未命中时从数据库加载并编译
+     * @param templateId 模板ID
+     * @return 编译后的模板；模板不存在或配置为空时返回null（不缓存）
+     */
+    public CompiledTemplate get(Integer templateId) {
+        return cache.get(templateId, this::load);
+    }
+
+    /**
+     * 使指定模板的缓存失效
+     * @param templateId 模板ID
+     */
+    public void invalidate(Integer templateId) {
+        cache.invalidate(templateId);
+    }
+
+    /**
+     * 使所有引用了指定条款的模板缓存失效
+     * @param clauseId 条款ID
+     */
+    public void invalidateClause(Integer clauseId) {
+        cache.asMap().values().removeIf(template -> template.getReferencedClauseIds().contains(clauseId));
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public String cacheName() {
+        return COHERENCE_NAME;
+    }
+
+    @Override
+    public void invalidate(String key) {
+        invalidate(Integer.valueOf(key));
+    }
+
+    /**
+     * 获取当前缓存的模板数量（近似值）
+     * @return 缓存条目数
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private CompiledTemplate load(Integer templateId) {
+        QueryWrapper<TemplateElementConfig> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("template_id", templateId);
+        List<TemplateElementConfig> configs = ReadRouting.onPrimary(() -> templateElementConfigMapper.selectList(queryWrapper));
+        if (configs.isEmpty()) {
+            return null;
+        }
+        return templateToContractConverter.compile(templateId, configs);
+    }
+}
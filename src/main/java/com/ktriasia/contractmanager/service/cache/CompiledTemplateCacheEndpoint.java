@@ -0,0 +1,56 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 编译模板缓存的Actuator端点
+ * <p>直接修改模板配置表后，运维可通过 {@code DELETE /actuator/templatecache[/{templateId}]} 使缓存失效，
+ * 失效同时发布到其他节点。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.0
+ */
+@Component
+@Endpoint(id = "templatecache")
+@RequiredArgsConstructor
+public class CompiledTemplateCacheEndpoint {
+
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final CacheCoherence cacheCoherence;
+
+    /**
+     * 查看缓存条目数
+     * @return 缓存概况
+     */
+    @ReadOperation
+    public Map<String, Object> summary() {
+        return Map.of("cache", CompiledTemplateCache.CACHE_NAME, "size", compiledTemplateCache.size());
+    }
+
+    /**
+     * 清空全部编译模板
+     */
+    @DeleteOperation
+    public void invalidateAll() {
+        compiledTemplateCache.invalidateAll();
+        cacheCoherence.publishAll(CompiledTemplateCache.COHERENCE_NAME);
+    }
+
+    /**
+     * 使指定模板失效
+     * @param templateId 模板ID
+     */
+    @DeleteOperation
+    public void invalidate(@Selector Integer templateId) {
+        compiledTemplateCache.invalidate(templateId);
+        cacheCoherence.publish(CompiledTemplateCache.COHERENCE_NAME, templateId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktriasia.contractmanager.service.render.RenderFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 合同渲染结果的进程内缓存
+ * <p>以（合同ID、内容版本、输出格式）为键缓存渲染后的UTF-8字节。合同元素每次写入都会递增内容版本，
+ * 因此不需要显式失效：旧版本的条目不再被访问，按总字节数和空闲时间淘汰。
+ * 命中率等指标以 {@code cache.*} 的名称注册到Actuator。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+public class RenderedContractCache {
+
+    /** 缓存在指标中的名称 */
+    public static final String CACHE_NAME = "renderedContracts";
+
+    /**
+     * 缓存键
+     * @param contractId 合同ID
+     * @param contentVersion 渲染时的合同内容版本
+     * @param format 输出格式
+     */
+    public record Key(Integer contractId, long contentVersion, RenderFormat format) {
+    }
+
+    private final Cache<Key, byte[]> cache;
+    private final int maxEntryBytes;
+
+    public RenderedContractCache(MeterRegistry meterRegistry,
+                                 @Value("${contract-manager.render-cache.maximum-size:64MB}") DataSize maximumSize,
+                                 @Value("${contract-manager.render-cache.max-entry-size:2MB}") DataSize maxEntrySize,
+                                 @Value("${contract-manager.render-cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.maxEntryBytes = (int) Math.min(maxEntrySize.toBytes(), Integer.MAX_VALUE - 8);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<Key, byte[]>weigher((key, value) -> value.length)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 获取缓存的渲染结果
+     * @param key 缓存键
+     * @return 渲染后的字节；未命中时返回null
+     */
+    public byte[] get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * 缓存渲染结果，超过单条上限的结果不缓存
+     * @param key 缓存键
+     * @param rendered 渲染后的字节
+     */
+    public void put(Key key, byte[] rendered) {
+        if (rendered.length <= maxEntryBytes) {
+            cache.put(key, rendered);
+        }
+    }
+
+    /**
+     * @return 单条缓存的字节数上限，渲染时超过该大小即停止收集输出
+     */
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
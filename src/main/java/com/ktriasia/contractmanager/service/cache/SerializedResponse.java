@@ -0,0 +1,30 @@
+package com.ktriasia.contractmanager.service.cache;
+
+/**
+ * {@link SerializedResponseCache} 中一个响应的全部表示
+ * <p>字节数组在多个请求间共享，调用方不得修改。</p>
+ *
+ * @param body 未压缩的 {@code Result} JSON 字节
+ * @param eTag 未压缩表示的强ETag
+ * @param gzipBody gzip压缩后的字节；响应过小或压缩后不更小时为null
+ * @param gzipETag gzip表示的强ETag
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public record SerializedResponse(byte[] body, String eTag, byte[] gzipBody, String gzipETag) {
+
+    /**
+     * @return 是否有gzip表示
+     */
+    public boolean hasGzip() {
+        return gzipBody != null;
+    }
+
+    /**
+     * @return 缓存中占用的字节数
+     */
+    int weight() {
+        return body.length + (gzipBody != null ? gzipBody.length : 0);
+    }
+}
@@ -0,0 +1,155 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktriasia.contractmanager.model.result.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 近乎静态的接口响应的进程内缓存
+ * <p>缓存序列化后的 {@link Result} JSON 字节，以及在首次生成时一并压缩好的 gzip 字节和各自的强ETag（{@link SerializedResponse}），
+ * 命中时不再序列化或压缩；按 Accept-Encoding 选择表示、以ETag响应条件请求由控制层完成。</p>
+ * <p>条目按区域划分，键中包含区域的代数。区域的数据修改后调用 {@link #invalidate(String)} 递增代数，
+ * 旧代数的条目不再被访问，按总字节数和空闲时间淘汰；生成响应前先读取代数，
+ * 生成期间数据被修改时结果记在旧代数下，不会被之后的读取命中。
+ * 命中率等指标以 {@code cache.*{cache=responses}} 的名称注册到Actuator。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Component
+public class SerializedResponseCache {
+
+    /** 缓存在指标中的名称 */
+    public static final String CACHE_NAME = "responses";
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    /**
+     * 缓存键
+     * @param region 区域
+     * @param generation 生成响应时区域的代数
+     * @param key 区域内的键，由调用方根据请求参数构造
+     */
+    private record Key(String region, long generation, String key) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, SerializedResponse> cache;
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final long minCompressBytes;
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${contract-manager.response-cache.maximum-size:16MB}") DataSize maximumSize,
+                                   @Value("${contract-manager.response-cache.min-compress-size:1KB}") DataSize minCompressSize,
+                                   @Value("${contract-manager.response-cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.objectMapper = objectMapper;
+        this.minCompressBytes = minCompressSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<Key, SerializedResponse>weigher((key, response) -> response.weight())
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 返回缓存的响应，未命中时生成并缓存
+     * @param region 区域，数据修改时按区域失效
+     * @param key 区域内的键，须包含所有影响响应内容的请求参数
+     * @param result 生成响应内容，只在未命中时调用
+     * @return 响应的全部表示
+     */
+    public SerializedResponse get(String region, String key, Supplier<Result<?>> result) {
+        return cache.get(new Key(region, generation(region).get(), key), ignored -> serialize(result.get()));
+    }
+
+    /**
+     * 使区域内的全部响应失效
+     * @param region 区域
+     */
+    public void invalidate(String region) {
+        generation(region).incrementAndGet();
+    }
+
+    /**
+     * @return 缓存的条目数（包括尚未淘汰的旧代数条目）
+     */
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, ignored -> new AtomicLong());
+    }
+
+    private SerializedResponse serialize(Result<?> result) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("响应序列化失败", e);
+        }
+        String digest = digest(body);
+        byte[] gzipBody = body.length >= minCompressBytes ? gzip(body) : null;
+        if (gzipBody != null && gzipBody.length >= body.length) {
+            gzipBody = null;
+        }
+        return new SerializedResponse(body, "\"" + digest + "\"", gzipBody, "\"" + digest + GZIP_SUFFIX + "\"");
+    }
+
+    /**
+     * 以最高压缩级别压缩：每个响应只压缩一次，之后的每次命中都直接写出
+     */
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * 响应内容的SHA-256前16个字节（十六进制），内容相同的响应在各节点上ETag相同
+     */
+    private static String digest(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            // 所有Java平台都必须提供SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
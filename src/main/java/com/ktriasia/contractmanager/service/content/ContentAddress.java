@@ -0,0 +1,49 @@
+package com.ktriasia.contractmanager.service.content;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 元素内容的地址计算
+ * <p>只有来自条款库且长度不小于 {@link #MIN_LENGTH} 的内容按地址存储：短文本内联存储的开销比多查一次表更小，
+ * 其他元素类型的内容几乎不会在合同之间重复。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class ContentAddress {
+
+    /** 按地址存储的最小内容长度（字符数） */
+    public static final int MIN_LENGTH = 256;
+
+    private ContentAddress() {
+    }
+
+    /**
+     * 判断元素内容是否应按地址存储
+     * @param sourceClauseId 来源条款ID
+     * @param content 元素内容
+     * @return 来自条款库的长文本返回true
+     */
+    public static boolean isAddressable(Integer sourceClauseId, String content) {
+        return sourceClauseId != null && content != null && content.length() >= MIN_LENGTH;
+    }
+
+    /**
+     * 计算内容地址
+     * @param content 文本内容
+     * @return UTF-8字节的SHA-256，小写十六进制
+     */
+    public static String of(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // 所有Java平台都必须提供SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ktriasia.contractmanager.service.content;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按内容寻址文本的Actuator端点
+ * <p>{@code GET /actuator/contentblobs} 查看缓存条目数与迁移进度；
+ * {@code POST /actuator/contentblobs} 在后台把已有元素中内联存储的条款库长文本迁移为按地址存储。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "contentblobs")
+@RequiredArgsConstructor
+public class ContentBlobEndpoint {
+
+    private final ContentBlobStore contentBlobStore;
+    private final ContentBlobMigrator contentBlobMigrator;
+
+    /**
+     * 查看缓存条目数与迁移进度
+     * @return 概况
+     */
+    @ReadOperation
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("cache", ContentBlobStore.CACHE_NAME);
+        summary.put("size", contentBlobStore.size());
+        summary.put("migration", contentBlobMigrator.progress());
+        return summary;
+    }
+
+    /**
+     * 开始迁移已有元素
+     * @return 是否已开始；已有迁移在运行时为false
+     */
+    @WriteOperation
+    public Map<String, Object> migrate() {
+        return Map.of("started", contentBlobMigrator.start());
+    }
+}
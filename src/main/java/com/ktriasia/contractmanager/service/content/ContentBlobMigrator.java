@@ -0,0 +1,159 @@
+package com.ktriasia.contractmanager.service.content;
+
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 将已有元素中内联存储的条款库长文本迁移为按地址存储
+ * <p>按主键区间逐段处理，每段在一个短事务中锁定区间内待迁移的行、写入文本、再按内容分组改写元素，
+ * 与并发的元素编辑互斥。迁移不改变元素的读取结果，因此不递增合同内容版本。已迁移的行不再被选中，
+ * 中断后重新执行即可继续。迁移在单个后台线程中执行，同一时间只运行一次。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class ContentBlobMigrator {
+
+    private final ContractElementMapper contractElementMapper;
+    private final ContentBlobStore contentBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int rangeSize;
+
+    private final AtomicLong rowsMigrated = new AtomicLong();
+    private volatile boolean running;
+    private volatile Integer lastElementId;
+    private volatile Integer maxElementId;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ContentBlobMigrator(ContractElementMapper contractElementMapper,
+                               ContentBlobStore contentBlobStore,
+                               TransactionTemplate transactionTemplate,
+                               ThreadingMode threadingMode,
+                               @Value("${contract-manager.content-blobs.migration-range-size:1000}") int rangeSize) {
+        this.contractElementMapper = contractElementMapper;
+        this.contentBlobStore = contentBlobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = Executors.newSingleThreadExecutor(threadingMode.newThreadFactory("content-migration-"));
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * 在后台开始迁移全部元素
+     * @return 已有迁移在运行时返回false
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return false;
+        }
+        running = true;
+        rowsMigrated.set(0);
+        lastElementId = null;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        executor.execute(() -> {
+            try {
+                migrateAll();
+                log.info("元素内容迁移完成，迁移 {} 行", rowsMigrated.get());
+            } catch (RuntimeException e) {
+                error = e.getMessage();
+                log.warn("元素内容迁移在元素 {} 之后失败，重新执行可继续", lastElementId, e);
+            } finally {
+                finishedAt = LocalDateTime.now();
+                running = false;
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 同步迁移全部元素
+     * @return 迁移的行数
+     */
+    public long migrateAll() {
+        Integer max = contractElementMapper.selectMaxElementId();
+        maxElementId = max;
+        long migrated = 0;
+        if (max == null) {
+            return migrated;
+        }
+        for (int afterId = 0; afterId < max; afterId += rangeSize) {
+            int toId = (int) Math.min((long) afterId + rangeSize, max);
+            migrated += migrateRange(afterId, toId);
+            lastElementId = toId;
+        }
+        return migrated;
+    }
+
+    /**
+     * 在一个事务中迁移主键区间内的元素
+     * @param afterId 区间起点（不含）
+     * @param toId 区间终点（含）
+     * @return 迁移的行数
+     */
+    public int migrateRange(int afterId, int toId) {
+        Integer migrated = transactionTemplate.execute(status -> {
+            List<ContractElement> rows = contractElementMapper.selectInlineClauseContentForUpdate(
+                    afterId, toId, ContentAddress.MIN_LENGTH);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            Map<String, String> contents = new LinkedHashMap<>();
+            Map<String, List<Integer>> elementIdsByHash = new HashMap<>();
+            for (ContractElement row : rows) {
+                String hash = ContentAddress.of(row.getContent());
+                contents.putIfAbsent(hash, row.getContent());
+                elementIdsByHash.computeIfAbsent(hash, key -> new ArrayList<>()).add(row.getElementId());
+            }
+            contentBlobStore.insert(contents);
+            elementIdsByHash.forEach(contractElementMapper::moveContentToBlob);
+            return rows.size();
+        });
+        int count = migrated != null ? migrated : 0;
+        rowsMigrated.addAndGet(count);
+        return count;
+    }
+
+    /**
+     * 获取迁移进度
+     * @return 运行状态、已处理到的元素ID、迁移行数等
+     */
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("running", running);
+        progress.put("rowsMigrated", rowsMigrated.get());
+        progress.put("lastElementId", lastElementId);
+        progress.put("maxElementId", maxElementId);
+        progress.put("startedAt", startedAt);
+        progress.put("finishedAt", finishedAt);
+        progress.put("error", error);
+        return progress;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
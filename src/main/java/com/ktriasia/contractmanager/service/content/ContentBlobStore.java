@@ -0,0 +1,159 @@
+package com.ktriasia.contractmanager.service.content;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktriasia.contractmanager.model.mapper.ContentBlobMapper;
+import com.ktriasia.contractmanager.model.pojo.ContentBlob;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按内容寻址的文本存储
+ * <p>写入时为来自条款库的长文本计算地址，把尚未确认存在的文本以 INSERT IGNORE 写入 content_blob；
+ * 读取时把只有地址的元素还原出内容，热点文本缓存在按字节数限定容量的进程内缓存中。</p>
+ * <p>文本一经写入不再修改或删除，因此缓存中的条目即代表数据库中已存在的行：写入的文本在事务提交后才放入缓存，
+ * 回滚的写入不会让后续合同误以为文本已存在。命中率等指标以 {@code cache.*} 的名称注册到Actuator。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class ContentBlobStore {
+
+    /** 缓存在指标中的名称 */
+    public static final String CACHE_NAME = "contentBlobs";
+
+    /** 单条多行 INSERT 写入的最大文本数量 */
+    static final int INSERT_BATCH_SIZE = 100;
+
+    private final ContentBlobMapper contentBlobMapper;
+    private final Cache<String, String> cache;
+
+    public ContentBlobStore(ContentBlobMapper contentBlobMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${contract-manager.content-blobs.cache-size:32MB}") DataSize cacheSize) {
+        this.contentBlobMapper = contentBlobMapper;
+        this.cache = Caffeine.newBuilder()
+                // Java字符串按每字符约2字节估算
+                .maximumWeight(cacheSize.toBytes())
+                .<String, String>weigher((hash, content) -> 2 * content.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 为待写入的元素分配内容地址，并确保地址对应的文本已写入
+     * <p>须在写入元素的同一事务中、写入元素之前调用。已带地址的元素（如由编译模板实例化的元素）不再重复计算。</p>
+     * @param elements 待写入的元素
+     */
+    public void store(Collection<ContractElement> elements) {
+        Map<String, String> pending = new LinkedHashMap<>();
+        for (ContractElement element : elements) {
+            if (element.getContentHash() == null) {
+                if (!ContentAddress.isAddressable(element.getSourceClauseId(), element.getContent())) {
+                    continue;
+                }
+                element.setContentHash(ContentAddress.of(element.getContent()));
+            }
+            if (cache.getIfPresent(element.getContentHash()) == null) {
+                pending.putIfAbsent(element.getContentHash(), element.getContent());
+            }
+        }
+        if (!pending.isEmpty()) {
+            insert(pending);
+        }
+    }
+
+    /**
+     * 以 INSERT IGNORE 写入文本，提交后放入缓存
+     * @param contents 地址到文本的映射
+     */
+    public void insert(Map<String, String> contents) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ContentBlob> blobs = contents.entrySet().stream()
+                .map(entry -> new ContentBlob(entry.getKey(), entry.getValue(), now))
+                .toList();
+        for (int from = 0; from < blobs.size(); from += INSERT_BATCH_SIZE) {
+            contentBlobMapper.insertIgnoreBatch(blobs.subList(from, Math.min(from + INSERT_BATCH_SIZE, blobs.size())));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.putAll(contents);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.putAll(contents);
+            }
+        });
+    }
+
+    /**
+     * 为只有地址的元素还原内容，缓存未命中的文本以一次 IN 查询加载
+     * @param elements 读取到的元素
+     */
+    public void resolve(Collection<ContractElement> elements) {
+        Map<String, String> missing = new HashMap<>();
+        List<ContractElement> unresolved = new ArrayList<>();
+        for (ContractElement element : elements) {
+            if (element == null || element.getContentHash() == null || element.getContent() != null) {
+                continue;
+            }
+            String content = cache.getIfPresent(element.getContentHash());
+            if (content != null) {
+                element.setContent(content);
+            } else {
+                missing.put(element.getContentHash(), null);
+                unresolved.add(element);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        for (ContentBlob blob : contentBlobMapper.selectByIds(missing.keySet())) {
+            missing.put(blob.getContentHash(), blob.getContent());
+            cache.put(blob.getContentHash(), blob.getContent());
+        }
+        for (ContractElement element : unresolved) {
+            String content = missing.get(element.getContentHash());
+            if (content == null) {
+                log.warn("合同元素 {} 引用的内容 {} 不存在", element.getElementId(), element.getContentHash());
+            }
+            element.setContent(content);
+        }
+    }
+
+    /**
+     * 为单个只有地址的元素还原内容
+     * @param element 读取到的元素
+     */
+    public void resolve(ContractElement element) {
+        resolve(List.of(element));
+    }
+
+    /**
+     * 获取当前缓存的文本数量（近似值）
+     * @return 缓存条目数
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
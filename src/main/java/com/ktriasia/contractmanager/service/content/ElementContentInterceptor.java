@@ -0,0 +1,149 @@
+package com.ktriasia.contractmanager.service.content;
+
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 在查询结果中透明地还原按地址存储的元素内容
+ * <p>拦截执行器的查询：结果为合同元素或带元素列表的合同（聚合查询）时，把只有内容地址的元素交给
+ * {@link ContentBlobStore} 批量还原；游标查询在逐行读取时还原。业务代码读取到的元素与内联存储时完全相同。</p>
+ * <p>游标遍历期间遇到缓存未命中时会在同一连接上执行查询，MySQL须开启 useCursorFetch（见数据源配置）。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class ElementContentInterceptor implements Interceptor {
+
+    /** 延迟获取：存储依赖的Mapper需要SqlSessionFactory，而SqlSessionFactory创建时需要本拦截器 */
+    private final ObjectProvider<ContentBlobStore> contentBlobStore;
+
+    public ElementContentInterceptor(ObjectProvider<ContentBlobStore> contentBlobStore) {
+        this.contentBlobStore = contentBlobStore;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (!returnsElements((MappedStatement) invocation.getArgs()[0])) {
+            return result;
+        }
+        if (result instanceof Cursor<?> cursor) {
+            return new ResolvingCursor((Cursor<Object>) cursor, contentBlobStore.getObject());
+        }
+        if (result instanceof List<?> rows && !rows.isEmpty()) {
+            List<ContractElement> elements = new ArrayList<>();
+            for (Object row : rows) {
+                collect(row, elements);
+            }
+            if (!elements.isEmpty()) {
+                contentBlobStore.getObject().resolve(elements);
+            }
+        }
+        return result;
+    }
+
+    private static boolean returnsElements(MappedStatement statement) {
+        for (ResultMap resultMap : statement.getResultMaps()) {
+            Class<?> type = resultMap.getType();
+            if (type == ContractElement.class || type == Contract.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(Object row, List<ContractElement> elements) {
+        if (row instanceof ContractElement element) {
+            if (element.getContentHash() != null && element.getContent() == null) {
+                elements.add(element);
+            }
+        } else if (row instanceof Contract contract && contract.getContractElements() != null) {
+            for (ContractElement element : contract.getContractElements()) {
+                collect(element, elements);
+            }
+        }
+    }
+
+    /**
+     * 逐行还原元素内容的游标
+     */
+    private static final class ResolvingCursor implements Cursor<Object> {
+
+        private final Cursor<Object> delegate;
+        private final ContentBlobStore store;
+
+        private ResolvingCursor(Cursor<Object> delegate, ContentBlobStore store) {
+            this.delegate = delegate;
+            this.store = store;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            Iterator<Object> rows = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    Object row = rows.next();
+                    List<ContractElement> elements = new ArrayList<>(1);
+                    collect(row, elements);
+                    if (!elements.isEmpty()) {
+                        store.resolve(elements);
+                    }
+                    return row;
+                }
+            };
+        }
+    }
+}
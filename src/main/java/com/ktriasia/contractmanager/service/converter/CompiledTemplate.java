@@ -0,0 +1,59 @@
+package com.ktriasia.contractmanager.service.converter;
+
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 编译后的合同模板
+ * <p>保存已按 orderIndex 排序的模板配置、解析好的 {@link ElementType} 以及预先取出的元素内容，
+ * 实例化合同时无需再访问数据库或解析字符串。实例在多个线程间共享，只读使用。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.2.0
+ */
+@Value
+public class CompiledTemplate {
+
+    /** 模板ID */
+    Integer templateId;
+
+    /** 按 orderIndex 排序后的编译元素 */
+    List<CompiledElement> elements;
+
+    /**
+     * 获取模板引用的所有条款ID
+     * @return 条款ID集合
+     */
+    public Set<Integer> getReferencedClauseIds() {
+        return elements.stream()
+                .filter(element -> TemplateToContractConverter.SOURCE_CLAUSE_LIBRARY.equals(element.getConfig().getContentSource()))
+                .map(element -> element.getConfig().getSourceClauseId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 编译后的单个模板元素
+     */
+    @Value
+    public static class CompiledElement {
+        /** 原始模板配置 */
+        TemplateElementConfig config;
+        /** 解析后的元素类型，无法识别时为null */
+        ElementType elementType;
+        /** 已解析的元素内容（静态内容或条款库内容） */
+        String content;
+        /** 默认属性，由该模板实例化的所有元素共享同一实例，结构化属性只解析一次 */
+        ElementAttributes attributes;
+        /** 条款库长文本的内容地址，编译时计算一次；内容内联存储时为null */
+        String contentHash;
+    }
+}
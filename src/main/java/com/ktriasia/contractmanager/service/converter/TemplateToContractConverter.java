@@ -1,28 +1,47 @@
 package com.ktriasia.contractmanager.service.converter;
 
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
 import com.ktriasia.contractmanager.model.enums.ElementType;
 import com.ktriasia.contractmanager.model.pojo.Clause;
 import com.ktriasia.contractmanager.model.pojo.ContractElement;
 import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
 import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.service.content.ContentAddress;
+import com.ktriasia.contractmanager.service.ordering.GapOrderIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 模板到合同转换器
  * <p>负责将模板配置转换为合同元素，实现模板和合同之间的解耦</p>
+ * <p>模板引用的所有条款通过一次 IN 查询批量加载，查询次数与模板规模无关；
+ * 编译结果 {@link CompiledTemplate} 可被缓存并重复用于实例化。</p>
+ * <p>条款库长文本的内容地址在编译时计算，实例化出的元素带上地址，写入时只保存地址。</p>
+ * <p>合同元素的顺序值按模板中的位置以 {@link GapOrderIndex#GAP} 为间隔重新分配，不沿用模板中连续的顺序值，
+ * 之后移动或插入元素时只需修改一行。</p>
  *
  * @author Ktriasia
  * @since 2025-09-22
- * @version 1.0.0
+ * @version 1.4.1
  */
 @Component
 @RequiredArgsConstructor
 public class TemplateToContractConverter {
 
+    /** 内容来源：静态内容 */
+    public static final String SOURCE_STATIC = "STATIC";
+    /** 内容来源：条款库 */
+    public static final String SOURCE_CLAUSE_LIBRARY = "CLAUSE_LIBRARY";
+
     private final ClauseMapper clauseMapper;
 
     /**
@@ -33,55 +52,113 @@ public class TemplateToContractConverter {
      * @return 转换后的合同元素列表
      */
     public List<ContractElement> convertToContractElements(List<TemplateElementConfig> templateConfigs, Integer contractId) {
+        return convertToContractElements(compile(null, templateConfigs), contractId);
+    }
+
+    /**
+     * 将编译后的模板转换为合同元素列表
+     *
+     * @param template 编译后的模板
+     * @param contractId 目标合同ID
+     * @return 转换后的合同元素列表
+     */
+    public List<ContractElement> convertToContractElements(CompiledTemplate template, Integer contractId) {
+        List<CompiledTemplate.CompiledElement> compiledElements = template.getElements();
+        List<ContractElement> elements = new ArrayList<>(compiledElements.size());
+        for (int i = 0; i < compiledElements.size(); i++) {
+            elements.add(convertSingleElement(compiledElements.get(i), contractId, (i + 1) * GapOrderIndex.GAP));
+        }
+        return elements;
+    }
+
+    /**
+     * 编译模板配置：排序、解析元素类型并预取全部内容
+     *
+     * @param templateId 模板ID
+     * @param templateConfigs 模板配置列表
+     * @return 编译后的模板
+     */
+    public CompiledTemplate compile(Integer templateId, List<TemplateElementConfig> templateConfigs) {
         // 按order_index排序模板配置
-        templateConfigs.sort((c1, c2) -> c1.getOrderIndex().compareTo(c2.getOrderIndex()));
+        templateConfigs.sort(Comparator.comparing(TemplateElementConfig::getOrderIndex));
 
-        // 转换为合同元素
-        return templateConfigs.stream()
-                .map(config -> convertSingleElement(config, contractId))
-                .collect(Collectors.toList());
+        // 一次性加载模板引用的全部条款内容
+        Map<Integer, String> clauseContents = loadClauseContents(templateConfigs);
+
+        List<CompiledTemplate.CompiledElement> elements = templateConfigs.stream()
+                .map(config -> {
+                    String content = resolveContent(config, clauseContents);
+                    return new CompiledTemplate.CompiledElement(
+                            config,
+                            // 使用枚举的静态方法进行类型转换
+                            ElementType.fromString(config.getElementType()),
+                            content,
+                            ElementAttributes.of(config.getDefaultAttributes()),
+                            ContentAddress.isAddressable(config.getSourceClauseId(), content) ? ContentAddress.of(content) : null);
+                })
+                .toList();
+        return new CompiledTemplate(templateId, elements);
     }
 
     /**
-     * 转换单个模板配置为合同元素
+     * 批量加载模板配置中引用的条款内容
      *
-     * @param config 模板配置
+     * @param templateConfigs 模板配置列表
+     * @return 条款ID到条款内容的映射
+     */
+    private Map<Integer, String> loadClauseContents(List<TemplateElementConfig> templateConfigs) {
+        Set<Integer> clauseIds = new LinkedHashSet<>();
+        for (TemplateElementConfig config : templateConfigs) {
+            if (SOURCE_CLAUSE_LIBRARY.equals(config.getContentSource()) && config.getSourceClauseId() != null) {
+                clauseIds.add(config.getSourceClauseId());
+            }
+        }
+        if (clauseIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, String> clauseContents = new HashMap<>();
+        for (Clause clause : clauseMapper.selectByIds(clauseIds)) {
+            clauseContents.put(clause.getClauseId(), clause.getContent());
+        }
+        return clauseContents;
+    }
+
+    /**
+     * 转换单个编译元素为合同元素
+     *
+     * @param compiled 编译后的模板元素
      * @param contractId 合同ID
+     * @param orderIndex 元素在合同中的顺序值
      * @return 转换后的合同元素
      */
-    private ContractElement convertSingleElement(TemplateElementConfig config, Integer contractId) {
+    private ContractElement convertSingleElement(CompiledTemplate.CompiledElement compiled, Integer contractId, int orderIndex) {
+        TemplateElementConfig config = compiled.getConfig();
         ContractElement element = new ContractElement();
         element.setContractId(contractId);
-
-        // 使用枚举的静态方法进行类型转换
-        ElementType type = ElementType.fromString(config.getElementType());
-        element.setElementType(type);
-
+        element.setElementType(compiled.getElementType());
         element.setSourceClauseId(config.getSourceClauseId());
-        element.setAttributes(config.getDefaultAttributes());
-        element.setOrderIndex(config.getOrderIndex());
-
-        // 根据内容来源设置内容
-        setElementContent(element, config);
-
+        element.setAttributes(compiled.getAttributes());
+        element.setOrderIndex(orderIndex);
+        element.setContent(compiled.getContent());
+        element.setContentHash(compiled.getContentHash());
         return element;
     }
 
     /**
-     * 根据配置设置元素内容
+     * 根据配置解析元素内容
      *
-     * @param element 合同元素
      * @param config 模板配置
+     * @param clauseContents 预先加载的条款内容
+     * @return 元素内容，无法解析时为null
      */
-    private void setElementContent(ContractElement element, TemplateElementConfig config) {
-        if ("STATIC".equals(config.getContentSource())) {
-            element.setContent(config.getStaticContent());
-        } else if ("CLAUSE_LIBRARY".equals(config.getContentSource()) && config.getSourceClauseId() != null) {
-            // 从条款库获取内容
-            Clause clause = clauseMapper.selectById(config.getSourceClauseId());
-            if (clause != null) {
-                element.setContent(clause.getContent());
-            }
+    private String resolveContent(TemplateElementConfig config, Map<Integer, String> clauseContents) {
+        if (SOURCE_STATIC.equals(config.getContentSource())) {
+            return config.getStaticContent();
+        } else if (SOURCE_CLAUSE_LIBRARY.equals(config.getContentSource()) && config.getSourceClauseId() != null) {
+            // 从预加载的条款库内容中获取
+            return clauseContents.get(config.getSourceClauseId());
         }
+        return null;
     }
 }
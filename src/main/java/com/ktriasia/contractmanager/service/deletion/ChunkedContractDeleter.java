@@ -0,0 +1,135 @@
+package com.ktriasia.contractmanager.service.deletion;
+
+import com.ktriasia.contractmanager.model.dto.ContractDeletionDTO;
+import com.ktriasia.contractmanager.model.enums.DeletionStatus;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 合同的分块级联删除
+ * <p>每个事务锁定合同行，按主键删除至多 chunk-size 个元素后立即提交，锁只持有一个块的时间，
+ * 并发的元素写入可以在块之间进行。最后一块不足 chunk-size 时在同一事务中删除合同行。</p>
+ * <p>每块独立提交，中途失败时已删除的元素不会恢复，合同行仍然存在；再次删除同一合同即从剩余元素继续。
+ * 锁等待超时、死锁等暂时性错误会就地重试该块。</p>
+ * <p>每块删除的元素记入变更日志；合同行删除后其历史仍保留，事件的内容版本按锁定时读到的版本加一指定。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.0
+ */
+@Slf4j
+@Component
+public class ChunkedContractDeleter {
+
+    private final ContractMapper contractMapper;
+    private final ContractElementMapper contractElementMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ContractChangeLog contractChangeLog;
+    private final int chunkSize;
+    private final int maxChunkRetries;
+
+    public ChunkedContractDeleter(ContractMapper contractMapper,
+                                  ContractElementMapper contractElementMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  ContractChangeLog contractChangeLog,
+                                  @Value("${contract-manager.delete.chunk-size:1000}") int chunkSize,
+                                  @Value("${contract-manager.delete.max-chunk-retries:2}") int maxChunkRetries) {
+        this.contractMapper = contractMapper;
+        this.contractElementMapper = contractElementMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.contractChangeLog = contractChangeLog;
+        this.chunkSize = chunkSize;
+        this.maxChunkRetries = maxChunkRetries;
+    }
+
+    /**
+     * 分块删除合同及其全部元素，调用方不应处于事务中
+     * @param contractId 合同ID
+     * @return 删除结果，失败时包含已删除的元素数量与原因
+     */
+    public ContractDeletionDTO delete(Integer contractId) {
+        ContractDeletionDTO progress = new ContractDeletionDTO(contractId);
+        if (contractMapper.selectVersion(contractId) == null) {
+            progress.setStatus(DeletionStatus.NOT_FOUND);
+            return progress;
+        }
+
+        while (progress.getStatus() == null) {
+            ChunkOutcome outcome;
+            try {
+                outcome = deleteChunkWithRetry(contractId);
+            } catch (RuntimeException e) {
+                log.warn("合同 {} 分块删除失败，已删除 {} 个元素", contractId, progress.getElementsDeleted(), e);
+                progress.setStatus(DeletionStatus.FAILED);
+                progress.setError(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return progress;
+            }
+            if (outcome.contractMissing()) {
+                // 合同已被并发的删除请求删除
+                progress.setStatus(progress.getChunks() > 0 ? DeletionStatus.DELETED : DeletionStatus.NOT_FOUND);
+                break;
+            }
+            progress.setElementsDeleted(progress.getElementsDeleted() + outcome.elementsDeleted());
+            progress.setChunks(progress.getChunks() + 1);
+            log.debug("合同 {} 已删除 {} 个元素（{} 块）", contractId, progress.getElementsDeleted(), progress.getChunks());
+            if (outcome.contractDeleted()) {
+                progress.setStatus(DeletionStatus.DELETED);
+            }
+        }
+        return progress;
+    }
+
+    private ChunkOutcome deleteChunkWithRetry(Integer contractId) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> deleteChunk(contractId));
+            } catch (TransientDataAccessException e) {
+                if (attempt >= maxChunkRetries) {
+                    throw e;
+                }
+                log.debug("合同 {} 的删除块遇到暂时性错误，第 {} 次重试", contractId, attempt + 1, e);
+            }
+        }
+    }
+
+    /**
+     * 在当前事务中删除一块元素；剩余元素不足一块时一并删除合同行
+     */
+    private ChunkOutcome deleteChunk(Integer contractId) {
+        Contract locked = contractMapper.selectByIdForUpdate(contractId);
+        if (locked == null) {
+            return new ChunkOutcome(0, false, true);
+        }
+        List<Integer> elementIds = contractElementMapper.selectIdsByContractId(contractId, chunkSize);
+        if (!elementIds.isEmpty()) {
+            contractElementMapper.deleteByIds(elementIds);
+            // 最后一块的合同行在提交前已删除，事件版本不能再从合同行读取
+            long version = locked.getContentVersion() != null ? locked.getContentVersion() : 0L;
+            contractChangeLog.deleted(contractId, elementIds, version + 1);
+        }
+        if (elementIds.size() < chunkSize) {
+            contractMapper.deleteById(contractId);
+            return new ChunkOutcome(elementIds.size(), true, false);
+        }
+        // 删除过程中合同仍可读取，元素已变化，须使缓存的元素列表失效
+        contractMapper.bumpContentVersion(contractId, LocalDateTime.now());
+        return new ChunkOutcome(elementIds.size(), false, false);
+    }
+
+    /**
+     * 一个删除块的结果
+     */
+    private record ChunkOutcome(int elementsDeleted, boolean contractDeleted, boolean contractMissing) {
+    }
+}
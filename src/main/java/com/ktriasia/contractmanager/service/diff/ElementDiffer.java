@@ -0,0 +1,175 @@
+package com.ktriasia.contractmanager.service.diff;
+
+import com.ktriasia.contractmanager.model.dto.ContractDiffDTO;
+import com.ktriasia.contractmanager.model.dto.ElementDiffDTO;
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 合同元素序列的差异比较
+ * <p>两侧元素先按 orderIndex 排列，再以 {@link MyersDiff} 对齐：来自条款库的元素以（类型、条款ID）为键，
+ * 内容被改写后仍与原条款对齐；其余元素以（类型、内容）为键。对齐后：</p>
+ * <ul>
+ *   <li>键相同的元素内容与属性都相同时为 UNCHANGED，否则为 MODIFIED 并给出内容的词级差异；</li>
+ *   <li>相邻的删除段与插入段按元素类型再对齐一次，同类型的元素视为被改写（MODIFIED），其余为 DELETED / INSERTED。</li>
+ * </ul>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class ElementDiffer {
+
+    private static final Comparator<ContractElement> DOCUMENT_ORDER = Comparator
+            .comparing(ContractElement::getOrderIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ContractElement::getElementId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private ElementDiffer() {
+    }
+
+    /**
+     * 对齐时比较的键
+     */
+    private record AlignKey(ElementType elementType, Integer sourceClauseId, String content) {
+
+        static AlignKey of(ContractElement element) {
+            return element.getSourceClauseId() != null
+                    ? new AlignKey(element.getElementType(), element.getSourceClauseId(), null)
+                    : new AlignKey(element.getElementType(), null, element.getContent());
+        }
+    }
+
+    /**
+     * 比较两侧的元素
+     * @param left 左侧元素（原始顺序不限）
+     * @param right 右侧元素（原始顺序不限）
+     * @param includeUnchanged 是否在结果中列出未变化的元素
+     * @return 差异结果，left、right 标识由调用方填写
+     */
+    public static ContractDiffDTO diff(List<ContractElement> left, List<ContractElement> right, boolean includeUnchanged) {
+        List<ContractElement> a = new ArrayList<>(left);
+        List<ContractElement> b = new ArrayList<>(right);
+        a.sort(DOCUMENT_ORDER);
+        b.sort(DOCUMENT_ORDER);
+
+        ContractDiffDTO result = new ContractDiffDTO();
+        result.setLeftElements(a.size());
+        result.setRightElements(b.size());
+        List<MyersDiff.Edit> edits = MyersDiff.diff(a, b, AlignKey::of);
+        for (int e = 0; e < edits.size(); e++) {
+            MyersDiff.Edit edit = edits.get(e);
+            switch (edit.operation()) {
+                case EQUAL -> {
+                    for (int i = edit.leftFrom(), j = edit.rightFrom(); i < edit.leftTo(); i++, j++) {
+                        compare(result, a, i, b, j, includeUnchanged);
+                    }
+                }
+                case DELETE -> {
+                    MyersDiff.Edit next = e + 1 < edits.size() ? edits.get(e + 1) : null;
+                    if (next != null && next.operation() == MyersDiff.Operation.INSERT) {
+                        pairReplaced(result, a, edit.leftFrom(), edit.leftTo(), b, next.rightFrom(), next.rightTo());
+                        e++;
+                    } else {
+                        deleted(result, a, edit.leftFrom(), edit.leftTo());
+                    }
+                }
+                case INSERT -> inserted(result, b, edit.rightFrom(), edit.rightTo());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 被替换的一段元素按类型对齐，同类型的视为被改写
+     */
+    private static void pairReplaced(ContractDiffDTO result,
+                                     List<ContractElement> a, int leftFrom, int leftTo,
+                                     List<ContractElement> b, int rightFrom, int rightTo) {
+        List<MyersDiff.Edit> edits = MyersDiff.diff(a.subList(leftFrom, leftTo), b.subList(rightFrom, rightTo),
+                ContractElement::getElementType);
+        for (MyersDiff.Edit edit : edits) {
+            switch (edit.operation()) {
+                case EQUAL -> {
+                    for (int i = edit.leftFrom(), j = edit.rightFrom(); i < edit.leftTo(); i++, j++) {
+                        compare(result, a, leftFrom + i, b, rightFrom + j, false);
+                    }
+                }
+                case DELETE -> deleted(result, a, leftFrom + edit.leftFrom(), leftFrom + edit.leftTo());
+                case INSERT -> inserted(result, b, rightFrom + edit.rightFrom(), rightFrom + edit.rightTo());
+            }
+        }
+    }
+
+    private static void compare(ContractDiffDTO result, List<ContractElement> a, int i,
+                                List<ContractElement> b, int j, boolean includeUnchanged) {
+        ContractElement leftElement = a.get(i);
+        ContractElement rightElement = b.get(j);
+        boolean contentChanged = !Objects.equals(leftElement.getContent(), rightElement.getContent());
+        boolean attributesChanged = !Objects.equals(leftElement.getAttributes(), rightElement.getAttributes());
+        boolean sourceChanged = !Objects.equals(leftElement.getSourceClauseId(), rightElement.getSourceClauseId());
+        if (!contentChanged && !attributesChanged && !sourceChanged) {
+            result.setUnchanged(result.getUnchanged() + 1);
+            if (includeUnchanged) {
+                ElementDiffDTO diff = element(DiffOperation.UNCHANGED, leftElement, i, rightElement, j);
+                diff.setContent(rightElement.getContent());
+                result.getElements().add(diff);
+            }
+            return;
+        }
+        result.setModified(result.getModified() + 1);
+        ElementDiffDTO diff = element(DiffOperation.MODIFIED, leftElement, i, rightElement, j);
+        if (contentChanged) {
+            diff.setContentDiff(TextDiff.diff(leftElement.getContent(), rightElement.getContent()));
+        } else {
+            diff.setContent(rightElement.getContent());
+        }
+        if (attributesChanged) {
+            diff.setLeftAttributes(leftElement.getAttributes());
+            diff.setRightAttributes(rightElement.getAttributes());
+        }
+        result.getElements().add(diff);
+    }
+
+    private static void deleted(ContractDiffDTO result, List<ContractElement> a, int from, int to) {
+        for (int i = from; i < to; i++) {
+            ElementDiffDTO diff = element(DiffOperation.DELETED, a.get(i), i, null, -1);
+            diff.setContent(a.get(i).getContent());
+            result.getElements().add(diff);
+        }
+        result.setDeleted(result.getDeleted() + to - from);
+    }
+
+    private static void inserted(ContractDiffDTO result, List<ContractElement> b, int from, int to) {
+        for (int j = from; j < to; j++) {
+            ElementDiffDTO diff = element(DiffOperation.INSERTED, null, -1, b.get(j), j);
+            diff.setContent(b.get(j).getContent());
+            result.getElements().add(diff);
+        }
+        result.setInserted(result.getInserted() + to - from);
+    }
+
+    private static ElementDiffDTO element(DiffOperation operation,
+                                          ContractElement leftElement, int leftPosition,
+                                          ContractElement rightElement, int rightPosition) {
+        ContractElement present = rightElement != null ? rightElement : leftElement;
+        ElementDiffDTO diff = new ElementDiffDTO();
+        diff.setOperation(operation);
+        diff.setElementType(present.getElementType());
+        diff.setSourceClauseId(present.getSourceClauseId());
+        if (leftElement != null) {
+            diff.setLeftElementId(leftElement.getElementId());
+            diff.setLeftPosition(leftPosition);
+        }
+        if (rightElement != null) {
+            diff.setRightElementId(rightElement.getElementId());
+            diff.setRightPosition(rightPosition);
+        }
+        return diff;
+    }
+}
@@ -0,0 +1,230 @@
+package com.ktriasia.contractmanager.service.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Myers O(ND) 差异算法
+ * <p>在两个序列间求最短编辑脚本：先去掉公共前缀和后缀，再以“中间蛇”二分递归，
+ * 时间 O((N+M)·D)、空间 O(N+M)，D 为编辑距离，差异少的大序列也能很快完成。
+ * 比较前把元素按键映射为整数，算法内部只做整数比较。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class MyersDiff {
+
+    private MyersDiff() {
+    }
+
+    /**
+     * 编辑操作
+     */
+    public enum Operation {
+        /** 两侧相同 */
+        EQUAL,
+        /** 仅左侧存在 */
+        DELETE,
+        /** 仅右侧存在 */
+        INSERT
+    }
+
+    /**
+     * 一段连续的同类编辑，区间均为左闭右开
+     * <p>EQUAL 段两侧等长；DELETE 段右侧区间为空；INSERT 段左侧区间为空。</p>
+     */
+    public record Edit(Operation operation, int leftFrom, int leftTo, int rightFrom, int rightTo) {
+    }
+
+    /**
+     * 按键比较两个序列
+     * @param left 左侧序列
+     * @param right 右侧序列
+     * @param key 比较用的键，键相等即视为相同元素
+     * @param <T> 元素类型
+     * @param <K> 键类型
+     * @return 按顺序覆盖两侧全部元素的编辑段
+     */
+    public static <T, K> List<Edit> diff(List<T> left, List<T> right, Function<? super T, K> key) {
+        Map<K, Integer> ids = new HashMap<>();
+        int[] a = new int[left.size()];
+        int[] b = new int[right.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = ids.computeIfAbsent(key.apply(left.get(i)), k -> ids.size());
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = ids.computeIfAbsent(key.apply(right.get(i)), k -> ids.size());
+        }
+        return diff(a, b);
+    }
+
+    /**
+     * 比较两个整数序列
+     * @param a 左侧序列
+     * @param b 右侧序列
+     * @return 按顺序覆盖两侧全部元素的编辑段
+     */
+    public static List<Edit> diff(int[] a, int[] b) {
+        boolean[] matchedA = new boolean[a.length];
+        boolean[] matchedB = new boolean[b.length];
+        new Matcher(a, b, matchedA, matchedB).compare(0, a.length, 0, b.length);
+        return toEdits(matchedA, matchedB);
+    }
+
+    /**
+     * 由两侧的匹配标记还原编辑段；匹配对在两侧的顺序一致，第 k 个匹配的左侧元素与第 k 个匹配的右侧元素相同
+     */
+    private static List<Edit> toEdits(boolean[] matchedA, boolean[] matchedB) {
+        List<Edit> edits = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < matchedA.length || j < matchedB.length) {
+            int fromI = i;
+            int fromJ = j;
+            if (i < matchedA.length && !matchedA[i]) {
+                while (i < matchedA.length && !matchedA[i]) {
+                    i++;
+                }
+                edits.add(new Edit(Operation.DELETE, fromI, i, j, j));
+            } else if (j < matchedB.length && !matchedB[j]) {
+                while (j < matchedB.length && !matchedB[j]) {
+                    j++;
+                }
+                edits.add(new Edit(Operation.INSERT, i, i, fromJ, j));
+            } else {
+                while (i < matchedA.length && j < matchedB.length && matchedA[i] && matchedB[j]) {
+                    i++;
+                    j++;
+                }
+                edits.add(new Edit(Operation.EQUAL, fromI, i, fromJ, j));
+            }
+        }
+        return edits;
+    }
+
+    /**
+     * 递归求解并标记两侧匹配的元素
+     */
+    private static final class Matcher {
+
+        private final int[] a;
+        private final int[] b;
+        private final boolean[] matchedA;
+        private final boolean[] matchedB;
+        /** 前向与反向搜索的最远到达位置，按最大规模分配一次后复用 */
+        private final int[] forward;
+        private final int[] backward;
+
+        private Matcher(int[] a, int[] b, boolean[] matchedA, boolean[] matchedB) {
+            this.a = a;
+            this.b = b;
+            this.matchedA = matchedA;
+            this.matchedB = matchedB;
+            int size = 2 * ((a.length + b.length + 1) / 2) + 2;
+            this.forward = new int[size];
+            this.backward = new int[size];
+        }
+
+        private void compare(int aFrom, int aTo, int bFrom, int bTo) {
+            while (aFrom < aTo && bFrom < bTo && a[aFrom] == b[bFrom]) {
+                match(aFrom++, bFrom++);
+            }
+            while (aFrom < aTo && bFrom < bTo && a[aTo - 1] == b[bTo - 1]) {
+                match(--aTo, --bTo);
+            }
+            if (aFrom == aTo || bFrom == bTo) {
+                return;
+            }
+            bisect(aFrom, aTo, bFrom, bTo);
+        }
+
+        private void match(int i, int j) {
+            matchedA[i] = true;
+            matchedB[j] = true;
+        }
+
+        /**
+         * 同时从两端搜索，在两条路径相遇处把问题分成两半
+         */
+        private void bisect(int aFrom, int aTo, int bFrom, int bTo) {
+            int n = aTo - aFrom;
+            int m = bTo - bFrom;
+            int maxD = (n + m + 1) / 2;
+            int offset = maxD;
+            int length = 2 * maxD;
+            Arrays.fill(forward, 0, length + 2, -1);
+            Arrays.fill(backward, 0, length + 2, -1);
+            forward[offset + 1] = 0;
+            backward[offset + 1] = 0;
+            int delta = n - m;
+            // 差值为奇数时在前向搜索中检查相遇，否则在反向搜索中检查
+            boolean front = (delta & 1) != 0;
+            int kForwardStart = 0;
+            int kForwardEnd = 0;
+            int kBackwardStart = 0;
+            int kBackwardEnd = 0;
+            for (int d = 0; d < maxD; d++) {
+                for (int k = -d + kForwardStart; k <= d - kForwardEnd; k += 2) {
+                    int kOffset = offset + k;
+                    int x = k == -d || (k != d && forward[kOffset - 1] < forward[kOffset + 1])
+                            ? forward[kOffset + 1] : forward[kOffset - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m && a[aFrom + x] == b[bFrom + y]) {
+                        x++;
+                        y++;
+                    }
+                    forward[kOffset] = x;
+                    if (x > n) {
+                        kForwardEnd += 2;
+                    } else if (y > m) {
+                        kForwardStart += 2;
+                    } else if (front) {
+                        int backwardOffset = offset + delta - k;
+                        if (backwardOffset >= 0 && backwardOffset < length && backward[backwardOffset] != -1
+                                && x >= n - backward[backwardOffset]) {
+                            split(aFrom, aTo, bFrom, bTo, x, y);
+                            return;
+                        }
+                    }
+                }
+                for (int k = -d + kBackwardStart; k <= d - kBackwardEnd; k += 2) {
+                    int kOffset = offset + k;
+                    int x = k == -d || (k != d && backward[kOffset - 1] < backward[kOffset + 1])
+                            ? backward[kOffset + 1] : backward[kOffset - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m && a[aTo - 1 - x] == b[bTo - 1 - y]) {
+                        x++;
+                        y++;
+                    }
+                    backward[kOffset] = x;
+                    if (x > n) {
+                        kBackwardEnd += 2;
+                    } else if (y > m) {
+                        kBackwardStart += 2;
+                    } else if (!front) {
+                        int forwardOffset = offset + delta - k;
+                        if (forwardOffset >= 0 && forwardOffset < length && forward[forwardOffset] != -1) {
+                            int forwardX = forward[forwardOffset];
+                            int forwardY = offset + forwardX - forwardOffset;
+                            if (forwardX >= n - x) {
+                                split(aFrom, aTo, bFrom, bTo, forwardX, forwardY);
+                                return;
+                            }
+                        }
+                    }
+                }
+            }
+            // 没有任何公共元素：两侧全部保持未匹配
+        }
+
+        private void split(int aFrom, int aTo, int bFrom, int bTo, int x, int y) {
+            compare(aFrom, aFrom + x, bFrom, bFrom + y);
+            compare(aFrom + x, aTo, bFrom + y, bTo);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ktriasia.contractmanager.service.diff;
+
+import com.ktriasia.contractmanager.model.dto.TextSegmentDTO;
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文本的词级差异
+ * <p>把文本切分为词后用 {@link MyersDiff} 比较：连续的字母或数字（含全角）为一个词，
+ * 每个汉字等表意文字单独成词，连续空白为一个词，其余标点符号各自成词。相邻的同类结果合并为一个片段。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class TextDiff {
+
+    private TextDiff() {
+    }
+
+    /**
+     * 比较两段文本
+     * @param left 左侧文本，null视为空文本
+     * @param right 右侧文本，null视为空文本
+     * @return 按顺序拼接即可还原两侧文本的片段：UNCHANGED 与 DELETED 组成左侧，UNCHANGED 与 INSERTED 组成右侧
+     */
+    public static List<TextSegmentDTO> diff(String left, String right) {
+        List<String> leftTokens = tokenize(left != null ? left : "");
+        List<String> rightTokens = tokenize(right != null ? right : "");
+        List<TextSegmentDTO> segments = new ArrayList<>();
+        for (MyersDiff.Edit edit : MyersDiff.diff(leftTokens, rightTokens, token -> token)) {
+            switch (edit.operation()) {
+                case EQUAL -> append(segments, DiffOperation.UNCHANGED, leftTokens, edit.leftFrom(), edit.leftTo());
+                case DELETE -> append(segments, DiffOperation.DELETED, leftTokens, edit.leftFrom(), edit.leftTo());
+                case INSERT -> append(segments, DiffOperation.INSERTED, rightTokens, edit.rightFrom(), edit.rightTo());
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 切分为词
+     * @param text 文本
+     * @return 按顺序拼接即为原文的词
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            int codePoint = text.codePointAt(start);
+            int end = start + Character.charCount(codePoint);
+            if (isWordPart(codePoint)) {
+                while (end < length && isWordPart(text.codePointAt(end))) {
+                    end += Character.charCount(text.codePointAt(end));
+                }
+            } else if (Character.isWhitespace(codePoint)) {
+                while (end < length && Character.isWhitespace(text.codePointAt(end))) {
+                    end += Character.charCount(text.codePointAt(end));
+                }
+            }
+            tokens.add(text.substring(start, end));
+            start = end;
+        }
+        return tokens;
+    }
+
+    private static boolean isWordPart(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) && !Character.isIdeographic(codePoint);
+    }
+
+    private static void append(List<TextSegmentDTO> segments, DiffOperation operation,
+                               List<String> tokens, int from, int to) {
+        StringBuilder text = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            text.append(tokens.get(i));
+        }
+        TextSegmentDTO last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && last.getOperation() == operation) {
+            last.setText(last.getText() + text);
+        } else {
+            segments.add(new TextSegmentDTO(operation, text.toString()));
+        }
+    }
+}
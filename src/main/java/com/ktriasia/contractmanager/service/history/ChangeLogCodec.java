@@ -0,0 +1,87 @@
+package com.ktriasia.contractmanager.service.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 变更事件与快照内容的JSON编解码
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+public class ChangeLogCodec {
+
+    private static final TypeReference<List<ElementState>> STATE_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Integer>> ID_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<Integer, Integer>> ORDER_INDEXES = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public ChangeLogCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 序列化事件内容或快照元素
+     * @param value 元素状态、元素状态列表、ID列表或顺序值映射
+     * @return JSON文本
+     */
+    public String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("变更日志内容无法序列化: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * @param json INSERT / UPDATE 事件的内容
+     * @return 元素状态
+     */
+    public ElementState readState(String json) {
+        return read(json, objectMapper.constructType(ElementState.class));
+    }
+
+    /**
+     * @param json 快照的元素数组
+     * @return 元素状态列表
+     */
+    public List<ElementState> readStates(String json) {
+        return read(json, objectMapper.getTypeFactory().constructType(STATE_LIST));
+    }
+
+    /**
+     * @param json DELETE 事件的内容
+     * @return 被删除的元素ID
+     */
+    public List<Integer> readIds(String json) {
+        return read(json, objectMapper.getTypeFactory().constructType(ID_LIST));
+    }
+
+    /**
+     * @param json REINDEX 事件的内容
+     * @return 元素ID到新顺序值的映射
+     */
+    public Map<Integer, Integer> readOrderIndexes(String json) {
+        return read(json, objectMapper.getTypeFactory().constructType(ORDER_INDEXES));
+    }
+
+    private <T> T read(String json, JavaType type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("变更日志内容无法解析: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.ktriasia.contractmanager.service.history;
+
+import com.ktriasia.contractmanager.model.enums.ChangeEventType;
+import com.ktriasia.contractmanager.model.mapper.ContractChangeEventMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractSnapshotMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractChangeEvent;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.pojo.ContractSnapshot;
+import com.ktriasia.contractmanager.service.ordering.ElementOperationPlan;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 合同元素的只追加变更日志
+ * <p>元素的每次写入都记录为事件。事件先缓存在当前事务中，在提交前以多行 INSERT 一次写入，
+ * 与元素的修改同时提交或回滚，每个写事务只多一次数据库往返。事件的内容版本取自合同行：
+ * 各写入路径都会先递增合同的内容版本，同一合同的写事务由此串行，事件ID的顺序即提交顺序。</p>
+ * <p>创建合同时不逐个记录元素，而以创建时的元素生成版本0的快照，与事件一样在提交前写入：
+ * 初始快照与合同同时提交，不会因后台队列已满而丢失，也不会被提交后立即发生的修改抢先。
+ * 提交后检查各合同自上次快照以来的事件数，达到间隔时由 {@link ContractSnapshotter} 在后台写入新快照。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.2
+ */
+@Component
+public class ContractChangeLog {
+
+    /** 单条多行 INSERT 写入的最大事件数量 */
+    static final int INSERT_BATCH_SIZE = 500;
+    /** 单条多行 INSERT 写入的最大初始快照数量；每个快照包含合同的全部元素，批次小于事件 */
+    static final int SNAPSHOT_INSERT_BATCH_SIZE = 50;
+
+    private final ContractChangeEventMapper contractChangeEventMapper;
+    private final ContractSnapshotMapper contractSnapshotMapper;
+    private final ContractSnapshotter contractSnapshotter;
+    private final ChangeLogCodec codec;
+
+    public ContractChangeLog(ContractChangeEventMapper contractChangeEventMapper,
+                             ContractSnapshotMapper contractSnapshotMapper,
+                             ContractSnapshotter contractSnapshotter,
+                             ChangeLogCodec codec) {
+        this.contractChangeEventMapper = contractChangeEventMapper;
+        this.contractSnapshotMapper = contractSnapshotMapper;
+        this.contractSnapshotter = contractSnapshotter;
+        this.codec = codec;
+    }
+
+    /**
+     * 记录新建的合同，以创建时的元素写入初始快照
+     * @param contract 已写入的合同（主键已回填）
+     * @param elements 随合同一起写入的元素（主键已回填），没有元素时为空集合
+     */
+    public void created(Contract contract, Collection<ContractElement> elements) {
+        List<ElementState> states = new ArrayList<>(elements.size());
+        elements.forEach(element -> states.add(ElementState.of(element)));
+        ContractSnapshot snapshot = ContractSnapshotter.snapshot(contract.getContractId(),
+                contract.getContentVersion() != null ? contract.getContentVersion() : 0L, 0L, states, codec);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertSnapshots(List.of(snapshot));
+            return;
+        }
+        pendingEvents().snapshots.add(snapshot);
+    }
+
+    /**
+     * 记录插入的元素
+     * @param elements 已写入的元素（主键已回填）
+     */
+    public void inserted(Collection<ContractElement> elements) {
+        List<ContractChangeEvent> events = new ArrayList<>(elements.size());
+        for (ContractElement element : elements) {
+            events.add(event(element.getContractId(), ChangeEventType.INSERT, element.getElementId(),
+                    codec.write(ElementState.of(element))));
+        }
+        append(events);
+    }
+
+    /**
+     * 记录一批元素操作：删除、修改后的完整状态以及插入的元素
+     * <p>计划中的按ID更新只包含变化的列，不能作为元素状态记录；修改事件记录的是合并后的完整元素。</p>
+     * @param contractId 合同ID
+     * @param plan 已写入数据库的执行计划（插入的元素主键已回填）
+     */
+    public void applied(Integer contractId, ElementOperationPlan plan) {
+        deleted(contractId, plan.getDeletes());
+        List<ContractChangeEvent> events = new ArrayList<>();
+        for (ContractElement element : plan.getUpdatedElements()) {
+            events.add(event(contractId, ChangeEventType.UPDATE, element.getElementId(),
+                    codec.write(ElementState.of(element))));
+        }
+        append(events);
+        inserted(plan.getInserts());
+    }
+
+    /**
+     * 记录修改后的元素状态
+     * @param contractId 合同ID
+     * @param state 修改后的元素状态
+     */
+    public void updated(Integer contractId, ElementState state) {
+        append(List.of(event(contractId, ChangeEventType.UPDATE, state.elementId(), codec.write(state))));
+    }
+
+    /**
+     * 记录插入的元素状态，用于元素被移到另一个合同
+     * @param contractId 合同ID
+     * @param state 元素状态
+     */
+    public void inserted(Integer contractId, ElementState state) {
+        append(List.of(event(contractId, ChangeEventType.INSERT, state.elementId(), codec.write(state))));
+    }
+
+    /**
+     * 记录删除的元素
+     * @param contractId 合同ID
+     * @param elementIds 被删除的元素ID
+     */
+    public void deleted(Integer contractId, List<Integer> elementIds) {
+        if (!elementIds.isEmpty()) {
+            append(List.of(deleteEvent(contractId, elementIds)));
+        }
+    }
+
+    /**
+     * 记录删除的元素，并指定事件的内容版本，用于合同行在同一事务中被删除的情形
+     * @param contractId 合同ID
+     * @param elementIds 被删除的元素ID
+     * @param contentVersion 事件的内容版本
+     */
+    public void deleted(Integer contractId, List<Integer> elementIds, long contentVersion) {
+        if (!elementIds.isEmpty()) {
+            ContractChangeEvent event = deleteEvent(contractId, elementIds);
+            event.setContentVersion(contentVersion);
+            append(List.of(event));
+        }
+    }
+
+    /**
+     * 记录重新编号的元素，一次重新编号只写一条事件
+     * @param contractId 合同ID
+     * @param elements 顺序值发生变化的元素
+     */
+    public void reindexed(Integer contractId, Collection<ContractElement> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        Map<Integer, Integer> orderIndexes = new LinkedHashMap<>();
+        for (ContractElement element : elements) {
+            orderIndexes.put(element.getElementId(), element.getOrderIndex());
+        }
+        append(List.of(event(contractId, ChangeEventType.REINDEX, null, codec.write(orderIndexes))));
+    }
+
+    private ContractChangeEvent deleteEvent(Integer contractId, List<Integer> elementIds) {
+        return event(contractId, ChangeEventType.DELETE, elementIds.size() == 1 ? elementIds.get(0) : null,
+                codec.write(elementIds));
+    }
+
+    private static ContractChangeEvent event(Integer contractId, ChangeEventType type, Integer elementId, String payload) {
+        ContractChangeEvent event = new ContractChangeEvent();
+        event.setContractId(contractId);
+        event.setEventType(type);
+        event.setElementId(elementId);
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    /**
+     * 把事件加入当前事务的缓冲；没有活动事务时立即写入
+     */
+    private void append(List<ContractChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(events);
+            events.stream().map(ContractChangeEvent::getContractId).distinct().forEach(contractSnapshotter::schedule);
+            return;
+        }
+        pendingEvents().events.addAll(events);
+    }
+
+    private void insert(List<ContractChangeEvent> events) {
+        for (int from = 0; from < events.size(); from += INSERT_BATCH_SIZE) {
+            contractChangeEventMapper.insertBatch(events.subList(from, Math.min(from + INSERT_BATCH_SIZE, events.size())));
+        }
+    }
+
+    private void insertSnapshots(List<ContractSnapshot> snapshots) {
+        for (int from = 0; from < snapshots.size(); from += SNAPSHOT_INSERT_BATCH_SIZE) {
+            contractSnapshotMapper.insertBatch(
+                    snapshots.subList(from, Math.min(from + SNAPSHOT_INSERT_BATCH_SIZE, snapshots.size())));
+        }
+    }
+
+    /**
+     * 当前事务的事件缓冲；在同步回调列表中查找，事务挂起与恢复时随之切换
+     */
+    private PendingEvents pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * 一个事务中待写入的事件与初始快照
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<ContractChangeEvent> events = new ArrayList<>();
+        private final List<ContractSnapshot> snapshots = new ArrayList<>();
+
+        private ContractChangeLog owner() {
+            return ContractChangeLog.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insertSnapshots(snapshots);
+            insert(events);
+        }
+
+        @Override
+        public void afterCommit() {
+            Set<Integer> contractIds = new LinkedHashSet<>();
+            events.forEach(event -> contractIds.add(event.getContractId()));
+            contractIds.forEach(contractSnapshotter::schedule);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ktriasia.contractmanager.service.history;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.mapper.ContractChangeEventMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractSnapshotMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.pojo.ContractSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合同快照的后台写入
+ * <p>快照在单个后台线程中写入，不占用写请求的时间：</p>
+ * <ul>
+ *   <li>有新事件提交后，若自上次快照以来的事件数达到 contract-manager.history.snapshot-interval，
+ *       由上次快照重放事件得到最新状态并写入快照，快照内容与变更日志始终一致；</li>
+ *   <li>变更日志启用前已存在的合同没有快照，首次有事件时锁定合同行，以当前元素写入基线快照。</li>
+ * </ul>
+ * <p>新建合同的初始快照由 {@link ContractChangeLog} 在创建事务中同步写入，不经过队列。
+ * 其余快照只是加速还原的缓存：写入失败、队列已满被丢弃或进程退出时丢失的快照会在之后的事件触发时补写。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.2
+ */
+@Slf4j
+@Component
+public class ContractSnapshotter {
+
+    private final ContractSnapshotMapper contractSnapshotMapper;
+    private final ContractChangeEventMapper contractChangeEventMapper;
+    private final ContractMapper contractMapper;
+    private final ContractElementMapper contractElementMapper;
+    private final ContractHistory contractHistory;
+    private final ChangeLogCodec codec;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int snapshotInterval;
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+
+    public ContractSnapshotter(ContractSnapshotMapper contractSnapshotMapper,
+                               ContractChangeEventMapper contractChangeEventMapper,
+                               ContractMapper contractMapper,
+                               ContractElementMapper contractElementMapper,
+                               ContractHistory contractHistory,
+                               ChangeLogCodec codec,
+                               TransactionTemplate transactionTemplate,
+                               ThreadingMode threadingMode,
+                               @Value("${contract-manager.history.snapshot-interval:100}") int snapshotInterval,
+                               @Value("${contract-manager.history.queue-capacity:10000}") int queueCapacity) {
+        this.contractSnapshotMapper = contractSnapshotMapper;
+        this.contractChangeEventMapper = contractChangeEventMapper;
+        this.contractMapper = contractMapper;
+        this.contractElementMapper = contractElementMapper;
+        this.contractHistory = contractHistory;
+        this.codec = codec;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadingMode.newThreadFactory("contract-snapshot-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * 在后台检查合同是否需要写入快照（已在队列中时忽略）
+     * <p>队列已满时丢弃本次检查，之后的事件会再次触发。</p>
+     * @param contractId 合同ID
+     */
+    public void schedule(Integer contractId) {
+        if (!pending.add(contractId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pending.remove(contractId);
+                try {
+                    snapshotIfDue(contractId);
+                } catch (RuntimeException e) {
+                    log.warn("合同 {} 的快照写入失败", contractId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(contractId);
+            log.debug("快照队列已满，跳过合同 {} 的快照检查", contractId);
+        }
+    }
+
+    /**
+     * 自上次快照以来的事件数达到间隔时写入快照；合同还没有快照时写入基线快照
+     * @param contractId 合同ID
+     * @return 是否写入了快照
+     */
+    public boolean snapshotIfDue(Integer contractId) {
+        ContractSnapshot latest = contractSnapshotMapper.selectLatest(contractId, Long.MAX_VALUE);
+        if (latest == null) {
+            return writeBaseline(contractId);
+        }
+        if (contractChangeEventMapper.countAfter(contractId, latest.getLastEventId(), snapshotInterval) < snapshotInterval) {
+            return false;
+        }
+        ContractHistory.Reconstruction reconstruction = contractHistory.reconstruct(contractId, Long.MAX_VALUE);
+        write(contractId, reconstruction.contentVersion(), reconstruction.lastEventId(), reconstruction.elements().values());
+        return true;
+    }
+
+    /**
+     * 锁定合同行（与写入互斥），以当前元素与最后一条事件写入基线快照
+     */
+    private boolean writeBaseline(Integer contractId) {
+        Boolean written = transactionTemplate.execute(status -> {
+            Contract contract = contractMapper.selectByIdForUpdate(contractId);
+            if (contract == null) {
+                return false;
+            }
+            Long lastEventId = contractChangeEventMapper.selectMaxEventId(contractId);
+            QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("contract_id", contractId).orderByAsc("order_index", "element_id");
+            List<ElementState> states = new ArrayList<>();
+            contractElementMapper.selectList(queryWrapper).forEach(element -> states.add(ElementState.of(element)));
+            write(contractId, contract.getContentVersion() != null ? contract.getContentVersion() : 0L,
+                    lastEventId != null ? lastEventId : 0L, states);
+            return true;
+        });
+        return Boolean.TRUE.equals(written);
+    }
+
+    private void write(Integer contractId, long contentVersion, long lastEventId, Collection<ElementState> states) {
+        contractSnapshotMapper.insertIgnore(snapshot(contractId, contentVersion, lastEventId, states, codec));
+        log.debug("合同 {} 已写入版本 {} 的快照（{} 个元素）", contractId, contentVersion, states.size());
+    }
+
+    static ContractSnapshot snapshot(Integer contractId, long contentVersion, long lastEventId,
+                                     Collection<ElementState> states, ChangeLogCodec codec) {
+        ContractSnapshot snapshot = new ContractSnapshot();
+        snapshot.setContractId(contractId);
+        snapshot.setContentVersion(contentVersion);
+        snapshot.setLastEventId(lastEventId);
+        snapshot.setElementCount(states.size());
+        snapshot.setElements(codec.write(states));
+        snapshot.setCreatedAt(LocalDateTime.now());
+        return snapshot;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
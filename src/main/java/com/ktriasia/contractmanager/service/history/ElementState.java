@@ -0,0 +1,89 @@
+package com.ktriasia.contractmanager.service.history;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.content.ContentAddress;
+
+/**
+ * 变更日志与快照中记录的元素状态
+ * <p>内容与其地址一致时只记录地址（文本在 content_blob 中永久保存），被改写过的内联内容按原文记录。</p>
+ *
+ * @param elementId 元素ID
+ * @param elementType 元素类型
+ * @param content 内联内容
+ * @param contentHash 内容地址
+ * @param attributes 元素属性
+ * @param sourceClauseId 来源条款ID
+ * @param orderIndex 顺序值
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ElementState(Integer elementId,
+                           ElementType elementType,
+                           String content,
+                           String contentHash,
+                           ElementAttributes attributes,
+                           Integer sourceClauseId,
+                           Integer orderIndex) {
+
+    /**
+     * 记录元素的当前状态
+     * @param element 元素
+     * @return 元素状态
+     */
+    public static ElementState of(ContractElement element) {
+        String hash = element.getContentHash();
+        boolean addressed = hash != null
+                && (element.getContent() == null || hash.equals(ContentAddress.of(element.getContent())));
+        return new ElementState(element.getElementId(), element.getElementType(),
+                addressed ? null : element.getContent(), addressed ? hash : null,
+                element.getAttributes(), element.getSourceClauseId(), element.getOrderIndex());
+    }
+
+    /**
+     * 以非null字段覆盖当前状态，与按ID部分更新元素的语义一致
+     * @param update 部分更新的元素
+     * @return 更新后的状态
+     */
+    public ElementState merge(ContractElement update) {
+        boolean contentUpdated = update.getContent() != null;
+        return new ElementState(elementId,
+                update.getElementType() != null ? update.getElementType() : elementType,
+                contentUpdated ? update.getContent() : content,
+                contentUpdated ? null : contentHash,
+                update.getAttributes() != null ? update.getAttributes() : attributes,
+                update.getSourceClauseId() != null ? update.getSourceClauseId() : sourceClauseId,
+                update.getOrderIndex() != null ? update.getOrderIndex() : orderIndex);
+    }
+
+    /**
+     * 修改顺序值
+     * @param newOrderIndex 新的顺序值
+     * @return 修改后的状态
+     */
+    public ElementState withOrderIndex(Integer newOrderIndex) {
+        return new ElementState(elementId, elementType, content, contentHash, attributes, sourceClauseId, newOrderIndex);
+    }
+
+    /**
+     * 还原为元素；只有地址的内容须再由 {@link com.ktriasia.contractmanager.service.content.ContentBlobStore#resolve} 还原
+     * @param contractId 合同ID
+     * @return 元素
+     */
+    public ContractElement toElement(Integer contractId) {
+        ContractElement element = new ContractElement();
+        element.setElementId(elementId);
+        element.setContractId(contractId);
+        element.setElementType(elementType);
+        element.setContent(content);
+        element.setContentHash(contentHash);
+        element.setAttributes(attributes);
+        element.setSourceClauseId(sourceClauseId);
+        element.setOrderIndex(orderIndex);
+        return element;
+    }
+}
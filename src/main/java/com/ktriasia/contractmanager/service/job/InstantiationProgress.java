@@ -0,0 +1,36 @@
+package com.ktriasia.contractmanager.service.job;
+
+/**
+ * 从模板创建合同的进度回调
+ * <p>在创建合同的事务内调用：确定元素总数后调用一次 {@link #onStart(int)}，每写入一批元素后调用
+ * {@link #onElementsWritten(int)}。回调只用于报告进度，不应抛出异常或访问数据库。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public interface InstantiationProgress {
+
+    /** 不报告进度 */
+    InstantiationProgress NONE = new InstantiationProgress() {
+        @Override
+        public void onStart(int totalElements) {
+        }
+
+        @Override
+        public void onElementsWritten(int count) {
+        }
+    };
+
+    /**
+     * 模板已加载，开始写入元素
+     * @param totalElements 待写入的元素总数
+     */
+    void onStart(int totalElements);
+
+    /**
+     * 已写入一批元素
+     * @param count 本批写入的元素数量
+     */
+    void onElementsWritten(int count);
+}
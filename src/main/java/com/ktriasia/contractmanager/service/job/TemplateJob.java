@@ -0,0 +1,130 @@
+package com.ktriasia.contractmanager.service.job;
+
+import com.ktriasia.contractmanager.model.enums.TemplateJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 从模板创建合同的异步任务
+ * <p>由执行线程更新状态与进度，由轮询请求读取；各字段单独保证可见性，读取到的快照可能处于两次更新之间。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public class TemplateJob implements InstantiationProgress {
+
+    private final String jobId;
+    private final Integer templateId;
+    private final String contractName;
+    private final LocalDateTime submittedAt;
+    private final AtomicInteger elementsWritten = new AtomicInteger();
+
+    private volatile TemplateJobStatus status = TemplateJobStatus.QUEUED;
+    private volatile int totalElements = -1;
+    private volatile Integer contractId;
+    private volatile String errorCode;
+    private volatile String errorMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public TemplateJob(String jobId, Integer templateId, String contractName) {
+        this.jobId = jobId;
+        this.templateId = templateId;
+        this.contractName = contractName;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public void onStart(int totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    @Override
+    public void onElementsWritten(int count) {
+        elementsWritten.addAndGet(count);
+    }
+
+    /**
+     * 开始执行
+     */
+    public void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = TemplateJobStatus.RUNNING;
+    }
+
+    /**
+     * 执行成功
+     * @param contractId 新创建的合同ID
+     */
+    public void markSucceeded(Integer contractId) {
+        this.contractId = contractId;
+        this.finishedAt = LocalDateTime.now();
+        this.status = TemplateJobStatus.SUCCEEDED;
+    }
+
+    /**
+     * 执行失败；事务已回滚，已写入的元素不再计入进度
+     * @param errorCode 错误码名称
+     * @param errorMessage 错误信息
+     */
+    public void markFailed(String errorCode, String errorMessage) {
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.elementsWritten.set(0);
+        this.finishedAt = LocalDateTime.now();
+        this.status = TemplateJobStatus.FAILED;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Integer getTemplateId() {
+        return templateId;
+    }
+
+    public String getContractName() {
+        return contractName;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public TemplateJobStatus getStatus() {
+        return status;
+    }
+
+    public int getElementsWritten() {
+        return elementsWritten.get();
+    }
+
+    /**
+     * @return 元素总数，模板尚未加载时为-1
+     */
+    public int getTotalElements() {
+        return totalElements;
+    }
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import com.alibaba.druid.filter.stat.StatFilter;
+import com.alibaba.druid.proxy.jdbc.DataSourceProxy;
+import com.alibaba.druid.proxy.jdbc.PreparedStatementProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+import com.alibaba.druid.stat.JdbcSqlStat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 基于Druid {@link StatFilter} 的SQL剖析
+ * <p>Druid按SQL文本（开启 merge-sql 时合并只有字面量不同的语句）统计执行次数、耗时直方图、读取行数等，
+ * 本类在此基础上：</p>
+ * <ul>
+ *   <li>记录挂载了本过滤器的数据源（主库与各只读副本），供 {@link SqlProfileEndpoint} 汇总；</li>
+ *   <li>把执行时间不低于 slow-sql-millis 的语句连同绑定参数写入固定容量的环形缓冲区，
+ *       写入只是一次数组赋值，不加锁、不写日志，新记录覆盖最旧的记录。</li>
+ * </ul>
+ * <p>绑定参数可能包含合同内容或个人信息，默认只记录参数个数（每个参数显示为 {@code ?}），
+ * 包括Druid自身统计中的最近慢参数；只有显式开启 contract-manager.sql-profiling.include-parameters 时才记录参数值。</p>
+ * <p>阈值等Druid自身的选项按 spring.datasource.druid.filter.stat.* 绑定；过滤器作为Bean由Druid连接池自动加载。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Component
+@ConfigurationProperties("spring.datasource.druid.filter.stat")
+public class ProfilingStatFilter extends StatFilter {
+
+    /** Druid耗时直方图各区间的名称 */
+    static final List<String> HISTOGRAM_BUCKETS =
+            List.of("0-1ms", "1-10ms", "10-100ms", "100ms-1s", "1-10s", "10-100s", "100-1000s", ">1000s");
+
+    private final Set<DataSourceProxy> dataSources = new CopyOnWriteArraySet<>();
+    private final AtomicReferenceArray<SlowQuery> slowQueries;
+    private final AtomicLong slowQuerySequence = new AtomicLong();
+    private final int maxTextLength;
+    private final boolean includeParameters;
+
+    public ProfilingStatFilter(@Value("${contract-manager.sql-profiling.slow-query-capacity:200}") int slowQueryCapacity,
+                               @Value("${contract-manager.sql-profiling.max-text-length:2000}") int maxTextLength,
+                               @Value("${contract-manager.sql-profiling.include-parameters:false}") boolean includeParameters) {
+        this.slowQueries = new AtomicReferenceArray<>(slowQueryCapacity);
+        this.maxTextLength = maxTextLength;
+        this.includeParameters = includeParameters;
+    }
+
+    @Override
+    public void init(DataSourceProxy dataSource) {
+        super.init(dataSource);
+        dataSources.add(dataSource);
+    }
+
+    @Override
+    protected void handleSlowSql(StatementProxy statement) {
+        long sequence = slowQuerySequence.getAndIncrement();
+        slowQueries.set((int) (sequence % slowQueries.length()), new SlowQuery(
+                sequence,
+                Instant.now(),
+                statement.getConnectionProxy().getDirectDataSource().getName(),
+                truncate(statement.getLastExecuteSql()),
+                truncate(buildSlowParameters(statement)),
+                statement.getLastExecuteTimeNano() / 1_000_000));
+    }
+
+    /**
+     * 慢查询的绑定参数；未开启 include-parameters 时每个参数只显示为 {@code ?}
+     */
+    @Override
+    protected String buildSlowParameters(StatementProxy statement) {
+        if (includeParameters) {
+            return super.buildSlowParameters(statement);
+        }
+        int count = statement instanceof PreparedStatementProxy prepared ? prepared.getParametersSize() : 0;
+        return Collections.nCopies(count, "?").toString();
+    }
+
+    /**
+     * @return 环形缓冲区中的慢查询，最新的在前
+     */
+    public List<SlowQuery> slowQueries() {
+        long end = slowQuerySequence.get();
+        long start = Math.max(0, end - slowQueries.length());
+        List<SlowQuery> result = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            SlowQuery slowQuery = slowQueries.get((int) (sequence % slowQueries.length()));
+            // 读取期间被更新的记录覆盖的槽位跳过
+            if (slowQuery != null && slowQuery.sequence() == sequence) {
+                result.add(slowQuery);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 各数据源的语句统计
+     * @param limit 最多返回的语句数
+     * @return 按累计耗时从高到低排列的语句统计
+     */
+    public List<StatementProfile> statements(int limit) {
+        List<StatementProfile> profiles = new ArrayList<>();
+        for (DataSourceProxy dataSource : dataSources) {
+            for (JdbcSqlStat stat : dataSource.getDataSourceStat().getSqlStatMap().values()) {
+                if (stat.getExecuteCount() > 0) {
+                    profiles.add(StatementProfile.of(dataSource.getName(), stat, truncate(stat.getSql())));
+                }
+            }
+        }
+        profiles.sort(Comparator.comparingLong(StatementProfile::executeMillisTotal).reversed());
+        return profiles.size() > limit ? new ArrayList<>(profiles.subList(0, limit)) : profiles;
+    }
+
+    /**
+     * @return 挂载了本过滤器的数据源名称
+     */
+    public List<String> dataSourceNames() {
+        return dataSources.stream().map(DataSourceProxy::getName).toList();
+    }
+
+    /**
+     * 清空各数据源的语句统计与慢查询缓冲区
+     */
+    public void reset() {
+        dataSources.forEach(dataSource -> dataSource.getDataSourceStat().reset());
+        for (int i = 0; i < slowQueries.length(); i++) {
+            slowQueries.set(i, null);
+        }
+    }
+
+    private String truncate(String text) {
+        if (text == null || text.length() <= maxTextLength) {
+            return text;
+        }
+        return text.substring(0, maxTextLength) + "...(" + text.length() + " chars)";
+    }
+
+    /**
+     * 一条慢查询
+     * @param sequence 序号
+     * @param occurredAt 执行完成的时间
+     * @param dataSource 数据源名称
+     * @param sql 执行的SQL
+     * @param parameters 绑定参数（JSON），未开启 include-parameters 时每个参数为 {@code ?}
+     * @param millis 执行耗时（毫秒）
+     */
+    public record SlowQuery(long sequence, Instant occurredAt, String dataSource, String sql, String parameters,
+                            long millis) {
+    }
+
+    /**
+     * 一条语句的累计统计
+     * @param dataSource 数据源名称
+     * @param sql SQL文本
+     * @param executeCount 执行次数
+     * @param errorCount 出错次数
+     * @param executeMillisTotal 累计耗时（毫秒）
+     * @param executeMillisMax 最大耗时（毫秒）
+     * @param fetchRowCount 累计读取行数
+     * @param fetchRowCountMax 单次最多读取行数
+     * @param updateCount 累计影响行数
+     * @param histogram 耗时直方图：区间到执行次数
+     * @param lastSlowParameters 最近一次慢执行的绑定参数
+     */
+    public record StatementProfile(String dataSource, String sql, long executeCount, long errorCount,
+                                   long executeMillisTotal, long executeMillisMax, long fetchRowCount,
+                                   long fetchRowCountMax, long updateCount, Map<String, Long> histogram,
+                                   String lastSlowParameters) {
+
+        static StatementProfile of(String dataSource, JdbcSqlStat stat, String sql) {
+            long[] values = stat.getHistogramValues();
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < values.length && i < HISTOGRAM_BUCKETS.size(); i++) {
+                histogram.put(HISTOGRAM_BUCKETS.get(i), values[i]);
+            }
+            return new StatementProfile(dataSource, sql, stat.getExecuteCount(), stat.getErrorCount(),
+                    stat.getExecuteMillisTotal(), stat.getExecuteMillisMax(), stat.getFetchRowCount(),
+                    stat.getFetchRowCountMax(), stat.getUpdateCount(), histogram, stat.getLastSlowParameters());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import com.alibaba.druid.filter.FilterEventAdapter;
+import com.alibaba.druid.proxy.jdbc.JdbcParameter;
+import com.alibaba.druid.proxy.jdbc.PreparedStatementProxy;
+import com.alibaba.druid.proxy.jdbc.ResultSetProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 抽样、异步的SQL日志，取代逐条同步输出到标准输出的 StdOutImpl
+ * <ul>
+ *   <li>按 contract-manager.sql-profiling.log-sample-rate 的比例抽样执行的语句，未抽中的语句只多一次随机数判断；</li>
+ *   <li>抽中的语句在执行线程上只复制SQL、绑定参数与耗时，格式化和输出由单个后台线程完成；</li>
+ *   <li>队列满时丢弃日志并计入 {@value #DROPPED_NAME}，日志输出变慢不会拖慢请求。</li>
+ * </ul>
+ * <p>日志记录器为 {@value #LOGGER_NAME}，级别为INFO。比例为0时不记录。绑定参数默认每个只输出为 {@code ?}，
+ * 开启 contract-manager.sql-profiling.include-parameters 时才输出参数值。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Component
+public class SampledSqlLogFilter extends FilterEventAdapter {
+
+    /** 日志记录器名称 */
+    public static final String LOGGER_NAME = "contractmanager.sql";
+
+    /** 丢弃的日志计数器名称 */
+    public static final String DROPPED_NAME = "contractmanager.sql.log.dropped";
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final String START_NANOS = SampledSqlLogFilter.class.getName() + ".start";
+
+    private final double sampleRate;
+    private final int maxTextLength;
+    private final boolean includeParameters;
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+
+    public SampledSqlLogFilter(ThreadingMode threadingMode,
+                               MeterRegistry meterRegistry,
+                               @Value("${contract-manager.sql-profiling.log-sample-rate:0}") double sampleRate,
+                               @Value("${contract-manager.sql-profiling.log-queue-capacity:1000}") int queueCapacity,
+                               @Value("${contract-manager.sql-profiling.max-text-length:2000}") int maxTextLength,
+                               @Value("${contract-manager.sql-profiling.include-parameters:false}") boolean includeParameters) {
+        this.sampleRate = sampleRate;
+        this.maxTextLength = maxTextLength;
+        this.includeParameters = includeParameters;
+        this.dropped = Counter.builder(DROPPED_NAME)
+                .description("日志队列已满而丢弃的抽样SQL日志数")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadingMode.newThreadFactory("sql-log-"),
+                (task, pool) -> dropped.increment());
+    }
+
+    @Override
+    protected void statementExecuteBefore(StatementProxy statement, String sql) {
+        sample(statement);
+    }
+
+    @Override
+    protected void statementExecuteAfter(StatementProxy statement, String sql, boolean result) {
+        log(statement, sql, -1);
+    }
+
+    @Override
+    protected void statementExecuteQueryBefore(StatementProxy statement, String sql) {
+        sample(statement);
+    }
+
+    @Override
+    protected void statementExecuteQueryAfter(StatementProxy statement, String sql, ResultSetProxy resultSet) {
+        log(statement, sql, -1);
+    }
+
+    @Override
+    protected void statementExecuteUpdateBefore(StatementProxy statement, String sql) {
+        sample(statement);
+    }
+
+    @Override
+    protected void statementExecuteUpdateAfter(StatementProxy statement, String sql, int updateCount) {
+        log(statement, sql, updateCount);
+    }
+
+    @Override
+    protected void statementExecuteBatchBefore(StatementProxy statement) {
+        sample(statement);
+    }
+
+    @Override
+    protected void statementExecuteBatchAfter(StatementProxy statement, int[] result) {
+        log(statement, statement.getBatchSql(), result.length);
+    }
+
+    @Override
+    protected void statement_executeErrorAfter(StatementProxy statement, String sql, Throwable error) {
+        statement.getAttributes().remove(START_NANOS);
+    }
+
+    private void sample(StatementProxy statement) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            statement.putAttribute(START_NANOS, System.nanoTime());
+        }
+    }
+
+    private void log(StatementProxy statement, String sql, int updateCount) {
+        Object start = statement.getAttribute(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        statement.getAttributes().remove(START_NANOS);
+        long micros = (System.nanoTime() - (Long) start) / 1_000;
+        // 参数在语句复用时会被覆盖，须在执行线程上复制
+        List<Object> parameters = statement instanceof PreparedStatementProxy prepared
+                ? parameterValues(prepared.getParameters())
+                : List.of();
+        String dataSource = statement.getConnectionProxy().getDirectDataSource().getName();
+        executor.execute(() -> SQL_LOG.info("[{}] {}ms {}{} | parameters: {}", dataSource, micros / 1000.0,
+                truncate(sql), updateCount >= 0 ? " | updated: " + updateCount : "", truncate(String.valueOf(parameters))));
+    }
+
+    private List<Object> parameterValues(Map<Integer, JdbcParameter> parameters) {
+        if (!includeParameters) {
+            return Collections.nCopies(parameters.size(), "?");
+        }
+        List<Object> values = new ArrayList<>(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            JdbcParameter parameter = parameters.get(i);
+            values.add(parameter != null ? parameter.getValue() : null);
+        }
+        return values;
+    }
+
+    private String truncate(String text) {
+        if (text == null || text.length() <= maxTextLength) {
+            return text;
+        }
+        return text.substring(0, maxTextLength) + "...(" + text.length() + " chars)";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,150 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.service.ClauseService;
+import com.ktriasia.contractmanager.service.ContractDiffService;
+import com.ktriasia.contractmanager.service.ContractHistoryService;
+import com.ktriasia.contractmanager.service.ContractElementService;
+import com.ktriasia.contractmanager.service.ContractService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 服务层方法耗时指标
+ * <p>为 ContractService、ContractElementService、ClauseService、ContractDiffService、ContractHistoryService 的每个方法以及模板转换记录 {@value #METRIC_NAME} 计时器，
+ * 标签包括：</p>
+ * <ul>
+ *   <li>class / method：服务接口与方法名</li>
+ *   <li>endpoint：触发调用的HTTP请求方法与路由模式（如 {@code GET api/contracts/{contractId}/elements}），非请求线程为 none</li>
+ *   <li>template：模板ID分桶，仅 contract-manager.metrics.tracked-template-ids 中的模板使用自身ID，其余为 other，无模板参数为 none</li>
+ *   <li>outcome：成功为 SUCCESS，业务异常为其 {@link ResponseCode} 名称，其他异常为 INTERNAL_SERVER_ERROR</li>
+ *   <li>exception：异常类名，成功为 none</li>
+ * </ul>
+ * <p>切面位于事务切面之外，耗时包含事务提交。流式响应的方法只统计到返回响应体为止。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.2.0
+ */
+@Aspect
+@Component
+@Order(0)
+public class ServiceMetricsAspect {
+
+    /** 计时器名称 */
+    public static final String METRIC_NAME = "contractmanager.service";
+
+    static final String NONE = "none";
+    static final String OTHER = "other";
+
+    private static final List<Class<?>> SERVICE_INTERFACES =
+            List.of(ContractService.class, ContractElementService.class, ClauseService.class, ContractDiffService.class,
+                    ContractHistoryService.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Set<Integer> trackedTemplateIds;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry,
+                                @Value("${contract-manager.metrics.tracked-template-ids:}") Set<Integer> trackedTemplateIds) {
+        this.meterRegistry = meterRegistry;
+        this.trackedTemplateIds = Set.copyOf(trackedTemplateIds);
+    }
+
+    @Around("execution(* com.ktriasia.contractmanager.service.ContractService.*(..))"
+            + " || execution(* com.ktriasia.contractmanager.service.ContractElementService.*(..))"
+            + " || execution(* com.ktriasia.contractmanager.service.ClauseService.*(..))"
+            + " || execution(* com.ktriasia.contractmanager.service.ContractDiffService.*(..))"
+            + " || execution(* com.ktriasia.contractmanager.service.ContractHistoryService.*(..))"
+            + " || execution(public * com.ktriasia.contractmanager.service.converter.TemplateToContractConverter.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Tags tags = Tags.of(
+                "class", serviceName(joinPoint.getTarget(), signature),
+                "method", signature.getName(),
+                "endpoint", currentEndpoint(),
+                "template", templateBucket(signature.getParameterNames(), joinPoint.getArgs()));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ResponseCode.SUCCESS.name();
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (ServiceException e) {
+            outcome = e.getResponseCode().name();
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } catch (Throwable e) {
+            outcome = ResponseCode.INTERNAL_SERVER_ERROR.name();
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("服务层方法耗时")
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 服务接口名；无论代理方式如何，实现类都归到其服务接口下
+     */
+    private static String serviceName(Object target, MethodSignature signature) {
+        for (Class<?> service : SERVICE_INTERFACES) {
+            if (service.isInstance(target)) {
+                return service.getSimpleName();
+            }
+        }
+        return signature.getDeclaringType().getSimpleName();
+    }
+
+    /**
+     * 当前HTTP请求匹配到的路由，使用路由模式而非实际路径以保持标签基数有限
+     */
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : NONE;
+    }
+
+    /**
+     * 根据名为 templateId 的参数计算模板分桶
+     */
+    String templateBucket(String[] parameterNames, Object[] args) {
+        if (parameterNames == null) {
+            return NONE;
+        }
+        for (int i = 0; i < parameterNames.length; i++) {
+            if ("templateId".equals(parameterNames[i])) {
+                Object templateId = args[i];
+                if (templateId == null) {
+                    return NONE;
+                }
+                return trackedTemplateIds.contains(templateId) ? templateId.toString() : OTHER;
+            }
+        }
+        return NONE;
+    }
+}
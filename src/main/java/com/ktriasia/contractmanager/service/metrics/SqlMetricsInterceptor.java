@@ -0,0 +1,108 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * MyBatis语句级指标
+ * <p>拦截执行器的查询与更新，按语句记录 {@value #TIMER_NAME} 计时器与 {@value #ROWS_NAME} 行数分布。
+ * 标签 statement 为 {@code Mapper简单名.方法名}（如 {@code ContractElementMapper.insertBatch}），
+ * command 为 SELECT/INSERT/UPDATE/DELETE，outcome 为 success 或 error。</p>
+ * <p>行数取自查询返回的结果数量或更新返回的影响行数；游标查询在返回时尚未读取数据，
+ * JDBC批处理在刷新前无法得知影响行数，这两种情况只计时不记录行数。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    /** 语句耗时计时器名称 */
+    public static final String TIMER_NAME = "contractmanager.sql";
+
+    /** 语句行数分布名称 */
+    public static final String ROWS_NAME = "contractmanager.sql.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementName = shortName(statement.getId());
+        String command = statement.getSqlCommandType().name();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Object result = invocation.proceed();
+            recordRows(statementName, command, result);
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("MyBatis语句耗时")
+                    .tag("statement", statementName)
+                    .tag("command", command)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordRows(String statementName, String command, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Integer count && count != BatchExecutor.BATCH_UPDATE_RETURN_VALUE && count >= 0) {
+            rows = count;
+        } else {
+            return;
+        }
+        DistributionSummary.builder(ROWS_NAME)
+                .description("MyBatis语句返回或影响的行数")
+                .baseUnit("rows")
+                .tag("statement", statementName)
+                .tag("command", command)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * 将语句ID（Mapper全限定名.方法名）缩短为 Mapper简单名.方法名
+     */
+    static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        if (method < 0) {
+            return statementId;
+        }
+        int type = statementId.lastIndexOf('.', method - 1);
+        return statementId.substring(type + 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL剖析的Actuator端点
+ * <ul>
+ *   <li>{@code GET /actuator/sqlprofile?limit=50}：按累计耗时排序的语句统计（执行次数、耗时直方图、读取与影响行数等）；</li>
+ *   <li>{@code GET /actuator/sqlprofile/slow}：最近的慢查询及其绑定参数，最新的在前；</li>
+ *   <li>{@code DELETE /actuator/sqlprofile}：清空统计与慢查询。</li>
+ * </ul>
+ * <p>绑定参数默认只显示为 {@code ?}。开启 contract-manager.sql-profiling.include-parameters 后慢查询会包含参数值
+ * （可能是合同内容或个人信息），此时须先限制对 /actuator 的访问（如只在管理端口上暴露）。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Component
+@Endpoint(id = "sqlprofile")
+@RequiredArgsConstructor
+public class SqlProfileEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final ProfilingStatFilter profilingStatFilter;
+
+    /**
+     * 查看语句统计
+     * @param limit 最多返回的语句数
+     * @return 统计概况
+     */
+    @ReadOperation
+    public Map<String, Object> statements(@Nullable Integer limit) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("dataSources", profilingStatFilter.dataSourceNames());
+        summary.put("slowSqlMillis", profilingStatFilter.getSlowSqlMillis());
+        summary.put("statements", profilingStatFilter.statements(limit != null && limit > 0 ? limit : DEFAULT_LIMIT));
+        return summary;
+    }
+
+    /**
+     * 查看慢查询
+     * @param view 固定为 slow
+     * @return 慢查询（参数按 include-parameters 隐藏或记录），最新的在前；view 不是 slow 时返回null（404）
+     */
+    @ReadOperation
+    public List<ProfilingStatFilter.SlowQuery> slowQueries(@Selector String view) {
+        return "slow".equals(view) ? profilingStatFilter.slowQueries() : null;
+    }
+
+    /**
+     * 清空统计与慢查询
+     */
+    @DeleteOperation
+    public void reset() {
+        profilingStatFilter.reset();
+    }
+}
@@ -0,0 +1,351 @@
+package com.ktriasia.contractmanager.service.ordering;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 合同元素批量操作的执行计划
+ * <p>在内存中按顺序应用一批插入、移动、更新和删除操作，得到最终的元素顺序，
+ * 并汇总出需要写入数据库的插入、按ID更新和删除集合，供调用方以批量语句一次写入。</p>
+ * <p>同一元素的多次修改会合并为一条更新；被移动的元素只修改自身的顺序值，
+ * 相邻顺序值之间已无空隙时只在附近的窗口内重新分配，并建议在后台对整个合同重新编号。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public class ElementOperationPlan {
+
+    private final Integer contractId;
+    /** 当前的元素顺序 */
+    private final List<ContractElement> elements;
+    /** 已有元素，按ID索引 */
+    private final Map<Integer, ContractElement> existingById = new HashMap<>();
+    /** 本批次插入的元素，按客户端引用索引 */
+    private final Map<String, ContractElement> insertedByRef = new HashMap<>();
+    /** 本批次插入的元素（按对象身份判断） */
+    private final Set<ContractElement> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** 已有元素的待更新字段，按ID索引 */
+    private final Map<Integer, ContractElement> updates = new LinkedHashMap<>();
+    /** 待删除的已有元素ID */
+    private final List<Integer> deletes = new ArrayList<>();
+
+    private boolean renumbered;
+    private boolean rebalanceSuggested;
+
+    private ElementOperationPlan(Integer contractId, List<ContractElement> orderedElements) {
+        this.contractId = contractId;
+        this.elements = new ArrayList<>(orderedElements);
+        boolean strictlyIncreasing = true;
+        Integer previous = null;
+        for (ContractElement element : this.elements) {
+            existingById.put(element.getElementId(), element);
+            Integer current = element.getOrderIndex();
+            if (current == null || (previous != null && current <= previous)) {
+                strictlyIncreasing = false;
+            }
+            previous = current;
+        }
+        // 历史数据可能存在空值或重复的顺序值，先统一编号，之后才能按中点插入
+        if (!strictlyIncreasing) {
+            renumberAll();
+        }
+    }
+
+    /**
+     * 基于合同当前的元素创建执行计划
+     * @param contractId 合同ID
+     * @param orderedElements 按 orderIndex 排列的当前元素
+     * @return 执行计划
+     */
+    public static ElementOperationPlan of(Integer contractId, List<ContractElement> orderedElements) {
+        return new ElementOperationPlan(contractId, orderedElements);
+    }
+
+    /**
+     * 按顺序应用一批操作
+     * @param operations 操作列表
+     */
+    public void apply(List<ContractElementOperationDTO> operations) {
+        for (ContractElementOperationDTO operation : operations) {
+            if (operation == null || operation.getOp() == null) {
+                throw new ServiceException(ResponseCode.BAD_REQUEST, "操作类型不能为空");
+            }
+            switch (operation.getOp()) {
+                case INSERT -> insert(operation);
+                case UPDATE -> update(operation);
+                case MOVE -> move(operation);
+                case DELETE -> delete(operation);
+            }
+        }
+    }
+
+    /**
+     * @return 应用全部操作后的元素顺序
+     */
+    public List<ContractElement> getElements() {
+        return elements;
+    }
+
+    /**
+     * @return 需要插入的新元素，按最终顺序排列
+     */
+    public List<ContractElement> getInserts() {
+        return elements.stream().filter(inserted::contains).toList();
+    }
+
+    /**
+     * @return 已有元素的待更新字段（仅包含需要修改的列）
+     */
+    public Collection<ContractElement> getUpdates() {
+        return updates.values();
+    }
+
+    /**
+     * @return 被修改的已有元素应用全部操作后的完整状态，与 {@link #getUpdates()} 按相同顺序一一对应
+     */
+    public List<ContractElement> getUpdatedElements() {
+        return updates.keySet().stream().map(existingById::get).toList();
+    }
+
+    /**
+     * @return 待删除的已有元素ID
+     */
+    public List<Integer> getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * @return 本次是否对整个合同重新编号
+     */
+    public boolean isRenumbered() {
+        return renumbered;
+    }
+
+    /**
+     * @return 顺序值间隔是否已过小，建议在后台重新编号
+     */
+    public boolean isRebalanceSuggested() {
+        return rebalanceSuggested && !renumbered;
+    }
+
+    private void insert(ContractElementOperationDTO operation) {
+        if (operation.getElementType() == null) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "插入的元素必须指定元素类型");
+        }
+        if (operation.getRef() != null && insertedByRef.containsKey(operation.getRef())) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "元素引用 " + operation.getRef() + " 重复");
+        }
+        ContractElement element = new ContractElement();
+        element.setContractId(contractId);
+        element.setElementType(parseElementType(operation.getElementType()));
+        element.setContent(operation.getContent());
+        element.setAttributes(ElementAttributes.of(operation.getAttributes()));
+        element.setSourceClauseId(operation.getSourceClauseId());
+
+        int position = resolvePosition(operation);
+        inserted.add(element);
+        if (operation.getRef() != null) {
+            insertedByRef.put(operation.getRef(), element);
+        }
+        place(element, position);
+    }
+
+    private void update(ContractElementOperationDTO operation) {
+        ContractElement element = resolveTarget(operation);
+        ContractElement update = inserted.contains(element) ? element : pendingUpdate(element.getElementId());
+        if (operation.getElementType() != null) {
+            ElementType elementType = parseElementType(operation.getElementType());
+            element.setElementType(elementType);
+            update.setElementType(elementType);
+        }
+        if (operation.getContent() != null) {
+            element.setContent(operation.getContent());
+            update.setContent(operation.getContent());
+        }
+        if (operation.getAttributes() != null) {
+            ElementAttributes attributes = ElementAttributes.of(operation.getAttributes());
+            element.setAttributes(attributes);
+            update.setAttributes(attributes);
+        }
+        if (operation.getSourceClauseId() != null) {
+            element.setSourceClauseId(operation.getSourceClauseId());
+            update.setSourceClauseId(operation.getSourceClauseId());
+        }
+    }
+
+    private void move(ContractElementOperationDTO operation) {
+        ContractElement element = resolveTarget(operation);
+        int current = indexOf(element);
+        elements.remove(current);
+        int position;
+        try {
+            position = resolvePosition(operation);
+        } catch (ServiceException e) {
+            elements.add(current, element);
+            throw e;
+        }
+        place(element, position);
+    }
+
+    private void delete(ContractElementOperationDTO operation) {
+        ContractElement element = resolveTarget(operation);
+        elements.remove(indexOf(element));
+        if (inserted.remove(element)) {
+            insertedByRef.values().removeIf(candidate -> candidate == element);
+        } else {
+            existingById.remove(element.getElementId());
+            updates.remove(element.getElementId());
+            deletes.add(element.getElementId());
+        }
+    }
+
+    /**
+     * 将元素放到指定位置，并为其分配两侧顺序值之间的新顺序值
+     */
+    private void place(ContractElement element, int position) {
+        elements.add(position, element);
+        Integer previous = position > 0 ? elements.get(position - 1).getOrderIndex() : null;
+        Integer next = position + 1 < elements.size() ? elements.get(position + 1).getOrderIndex() : null;
+        Integer value = GapOrderIndex.between(previous, next);
+        if (value == null) {
+            redistribute(position);
+            return;
+        }
+        assign(element, value);
+        if (GapOrderIndex.isTight(previous, value, next)) {
+            rebalanceSuggested = true;
+        }
+    }
+
+    /**
+     * 两侧已无空隙时，从插入位置向两侧成倍扩大窗口，直到窗口外侧的顺序值之间能容纳窗口内的元素，
+     * 再在窗口内均匀分配，只修改窗口内的行；窗口覆盖整个合同时退化为全部重新编号。
+     */
+    private void redistribute(int position) {
+        for (int radius = 1; ; radius *= 2) {
+            int low = Math.max(0, position - radius);
+            int high = Math.min(elements.size() - 1, position + radius);
+            if (low == 0 && high == elements.size() - 1) {
+                renumberAll();
+                return;
+            }
+            int count = high - low + 1;
+            long lower;
+            long upper;
+            if (low == 0) {
+                upper = elements.get(high + 1).getOrderIndex();
+                lower = upper - (long) (count + 1) * GapOrderIndex.GAP;
+            } else if (high == elements.size() - 1) {
+                lower = elements.get(low - 1).getOrderIndex();
+                upper = lower + (long) (count + 1) * GapOrderIndex.GAP;
+            } else {
+                lower = elements.get(low - 1).getOrderIndex();
+                upper = elements.get(high + 1).getOrderIndex();
+            }
+            long spacing = (upper - lower) / (count + 1);
+            if (spacing >= GapOrderIndex.REBALANCE_THRESHOLD && lower >= Integer.MIN_VALUE && upper <= Integer.MAX_VALUE) {
+                for (int i = 0; i < count; i++) {
+                    assign(elements.get(low + i), (int) (lower + spacing * (i + 1)));
+                }
+                rebalanceSuggested = true;
+                return;
+            }
+        }
+    }
+
+    private void assign(ContractElement element, int value) {
+        element.setOrderIndex(value);
+        if (!inserted.contains(element)) {
+            pendingUpdate(element.getElementId()).setOrderIndex(value);
+        }
+    }
+
+    private void renumberAll() {
+        for (ContractElement changed : GapOrderIndex.renumber(elements)) {
+            pendingUpdate(changed.getElementId()).setOrderIndex(changed.getOrderIndex());
+        }
+        renumbered = true;
+    }
+
+    private ContractElement pendingUpdate(Integer elementId) {
+        return updates.computeIfAbsent(elementId, id -> {
+            ContractElement update = new ContractElement();
+            update.setElementId(id);
+            return update;
+        });
+    }
+
+    private ContractElement resolveTarget(ContractElementOperationDTO operation) {
+        ContractElement element = null;
+        if (operation.getElementId() != null) {
+            element = existingById.get(operation.getElementId());
+        } else if (operation.getRef() != null) {
+            element = insertedByRef.get(operation.getRef());
+        } else {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, operation.getOp() + " 操作必须指定 elementId 或 ref");
+        }
+        if (element == null) {
+            throw new ServiceException(ResponseCode.ELEMENT_NOT_FOUND, "合同ID为 " + contractId + " 的合同中不存在元素 "
+                    + (operation.getElementId() != null ? operation.getElementId() : operation.getRef()));
+        }
+        return element;
+    }
+
+    /**
+     * 解析插入位置：未指定时为末尾，afterElementId 为 0 时为开头，否则为锚点元素之后
+     */
+    private int resolvePosition(ContractElementOperationDTO operation) {
+        ContractElement anchor;
+        if (operation.getAfterElementId() != null) {
+            if (operation.getAfterElementId() == 0) {
+                return 0;
+            }
+            anchor = existingById.get(operation.getAfterElementId());
+        } else if (operation.getAfterRef() != null) {
+            anchor = insertedByRef.get(operation.getAfterRef());
+        } else {
+            return elements.size();
+        }
+        if (anchor == null) {
+            throw new ServiceException(ResponseCode.ELEMENT_NOT_FOUND, "定位元素 "
+                    + (operation.getAfterElementId() != null ? operation.getAfterElementId() : operation.getAfterRef()) + " 不存在");
+        }
+        int index = indexOf(anchor);
+        if (index < 0) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "元素不能移动到自身之后");
+        }
+        return index + 1;
+    }
+
+    private int indexOf(ContractElement element) {
+        for (int i = 0; i < elements.size(); i++) {
+            if (elements.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ElementType parseElementType(String elementType) {
+        try {
+            return ElementType.valueOf(elementType);
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "无效的元素类型: " + elementType);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ktriasia.contractmanager.service.ordering;
+
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 带间隔的元素顺序值
+ * <p>相邻元素的 orderIndex 之间保留间隔，插入或移动元素时只需取两侧顺序值的中点，
+ * 只修改被移动的一行；间隔耗尽时才对整个合同重新编号。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class GapOrderIndex {
+
+    /** 重新编号时相邻元素的间隔 */
+    public static final int GAP = 1024;
+
+    /** 新顺序值与相邻元素的距离低于该值时，安排后台重新编号 */
+    public static final int REBALANCE_THRESHOLD = 8;
+
+    private GapOrderIndex() {
+    }
+
+    /**
+     * 计算位于两个顺序值之间的新顺序值
+     * @param previous 前一个元素的顺序值，位于开头时为null
+     * @param next 后一个元素的顺序值，位于末尾时为null
+     * @return 新顺序值；两者之间已无空隙时返回null
+     */
+    public static Integer between(Integer previous, Integer next) {
+        long low = previous != null ? previous : (next != null ? (long) next - 2L * GAP : 0L);
+        long high = next != null ? next : low + 2L * GAP;
+        if (high - low < 2) {
+            return null;
+        }
+        long middle = low + (high - low) / 2;
+        if (middle < Integer.MIN_VALUE || middle > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) middle;
+    }
+
+    /**
+     * 判断新顺序值与两侧的距离是否已经过小
+     * @param previous 前一个元素的顺序值
+     * @param value 新顺序值
+     * @param next 后一个元素的顺序值
+     * @return 是否需要重新编号
+     */
+    public static boolean isTight(Integer previous, int value, Integer next) {
+        return (previous != null && (long) value - previous < REBALANCE_THRESHOLD)
+                || (next != null && (long) next - value < REBALANCE_THRESHOLD);
+    }
+
+    /**
+     * 按当前顺序以 {@link #GAP} 为间隔重新编号
+     * @param ordered 按顺序排列的元素，其 orderIndex 会被就地修改
+     * @return 顺序值发生变化的已有元素（仅包含 elementId 与 orderIndex，可直接用于按ID更新）
+     */
+    public static List<ContractElement> renumber(List<ContractElement> ordered) {
+        List<ContractElement> changed = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            ContractElement element = ordered.get(i);
+            int value = (i + 1) * GAP;
+            if (element.getOrderIndex() == null || element.getOrderIndex() != value) {
+                element.setOrderIndex(value);
+                if (element.getElementId() != null) {
+                    ContractElement update = new ContractElement();
+                    update.setElementId(element.getElementId());
+                    update.setOrderIndex(value);
+                    changed.add(update);
+                }
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ktriasia.contractmanager.service.ordering;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 合同元素顺序值的后台重新编号
+ * <p>批量操作发现顺序值间隔过小时，在事务提交后将合同加入队列，由单个后台线程以 {@link GapOrderIndex#GAP}
+ * 为间隔重新编号。同一合同在队列中只保留一项；重新编号时锁定合同行，与批量操作互斥。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.1.0
+ */
+@Slf4j
+@Component
+public class OrderIndexRebalancer {
+
+    /** 每个JDBC批次更新的行数 */
+    static final int UPDATE_BATCH_SIZE = 500;
+
+    private final ContractMapper contractMapper;
+    private final ContractElementMapper contractElementMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ContractChangeLog contractChangeLog;
+    private final ExecutorService executor;
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+
+    public OrderIndexRebalancer(ContractMapper contractMapper, ContractElementMapper contractElementMapper,
+                                TransactionTemplate transactionTemplate, ContractChangeLog contractChangeLog,
+                                ThreadingMode threadingMode) {
+        this.contractMapper = contractMapper;
+        this.contractElementMapper = contractElementMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.contractChangeLog = contractChangeLog;
+        this.executor = Executors.newSingleThreadExecutor(threadingMode.newThreadFactory("order-rebalance-"));
+    }
+
+    /**
+     * 在当前事务提交后安排重新编号；没有活动事务时立即安排
+     * @param contractId 合同ID
+     */
+    public void scheduleAfterCommit(Integer contractId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(contractId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(contractId);
+            }
+        });
+    }
+
+    /**
+     * 将合同加入后台重新编号队列（已在队列中时忽略）
+     * @param contractId 合同ID
+     */
+    public void schedule(Integer contractId) {
+        if (!pending.add(contractId)) {
+            return;
+        }
+        executor.execute(() -> {
+            pending.remove(contractId);
+            try {
+                int changed = rebalance(contractId);
+                log.debug("合同 {} 的元素顺序已重新编号，更新 {} 行", contractId, changed);
+            } catch (RuntimeException e) {
+                log.warn("合同 {} 的元素顺序重新编号失败", contractId, e);
+            }
+        });
+    }
+
+    /**
+     * 在独立事务中以固定间隔重新编号合同的全部元素，只更新顺序值发生变化的行
+     * @param contractId 合同ID
+     * @return 更新的行数
+     */
+    public int rebalance(Integer contractId) {
+        Integer changed = transactionTemplate.execute(status -> {
+            if (contractMapper.selectByIdForUpdate(contractId) == null) {
+                return 0;
+            }
+            QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("element_id", "order_index")
+                    .eq("contract_id", contractId)
+                    .orderByAsc("order_index", "element_id");
+            List<ContractElement> updates = GapOrderIndex.renumber(contractElementMapper.selectList(queryWrapper));
+            if (!updates.isEmpty()) {
+                contractElementMapper.updateById(updates, UPDATE_BATCH_SIZE);
+                // 元素的顺序值包含在响应中，重新编号后须使缓存的元素列表失效
+                contractMapper.bumpContentVersion(contractId, LocalDateTime.now());
+                contractChangeLog.reindexed(contractId, updates);
+            }
+            return updates.size();
+        });
+        return changed != null ? changed : 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
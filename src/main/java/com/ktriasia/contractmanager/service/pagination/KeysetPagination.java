@@ -0,0 +1,119 @@
+package com.ktriasia.contractmanager.service.pagination;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.CursorPageDTO;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集（keyset）分页工具
+ * <p>游标是对上一页最后一条记录主键的不透明编码，下一页通过 {@code id > 游标} 定位，
+ * 因此任意深度的分页开销与第一页相同，不存在 OFFSET 逐行跳过的问题。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class KeysetPagination {
+
+    /** 默认分页大小 */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    /** 最大分页大小 */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String CURSOR_PREFIX = "k1:";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * 规范化客户端传入的分页大小
+     * @param size 请求的分页大小，可为null
+     * @return 位于 [1, MAX_PAGE_SIZE] 区间的分页大小
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 解码游标
+     * @param cursor 客户端传入的游标，可为null
+     * @return 上一页最后一条记录的主键；首页返回null
+     */
+    public static Integer decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return Integer.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "无效的分页游标: " + cursor);
+        }
+    }
+
+    /**
+     * 编码游标
+     * @param lastKey 当前页最后一条记录的主键
+     * @return 不透明游标
+     */
+    public static String encodeCursor(Integer lastKey) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 由多取一条（size + 1）的查询结果构建分页结果
+     * @param rows 查询结果，最多 size + 1 条，按主键升序
+     * @param size 分页大小
+     * @param keyExtractor 主键提取函数
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> CursorPageDTO<T> toPage(List<T> rows, int size, Function<T, Integer> keyExtractor) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, size, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPageDTO<>(List.copyOf(items), size, encodeCursor(keyExtractor.apply(items.get(size - 1))));
+    }
+
+    /**
+     * 在按主键升序排列的内存列表上做键集分页，使用二分查找定位起点
+     * @param sorted 按主键升序排列的列表
+     * @param afterKey 游标中的主键，首页为null
+     * @param size 分页大小
+     * @param keyExtractor 主键提取函数
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> CursorPageDTO<T> pageSortedList(List<T> sorted, Integer afterKey, int size,
+                                                      Function<T, Integer> keyExtractor) {
+        int from = 0;
+        if (afterKey != null) {
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keyExtractor.apply(sorted.get(mid)) <= afterKey) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+        }
+        int to = Math.min(from + size + 1, sorted.size());
+        return toPage(sorted.subList(from, to), size, keyExtractor);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ktriasia.contractmanager.service.render;
+
+import com.ktriasia.contractmanager.model.attributes.TypedAttributes;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 合同渲染器，将合同及其按显示顺序排列的元素写出为某种文档格式
+ * <p>渲染器逐个元素写出，不缓存整个文档，可直接配合游标流式输出。实现须是无状态、线程安全的。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public interface ContractRenderer {
+
+    /**
+     * @return 渲染器输出的格式
+     */
+    RenderFormat format();
+
+    /**
+     * 渲染合同
+     * @param contract 合同主信息（名称、内容版本）
+     * @param elements 按显示顺序排列的合同元素
+     * @param writer 输出，调用方负责刷新和关闭
+     * @throws IOException 写出失败时抛出
+     */
+    void render(Contract contract, Iterable<ContractElement> elements, Writer writer) throws IOException;
+
+    /**
+     * 读取元素的结构化属性；属性缺失、类型不符或JSON无效时返回null，由渲染器退回到只使用元素内容
+     * @param element 合同元素
+     * @param type 期望的属性模型
+     * @param <T> 属性模型类型
+     * @return 结构化属性或null
+     */
+    static <T extends TypedAttributes> T attributes(ContractElement element, Class<T> type) {
+        try {
+            TypedAttributes attributes = element.typedAttributes();
+            return type.isInstance(attributes) ? type.cast(attributes) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 将多行内容拆分为非空行，用于列表项和当事人信息
+     * @param content 元素内容
+     * @return 去除首尾空白后的非空行
+     */
+    static List<String> lines(String content) {
+        if (content == null) {
+            return List.of();
+        }
+        return Arrays.stream(content.split("\\R"))
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .toList();
+    }
+}
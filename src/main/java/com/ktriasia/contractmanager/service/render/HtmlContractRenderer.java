@@ -0,0 +1,284 @@
+package com.ktriasia.contractmanager.service.render;
+
+import com.ktriasia.contractmanager.model.attributes.CheckboxAttributes;
+import com.ktriasia.contractmanager.model.attributes.FillableFieldAttributes;
+import com.ktriasia.contractmanager.model.attributes.MediaAttributes;
+import com.ktriasia.contractmanager.model.attributes.TableAttributes;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 将合同渲染为完整的HTML文档
+ * <p>每个元素输出为一个带 {@code data-element-id} 的块级节点，样式由客户端通过类名控制：
+ * 标题为 h1~h3，条款为 {@code section.clause}，表格取自 {@link TableAttributes}，
+ * 待填字段、复选框、签名、印章和图片分别取自对应的结构化属性。所有文本和属性值都经过HTML转义，
+ * 图片地址只接受 http(s)、站内路径和 data:image。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+public class HtmlContractRenderer implements ContractRenderer {
+
+    /** 表格没有数据时按行列数输出空单元格的上限，防止异常的行列数生成巨大的文档 */
+    static final int MAX_EMPTY_TABLE_CELLS = 10_000;
+
+    @Override
+    public RenderFormat format() {
+        return RenderFormat.HTML;
+    }
+
+    @Override
+    public void render(Contract contract, Iterable<ContractElement> elements, Writer writer) throws IOException {
+        writer.write("<!DOCTYPE html>\n<html lang=\"zh-CN\">\n<head>\n<meta charset=\"UTF-8\">\n<title>");
+        escape(contract.getContractName(), writer);
+        writer.write("</title>\n</head>\n<body>\n<article class=\"contract\" data-contract-id=\"");
+        writer.write(String.valueOf(contract.getContractId()));
+        writer.write("\" data-content-version=\"");
+        writer.write(String.valueOf(contract.getContentVersion() != null ? contract.getContentVersion() : 0L));
+        writer.write("\">\n");
+        for (ContractElement element : elements) {
+            renderElement(element, writer);
+        }
+        writer.write("</article>\n</body>\n</html>\n");
+    }
+
+    private void renderElement(ContractElement element, Writer writer) throws IOException {
+        ElementType type = element.getElementType() != null ? element.getElementType() : ElementType.PARAGRAPH;
+        switch (type) {
+            case HEADER_1 -> block("h1", null, element, writer);
+            case HEADER_2 -> block("h2", null, element, writer);
+            case HEADER_3 -> block("h3", null, element, writer);
+            case CLAUSE -> block("section", "clause", element, writer);
+            case PARAGRAPH -> block("p", null, element, writer);
+            case PARTY_INFO -> partyInfo(element, writer);
+            case TABLE -> table(element, writer);
+            case ORDERED_LIST -> list("ol", element, writer);
+            case UNORDERED_LIST -> list("ul", element, writer);
+            case FILLABLE_FIELD -> fillableField(element, writer);
+            case CHECKBOX -> checkbox(element, writer);
+            case SIGNATURE -> signature(element, writer);
+            case SEAL, IMAGE -> media(type, element, writer);
+        }
+    }
+
+    /**
+     * 文本块，内容中的换行输出为 br
+     */
+    private void block(String tag, String cssClass, ContractElement element, Writer writer) throws IOException {
+        open(tag, cssClass, element, writer);
+        multiline(element.getContent(), writer);
+        close(tag, writer);
+    }
+
+    private void partyInfo(ContractElement element, Writer writer) throws IOException {
+        open("div", "party-info", element, writer);
+        writer.write('\n');
+        for (String line : ContractRenderer.lines(element.getContent())) {
+            writer.write("<p>");
+            escape(line, writer);
+            writer.write("</p>\n");
+        }
+        close("div", writer);
+    }
+
+    private void table(ContractElement element, Writer writer) throws IOException {
+        TableAttributes attributes = ContractRenderer.attributes(element, TableAttributes.class);
+        open("table", "contract-table", element, writer);
+        writer.write('\n');
+        if (element.getContent() != null && !element.getContent().isBlank()) {
+            writer.write("<caption>");
+            escape(element.getContent(), writer);
+            writer.write("</caption>\n");
+        }
+        writer.write("<tbody>\n");
+        if (attributes != null) {
+            List<List<String>> data = attributes.data();
+            int cols = attributes.cols() != null ? Math.max(attributes.cols(), 0) : 0;
+            if (data != null) {
+                for (List<String> row : data) {
+                    int width = Math.max(cols, row != null ? row.size() : 0);
+                    tableRow(row, width, writer);
+                }
+            } else if (attributes.rows() != null && attributes.rows() > 0 && cols > 0) {
+                int rows = Math.min(attributes.rows(), MAX_EMPTY_TABLE_CELLS / cols);
+                for (int i = 0; i < rows; i++) {
+                    tableRow(null, cols, writer);
+                }
+            }
+        }
+        writer.write("</tbody>\n");
+        close("table", writer);
+    }
+
+    private void tableRow(List<String> row, int width, Writer writer) throws IOException {
+        writer.write("<tr>");
+        for (int i = 0; i < width; i++) {
+            writer.write("<td>");
+            if (row != null && i < row.size()) {
+                escape(row.get(i), writer);
+            }
+            writer.write("</td>");
+        }
+        writer.write("</tr>\n");
+    }
+
+    private void list(String tag, ContractElement element, Writer writer) throws IOException {
+        open(tag, null, element, writer);
+        writer.write('\n');
+        for (String line : ContractRenderer.lines(element.getContent())) {
+            writer.write("<li>");
+            escape(line, writer);
+            writer.write("</li>\n");
+        }
+        close(tag, writer);
+    }
+
+    private void fillableField(ContractElement element, Writer writer) throws IOException {
+        FillableFieldAttributes attributes = ContractRenderer.attributes(element, FillableFieldAttributes.class);
+        open("p", "field", element, writer);
+        if (element.getContent() != null) {
+            writer.write("<span class=\"field-label\">");
+            escape(element.getContent(), writer);
+            writer.write("</span>");
+        }
+        if (attributes == null || attributes.isEmpty()) {
+            writer.write("<span class=\"field-value field-empty\"");
+            if (attributes != null && attributes.placeholder() != null) {
+                writer.write(" title=\"");
+                escape(attributes.placeholder(), writer);
+                writer.write('"');
+            }
+            writer.write("></span>");
+        } else {
+            writer.write("<span class=\"field-value\">");
+            escape(attributes.value(), writer);
+            writer.write("</span>");
+        }
+        close("p", writer);
+    }
+
+    private void checkbox(ContractElement element, Writer writer) throws IOException {
+        CheckboxAttributes attributes = ContractRenderer.attributes(element, CheckboxAttributes.class);
+        boolean checked = attributes != null && Boolean.TRUE.equals(attributes.checked());
+        String label = attributes != null && attributes.label() != null ? attributes.label() : element.getContent();
+        open("p", "checkbox", element, writer);
+        writer.write(checked ? "<input type=\"checkbox\" disabled checked> " : "<input type=\"checkbox\" disabled> ");
+        escape(label, writer);
+        close("p", writer);
+    }
+
+    private void signature(ContractElement element, Writer writer) throws IOException {
+        open("div", "signature", element, writer);
+        writer.write("<span class=\"signature-label\">");
+        escape(element.getContent(), writer);
+        writer.write("</span><span class=\"signature-line\"></span>");
+        close("div", writer);
+    }
+
+    private void media(ElementType type, ContractElement element, Writer writer) throws IOException {
+        MediaAttributes attributes = ContractRenderer.attributes(element, MediaAttributes.class);
+        String cssClass = type.name().toLowerCase(Locale.ROOT);
+        if (attributes == null || !isSafeUrl(attributes.url())) {
+            open("div", cssClass + " " + cssClass + "-placeholder", element, writer);
+            escape(element.getContent(), writer);
+            close("div", writer);
+            return;
+        }
+        writer.write("<img class=\"");
+        writer.write(cssClass);
+        writer.write("\" data-element-id=\"");
+        writer.write(String.valueOf(element.getElementId()));
+        writer.write("\" src=\"");
+        escape(attributes.url(), writer);
+        writer.write("\" alt=\"");
+        escape(element.getContent(), writer);
+        writer.write('"');
+        if (attributes.width() != null && attributes.width() > 0) {
+            writer.write(" width=\"" + attributes.width() + "\"");
+        }
+        if (attributes.height() != null && attributes.height() > 0) {
+            writer.write(" height=\"" + attributes.height() + "\"");
+        }
+        writer.write(">\n");
+    }
+
+    private static void open(String tag, String cssClass, ContractElement element, Writer writer) throws IOException {
+        writer.write('<');
+        writer.write(tag);
+        if (cssClass != null) {
+            writer.write(" class=\"");
+            writer.write(cssClass);
+            writer.write('"');
+        }
+        writer.write(" data-element-id=\"");
+        writer.write(String.valueOf(element.getElementId()));
+        writer.write("\">");
+    }
+
+    private static void close(String tag, Writer writer) throws IOException {
+        writer.write("</");
+        writer.write(tag);
+        writer.write(">\n");
+    }
+
+    private static void multiline(String text, Writer writer) throws IOException {
+        if (text == null) {
+            return;
+        }
+        String[] lines = text.split("\\R", -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                writer.write("<br>");
+            }
+            escape(lines[i], writer);
+        }
+    }
+
+    /**
+     * 只允许 http(s)、站内路径和 data:image 地址，避免 javascript: 等地址被写入文档
+     */
+    static boolean isSafeUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return false;
+        }
+        String normalized = url.strip().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("https://") || normalized.startsWith("http://")
+                || (normalized.startsWith("/") && !normalized.startsWith("//"))
+                || normalized.startsWith("data:image/");
+    }
+
+    /**
+     * 转义HTML文本和属性值中的特殊字符，直接写入输出而不构建中间字符串
+     */
+    static void escape(String text, Writer writer) throws IOException {
+        if (text == null) {
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String replacement = switch (text.charAt(i)) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                writer.write(text, start, i - start);
+                writer.write(replacement);
+                start = i + 1;
+            }
+        }
+        writer.write(text, start, text.length() - start);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ktriasia.contractmanager.service.render;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 合同渲染的输出格式
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public enum RenderFormat {
+    /** HTML文档 */
+    HTML(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8)),
+    /** 纯文本 */
+    TEXT(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+
+    RenderFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return 响应的内容类型（UTF-8）
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * 按名称解析输出格式，忽略大小写
+     * @param value 格式名称，如 html、text
+     * @return 输出格式；无法识别时返回null
+     */
+    public static RenderFormat parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
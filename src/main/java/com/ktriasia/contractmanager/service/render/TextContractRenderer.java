@@ -0,0 +1,108 @@
+package com.ktriasia.contractmanager.service.render;
+
+import com.ktriasia.contractmanager.model.attributes.CheckboxAttributes;
+import com.ktriasia.contractmanager.model.attributes.FillableFieldAttributes;
+import com.ktriasia.contractmanager.model.attributes.TableAttributes;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * 将合同渲染为纯文本
+ * <p>合同名称为第一行，元素之间以空行分隔：有序列表编号为“1.”，无序列表以“•”开头，
+ * 表格每行以“ | ”分隔单元格，未填写的字段和签名输出为下划线，复选框输出为 ☑ / ☐，
+ * 印章和图片输出为方括号中的说明文字。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+public class TextContractRenderer implements ContractRenderer {
+
+    /** 未填写字段的占位下划线 */
+    static final String BLANK = "________";
+    /** 签名的占位下划线 */
+    static final String SIGNATURE_LINE = "________________";
+
+    @Override
+    public RenderFormat format() {
+        return RenderFormat.TEXT;
+    }
+
+    @Override
+    public void render(Contract contract, Iterable<ContractElement> elements, Writer writer) throws IOException {
+        if (contract.getContractName() != null) {
+            writer.write(contract.getContractName());
+            writer.write('\n');
+        }
+        for (ContractElement element : elements) {
+            writer.write('\n');
+            renderElement(element, writer);
+        }
+    }
+
+    private void renderElement(ContractElement element, Writer writer) throws IOException {
+        ElementType type = element.getElementType() != null ? element.getElementType() : ElementType.PARAGRAPH;
+        String content = element.getContent() != null ? element.getContent() : "";
+        switch (type) {
+            case HEADER_1, HEADER_2, HEADER_3, CLAUSE, PARAGRAPH -> line(content.strip(), writer);
+            case PARTY_INFO -> {
+                for (String line : ContractRenderer.lines(content)) {
+                    line(line, writer);
+                }
+            }
+            case TABLE -> table(element, writer);
+            case ORDERED_LIST -> {
+                List<String> items = ContractRenderer.lines(content);
+                for (int i = 0; i < items.size(); i++) {
+                    line((i + 1) + ". " + items.get(i), writer);
+                }
+            }
+            case UNORDERED_LIST -> {
+                for (String item : ContractRenderer.lines(content)) {
+                    line("• " + item, writer);
+                }
+            }
+            case FILLABLE_FIELD -> {
+                FillableFieldAttributes attributes = ContractRenderer.attributes(element, FillableFieldAttributes.class);
+                line(content + (attributes == null || attributes.isEmpty() ? BLANK : attributes.value()), writer);
+            }
+            case CHECKBOX -> {
+                CheckboxAttributes attributes = ContractRenderer.attributes(element, CheckboxAttributes.class);
+                boolean checked = attributes != null && Boolean.TRUE.equals(attributes.checked());
+                String label = attributes != null && attributes.label() != null ? attributes.label() : content;
+                line((checked ? "☑ " : "☐ ") + label, writer);
+            }
+            case SIGNATURE -> line(content + SIGNATURE_LINE, writer);
+            case SEAL -> line("[" + (content.isBlank() ? "印章" : content) + "]", writer);
+            case IMAGE -> line("[图片" + (content.isBlank() ? "" : ": " + content) + "]", writer);
+        }
+    }
+
+    private void table(ContractElement element, Writer writer) throws IOException {
+        if (element.getContent() != null && !element.getContent().isBlank()) {
+            line(element.getContent().strip(), writer);
+        }
+        TableAttributes attributes = ContractRenderer.attributes(element, TableAttributes.class);
+        if (attributes == null || attributes.data() == null) {
+            return;
+        }
+        for (List<String> row : attributes.data()) {
+            if (row == null) {
+                continue;
+            }
+            line(String.join(" | ", row.stream().map(cell -> cell != null ? cell : "").toList()), writer);
+        }
+    }
+
+    private static void line(String text, Writer writer) throws IOException {
+        writer.write(text);
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,99 @@
+package com.ktriasia.contractmanager.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 面向中日韩文本的二元分词器
+ * <p>中文等表意文字没有空格分词，因此将连续的CJK字符切分为相邻二元组（bigram），
+ * 建索引时额外保留单字以支持单字查询；拉丁字母和数字按连续片段切分为小写单词；标点与空白作为分隔符。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 为建立索引切分文本：CJK片段输出单字和二元组
+     * @param text 原始文本
+     * @return 词项列表（含重复，用于统计词频）
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 为查询切分文本：长度不小于2的CJK片段只输出二元组，单字片段输出单字
+     * @param text 查询文本
+     * @return 词项列表
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int end = i;
+                while (end < length && isCjk(normalized.codePointAt(end))) {
+                    end += Character.charCount(normalized.codePointAt(end));
+                }
+                emitCjkRun(normalized.substring(i, end), withUnigrams, tokens);
+                i = end;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int end = i;
+                while (end < length) {
+                    int current = normalized.codePointAt(end);
+                    if (!Character.isLetterOrDigit(current) || isCjk(current)) {
+                        break;
+                    }
+                    end += Character.charCount(current);
+                }
+                tokens.add(normalized.substring(i, end));
+                i = end;
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    private static void emitCjkRun(String run, boolean withUnigrams, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int k = 0; k < codePoints.length; k++) {
+            if (withUnigrams) {
+                tokens.add(new String(codePoints, k, 1));
+            }
+            if (k + 1 < codePoints.length) {
+                tokens.add(new String(codePoints, k, 2));
+            }
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
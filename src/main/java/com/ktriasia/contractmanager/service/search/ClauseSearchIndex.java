@@ -0,0 +1,240 @@
+package com.ktriasia.contractmanager.service.search;
+
+import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.service.cache.ClauseLibrary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 条款标题与内容的进程内倒排索引
+ * <p>使用 {@link BigramTokenizer} 切分中文文本，按BM25F对标题和内容两个字段分别计算得分并加权求和，
+ * 返回按相关度排序的前K个条款。索引在首次查询时从 {@link ClauseLibrary} 构建，之后通过
+ * {@link #update(Integer)} 和 {@link #remove(Integer)} 增量维护。</p>
+ * <p>全量构建在写锁内读取条款库快照；构建期间到达的增量更新会等待构建完成后再应用，不会丢失。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.1
+ */
+@Component
+@RequiredArgsConstructor
+public class ClauseSearchIndex {
+
+    /** BM25 词频饱和参数 */
+    private static final double K1 = 1.2;
+    /** BM25 长度归一化参数 */
+    private static final double B = 0.75;
+    /** 标题字段权重 */
+    private static final double TITLE_WEIGHT = 2.0;
+    /** 内容字段权重 */
+    private static final double CONTENT_WEIGHT = 1.0;
+
+    private static final int TITLE = 0;
+    private static final int CONTENT = 1;
+
+    private final ClauseLibrary clauseLibrary;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 词项 -> (条款ID -> [标题词频, 内容词频]) */
+    private final Map<String, Map<Integer, int[]>> postings = new HashMap<>();
+    /** 条款ID -> [标题长度, 内容长度] */
+    private final Map<Integer, int[]> fieldLengths = new HashMap<>();
+    /** 条款ID -> 该条款包含的词项，用于增量删除 */
+    private final Map<Integer, Set<String>> documentTerms = new HashMap<>();
+    private final long[] totalFieldLengths = new long[2];
+    private volatile boolean built;
+
+    /**
+     * 检索条款
+     * @param query 查询文本
+     * @param topK 返回的最大条数
+     * @return 按得分降序排列的命中结果
+     */
+    public List<Hit> search(String query, int topK) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(BigramTokenizer.tokenizeForQuery(query)));
+        if (queryTerms.isEmpty() || topK <= 0) {
+            return List.of();
+        }
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = fieldLengths.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageTitleLength = Math.max(1.0, (double) totalFieldLengths[TITLE] / documentCount);
+            double averageContentLength = Math.max(1.0, (double) totalFieldLengths[CONTENT] / documentCount);
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<Integer, int[]> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (Map.Entry<Integer, int[]> posting : termPostings.entrySet()) {
+                    int[] frequencies = posting.getValue();
+                    int[] lengths = fieldLengths.get(posting.getKey());
+                    double weighted = TITLE_WEIGHT * saturate(frequencies[TITLE], lengths[TITLE], averageTitleLength)
+                            + CONTENT_WEIGHT * saturate(frequencies[CONTENT], lengths[CONTENT], averageContentLength);
+                    scores.merge(posting.getKey(), idf * weighted, Double::sum);
+                }
+            }
+            return selectTopK(scores, topK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按条款库中的最新内容更新单个条款的索引；条款已不存在时将其移除
+     * @param clauseId 条款ID
+     */
+    public void update(Integer clauseId) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return;
+            }
+            ClauseDTO clause = clauseLibrary.getById(clauseId);
+            removeDocument(clauseId);
+            if (clause != null) {
+                addDocument(clause);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从索引中移除条款
+     * @param clauseId 条款ID
+     */
+    public void remove(Integer clauseId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(clauseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 丢弃当前索引，下次查询时从条款库全量重建
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            built = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                clear();
+                clauseLibrary.getAll().forEach(this::addDocument);
+                built = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(ClauseDTO clause) {
+        Integer clauseId = clause.getClauseId();
+        List<String> titleTerms = BigramTokenizer.tokenizeForIndex(clause.getTitle());
+        List<String> contentTerms = BigramTokenizer.tokenizeForIndex(clause.getContent());
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : titleTerms) {
+            postings.computeIfAbsent(term, key -> new HashMap<>()).computeIfAbsent(clauseId, key -> new int[2])[TITLE]++;
+            terms.add(term);
+        }
+        for (String term : contentTerms) {
+            postings.computeIfAbsent(term, key -> new HashMap<>()).computeIfAbsent(clauseId, key -> new int[2])[CONTENT]++;
+            terms.add(term);
+        }
+
+        fieldLengths.put(clauseId, new int[]{titleTerms.size(), contentTerms.size()});
+        documentTerms.put(clauseId, terms);
+        totalFieldLengths[TITLE] += titleTerms.size();
+        totalFieldLengths[CONTENT] += contentTerms.size();
+    }
+
+    private void removeDocument(Integer clauseId) {
+        Set<String> terms = documentTerms.remove(clauseId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, int[]> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(clauseId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        int[] lengths = fieldLengths.remove(clauseId);
+        totalFieldLengths[TITLE] -= lengths[TITLE];
+        totalFieldLengths[CONTENT] -= lengths[CONTENT];
+    }
+
+    private void clear() {
+        postings.clear();
+        fieldLengths.clear();
+        documentTerms.clear();
+        totalFieldLengths[TITLE] = 0;
+        totalFieldLengths[CONTENT] = 0;
+    }
+
+    private static double saturate(int frequency, int fieldLength, double averageFieldLength) {
+        if (frequency == 0) {
+            return 0;
+        }
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * fieldLength / averageFieldLength));
+    }
+
+    private static List<Hit> selectTopK(Map<Integer, Double> scores, int topK) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparing(Hit::clauseId, Comparator.reverseOrder());
+        PriorityQueue<Hit> heap = new PriorityQueue<>(topK + 1, ranking);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            heap.offer(new Hit(entry.getKey(), entry.getValue()));
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    /**
+     * 检索命中结果
+     * @param clauseId 条款ID
+     * @param score 相关度得分
+     */
+    public record Hit(Integer clauseId, double score) {
+    }
+}
@@ -2,18 +2,29 @@ package com.ktriasia.contractmanager.service.serviceImpl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ktriasia.contractmanager.config.datasource.ReplicaRead;
 import com.ktriasia.contractmanager.exception.ServiceException;
 import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.model.dto.ClauseSearchHitDTO;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.result.ResponseCode;
 import com.ktriasia.contractmanager.model.enums.ClauseCategory;
 import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
 import com.ktriasia.contractmanager.model.pojo.Clause;
 import com.ktriasia.contractmanager.service.ClauseService;
+import com.ktriasia.contractmanager.service.cache.CacheCoherence;
+import com.ktriasia.contractmanager.service.cache.ClauseCacheInvalidator;
+import com.ktriasia.contractmanager.service.cache.ClauseLibrary;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.cache.SerializedResponse;
+import com.ktriasia.contractmanager.service.cache.SerializedResponseCache;
+import com.ktriasia.contractmanager.service.pagination.KeysetPagination;
+import com.ktriasia.contractmanager.service.search.ClauseSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,84 +32,208 @@ import java.util.stream.Collectors;
 /**
  * 条款的服务层
  * @author ktriasia
- * @version 2.1.0
+ * @version 2.5.1
  * @since 2025-09-23
  */
 @Service
 @RequiredArgsConstructor
 public class ClauseServiceImpl extends ServiceImpl<ClauseMapper,Clause> implements ClauseService {
 
+    /** 全文检索默认返回条数 */
+    private static final int DEFAULT_SEARCH_TOP_K = 10;
+    /** 全文检索最多返回条数 */
+    private static final int MAX_SEARCH_TOP_K = 100;
+    /** 条款分类响应的缓存区域：分类是枚举常量，运行期间不会失效 */
+    private static final String CATEGORY_RESPONSES = "clauseCategory";
+
     private final ClauseMapper clauseMapper;
+    private final ClauseLibrary clauseLibrary;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final ClauseSearchIndex clauseSearchIndex;
+    private final CacheCoherence cacheCoherence;
+    private final SerializedResponseCache serializedResponseCache;
 
     /**
-     * 获取所有条款
+     * 分页获取所有条款
+     * <p>每一页的序列化结果按（游标、分页大小）缓存在条款区域中，条款写入后整个区域失效。</p>
      * @author ktriasia
      * @since 2025-09-18
-     * @return 所有条款的响应实体
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小，为null时使用默认值
+     * @return 一页条款的序列化响应
      */
     @Override
-    public ResponseEntity<Result<Object>> getAllClauses() {
-        List<Clause> clauses = clauseMapper.selectList(new QueryWrapper<>());
-        List<ClauseDTO> clauseDTOs = clauses.stream()
-                .map(ClauseDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(Result.success(clauseDTOs));
+    public SerializedResponse getAllClauses(String cursor, Integer size) {
+        Integer afterId = KeysetPagination.decodeCursor(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+        return serializedResponseCache.get(ClauseCacheInvalidator.CACHE_NAME, "all:" + afterId + ":" + pageSize,
+                () -> Result.success(KeysetPagination.pageSortedList(clauseLibrary.getAll(), afterId, pageSize,
+                        ClauseDTO::getClauseId)));
     }
 
     /**
-     * 根据标题获取条款
+     * 根据标题分页获取条款
      * @author ktriasia
      * @since 2025-09-18
      * @param title 条款标题
-     * @return 匹配条款的响应实体
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小，为null时使用默认值
+     * @return 一页匹配条款的响应实体
      */
     @Override
-    public ResponseEntity<Result<Object>> getClausesByTitle(String title) {
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> getClausesByTitle(String title, String cursor, Integer size) {
+        Integer afterId = KeysetPagination.decodeCursor(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+
+        // 按主键定位起点并多取一条，用于判断是否存在下一页
         QueryWrapper<Clause> clauseQueryWrapper = new QueryWrapper<>();
-        clauseQueryWrapper.like("title", title);
+        clauseQueryWrapper.like("title", title)
+                .gt(afterId != null, "clause_id", afterId)
+                .orderByAsc("clause_id")
+                .last("LIMIT " + (pageSize + 1));
         List<Clause> clauses = clauseMapper.selectList(clauseQueryWrapper);
         List<ClauseDTO> clauseDTOs = clauses.stream()
                 .map(ClauseDTO::fromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(Result.success(clauseDTOs));
+        return ResponseEntity.ok(Result.success(KeysetPagination.toPage(clauseDTOs, pageSize, ClauseDTO::getClauseId)));
+    }
+
+    /**
+     * 按标题和内容全文检索条款，结果按相关度排序
+     * @param query 查询文本
+     * @param topK 返回的最大条数
+     * @return 检索结果的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> searchClauses(String query, Integer topK) {
+        if (query == null || query.isBlank()) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "检索关键字不能为空");
+        }
+        int limit = topK == null ? DEFAULT_SEARCH_TOP_K : Math.min(Math.max(topK, 1), MAX_SEARCH_TOP_K);
+
+        List<ClauseSearchHitDTO> hits = new ArrayList<>();
+        for (ClauseSearchIndex.Hit hit : clauseSearchIndex.search(query, limit)) {
+            ClauseDTO clause = clauseLibrary.getById(hit.clauseId());
+            if (clause != null) {
+                hits.add(new ClauseSearchHitDTO(clause, hit.score()));
+            }
+        }
+        return ResponseEntity.ok(Result.success(hits));
     }
 
     /**
-     * 根据分类获取条款
+     * 根据分类分页获取条款
      * @author ktriasia
      * @since 2025-09-18
      * @param category 条款分类
-     * @return 匹配条款的响应实体
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小，为null时使用默认值
+     * @return 一页匹配条款的序列化响应
      */
     @Override
-    public ResponseEntity<Result<Object>> getClausesByCategory(String category) {
+    public SerializedResponse getClausesByCategory(String category, String cursor, Integer size) {
         // 验证分类是否有效
+        ClauseCategory clauseCategory;
         try {
-            ClauseCategory.valueOf(category);
+            clauseCategory = ClauseCategory.valueOf(category);
         } catch (IllegalArgumentException e) {
             throw new ServiceException(ResponseCode.CLAUSE_CATEGORY_INVALID, "无效的条款类别: " + category);
         }
 
-        QueryWrapper<Clause> clauseQueryWrapper = new QueryWrapper<>();
-        clauseQueryWrapper.eq("clause_category", category);
-        List<Clause> clauses = clauseMapper.selectList(clauseQueryWrapper);
-        List<ClauseDTO> clauseDTOs = clauses.stream()
-                .map(ClauseDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(Result.success(clauseDTOs));
+        Integer afterId = KeysetPagination.decodeCursor(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+        return serializedResponseCache.get(ClauseCacheInvalidator.CACHE_NAME,
+                "category:" + clauseCategory.name() + ":" + afterId + ":" + pageSize,
+                () -> Result.success(KeysetPagination.pageSortedList(clauseLibrary.getByCategory(clauseCategory), afterId,
+                        pageSize, ClauseDTO::getClauseId)));
     }
 
     /**
-     * 获取所有条款分类
+     * 获取所有条款分类，只在首次请求时序列化
      * @author ktriasia
      * @since 2025-09-18
-     * @return 所有条款分类的响应实体
+     * @return 所有条款分类的序列化响应
      */
     @Override
-    public ResponseEntity<Result<Object>> getAllCategories() {
-        List<String> categories = Arrays.stream(ClauseCategory.values())
-                .map(Enum::name)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(Result.success(categories));
+    public SerializedResponse getAllCategories() {
+        return serializedResponseCache.get(CATEGORY_RESPONSES, "all", () -> Result.success(
+                Arrays.stream(ClauseCategory.values()).map(Enum::name).collect(Collectors.toList())));
+    }
+
+    /**
+     * 根据ID获取条款
+     * @param clauseId 条款ID
+     * @return 条款的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> getClause(Integer clauseId) {
+        ClauseDTO clause = clauseLibrary.getById(clauseId);
+        if (clause == null) {
+            throw new ServiceException(ResponseCode.CLAUSE_NOT_FOUND, "条款ID为 " + clauseId + " 的条款不存在");
+        }
+        return ResponseEntity.ok(Result.success(clause));
+    }
+
+    /**
+     * 创建条款
+     * @param clause 条款对象
+     * @return 包含创建的条款信息的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> createClause(Clause clause) {
+        clauseMapper.insert(clause);
+        onClauseChanged(clause.getClauseId());
+        return ResponseEntity.ok(Result.created(ClauseDTO.fromEntity(clause)));
+    }
+
+    /**
+     * 更新条款
+     * @param clauseId 条款ID
+     * @param clause 条款对象
+     * @return 包含更新的条款信息的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> updateClause(Integer clauseId, Clause clause) {
+        Clause existingClause = clauseMapper.selectById(clauseId);
+        if (existingClause == null) {
+            throw new ServiceException(ResponseCode.CLAUSE_NOT_FOUND, "条款ID为 " + clauseId + " 的条款不存在");
+        }
+
+        clause.setClauseId(clauseId);
+        clauseMapper.updateById(clause);
+        onClauseChanged(clauseId);
+        return ResponseEntity.ok(Result.success("条款更新成功", clauseLibrary.getById(clauseId)));
+    }
+
+    /**
+     * 删除条款
+     * @param clauseId 条款ID
+     * @return 删除结果的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> deleteClause(Integer clauseId) {
+        Clause existingClause = clauseMapper.selectById(clauseId);
+        if (existingClause == null) {
+            throw new ServiceException(ResponseCode.CLAUSE_NOT_FOUND, "条款ID为 " + clauseId + " 的条款不存在");
+        }
+
+        clauseMapper.deleteById(clauseId);
+        onClauseChanged(clauseId);
+        return ResponseEntity.ok(Result.success("条款删除成功", null));
+    }
+
+    /**
+     * 条款写入后刷新内存条款库和检索索引，并使条款列表的缓存响应以及引用该条款的编译模板失效；
+     * 其他节点由 {@link CacheCoherence} 通知
+     * @param clauseId 发生变化的条款ID
+     */
+    private void onClauseChanged(Integer clauseId) {
+        clauseLibrary.refresh();
+        // 须在条款库刷新之后：失效后生成的响应读到的是新的条款库
+        serializedResponseCache.invalidate(ClauseCacheInvalidator.CACHE_NAME);
+        clauseSearchIndex.update(clauseId);
+        compiledTemplateCache.invalidateClause(clauseId);
+        cacheCoherence.publish(ClauseCacheInvalidator.CACHE_NAME, clauseId);
     }
 }
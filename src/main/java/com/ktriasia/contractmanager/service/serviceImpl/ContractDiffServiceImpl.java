@@ -0,0 +1,109 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.config.datasource.ReplicaRead;
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.ContractDiffDTO;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ContractDiffService;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import com.ktriasia.contractmanager.service.diff.ElementDiffer;
+import com.ktriasia.contractmanager.service.history.ContractHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 合同差异比较的服务层
+ * <p>合同一侧以一次聚合查询读取全部元素；模板一侧直接使用编译后的模板实例化出元素，不访问数据库；
+ * 历史版本由 {@link ContractHistory} 以快照与变更日志还原。
+ * 对齐与词级比较由 {@link ElementDiffer} 完成。</p>
+ * @author Ktriasia
+ * @version 1.2.0
+ * @since 2026-10-18
+ */
+@Service
+@RequiredArgsConstructor
+public class ContractDiffServiceImpl implements ContractDiffService {
+
+    private final ContractMapper contractMapper;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final TemplateToContractConverter templateToContractConverter;
+    private final ContractHistory contractHistory;
+
+    /**
+     * 比较两份合同
+     * @param contractId 左侧（基准）合同ID
+     * @param otherContractId 右侧合同ID
+     * @param includeUnchanged 是否列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    @Override
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> diffContracts(Integer contractId, Integer otherContractId, boolean includeUnchanged) {
+        List<ContractElement> left = loadElements(contractId);
+        List<ContractElement> right = loadElements(otherContractId);
+        ContractDiffDTO diff = ElementDiffer.diff(left, right, includeUnchanged);
+        diff.setLeft("contract:" + contractId);
+        diff.setRight("contract:" + otherContractId);
+        return ResponseEntity.ok(Result.success(diff));
+    }
+
+    /**
+     * 比较合同与模板
+     * @param contractId 合同ID
+     * @param templateId 模板ID
+     * @param includeUnchanged 是否列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    @Override
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> diffWithTemplate(Integer contractId, Integer templateId, boolean includeUnchanged) {
+        CompiledTemplate template = compiledTemplateCache.get(templateId);
+        if (template == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_TEMPLATE_NOT_FOUND, "模板ID为 " + templateId + " 的模板不存在或配置为空");
+        }
+        List<ContractElement> right = loadElements(contractId);
+        List<ContractElement> left = templateToContractConverter.convertToContractElements(template, contractId);
+        ContractDiffDTO diff = ElementDiffer.diff(left, right, includeUnchanged);
+        diff.setLeft("template:" + templateId);
+        diff.setRight("contract:" + contractId);
+        return ResponseEntity.ok(Result.success(diff));
+    }
+
+    /**
+     * 比较合同的两个历史版本
+     * @param contractId 合同ID
+     * @param fromVersion 左侧（较早）版本
+     * @param toVersion 右侧版本
+     * @param includeUnchanged 是否列出未变化的元素
+     * @return 包含差异结果的响应实体
+     */
+    @Override
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> diffVersions(Integer contractId, long fromVersion, long toVersion, boolean includeUnchanged) {
+        List<ContractElement> left = contractHistory.elements(
+                ContractHistoryServiceImpl.reconstruct(contractMapper, contractHistory, contractId, fromVersion));
+        List<ContractElement> right = contractHistory.elements(
+                ContractHistoryServiceImpl.reconstruct(contractMapper, contractHistory, contractId, toVersion));
+        ContractDiffDTO diff = ElementDiffer.diff(left, right, includeUnchanged);
+        diff.setLeft("contract:" + contractId + "@" + fromVersion);
+        diff.setRight("contract:" + contractId + "@" + toVersion);
+        return ResponseEntity.ok(Result.success(diff));
+    }
+
+    private List<ContractElement> loadElements(Integer contractId) {
+        Contract contract = contractMapper.selectAggregate(contractId, false, false);
+        if (contract == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
+        }
+        return contract.getContractElements() != null ? contract.getContractElements() : List.of();
+    }
+}
@@ -2,24 +2,35 @@ package com.ktriasia.contractmanager.service.serviceImpl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ktriasia.contractmanager.config.datasource.ReplicaRead;
 import com.ktriasia.contractmanager.exception.ServiceException;
 import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.dto.CursorPageDTO;
+import com.ktriasia.contractmanager.model.dto.ElementAttributeFilterDTO;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.result.ResponseCode;
 import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
 import com.ktriasia.contractmanager.model.pojo.ContractElement;
 import com.ktriasia.contractmanager.service.ContractElementService;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import com.ktriasia.contractmanager.service.history.ElementState;
+import com.ktriasia.contractmanager.service.pagination.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 合同元素的服务层实现类
  * @author ktriasia
- * @version 2.1.0
+ * @version 2.5.0
  * @since 2025-09-23
  */
 @Service
@@ -27,6 +38,8 @@ import java.util.stream.Collectors;
 public class ContractElementServiceImpl extends ServiceImpl<ContractElementMapper, ContractElement> implements ContractElementService {
 
     private final ContractElementMapper contractElementMapper;
+    private final ContractMapper contractMapper;
+    private final ContractChangeLog contractChangeLog;
 
     /**
      * 获取合同元素
@@ -34,6 +47,7 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
      * @return 包含合同元素的响应实体
      */
     @Override
+    @ReplicaRead
     public ResponseEntity<Result<Object>> getContractElement(Integer elementId) {
         // 查询合同元素
         ContractElement element = contractElementMapper.selectById(elementId);
@@ -54,10 +68,12 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
      * @return 包含合同所有元素的响应实体
      */
     @Override
+    @ReplicaRead
     public ResponseEntity<Result<Object>> getContractElements(Integer contractId) {
-        // 查询合同的所有元素
+        // 按显示顺序查询合同的所有元素
         QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
         queryWrapper.eq("contract_id", contractId);
+        queryWrapper.orderByAsc("order_index", "element_id");
         List<ContractElement> elements = contractElementMapper.selectList(queryWrapper);
 
         // 转换为DTO
@@ -75,9 +91,12 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
      * @return 包含创建的合同元素信息的响应实体
      */
     @Override
+    @Transactional
     public ResponseEntity<Result<Object>> createContractElement(ContractElement contractElement) {
         // 保存合同元素到数据库
         contractElementMapper.insert(contractElement);
+        touchContract(contractElement.getContractId());
+        contractChangeLog.inserted(List.of(contractElement));
 
         // 转换为DTO并返回创建的元素信息
         ContractElementDTO elementDTO = ContractElementDTO.fromEntity(contractElement);
@@ -91,6 +110,7 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
      * @return 包含更新的合同元素信息的响应实体
      */
     @Override
+    @Transactional
     public ResponseEntity<Result<Object>> updateContractElement(Integer elementId, ContractElement contractElement) {
         // 检查元素是否存在
         ContractElement existingElement = contractElementMapper.selectById(elementId);
@@ -101,6 +121,18 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
         // 更新元素信息
         contractElement.setElementId(elementId);
         contractElementMapper.updateById(contractElement);
+        touchContract(existingElement.getContractId());
+        // 按非null字段部分更新，变更日志记录合并后的完整状态
+        ElementState updated = ElementState.of(existingElement).merge(contractElement);
+        if (contractElement.getContractId() != null
+                && !Objects.equals(contractElement.getContractId(), existingElement.getContractId())) {
+            // 元素被移到了另一个合同，两个合同的内容都发生了变化
+            touchContract(contractElement.getContractId());
+            contractChangeLog.deleted(existingElement.getContractId(), List.of(elementId));
+            contractChangeLog.inserted(contractElement.getContractId(), updated);
+        } else {
+            contractChangeLog.updated(existingElement.getContractId(), updated);
+        }
 
         // 转换为DTO并返回更新的元素信息
         ContractElementDTO elementDTO = ContractElementDTO.fromEntity(contractElement);
@@ -113,6 +145,7 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
      * @return 删除结果的响应实体
      */
     @Override
+    @Transactional
     public ResponseEntity<Result<Object>> deleteContractElement(Integer elementId) {
         // 检查元素是否存在
         ContractElement existingElement = contractElementMapper.selectById(elementId);
@@ -122,8 +155,71 @@ public class ContractElementServiceImpl extends ServiceImpl<ContractElementMappe
 
         // 删除元素
         contractElementMapper.deleteById(elementId);
+        touchContract(existingElement.getContractId());
+        contractChangeLog.deleted(existingElement.getContractId(), List.of(elementId));
 
         // 返回成功响应
         return ResponseEntity.ok(Result.success("合同元素删除成功", null));
     }
-}
\ No newline at end of file
+
+
+    /**
+     * 在数据库中按属性过滤元素
+     * <p>条件作用于属性JSON上的生成列，由 (element_type, attr_*, contract_id) 索引支持，不需要把属性读回应用中解析。</p>
+     * @param filter 过滤条件
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小
+     * @return 包含匹配元素分页结果的响应实体
+     */
+    @Override
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> searchElementsByAttributes(ElementAttributeFilterDTO filter, String cursor, Integer size) {
+        validateFilter(filter);
+        Integer afterId = KeysetPagination.decodeCursor(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+
+        // 多取一条用于判断是否有下一页
+        List<ContractElementDTO> elementDTOs = contractElementMapper.selectByAttributes(filter, afterId, pageSize + 1).stream()
+                .map(ContractElementDTO::fromEntity)
+                .collect(Collectors.toList());
+        CursorPageDTO<ContractElementDTO> page = KeysetPagination.toPage(elementDTOs, pageSize, ContractElementDTO::getElementId);
+        return ResponseEntity.ok(Result.success(page));
+    }
+
+    /**
+     * 在数据库中按元素属性查询包含匹配元素的合同ID，例如仍有待填写字段为空的合同
+     * @param filter 过滤条件
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 分页大小
+     * @return 包含合同ID分页结果的响应实体
+     */
+    @Override
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> searchContractIdsByAttributes(ElementAttributeFilterDTO filter, String cursor, Integer size) {
+        validateFilter(filter);
+        Integer afterId = KeysetPagination.decodeCursor(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+
+        List<Integer> contractIds = contractElementMapper.selectContractIdsByAttributes(filter, afterId, pageSize + 1);
+        CursorPageDTO<Integer> page = KeysetPagination.toPage(contractIds, pageSize, Function.identity());
+        return ResponseEntity.ok(Result.success(page));
+    }
+
+    private static void validateFilter(ElementAttributeFilterDTO filter) {
+        if (filter == null || filter.getElementType() == null) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "按属性查询时必须指定元素类型");
+        }
+        if (filter.getValue() != null && filter.getValueEmpty() != null) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "value 与 valueEmpty 不能同时指定");
+        }
+    }
+    /**
+     * 递增元素所属合同的内容版本并刷新其更新时间，使合同元素列表的ETag与Last-Modified随之变化
+     * @param contractId 合同ID
+     */
+    private void touchContract(Integer contractId) {
+        if (contractId != null) {
+            contractMapper.bumpContentVersion(contractId, LocalDateTime.now());
+        }
+    }
+}
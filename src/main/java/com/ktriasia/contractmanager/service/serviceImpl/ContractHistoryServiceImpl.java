@@ -0,0 +1,82 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.config.datasource.ReplicaRead;
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.dto.ContractVersionDTO;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ContractHistoryService;
+import com.ktriasia.contractmanager.service.history.ContractHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Collectors;
+
+/**
+ * 合同历史的服务层
+ * <p>由最近的快照加上其后有限数量的变更事件还原历史版本，见 {@link ContractHistory}。</p>
+ * @author Ktriasia
+ * @version 1.1.0
+ * @since 2026-10-18
+ */
+@Service
+@RequiredArgsConstructor
+public class ContractHistoryServiceImpl implements ContractHistoryService {
+
+    private final ContractMapper contractMapper;
+    private final ContractHistory contractHistory;
+
+    /**
+     * 获取合同在指定内容版本时的全部元素
+     * @param contractId 合同ID
+     * @param version 内容版本
+     * @return 包含该版本元素的响应实体
+     */
+    @Override
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> getContractVersion(Integer contractId, long version) {
+        ContractHistory.Reconstruction reconstruction = reconstruct(contractMapper, contractHistory, contractId, version);
+
+        ContractVersionDTO versionDTO = new ContractVersionDTO();
+        versionDTO.setContractId(contractId);
+        versionDTO.setContentVersion(version);
+        versionDTO.setSnapshotVersion(reconstruction.snapshotVersion());
+        versionDTO.setEventsReplayed(reconstruction.eventsReplayed());
+        versionDTO.setElements(contractHistory.elements(reconstruction).stream()
+                .map(ContractElementDTO::fromEntity)
+                .collect(Collectors.toList()));
+        return ResponseEntity.ok(Result.success(versionDTO));
+    }
+
+    /**
+     * 还原合同的指定版本，版本不存在或无法还原时抛出业务异常
+     * @param contractMapper 合同Mapper
+     * @param contractHistory 合同历史
+     * @param contractId 合同ID
+     * @param version 内容版本
+     * @return 还原结果
+     */
+    static ContractHistory.Reconstruction reconstruct(ContractMapper contractMapper, ContractHistory contractHistory,
+                                                      Integer contractId, long version) {
+        if (version < 0) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "内容版本不能为负数");
+        }
+        Contract current = contractMapper.selectVersion(contractId);
+        if (current != null && current.getContentVersion() != null && version > current.getContentVersion()) {
+            throw new ServiceException(ResponseCode.NOT_FOUND, "合同ID为 " + contractId + " 的合同当前版本为 "
+                    + current.getContentVersion() + "，版本 " + version + " 不存在");
+        }
+        ContractHistory.Reconstruction reconstruction = contractHistory.reconstruct(contractId, version);
+        if (reconstruction == null) {
+            if (current == null) {
+                throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
+            }
+            throw new ServiceException(ResponseCode.NOT_FOUND, "合同ID为 " + contractId + " 的合同没有版本 " + version + " 的历史记录");
+        }
+        return reconstruction;
+    }
+}
@@ -0,0 +1,236 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.dto.ContractImportDTO;
+import com.ktriasia.contractmanager.model.dto.ContractImportResultDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ContractImportService;
+import com.ktriasia.contractmanager.service.content.ContentBlobStore;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import com.ktriasia.contractmanager.service.ordering.GapOrderIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 合同批量导入的服务层
+ * <p>按行读取NDJSON请求体，每次只解析一行，不缓冲整个请求体。解析后的合同按块累积，
+ * 每块在一个事务中以一条多行 INSERT 写入合同、再按批次写入全部元素。整块写入失败时回滚，
+ * 再逐行单独写入该块，只有真正出错的行被报告为失败。</p>
+ * <p>来源于条款库的长文本与模板实例化一样按内容地址存储。</p>
+ * @author Ktriasia
+ * @version 1.2.1
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class ContractImportServiceImpl implements ContractImportService {
+
+    /** 单条多行 INSERT 写入的最大元素数量 */
+    static final int ELEMENT_INSERT_BATCH_SIZE = 500;
+
+    /** 结果中最多列出的错误行数 */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ContractMapper contractMapper;
+    private final ContractElementMapper contractElementMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentBlobStore contentBlobStore;
+    private final ContractChangeLog contractChangeLog;
+    private final ObjectReader lineReader;
+    private final int chunkSize;
+    private final int maxChunkElements;
+
+    public ContractImportServiceImpl(ContractMapper contractMapper,
+                                     ContractElementMapper contractElementMapper,
+                                     TransactionTemplate transactionTemplate,
+                                     ContentBlobStore contentBlobStore,
+                                     ContractChangeLog contractChangeLog,
+                                     ObjectMapper objectMapper,
+                                     @Value("${contract-manager.import.chunk-size:200}") int chunkSize,
+                                     @Value("${contract-manager.import.max-chunk-elements:10000}") int maxChunkElements) {
+        this.contractMapper = contractMapper;
+        this.contractElementMapper = contractElementMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.contentBlobStore = contentBlobStore;
+        this.contractChangeLog = contractChangeLog;
+        this.lineReader = objectMapper.readerFor(ContractImportDTO.class);
+        this.chunkSize = chunkSize;
+        this.maxChunkElements = maxChunkElements;
+    }
+
+    /**
+     * 逐行读取NDJSON请求体并分块写入合同及其元素
+     * <p>空行被忽略。一块中的合同数达到 chunk-size 或元素数达到 max-chunk-elements 时提交该块，
+     * 内存占用只与块大小有关。请求体读取中断时，已提交的块保留，错误信息中给出最后提交的行号。</p>
+     * @param body NDJSON格式的请求体
+     * @return 包含导入统计和逐行错误的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> importContracts(InputStream body) {
+        ContractImportResultDTO result = new ContractImportResultDTO();
+        List<ImportLine> chunk = new ArrayList<>();
+        int chunkElements = 0;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportLine parsed;
+                try {
+                    parsed = parse(lineNumber, line);
+                } catch (ServiceException e) {
+                    addError(result, lineNumber, e.getMessage());
+                    continue;
+                }
+                chunk.add(parsed);
+                chunkElements += parsed.elements().size();
+                if (chunk.size() >= chunkSize || chunkElements >= maxChunkElements) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                    chunkElements = 0;
+                }
+            }
+        } catch (IOException e) {
+            throw new ServiceException(ResponseCode.CONTRACT_IMPORT_ERROR, "读取第 " + (lineNumber + 1)
+                    + " 行时请求体中断，已提交至第 " + result.getLastCommittedLine() + " 行: " + e.getMessage());
+        }
+        writeChunk(chunk, result);
+        result.setLinesRead(lineNumber);
+
+        return ResponseEntity.ok(Result.success("合同导入完成", result));
+    }
+
+    /**
+     * 解析并校验一行合同数据，转换为待写入的实体
+     */
+    private ImportLine parse(long lineNumber, String line) {
+        ContractImportDTO dto;
+        try {
+            dto = lineReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "JSON格式错误: " + e.getOriginalMessage());
+        }
+        if (dto == null || dto.getContractName() == null || dto.getContractName().isBlank()) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "合同名称不能为空");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Contract contract = new Contract();
+        contract.setContractName(dto.getContractName());
+        contract.setCreatedAt(dto.getCreatedAt() != null ? dto.getCreatedAt() : now);
+        contract.setUpdatedAt(dto.getUpdatedAt() != null ? dto.getUpdatedAt() : contract.getCreatedAt());
+        contract.setContentVersion(0L);
+
+        List<ContractElementDTO> elementDTOs = dto.getElements() != null ? dto.getElements() : List.of();
+        List<ContractElement> elements = new ArrayList<>(elementDTOs.size());
+        for (int i = 0; i < elementDTOs.size(); i++) {
+            ContractElementDTO elementDTO = elementDTOs.get(i);
+            if (elementDTO == null || elementDTO.getElementType() == null) {
+                throw new ServiceException(ResponseCode.BAD_REQUEST, "第 " + (i + 1) + " 个元素未指定元素类型");
+            }
+            ContractElement element = new ContractElement();
+            try {
+                element.setElementType(ElementType.valueOf(elementDTO.getElementType()));
+            } catch (IllegalArgumentException e) {
+                throw new ServiceException(ResponseCode.BAD_REQUEST, "第 " + (i + 1) + " 个元素的类型无效: " + elementDTO.getElementType());
+            }
+            element.setContent(elementDTO.getContent());
+            element.setAttributes(ElementAttributes.of(elementDTO.getAttributes()));
+            element.setSourceClauseId(elementDTO.getSourceClauseId());
+            element.setOrderIndex(elementDTO.getOrderIndex() != null ? elementDTO.getOrderIndex() : (i + 1) * GapOrderIndex.GAP);
+            elements.add(element);
+        }
+        return new ImportLine(lineNumber, contract, elements);
+    }
+
+    /**
+     * 在一个事务中写入一块合同；失败时逐行重试，定位出错的行
+     */
+    private void writeChunk(List<ImportLine> chunk, ContractImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            chunk.forEach(line -> imported(result, line));
+        } catch (RuntimeException chunkError) {
+            log.debug("导入块（第 {} - {} 行）写入失败，改为逐行写入", chunk.get(0).lineNumber(),
+                    chunk.get(chunk.size() - 1).lineNumber(), chunkError);
+            for (ImportLine line : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(line)));
+                    imported(result, line);
+                } catch (RuntimeException lineError) {
+                    addError(result, line.lineNumber(), NestedExceptionUtils.getMostSpecificCause(lineError).getMessage());
+                }
+            }
+        }
+        result.setLastCommittedLine(chunk.get(chunk.size() - 1).lineNumber());
+    }
+
+    private void insert(List<ImportLine> lines) {
+        contractMapper.insertBatch(lines.stream().map(ImportLine::contract).toList());
+
+        // 合同主键已由多行插入按顺序回填
+        List<ContractElement> elements = new ArrayList<>();
+        for (ImportLine line : lines) {
+            Integer contractId = line.contract().getContractId();
+            line.elements().forEach(element -> element.setContractId(contractId));
+            elements.addAll(line.elements());
+        }
+        contentBlobStore.store(elements);
+        for (int from = 0; from < elements.size(); from += ELEMENT_INSERT_BATCH_SIZE) {
+            int to = Math.min(from + ELEMENT_INSERT_BATCH_SIZE, elements.size());
+            contractElementMapper.insertBatch(elements.subList(from, to));
+        }
+        lines.forEach(line -> contractChangeLog.created(line.contract(), line.elements()));
+    }
+
+    private static void imported(ContractImportResultDTO result, ImportLine line) {
+        result.setContractsImported(result.getContractsImported() + 1);
+        result.setElementsImported(result.getElementsImported() + line.elements().size());
+    }
+
+    private static void addError(ContractImportResultDTO result, long lineNumber, String message) {
+        result.setFailedLines(result.getFailedLines() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ContractImportResultDTO.LineError(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * 解析后的一行：行号、合同及其元素
+     */
+    private record ImportLine(long lineNumber, Contract contract, List<ContractElement> elements) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.service.ContractRenderService;
+import com.ktriasia.contractmanager.service.cache.RenderedContractCache;
+import com.ktriasia.contractmanager.service.render.ContractRenderer;
+import com.ktriasia.contractmanager.service.render.RenderFormat;
+import com.ktriasia.contractmanager.service.stream.CapturingOutputStream;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 合同渲染的服务层
+ * <p>先只查询合同的内容版本：客户端ETag未变化时返回304，渲染结果已缓存时直接写出缓存的字节；
+ * 否则在只读事务中读取合同并通过游标逐个元素渲染，边渲染边写出响应，同时收集一份副本，
+ * 渲染完成后以读取到的内容版本为键放入缓存。</p>
+ * <p>渲染耗时记录在 {@value #METRIC_NAME} 计时器中，按格式和是否命中缓存（cache=hit/miss）区分；
+ * 缓存命中率见 {@code cache.gets{cache=renderedContracts}}。</p>
+ * @author Ktriasia
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+public class ContractRenderServiceImpl implements ContractRenderService {
+
+    /** 渲染耗时的指标名称 */
+    public static final String METRIC_NAME = "contractmanager.render";
+
+    /** 写出前的字符缓冲大小 */
+    private static final int WRITER_BUFFER_SIZE = 8192;
+
+    private final ContractMapper contractMapper;
+    private final ContractElementMapper contractElementMapper;
+    private final RenderedContractCache renderedContractCache;
+    private final Map<RenderFormat, ContractRenderer> renderers = new EnumMap<>(RenderFormat.class);
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+
+    public ContractRenderServiceImpl(ContractMapper contractMapper,
+                                     ContractElementMapper contractElementMapper,
+                                     RenderedContractCache renderedContractCache,
+                                     List<ContractRenderer> renderers,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.contractMapper = contractMapper;
+        this.contractElementMapper = contractElementMapper;
+        this.renderedContractCache = renderedContractCache;
+        renderers.forEach(renderer -> this.renderers.put(renderer.format(), renderer));
+        // 游标必须在事务（同一个SqlSession）内遍历
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 渲染合同
+     * @param contractId 合同ID
+     * @param format 输出格式：html 或 text
+     * @param webRequest 当前请求，用于判断条件请求头
+     * @return 以流式写出渲染结果的响应实体
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> renderContract(Integer contractId, String format, WebRequest webRequest) {
+        RenderFormat renderFormat = RenderFormat.parse(format);
+        ContractRenderer renderer = renderFormat != null ? renderers.get(renderFormat) : null;
+        if (renderer == null) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "不支持的渲染格式: " + format);
+        }
+
+        // 只查询版本信息，同时检查合同是否存在（在开始写出响应前完成，以便返回正常的错误响应）
+        Contract version = contractMapper.selectVersion(contractId);
+        if (version == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
+        }
+        RenderedContractCache.Key key = new RenderedContractCache.Key(contractId, contentVersion(version), renderFormat);
+        String eTag = renderETag(key);
+        if (webRequest != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag).contentType(renderFormat.getMediaType());
+        byte[] cached = renderedContractCache.get(key);
+        if (cached != null) {
+            return builder.contentLength(cached.length).body(outputStream -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    outputStream.write(cached);
+                } finally {
+                    sample.stop(renderTimer(renderFormat, "hit"));
+                }
+            });
+        }
+        return builder.body(outputStream -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                renderAndCache(key, renderer, outputStream);
+            } finally {
+                sample.stop(renderTimer(renderFormat, "miss"));
+            }
+        });
+    }
+
+    /**
+     * 在只读事务中读取合同并渲染，合同与元素取自同一个事务快照。
+     * 读取到的内容版本与响应头中的版本不同时（期间合同被修改），本次结果照常返回但不缓存。
+     */
+    private void renderAndCache(RenderedContractCache.Key key, ContractRenderer renderer, OutputStream outputStream) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Contract contract = contractMapper.selectById(key.contractId());
+            if (contract == null) {
+                // 响应头已确定后合同被删除，输出空文档
+                return;
+            }
+            CapturingOutputStream capturing = new CapturingOutputStream(outputStream, renderedContractCache.maxEntryBytes());
+            Writer writer = new BufferedWriter(new OutputStreamWriter(capturing, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+            try (Cursor<ContractElement> cursor = contractElementMapper.streamByContractId(key.contractId())) {
+                renderer.render(contract, cursor, writer);
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            byte[] rendered = capturing.captured();
+            if (rendered != null && contentVersion(contract) == key.contentVersion()) {
+                renderedContractCache.put(key, rendered);
+            }
+        });
+    }
+
+    private Timer renderTimer(RenderFormat format, String cache) {
+        return Timer.builder(METRIC_NAME)
+                .description("合同渲染并写出响应的耗时")
+                .tag("format", format.name().toLowerCase(Locale.ROOT))
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 渲染结果的强ETag，由合同ID、内容版本和格式组成
+     */
+    private static String renderETag(RenderedContractCache.Key key) {
+        return "\"" + key.contractId() + "-" + key.contentVersion() + "-render-"
+                + key.format().name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    private static long contentVersion(Contract contract) {
+        return contract.getContentVersion() != null ? contract.getContentVersion() : 0L;
+    }
+}
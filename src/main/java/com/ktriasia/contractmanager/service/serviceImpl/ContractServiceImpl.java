@@ -2,40 +2,79 @@ package com.ktriasia.contractmanager.service.serviceImpl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ktriasia.contractmanager.config.datasource.ReplicaRead;
 import com.ktriasia.contractmanager.exception.ServiceException;
 import com.ktriasia.contractmanager.model.dto.ContractDTO;
+import com.ktriasia.contractmanager.model.dto.ContractDeletionDTO;
 import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
 import com.ktriasia.contractmanager.model.result.Result;
 import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.enums.DeletionStatus;
 import com.ktriasia.contractmanager.model.enums.ElementType;
 import com.ktriasia.contractmanager.model.mapper.*;
 import com.ktriasia.contractmanager.model.pojo.*;
 import com.ktriasia.contractmanager.service.ContractService;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.content.ContentBlobStore;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
 import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import com.ktriasia.contractmanager.service.deletion.ChunkedContractDeleter;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import com.ktriasia.contractmanager.service.job.InstantiationProgress;
+import com.ktriasia.contractmanager.service.ordering.ElementOperationPlan;
+import com.ktriasia.contractmanager.service.ordering.OrderIndexRebalancer;
+import com.ktriasia.contractmanager.service.stream.ResultJsonStreamWriter;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * 合同的服务层
  * @author ktriasia
- * @version 2.1.0
+ * @version 2.9.1
  * @since 2025-09-23
  */
 @Service
 @RequiredArgsConstructor
 public class ContractServiceImpl extends ServiceImpl<ContractMapper, Contract> implements ContractService {
 
+    /** 单条多行 INSERT 写入的最大元素数量 */
+    static final int ELEMENT_INSERT_BATCH_SIZE = 500;
+
+    /** 批量更新元素时每个JDBC批次的语句数量 */
+    static final int ELEMENT_UPDATE_BATCH_SIZE = 500;
+
+    /** ETag中区分不同元素列表表示的后缀 */
+    private static final String ELEMENTS_REPRESENTATION = "elements";
+    private static final String CLAUSE_ELEMENTS_REPRESENTATION = "clause-elements";
+
     private final ContractMapper contractMapper;
     private final ContractElementMapper contractElementMapper;
-    private final TemplateElementConfigMapper templateElementConfigMapper;
-    private final ClauseMapper clauseMapper;
+    private final CompiledTemplateCache compiledTemplateCache;
     private final TemplateToContractConverter templateToContractConverter;
+    private final ResultJsonStreamWriter resultJsonStreamWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderIndexRebalancer orderIndexRebalancer;
+    private final ChunkedContractDeleter chunkedContractDeleter;
+    private final ContentBlobStore contentBlobStore;
+    private final ContractChangeLog contractChangeLog;
 
     /**
      * 创建合同
@@ -48,9 +87,11 @@ public class ContractServiceImpl extends ServiceImpl<ContractMapper, Contract> i
         LocalDateTime now = LocalDateTime.now();
         contract.setCreatedAt(now);
         contract.setUpdatedAt(now);
+        contract.setContentVersion(0L);
 
         // 保存合同到数据库
         contractMapper.insert(contract);
+        contractChangeLog.created(contract, List.of());
 
         // 转换为DTO并返回创建的合同信息
         ContractDTO contractDTO = ContractDTO.fromEntity(contract);
@@ -59,83 +100,150 @@ public class ContractServiceImpl extends ServiceImpl<ContractMapper, Contract> i
 
     /**
      * 删除合同
+     * <p>不在外层开启事务：元素按块在各自的短事务中删除，合同行随最后一块删除。
+     * 中途失败时已删除的元素不恢复，合同仍存在，再次调用即从剩余元素继续。</p>
      * @param contractId 合同ID
      * @return 删除结果的响应实体
      */
     @Override
-    @Transactional
     public ResponseEntity<Result<Object>> deleteContract(Integer contractId) {
-        // 检查合同是否存在
-        Contract existingContract = contractMapper.selectById(contractId);
-        if (existingContract == null) {
+        ContractDeletionDTO deletion = chunkedContractDeleter.delete(contractId);
+        if (deletion.getStatus() == DeletionStatus.NOT_FOUND) {
             throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
         }
+        if (deletion.getStatus() == DeletionStatus.FAILED) {
+            throw new ServiceException(ResponseCode.CONTRACT_DELETE_ERROR, "已删除 " + deletion.getElementsDeleted()
+                    + " 个元素后失败，重新删除可继续: " + deletion.getError());
+        }
 
-        // 删除与该合同关联的所有合同元素
-        QueryWrapper<ContractElement> elementQueryWrapper = new QueryWrapper<>();
-        elementQueryWrapper.eq("contract_id", contractId);
-        contractElementMapper.delete(elementQueryWrapper);
+        // 返回成功响应
+        return ResponseEntity.ok(Result.success("合同及关联元素删除成功", deletion));
+    }
 
-        // 删除合同
-        contractMapper.deleteById(contractId);
+    /**
+     * 批量删除合同
+     * <p>依次分块删除每个合同（重复的ID只处理一次），单个合同失败或不存在不影响其他合同。</p>
+     * @param contractIds 合同ID列表
+     * @return 包含每个合同删除结果与进度的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> deleteContracts(List<Integer> contractIds) {
+        if (contractIds == null || contractIds.isEmpty()) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "合同ID列表不能为空");
+        }
 
-        // 返回成功响应
-        return ResponseEntity.ok(Result.success("合同及关联元素删除成功", null));
+        List<ContractDeletionDTO> deletions = contractIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(chunkedContractDeleter::delete)
+                .collect(Collectors.toList());
+        long deleted = deletions.stream().filter(deletion -> deletion.getStatus() == DeletionStatus.DELETED).count();
+        long failed = deletions.stream().filter(deletion -> deletion.getStatus() == DeletionStatus.FAILED).count();
+
+        return ResponseEntity.ok(Result.success("批量删除完成：删除 " + deleted + " 个，失败 " + failed + " 个", deletions));
     }
 
     /**
      * 获取合同的所有元素
+     * <p>以一条关联查询同时读取合同与按顺序排列的元素（可选包含引用的条款）。响应带有由合同内容版本构成的强ETag
+     * 以及基于合同更新时间的Last-Modified；条件请求先只查询一次合同版本，未修改时直接返回304，不查询元素。</p>
      * @param contractId 合同ID
+     * @param includeClauses 是否同时返回元素引用的条款
+     * @param webRequest 当前请求，用于判断条件请求头
      * @return 包含合同所有元素的响应实体
      */
     @Override
-    public ResponseEntity<Result<Object>> getContractElements(Integer contractId) {
-        // 检查合同是否存在
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> getContractElements(Integer contractId, boolean includeClauses, WebRequest webRequest) {
+        return readElements(contractId, false, includeClauses, webRequest);
+    }
+
+    /**
+     * 以流式方式获取合同的所有元素
+     * <p>在只读事务中通过MyBatis游标逐行读取，每行转换为DTO后立即写入响应，不构建中间列表。</p>
+     * @param contractId 合同ID
+     * @return 以流式写出元素列表的响应实体
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamContractElements(Integer contractId) {
+        // 检查合同是否存在（在开始写出响应前完成，以便返回正常的错误响应）
         Contract existingContract = contractMapper.selectById(contractId);
         if (existingContract == null) {
             throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
         }
 
-        // 查询合同的所有元素
-        QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("contract_id", contractId);
-        List<ContractElement> elements = contractElementMapper.selectList(queryWrapper);
-
-        // 转换为DTO
-        List<ContractElementDTO> elementDTOs = elements.stream()
-                .map(ContractElementDTO::fromEntity)
-                .collect(Collectors.toList());
-
-        // 返回元素列表
-        return ResponseEntity.ok(Result.success(elementDTOs));
+        // 游标必须在事务（同一个SqlSession）内遍历
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Cursor<ContractElement> cursor = contractElementMapper.streamByContractId(contractId)) {
+                resultJsonStreamWriter.writeSuccessArray(outputStream, cursor, ContractElementDTO::fromEntity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
      * 获取合同的所有条款元素
+     * <p>与 {@link #getContractElements(Integer, boolean, WebRequest)} 相同，只包含条款类型的元素。</p>
      * @param contractId 合同ID
+     * @param includeClauses 是否同时返回元素引用的条款
+     * @param webRequest 当前请求，用于判断条件请求头
      * @return 包含合同所有条款元素的响应实体
      */
     @Override
-    public ResponseEntity<Result<Object>> getContractClauseElements(Integer contractId) {
-        // 检查合同是否存在
-        Contract existingContract = contractMapper.selectById(contractId);
+    @ReplicaRead
+    public ResponseEntity<Result<Object>> getContractClauseElements(Integer contractId, boolean includeClauses, WebRequest webRequest) {
+        return readElements(contractId, true, includeClauses, webRequest);
+    }
+
+    /**
+     * 批量操作合同元素
+     * <p>锁定合同行后一次读取全部元素，在内存中按顺序应用所有操作，再以一条删除语句、一个JDBC批次的更新
+     * 和按批次的多行插入写回。移动元素时只修改该元素的顺序值；间隔过小时在提交后安排后台重新编号。</p>
+     * @param contractId 合同ID
+     * @param operations 按顺序执行的操作列表
+     * @return 包含操作后合同全部元素（按顺序）的响应实体
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<Result<Object>> applyElementOperations(Integer contractId, List<ContractElementOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new ServiceException(ResponseCode.BAD_REQUEST, "操作列表不能为空");
+        }
+
+        // 锁定合同行，串行化对同一合同元素顺序的修改，同时检查合同是否存在
+        Contract existingContract = contractMapper.selectByIdForUpdate(contractId);
         if (existingContract == null) {
             throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
         }
 
-        // 查询合同的所有条款元素
-        QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("contract_id", contractId);
-        queryWrapper.eq("element_type", ElementType.CLAUSE);
-        List<ContractElement> clauseElements = contractElementMapper.selectList(queryWrapper);
+        // 在内存中应用全部操作
+        ElementOperationPlan plan = ElementOperationPlan.of(contractId,
+                contractElementMapper.selectList(orderedElementsQuery(contractId)));
+        plan.apply(operations);
 
-        // 转换为DTO
-        List<ContractElementDTO> clauseElementDTOs = clauseElements.stream()
+        // 批量写回
+        if (!plan.getDeletes().isEmpty()) {
+            contractElementMapper.deleteByIds(plan.getDeletes());
+        }
+        if (!plan.getUpdates().isEmpty()) {
+            contractElementMapper.updateById(plan.getUpdates(), ELEMENT_UPDATE_BATCH_SIZE);
+        }
+        insertElementsInBatches(plan.getInserts(), InstantiationProgress.NONE);
+        contractMapper.bumpContentVersion(contractId, LocalDateTime.now());
+        contractChangeLog.applied(contractId, plan);
+
+        if (plan.isRebalanceSuggested()) {
+            orderIndexRebalancer.scheduleAfterCommit(contractId);
+        }
+
+        List<ContractElementDTO> elementDTOs = plan.getElements().stream()
                 .map(ContractElementDTO::fromEntity)
                 .collect(Collectors.toList());
-
-        // 返回条款元素列表
-        return ResponseEntity.ok(Result.success(clauseElementDTOs));
+        return ResponseEntity.ok(Result.success("合同元素批量操作成功", elementDTOs));
     }
 
     /**
@@ -147,12 +255,23 @@ public class ContractServiceImpl extends ServiceImpl<ContractMapper, Contract> i
     @Override
     @Transactional
     public ResponseEntity<Result<Object>> createContractFromTemplate(Integer templateId, Contract contractDetails) {
-        // 检查模板是否存在
-        QueryWrapper<TemplateElementConfig> templateQueryWrapper = new QueryWrapper<>();
-        templateQueryWrapper.eq("template_id", templateId);
-        List<TemplateElementConfig> templateConfigs = templateElementConfigMapper.selectList(templateQueryWrapper);
+        return createContractFromTemplate(templateId, contractDetails, InstantiationProgress.NONE);
+    }
 
-        if (templateConfigs.isEmpty()) {
+    /**
+     * 从模板创建合同，每写入一批元素后报告进度
+     * @param templateId 模板ID
+     * @param contractDetails 合同详细信息
+     * @param progress 进度回调
+     * @return 包含新创建的合同及其所有元素的响应实体
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<Result<Object>> createContractFromTemplate(Integer templateId, Contract contractDetails,
+                                                                     InstantiationProgress progress) {
+        // 从缓存获取编译后的模板，同时检查模板是否存在
+        CompiledTemplate template = compiledTemplateCache.get(templateId);
+        if (template == null) {
             throw new ServiceException(ResponseCode.CONTRACT_TEMPLATE_NOT_FOUND, "模板ID为 " + templateId + " 的模板不存在或配置为空");
         }
 
@@ -160,36 +279,144 @@ public class ContractServiceImpl extends ServiceImpl<ContractMapper, Contract> i
         LocalDateTime now = LocalDateTime.now();
         contractDetails.setCreatedAt(now);
         contractDetails.setUpdatedAt(now);
+        contractDetails.setContentVersion(0L);
 
         // 保存合同到数据库
         contractMapper.insert(contractDetails);
 
-        // 根据模板配置创建合同元素
-        for (TemplateElementConfig config : templateConfigs) {
-            ContractElement element = new ContractElement();
-            element.setContractId(contractDetails.getContractId());
-            element.setElementType(ElementType.fromString(config.getElementType()));
-            element.setOrderIndex(config.getOrderIndex());
-
-            // 根据内容来源设置内容
-            if ("STATIC".equals(config.getContentSource())) {
-                element.setContent(config.getStaticContent());
-                element.setAttributes(config.getDefaultAttributes());
-            } else if ("CLAUSE_LIBRARY".equals(config.getContentSource()) && config.getSourceClauseId() != null) {
-                Clause clause = clauseMapper.selectById(config.getSourceClauseId());
-                if (clause != null) {
-                    element.setContent(clause.getContent());
-                    element.setSourceClauseId(clause.getClauseId());
-                }
+        // 根据编译后的模板生成合同元素，并按批次写入
+        List<ContractElement> elements = templateToContractConverter.convertToContractElements(
+                template, contractDetails.getContractId());
+        progress.onStart(elements.size());
+        insertElementsInBatches(elements, progress);
+        contractChangeLog.created(contractDetails, elements);
+
+        // 主键已由批量插入回填，直接转换为DTO，无需回查
+        List<ContractElementDTO> elementDTOs = elements.stream()
+                .map(ContractElementDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(Result.success("从模板创建合同成功", elementDTOs));
+    }
+
+    /**
+     * 读取合同元素列表
+     * <p>没有条件请求头时只执行一条聚合查询，ETag取自同一查询读到的版本；带条件请求头时先查询版本，
+     * 命中则返回304。条款内容的修改不会改变合同版本，因此包含条款的响应不带验证器。</p>
+     * @param contractId 合同ID
+     * @param clauseOnly 是否只包含条款类型的元素
+     * @param includeClauses 是否同时返回元素引用的条款
+     * @param webRequest 当前请求
+     * @return 元素列表的响应实体
+     */
+    private ResponseEntity<Result<Object>> readElements(Integer contractId, boolean clauseOnly, boolean includeClauses,
+                                                        WebRequest webRequest) {
+        String representation = clauseOnly ? CLAUSE_ELEMENTS_REPRESENTATION : ELEMENTS_REPRESENTATION;
+        if (!includeClauses && hasConditionalHeaders(webRequest)) {
+            // 只查询版本信息，同时检查合同是否存在
+            Contract version = selectVersion(contractId);
+            String eTag = elementsETag(version, representation);
+            if (isNotModified(webRequest, eTag, version)) {
+                return notModified(eTag, version);
             }
+        }
+
+        // 一条语句读取合同与其元素；合同不存在时结果为null，合同为空时元素列表为空
+        Contract contract = contractMapper.selectAggregate(contractId, clauseOnly, includeClauses);
+        if (contract == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
+        }
+
+        // 转换为DTO
+        List<ContractElementDTO> elementDTOs = contract.getContractElements().stream()
+                .map(ContractElementDTO::fromEntity)
+                .collect(Collectors.toList());
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (!includeClauses) {
+            withValidators(builder, elementsETag(contract, representation), contract);
+        }
+        return builder.body(Result.success(elementDTOs));
+    }
+
+    private static boolean hasConditionalHeaders(WebRequest webRequest) {
+        return webRequest != null && (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null);
+    }
+
+    /**
+     * 查询合同的版本信息，合同不存在时抛出业务异常
+     * @param contractId 合同ID
+     * @return 仅包含版本与更新时间的合同对象
+     */
+    private Contract selectVersion(Integer contractId) {
+        Contract version = contractMapper.selectVersion(contractId);
+        if (version == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_NOT_FOUND, "合同ID为 " + contractId + " 的合同不存在");
+        }
+        return version;
+    }
+
+    /**
+     * 元素列表的强ETag，由合同ID、内容版本和表示类型组成
+     */
+    private static String elementsETag(Contract version, String representation) {
+        long contentVersion = version.getContentVersion() != null ? version.getContentVersion() : 0L;
+        return "\"" + version.getContractId() + "-" + contentVersion + "-" + representation + "\"";
+    }
+
+    /**
+     * 合同更新时间对应的毫秒时间戳，未知时返回-1
+     */
+    private static long lastModified(Contract version) {
+        return version.getUpdatedAt() != null
+                ? version.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+
+    /**
+     * 根据 If-None-Match / If-Modified-Since 判断客户端缓存是否仍然有效
+     */
+    private static boolean isNotModified(WebRequest webRequest, String eTag, Contract version) {
+        return webRequest != null && webRequest.checkNotModified(eTag, lastModified(version));
+    }
+
+    private static ResponseEntity<Result<Object>> notModified(String eTag, Contract version) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, version).build();
+    }
 
-            contractElementMapper.insert(element);
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, String eTag, Contract version) {
+        builder.eTag(eTag);
+        long lastModified = lastModified(version);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
         }
+        return builder;
+    }
 
-        // 获取创建的合同及其所有元素
-        ResponseEntity<Result<Object>> contractElementsResponse = getContractElements(contractDetails.getContractId());
-        Result<Object> elementsResult = contractElementsResponse.getBody();
+    /**
+     * 按显示顺序查询合同元素的查询条件
+     * @param contractId 合同ID
+     * @return 查询条件
+     */
+    private QueryWrapper<ContractElement> orderedElementsQuery(Integer contractId) {
+        QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("contract_id", contractId);
+        queryWrapper.orderByAsc("order_index", "element_id");
+        return queryWrapper;
+    }
 
-        return ResponseEntity.ok(Result.success("从模板创建合同成功", elementsResult.getData()));
+    /**
+     * 按批次写入合同元素，每批一条多行 INSERT 语句；条款库长文本先写入内容存储，元素只保存地址
+     * @param elements 待写入的合同元素
+     * @param progress 每写入一批后报告进度
+     */
+    private void insertElementsInBatches(List<ContractElement> elements, InstantiationProgress progress) {
+        contentBlobStore.store(elements);
+        for (int from = 0; from < elements.size(); from += ELEMENT_INSERT_BATCH_SIZE) {
+            int to = Math.min(from + ELEMENT_INSERT_BATCH_SIZE, elements.size());
+            contractElementMapper.insertBatch(elements.subList(from, to));
+            progress.onElementsWritten(to - from);
+        }
     }
 }
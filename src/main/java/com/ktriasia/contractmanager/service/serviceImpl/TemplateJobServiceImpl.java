@@ -0,0 +1,178 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.ktriasia.contractmanager.config.ThreadingConfig;
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.TemplateJobDTO;
+import com.ktriasia.contractmanager.model.enums.TemplateJobStatus;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ContractService;
+import com.ktriasia.contractmanager.service.TemplateJobService;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.job.TemplateJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 从模板异步创建合同的任务服务
+ * <p>任务由固定线程数、有界队列的线程池（{@link ThreadingConfig#templateJobExecutor}）执行，队列已满时立即拒绝，
+ * 避免大模板堆积占满数据库连接。
+ * 任务状态只保存在本节点内存中：执行中的任务不会过期，已结束的任务从结束时刻起保留配置的时长。</p>
+ * <p>携带幂等键的提交按（模板ID, 幂等键）去重，网关超时后的重试会拿到同一个任务而不是再创建一份合同；
+ * 失败的任务已整体回滚，会释放幂等键，允许以同一键重试。幂等键的映射在任务提交到线程池之前写入，
+ * 立即结束的任务也能在结束时更新或释放它。</p>
+ * @author Ktriasia
+ * @version 1.0.1
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class TemplateJobServiceImpl implements TemplateJobService {
+
+    /** 任务状态的访问路径前缀 */
+    static final String JOB_LOCATION_PREFIX = "/api/contracts/template-jobs/";
+
+    private final ContractService contractService;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, TemplateJob> jobs;
+    /** 幂等键到任务的映射，键为 "模板ID:幂等键" */
+    private final Cache<String, TemplateJob> jobsByIdempotencyKey;
+
+    public TemplateJobServiceImpl(ContractService contractService,
+                                  CompiledTemplateCache compiledTemplateCache,
+                                  @Qualifier(ThreadingConfig.TEMPLATE_JOB_EXECUTOR) ThreadPoolExecutor executor,
+                                  @Value("${contract-manager.template-jobs.retention:1h}") Duration retention) {
+        this.contractService = contractService;
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.executor = executor;
+        this.jobs = retainedJobCache(retention);
+        this.jobsByIdempotencyKey = retainedJobCache(retention);
+    }
+
+    /**
+     * 提交从模板创建合同的任务
+     * <p>提交前先加载编译模板，模板不存在时直接返回错误而不是创建一个注定失败的任务；编译结果已缓存，执行时不再重复编译。</p>
+     * @param templateId 模板ID
+     * @param contractDetails 合同详细信息
+     * @param idempotencyKey 客户端提供的幂等键，可为null
+     * @return 202响应，包含任务信息，Location指向任务状态地址
+     */
+    @Override
+    public ResponseEntity<Result<Object>> submitCreateContractFromTemplate(Integer templateId, Contract contractDetails,
+                                                                           String idempotencyKey) {
+        if (compiledTemplateCache.get(templateId) == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_TEMPLATE_NOT_FOUND, "模板ID为 " + templateId + " 的模板不存在或配置为空");
+        }
+
+        TemplateJob job = new TemplateJob(UUID.randomUUID().toString(), templateId, contractDetails.getContractName());
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            enqueue(job, contractDetails, null);
+        } else {
+            String key = templateId + ":" + idempotencyKey;
+            // 先写入映射再提交，任务结束时映射一定已存在
+            TemplateJob existing = jobsByIdempotencyKey.asMap().putIfAbsent(key, job);
+            if (existing != null) {
+                job = existing;
+            } else {
+                enqueue(job, contractDetails, key);
+            }
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create(JOB_LOCATION_PREFIX + job.getJobId()))
+                .body(Result.success("模板创建任务已提交", TemplateJobDTO.fromJob(job)));
+    }
+
+    /**
+     * 查询任务的状态与进度
+     * @param jobId 任务ID
+     * @return 包含任务状态与进度的响应实体
+     */
+    @Override
+    public ResponseEntity<Result<Object>> getTemplateJob(String jobId) {
+        TemplateJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ServiceException(ResponseCode.CONTRACT_TEMPLATE_JOB_NOT_FOUND, "任务ID为 " + jobId + " 的任务不存在或已过期");
+        }
+        return ResponseEntity.ok(Result.success(TemplateJobDTO.fromJob(job)));
+    }
+
+    private void enqueue(TemplateJob job, Contract contractDetails, String idempotencyCacheKey) {
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> run(job, contractDetails, idempotencyCacheKey));
+        } catch (RejectedExecutionException e) {
+            // 被拒绝的任务不留下状态与映射
+            jobs.invalidate(job.getJobId());
+            if (idempotencyCacheKey != null) {
+                jobsByIdempotencyKey.asMap().remove(idempotencyCacheKey, job);
+            }
+            throw new ServiceException(ResponseCode.CONTRACT_TEMPLATE_JOB_REJECTED,
+                    "排队中的任务已达上限，请稍后重试");
+        }
+    }
+
+    private void run(TemplateJob job, Contract contractDetails, String idempotencyCacheKey) {
+        job.markRunning();
+        try {
+            contractService.createContractFromTemplate(job.getTemplateId(), contractDetails, job);
+            job.markSucceeded(contractDetails.getContractId());
+        } catch (ServiceException e) {
+            job.markFailed(e.getResponseCode().name(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("模板 {} 的创建任务 {} 执行失败", job.getTemplateId(), job.getJobId(), e);
+            job.markFailed(ResponseCode.CONTRACT_CREATE_ERROR.name(), e.getMessage());
+        } finally {
+            // 重新写入已结束的任务，使保留时间从结束时刻开始计算
+            jobs.put(job.getJobId(), job);
+            if (idempotencyCacheKey != null) {
+                if (job.getStatus() == TemplateJobStatus.SUCCEEDED) {
+                    jobsByIdempotencyKey.asMap().replace(idempotencyCacheKey, job);
+                } else {
+                    jobsByIdempotencyKey.asMap().remove(idempotencyCacheKey, job);
+                }
+            }
+        }
+    }
+
+    /**
+     * 执行中的任务不过期，已结束的任务在最后一次写入后保留指定时长
+     */
+    private static Cache<String, TemplateJob> retainedJobCache(Duration retention) {
+        long retentionNanos = retention.toNanos();
+        return Caffeine.newBuilder()
+                .scheduler(Scheduler.systemScheduler())
+                .expireAfter(new Expiry<String, TemplateJob>() {
+                    @Override
+                    public long expireAfterCreate(String key, TemplateJob job, long currentTime) {
+                        return job.getStatus().isFinished() ? retentionNanos : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TemplateJob job, long currentTime, long currentDuration) {
+                        return job.getStatus().isFinished() ? retentionNanos : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TemplateJob job, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+}
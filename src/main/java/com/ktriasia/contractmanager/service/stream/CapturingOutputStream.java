@@ -0,0 +1,68 @@
+package com.ktriasia.contractmanager.service.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 写入下游输出流的同时保留一份副本，用于流式响应结束后缓存响应体
+ * <p>副本超过上限时立即丢弃并停止收集，下游输出不受影响。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+public class CapturingOutputStream extends FilterOutputStream {
+
+    private final int limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    /**
+     * @param out 下游输出流
+     * @param limit 副本的字节数上限
+     */
+    public CapturingOutputStream(OutputStream out, int limit) {
+        super(out);
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        capture(1);
+        if (copy != null) {
+            copy.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        capture(len);
+        if (copy != null) {
+            copy.write(b, off, len);
+        }
+    }
+
+    /**
+     * 关闭时不关闭下游输出流，由响应的所有者负责
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * @return 已写出内容的副本；超过上限时返回null
+     */
+    public byte[] captured() {
+        return copy != null ? copy.toByteArray() : null;
+    }
+
+    private void capture(int len) {
+        if (copy != null && copy.size() + (long) len > limit) {
+            copy = null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ktriasia.contractmanager.service.stream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * 以流式方式输出 {@link com.ktriasia.contractmanager.model.result.Result} 格式的JSON数组
+ * <p>输出结构与 {@code Result.success(list)} 的序列化结果一致，但逐条序列化并写出数据行，
+ * 不在内存中构建完整列表，内存占用与数据量无关。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ResultJsonStreamWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 将数据逐条转换并写出为 {@code {"code":200,"message":"成功","data":[...]}}
+     * @param outputStream 输出流，由调用方负责关闭
+     * @param rows 数据来源（如MyBatis游标）
+     * @param converter 数据行到输出对象（DTO）的转换函数
+     * @param <T> 数据行类型
+     * @return 写出的数据行数
+     * @throws IOException 写出失败时抛出
+     */
+    public <T> long writeSuccessArray(OutputStream outputStream, Iterable<T> rows, Function<T, ?> converter) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("code", ResponseCode.SUCCESS.getCode());
+            generator.writeStringField("message", ResponseCode.SUCCESS.getMessage());
+            generator.writeArrayFieldStart("data");
+            for (T row : rows) {
+                generator.writeObject(converter.apply(row));
+                count++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,46 @@
+-- H2（MySQL兼容模式）下的基线表结构，供测试与本地运行使用，与 mysql/V1__baseline_schema.sql 对应。
+-- JSON 列以文本存储。
+
+CREATE TABLE clause (
+    clause_id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    content TEXT,
+    clause_category VARCHAR(50)
+);
+
+CREATE TABLE contract (
+    contract_id INT AUTO_INCREMENT PRIMARY KEY,
+    contract_name VARCHAR(255),
+    created_at DATETIME,
+    updated_at DATETIME
+);
+
+CREATE TABLE contract_element (
+    element_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    contract_id INT NOT NULL,
+    order_index INT,
+    element_type VARCHAR(20),
+    content TEXT,
+    source_clause_id INT,
+    attributes TEXT
+);
+
+CREATE TABLE contract_template (
+    template_id INT AUTO_INCREMENT PRIMARY KEY,
+    template_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at DATETIME,
+    updated_at DATETIME
+);
+
+CREATE TABLE template_element_config (
+    config_id INT AUTO_INCREMENT PRIMARY KEY,
+    template_id INT NOT NULL,
+    order_index INT,
+    element_type VARCHAR(50),
+    content_source VARCHAR(50),
+    static_content TEXT,
+    source_clause_id INT,
+    default_attributes TEXT
+);
@@ -0,0 +1,6 @@
+-- 与 mysql/V2__access_path_indexes.sql 相同的访问路径索引，各索引对应的查询见该脚本。
+
+CREATE INDEX idx_element_contract_order ON contract_element (contract_id, order_index);
+CREATE INDEX idx_element_contract_type ON contract_element (contract_id, element_type, order_index);
+CREATE INDEX idx_element_contract ON contract_element (contract_id);
+CREATE INDEX idx_template_config_template ON template_element_config (template_id, order_index);
@@ -0,0 +1,3 @@
+-- 与 mysql/V3__contract_content_version.sql 对应。
+
+ALTER TABLE contract ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
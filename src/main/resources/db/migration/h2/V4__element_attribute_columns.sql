@@ -0,0 +1,9 @@
+-- 与 mysql/V4__element_attribute_columns.sql 对应。属性以文本存储，生成列以正则表达式取值，取值规则与 MySQL 的 JSON 路径一致。
+
+ALTER TABLE contract_element ADD COLUMN attr_value VARCHAR(255)
+    GENERATED ALWAYS AS (REGEXP_SUBSTR(attributes, '"value"\s*:\s*"([^"]*)"', 1, 1, '', 1));
+ALTER TABLE contract_element ADD COLUMN attr_checked BOOLEAN
+    GENERATED ALWAYS AS (CASE WHEN REGEXP_LIKE(attributes, '"checked"\s*:\s*true') THEN TRUE
+                              WHEN REGEXP_LIKE(attributes, '"checked"\s*:\s*false') THEN FALSE END);
+CREATE INDEX idx_element_attr_value ON contract_element (element_type, attr_value, contract_id);
+CREATE INDEX idx_element_attr_checked ON contract_element (element_type, attr_checked, contract_id);
@@ -0,0 +1,9 @@
+-- 与 mysql/V5__content_blob.sql 对应。
+
+CREATE TABLE content_blob (
+    content_hash CHAR(64) NOT NULL PRIMARY KEY,
+    content MEDIUMTEXT NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+ALTER TABLE contract_element ADD COLUMN content_hash CHAR(64) AFTER content;
@@ -0,0 +1,23 @@
+-- 与 mysql/V6__contract_history.sql 对应。
+
+CREATE TABLE contract_change_event (
+    event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    contract_id INT NOT NULL,
+    content_version BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    element_id BIGINT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME NOT NULL
+);
+CREATE INDEX idx_change_event_contract ON contract_change_event (contract_id, event_id);
+
+CREATE TABLE contract_snapshot (
+    snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    contract_id INT NOT NULL,
+    content_version BIGINT NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    element_count INT NOT NULL,
+    elements TEXT NOT NULL,
+    created_at DATETIME NOT NULL,
+    CONSTRAINT uk_snapshot_contract_version UNIQUE (contract_id, content_version)
+);
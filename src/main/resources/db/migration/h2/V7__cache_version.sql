@@ -0,0 +1,12 @@
+-- 与 mysql/V7__cache_version.sql 对应。
+
+CREATE TABLE cache_version (
+    cache_name VARCHAR(32) NOT NULL,
+    cache_key VARCHAR(64) NOT NULL,
+    version BIGINT NOT NULL,
+    origin VARCHAR(36) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    PRIMARY KEY (cache_name, cache_key)
+);
+CREATE INDEX idx_cache_version_version ON cache_version (version);
+INSERT INTO cache_version VALUES ('#', '#', 0, '', NOW());
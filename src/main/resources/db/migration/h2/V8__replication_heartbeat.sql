@@ -0,0 +1,6 @@
+-- 与 mysql/V8__replication_heartbeat.sql 对应。
+
+CREATE TABLE replication_heartbeat (
+    heartbeat_id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
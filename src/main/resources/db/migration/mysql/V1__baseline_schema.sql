@@ -0,0 +1,46 @@
+-- 基线表结构，即启用版本化迁移之前已在使用的表结构（不含之后各版本新增的列与表）。
+-- 已有表但没有迁移记录的库按 spring.flyway.baseline-version=1 记为已处于本版本，不执行本脚本，只执行 V2 及之后的版本。
+
+CREATE TABLE clause (
+    clause_id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    content TEXT,
+    clause_category VARCHAR(50)
+);
+
+CREATE TABLE contract (
+    contract_id INT AUTO_INCREMENT PRIMARY KEY,
+    contract_name VARCHAR(255),
+    created_at DATETIME,
+    updated_at DATETIME
+);
+
+CREATE TABLE contract_element (
+    element_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    contract_id INT NOT NULL,
+    order_index INT,
+    element_type VARCHAR(20),
+    content TEXT,
+    source_clause_id INT,
+    attributes JSON
+);
+
+CREATE TABLE contract_template (
+    template_id INT AUTO_INCREMENT PRIMARY KEY,
+    template_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    is_active TINYINT(1) NOT NULL DEFAULT 1,
+    created_at DATETIME,
+    updated_at DATETIME
+);
+
+CREATE TABLE template_element_config (
+    config_id INT AUTO_INCREMENT PRIMARY KEY,
+    template_id INT NOT NULL,
+    order_index INT,
+    element_type VARCHAR(50),
+    content_source VARCHAR(50),
+    static_content TEXT,
+    source_clause_id INT,
+    default_attributes JSON
+);
@@ -0,0 +1,14 @@
+-- 按 Mapper 实际发出的查询补齐索引。InnoDB 二级索引隐含主键，因此以 element_id 作为第二排序键的查询同样由索引提供顺序。
+
+-- 按合同读取有序元素（元素列表、游标读取、快照、重新编号、差异比较）：
+-- WHERE contract_id = ? ORDER BY order_index, element_id
+CREATE INDEX idx_element_contract_order ON contract_element (contract_id, order_index);
+
+-- 合同聚合读取只取条款元素时：ON e.contract_id = ? AND e.element_type = 'CLAUSE' ORDER BY e.order_index, e.element_id
+CREATE INDEX idx_element_contract_type ON contract_element (contract_id, element_type, order_index);
+
+-- 分块删除合同元素：SELECT element_id ... WHERE contract_id = ? ORDER BY element_id LIMIT ?，只读索引且无需排序
+CREATE INDEX idx_element_contract ON contract_element (contract_id);
+
+-- 编译模板：WHERE template_id = ?；模板元素按 order_index 编译，索引同时带上该列
+CREATE INDEX idx_template_config_template ON template_element_config (template_id, order_index);
@@ -0,0 +1,3 @@
+-- 合同内容版本：合同元素每次写入时递增，用于元素列表的ETag与变更日志。
+
+ALTER TABLE contract ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- 从元素属性中取出的生成列及其索引，用于在数据库中按属性过滤元素（如仍有空白待填写字段的合同）。
+-- 生成列为 VIRTUAL，添加时不重写表数据。
+
+ALTER TABLE contract_element
+    ADD COLUMN attr_value VARCHAR(255) GENERATED ALWAYS AS (
+        CASE WHEN JSON_TYPE(attributes -> '$.value') = 'NULL' THEN NULL
+             ELSE LEFT(attributes ->> '$.value', 255) END) VIRTUAL,
+    ADD COLUMN attr_checked TINYINT(1) GENERATED ALWAYS AS ((attributes ->> '$.checked') = 'true') VIRTUAL,
+    ADD INDEX idx_element_attr_value (element_type, attr_value, contract_id),
+    ADD INDEX idx_element_attr_checked (element_type, attr_checked, contract_id);
@@ -0,0 +1,9 @@
+-- 按内容寻址存储条款库长文本，合同元素通过 content_hash 引用。已有元素的内联文本通过 POST /actuator/contentblobs 在后台迁移。
+
+CREATE TABLE content_blob (
+    content_hash CHAR(64) CHARACTER SET ascii NOT NULL PRIMARY KEY,
+    content MEDIUMTEXT NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+ALTER TABLE contract_element ADD COLUMN content_hash CHAR(64) CHARACTER SET ascii NULL AFTER content;
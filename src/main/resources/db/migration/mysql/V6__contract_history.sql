@@ -0,0 +1,23 @@
+-- 合同元素的只追加变更日志与周期快照。按 contract_id 关联但不设外键，合同删除后历史仍保留。
+
+CREATE TABLE contract_change_event (
+    event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    contract_id INT NOT NULL,
+    content_version BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    element_id BIGINT NULL,
+    payload JSON NOT NULL,
+    created_at DATETIME NOT NULL,
+    INDEX idx_change_event_contract (contract_id, event_id)
+);
+
+CREATE TABLE contract_snapshot (
+    snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    contract_id INT NOT NULL,
+    content_version BIGINT NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    element_count INT NOT NULL,
+    elements JSON NOT NULL,
+    created_at DATETIME NOT NULL,
+    UNIQUE KEY uk_snapshot_contract_version (contract_id, content_version)
+);
@@ -0,0 +1,12 @@
+-- 多节点间进程内缓存的失效版本。('#', '#') 行保存全局序号，服务层写入时在同一事务中递增。
+
+CREATE TABLE cache_version (
+    cache_name VARCHAR(32) NOT NULL,
+    cache_key VARCHAR(64) NOT NULL,
+    version BIGINT NOT NULL,
+    origin VARCHAR(36) NOT NULL,
+    updated_at DATETIME NOT NULL,
+    PRIMARY KEY (cache_name, cache_key),
+    INDEX idx_cache_version_version (version)
+);
+INSERT INTO cache_version VALUES ('#', '#', 0, '', NOW());
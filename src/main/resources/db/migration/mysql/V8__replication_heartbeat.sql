@@ -0,0 +1,6 @@
+-- 测量只读副本复制延迟的心跳表。只有一行，由应用在首次写入时创建。
+
+CREATE TABLE replication_heartbeat (
+    heartbeat_id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
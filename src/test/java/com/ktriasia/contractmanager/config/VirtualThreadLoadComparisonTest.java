@@ -0,0 +1,182 @@
+package com.ktriasia.contractmanager.config;
+
+import com.ktriasia.contractmanager.Application;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 平台线程与虚拟线程模式的负载对比
+ * <p>分别以两种线程模式启动完整应用，经真实的服务层、MyBatis Mapper与Druid连接池读取H2中的合同元素；
+ * 两种模式的连接池大小相同，Tomcat线程数只限制平台线程模式。并发请求合同元素接口，输出吞吐量、延迟分位数，
+ * 以及测量期间通过JFR记录的虚拟线程固定（pinning）次数与位置。默认不运行，使用
+ * {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark -Dtest=VirtualThreadLoadComparisonTest} 执行。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@Tag("benchmark")
+@DisplayName("线程模式负载对比")
+class VirtualThreadLoadComparisonTest {
+
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int TOMCAT_MAX_THREADS = 50;
+    /** 两种模式相同的连接池大小 */
+    private static final int POOL_SIZE = 20;
+    private static final int ELEMENTS = 50;
+
+    @Test
+    @DisplayName("连接池大小相同时，虚拟线程模式经真实数据访问路径的吞吐量应更高")
+    void compareThreadModes() throws Exception {
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        System.out.println("[benchmark] " + platform);
+        System.out.println("[benchmark] " + virtual);
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + virtualThreads + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.druid.initial-size=" + POOL_SIZE,
+                        "--spring.datasource.druid.min-idle=" + POOL_SIZE,
+                        "--spring.datasource.druid.max-active=" + POOL_SIZE,
+                        "--contract-manager.threads.pinning-probe.queries=0",
+                        "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl")) {
+            Integer contractId = seed(context);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/contracts/" + contractId + "/elements");
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient httpClient = HttpClient.newBuilder().executor(clients).build();
+                // 预热
+                sendRequests(clients, httpClient, uri, 50, 2);
+
+                Map<String, Integer> pinnedSites = new ConcurrentHashMap<>();
+                long start;
+                long[] latencies;
+                double seconds;
+                try (RecordingStream recording = new RecordingStream()) {
+                    recording.enable(VirtualThreadPinningReporter.PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+                    recording.onEvent(VirtualThreadPinningReporter.PINNED_EVENT, event -> pinnedSites.merge(
+                            VirtualThreadPinningReporter.describeSite(event.getStackTrace()), 1, Integer::sum));
+                    recording.startAsync();
+                    start = System.nanoTime();
+                    latencies = sendRequests(clients, httpClient, uri, CONCURRENCY, REQUESTS_PER_CLIENT);
+                    seconds = (System.nanoTime() - start) / 1e9;
+                    recording.stop();
+                }
+
+                Arrays.sort(latencies);
+                return new LoadResult(virtualThreads ? "virtual" : "platform", latencies.length / seconds,
+                        percentile(latencies, 0.50), percentile(latencies, 0.99), Map.copyOf(pinnedSites));
+            }
+        }
+    }
+
+    /**
+     * 经Mapper写入一份合同及其元素
+     */
+    private static Integer seed(ConfigurableApplicationContext context) {
+        Contract contract = new Contract();
+        contract.setContractName("负载测试合同");
+        contract.setCreatedAt(LocalDateTime.now());
+        contract.setUpdatedAt(LocalDateTime.now());
+        contract.setContentVersion(0L);
+        context.getBean(ContractMapper.class).insert(contract);
+
+        List<ContractElement> elements = new ArrayList<>(ELEMENTS);
+        for (int i = 1; i <= ELEMENTS; i++) {
+            ContractElement element = new ContractElement();
+            element.setContractId(contract.getContractId());
+            element.setElementType(ElementType.PARAGRAPH);
+            element.setContent("第" + i + "条 双方应按约定履行本合同项下的义务。");
+            element.setOrderIndex(i * 1024);
+            elements.add(element);
+        }
+        context.getBean(ContractElementMapper.class).insertBatch(elements);
+        return contract.getContractId();
+    }
+
+    private long[] sendRequests(ExecutorService clients, HttpClient httpClient, URI uri,
+                                int concurrency, int requestsPerClient) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[requestsPerClient];
+                for (int r = 0; r < requestsPerClient; r++) {
+                    long begin = System.nanoTime();
+                    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    latencies[r] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[concurrency * requestsPerClient];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        return all;
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private record LoadResult(String mode, double throughput, double p50Millis, double p99Millis,
+                              Map<String, Integer> pinnedSites) {
+
+        int pinnedEvents() {
+            return pinnedSites.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        @Override
+        public String toString() {
+            String sites = pinnedSites.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(5)
+                    .map(site -> site.getValue() + " x " + site.getKey())
+                    .collect(Collectors.joining(", "));
+            return String.format("%-8s threads: %8.1f req/s, p50 %6.1f ms, p99 %6.1f ms, pinned %d%s", mode, throughput,
+                    p50Millis, p99Millis, pinnedEvents(), sites.isEmpty() ? "" : " [" + sites + "]");
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ktriasia.contractmanager.config.datasource;
+
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 读写分离路由测试
+ * <p>两个H2内存库分别作为主库与副本，node 表中的值标识查询实际落在哪个库上。副本的 replication_heartbeat
+ * 是指向主库同名表的链接表，模拟没有延迟的复制；延迟测量由测试直接触发。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("读写分离路由测试")
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String WHICH_NODE = "SELECT name FROM node";
+
+    private UnpooledDataSource primary;
+    private UnpooledDataSource replica;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = new UnpooledDataSource("org.h2.Driver", PRIMARY_URL, "sa", "");
+        replica = new UnpooledDataSource("org.h2.Driver", REPLICA_URL, "sa", "");
+        initialize(primary, "primary");
+        initialize(replica, "replica");
+        try (var connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE replication_heartbeat (heartbeat_id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        }
+        try (var connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE LINKED TABLE replication_heartbeat('org.h2.Driver', '" + PRIMARY_URL
+                    + "', 'sa', '', 'replication_heartbeat')");
+        }
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.endSession();
+    }
+
+    @Test
+    @DisplayName("只读事务与副本作用域应读副本，写事务与默认查询应走主库")
+    void shouldRouteReadsToReplica() throws Exception {
+        Routing routing = routing(List.of(new Replica("replica-0", replica)), Duration.ofSeconds(2), Duration.ZERO);
+        routing.monitor.check();
+
+        assertThat(routing.inReadOnlyTransaction()).isEqualTo("replica");
+        assertThat(routing.inTransaction()).isEqualTo("primary");
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("replica");
+        assertThat(routing.whichNode()).isEqualTo("primary");
+        // 强制读主库的作用域中嵌套的副本作用域不生效
+        assertThat(ReadRouting.onPrimary(() -> ReadRouting.onReplica(routing::whichNode)))
+                .isEqualTo("primary");
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.ROUTE_METRIC).tag("route", "replica").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("副本延迟超过容忍值或尚未测得延迟时应读主库")
+    void shouldAvoidLaggingReplica() throws Exception {
+        Routing routing = routing(List.of(new Replica("replica-0", replica)), Duration.ofSeconds(2), Duration.ZERO);
+        // 尚未测量延迟
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("primary");
+
+        routing.monitor.check();
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("replica");
+
+        // 模拟复制停滞：主库的新心跳不再到达副本
+        try (var connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE replication_heartbeat");
+            // 停滞在一分钟前的心跳
+            statement.execute("CREATE VIEW replication_heartbeat AS SELECT 1 AS heartbeat_id, "
+                    + (System.currentTimeMillis() - 60_000) + " AS beat_at");
+        }
+        routing.monitor.check();
+        assertThat(routing.replica.lagMillis()).isGreaterThanOrEqualTo(60_000);
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("primary");
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.ROUTE_METRIC).tag("route", "fallback").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("会话写入后在 stickiness 时长内应读主库")
+    void shouldReadYourWrites() throws Exception {
+        Routing routing = routing(List.of(new Replica("replica-0", replica)), Duration.ofSeconds(2), Duration.ofMinutes(1));
+        routing.monitor.check();
+
+        int[] cookies = new int[1];
+        ReadRouting.startSession(0L, () -> cookies[0]++);
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("replica");
+
+        ReadRouting.markWrite();
+        ReadRouting.markWrite();
+        assertThat(cookies[0]).isEqualTo(1);
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("primary");
+
+        // 新会话携带较早的写入时间：超过 stickiness 后恢复读副本
+        ReadRouting.startSession(System.currentTimeMillis() - Duration.ofMinutes(2).toMillis(), null);
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("replica");
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.ROUTE_METRIC).tag("route", "sticky").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("请求之外的线程写入不应留下会话状态")
+    void shouldNotTrackWritesOutsideRequests() throws Exception {
+        Routing routing = routing(List.of(new Replica("replica-0", replica)), Duration.ofSeconds(2), Duration.ofMinutes(1));
+        routing.monitor.check();
+
+        ReadRouting.markWrite();
+
+        assertThat(ReadRouting.lastWriteMillis()).isZero();
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("无法连接副本时应改读主库，并在一段时间内不再使用该副本")
+    void shouldFallBackWhenReplicaIsDown() throws Exception {
+        Replica healthy = new Replica("replica-0", replica);
+        Routing routing = routing(List.of(healthy), Duration.ofSeconds(2), Duration.ZERO);
+        routing.monitor.check();
+
+        // 延迟已测得之后副本停止服务
+        replica.setUrl("jdbc:h2:tcp://localhost:1/routing_replica");
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("primary");
+        assertThat(ReadRouting.onReplica(routing::whichNode)).isEqualTo("primary");
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.ROUTE_METRIC).tag("route", "fallback").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get(ReadWriteRoutingDataSource.ROUTE_METRIC).tag("route", "replica").counter().count())
+                .isZero();
+
+        routing.monitor.check();
+        assertThat(healthy.lagMillis()).isEqualTo(-1);
+    }
+
+    private Routing routing(List<Replica> replicas, Duration maxLag, Duration stickiness) throws SQLException {
+        ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource(primary, replicas, maxLag, stickiness,
+                Duration.ofMinutes(1), meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        // 代理首次使用时经路由取一次连接读取默认属性，先行触发，避免计入各用例的路由统计
+        dataSource.getConnection().close();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new Routing(new JdbcTemplate(dataSource), readOnly, new TransactionTemplate(transactionManager),
+                new ReplicaLagMonitor(primary, replicas, new ThreadingMode(false), Duration.ZERO), replicas.get(0));
+    }
+
+    private static void initialize(DataSource dataSource, String name) throws Exception {
+        try (var connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE node (name VARCHAR(16))");
+            statement.execute("INSERT INTO node VALUES ('" + name + "')");
+        }
+    }
+
+    private record Routing(JdbcTemplate jdbc, TransactionTemplate readOnly, TransactionTemplate readWrite,
+                           ReplicaLagMonitor monitor, Replica replica) {
+
+        /**
+         * @return 查询实际落在的库
+         */
+        String whichNode() {
+            return jdbc.queryForObject(WHICH_NODE, String.class);
+        }
+
+        String inReadOnlyTransaction() {
+            return readOnly.execute(status -> whichNode());
+        }
+
+        String inTransaction() {
+            return readWrite.execute(status -> whichNode());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ktriasia.contractmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ClauseService;
+import com.ktriasia.contractmanager.service.cache.SerializedResponse;
+import com.ktriasia.contractmanager.service.cache.SerializedResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * ClauseController 缓存响应协商测试
+ * <p>服务层返回 {@link SerializedResponseCache} 生成的真实表示，经 Spring MVC 处理后检查编码、ETag与304。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("条款缓存响应协商测试")
+class ClauseControllerTest {
+
+    private SerializedResponse clauses;
+    private SerializedResponse categories;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(1), Duration.ofHours(1));
+        clauses = cache.get("clause", "all",
+                () -> Result.success(IntStream.rangeClosed(1, 200).mapToObj(i -> "条款" + i).toList()));
+        categories = cache.get("clauseCategory", "all", () -> Result.success(List.of("TAXES")));
+
+        ClauseService clauseService = mock(ClauseService.class);
+        when(clauseService.getAllClauses(null, null)).thenReturn(clauses);
+        when(clauseService.getAllCategories()).thenReturn(categories);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ClauseController(clauseService)).build();
+    }
+
+    @Test
+    @DisplayName("应按 Accept-Encoding 返回 gzip 或原始表示，ETag随表示变化")
+    void shouldNegotiateEncoding() throws Exception {
+        MockHttpServletResponse gzip = request("/api/clauses", "gzip, deflate, br", null);
+        assertThat(gzip.getStatus()).isEqualTo(200);
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders(HttpHeaders.ETAG)).containsExactly(clauses.gzipETag());
+        assertThat(gzip.getHeaders(HttpHeaders.VARY)).containsOnlyOnce(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzip.getContentAsByteArray()).isEqualTo(clauses.gzipBody());
+
+        MockHttpServletResponse identity = request("/api/clauses", "br, gzip;q=0", null);
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identity.getHeaders(HttpHeaders.ETAG)).containsExactly(clauses.eTag());
+        assertThat(identity.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(identity.getContentAsByteArray()).isEqualTo(clauses.body());
+
+        // 没有压缩表示时即使接受 gzip 也返回原始字节
+        MockHttpServletResponse small = request("/api/clauses/categories", "gzip", null);
+        assertThat(small.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(small.getContentAsByteArray()).isEqualTo(categories.body());
+    }
+
+    @Test
+    @DisplayName("If-None-Match 与所协商表示的ETag一致时应返回304，且只有一个ETag头")
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+        MockHttpServletResponse notModified = request("/api/clauses", "gzip", clauses.gzipETag());
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getHeaders(HttpHeaders.ETAG)).containsExactly(clauses.gzipETag());
+        assertThat(notModified.getHeaders(HttpHeaders.VARY)).containsOnlyOnce(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+
+        // 客户端缓存的是另一种编码的表示时照常返回
+        assertThat(request("/api/clauses", "gzip", clauses.eTag()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("q=0 表示不接受 gzip，未列出 gzip 时看通配符")
+    void shouldParseAcceptEncoding() {
+        assertThat(ClauseController.acceptsGzip("gzip;q=0.5")).isTrue();
+        assertThat(ClauseController.acceptsGzip("*")).isTrue();
+        assertThat(ClauseController.acceptsGzip("br, gzip;q=0")).isFalse();
+        assertThat(ClauseController.acceptsGzip("gzip; q=0.000, *")).isFalse();
+        assertThat(ClauseController.acceptsGzip("identity")).isFalse();
+        assertThat(ClauseController.acceptsGzip(null)).isFalse();
+    }
+
+    private MockHttpServletResponse request(String uri, String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get(uri);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,140 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.ktriasia.contractmanager.model.attributes.CheckboxAttributes;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.attributes.FillableFieldAttributes;
+import com.ktriasia.contractmanager.model.dto.ElementAttributeFilterDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.handler.ElementAttributesTypeHandler;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 合同元素属性的类型处理器与按属性查询测试
+ * <p>H2内存库没有JSON路径函数，测试表中的生成列以正则表达式近似 MySQL 的 {@code attributes ->> '$.value'}
+ * 和 {@code attributes ->> '$.checked'}，查询语句与生产环境相同。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("合同元素属性查询测试")
+class ContractElementAttributeQueryTest {
+
+    private static final String URL = "jdbc:h2:mem:element_attributes;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private SqlSession session;
+    private ContractElementMapper contractElementMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE contract_element (element_id INT AUTO_INCREMENT PRIMARY KEY, contract_id INT, "
+                    + "order_index INT, element_type VARCHAR(20), content TEXT, content_hash CHAR(64), source_clause_id INT, attributes TEXT, "
+                    + "attr_value VARCHAR(255) GENERATED ALWAYS AS (REGEXP_SUBSTR(attributes, '\"value\"\\s*:\\s*\"([^\"]*)\"', 1, 1, '', 1)), "
+                    + "attr_checked BOOLEAN GENERATED ALWAYS AS (CASE WHEN REGEXP_LIKE(attributes, '\"checked\"\\s*:\\s*true') THEN TRUE "
+                    + "WHEN REGEXP_LIKE(attributes, '\"checked\"\\s*:\\s*false') THEN FALSE END))");
+            statement.execute("CREATE INDEX idx_element_attr_value ON contract_element (element_type, attr_value, contract_id)");
+            statement.execute("CREATE INDEX idx_element_attr_checked ON contract_element (element_type, attr_checked, contract_id)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register(ElementAttributesTypeHandler.class);
+        configuration.addMapper(ContractElementMapper.class);
+        SqlSessionFactory sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        session = sqlSessionFactory.openSession();
+        contractElementMapper = session.getMapper(ContractElementMapper.class);
+
+        contractElementMapper.insertBatch(List.of(
+                element(1, ElementType.FILLABLE_FIELD, "{\"type\": \"text\", \"value\": \"张三\"}"),
+                element(1, ElementType.FILLABLE_FIELD, "{\"type\": \"text\", \"value\": \"\"}"),
+                element(2, ElementType.FILLABLE_FIELD, "{\"type\": \"text\", \"placeholder\": \"请输入\"}"),
+                element(3, ElementType.FILLABLE_FIELD, "{\"type\": \"date\", \"value\": \"2026-10-18\"}"),
+                element(3, ElementType.CHECKBOX, "{\"label\": \"同意\", \"checked\": true}"),
+                element(4, ElementType.CHECKBOX, "{\"label\": \"同意\", \"checked\": false}"),
+                element(4, ElementType.PARAGRAPH, null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    @DisplayName("应在数据库中找出仍有空白待填写字段的合同")
+    void shouldFindContractsWithEmptyFillableFields() {
+        ElementAttributeFilterDTO filter = filter(ElementType.FILLABLE_FIELD);
+        filter.setValueEmpty(true);
+
+        assertThat(contractElementMapper.selectContractIdsByAttributes(filter, null, 10)).containsExactly(1, 2);
+        assertThat(contractElementMapper.selectContractIdsByAttributes(filter, 1, 10)).containsExactly(2);
+        assertThat(contractElementMapper.selectByAttributes(filter, null, 10)).extracting(ContractElement::getElementId)
+                .containsExactly(2, 3);
+    }
+
+    @Test
+    @DisplayName("应按已填写的值和勾选状态过滤")
+    void shouldFilterByValueAndChecked() {
+        ElementAttributeFilterDTO byValue = filter(ElementType.FILLABLE_FIELD);
+        byValue.setValue("张三");
+        ElementAttributeFilterDTO filled = filter(ElementType.FILLABLE_FIELD);
+        filled.setValueEmpty(false);
+        ElementAttributeFilterDTO unchecked = filter(ElementType.CHECKBOX);
+        unchecked.setChecked(false);
+
+        assertThat(contractElementMapper.selectByAttributes(byValue, null, 10)).extracting(ContractElement::getContractId)
+                .containsExactly(1);
+        assertThat(contractElementMapper.selectContractIdsByAttributes(filled, null, 10)).containsExactly(1, 3);
+        assertThat(contractElementMapper.selectContractIdsByAttributes(unchecked, null, 10)).containsExactly(4);
+    }
+
+    @Test
+    @DisplayName("读取的属性应保留原始JSON，按元素类型解析后缓存在实体上")
+    void attributesShouldParseLazilyOnce() {
+        ElementAttributeFilterDTO filter = filter(ElementType.CHECKBOX);
+        filter.setChecked(true);
+        ContractElement checkbox = contractElementMapper.selectByAttributes(filter, null, 10).get(0);
+
+        assertThat(checkbox.getAttributes().json()).isEqualTo("{\"label\": \"同意\", \"checked\": true}");
+        assertThat(checkbox.typedAttributes()).isEqualTo(new CheckboxAttributes("同意", true));
+        assertThat(checkbox.typedAttributes()).isSameAs(checkbox.typedAttributes());
+
+        ContractElement field = contractElementMapper.selectById(3);
+        assertThat(((FillableFieldAttributes) field.typedAttributes()).isEmpty()).isTrue();
+        assertThat(contractElementMapper.selectById(7).getAttributes()).isNull();
+    }
+
+    private static ElementAttributeFilterDTO filter(ElementType elementType) {
+        ElementAttributeFilterDTO filter = new ElementAttributeFilterDTO();
+        filter.setElementType(elementType);
+        return filter;
+    }
+
+    private static ContractElement element(int contractId, ElementType type, String attributes) {
+        ContractElement element = new ContractElement();
+        element.setContractId(contractId);
+        element.setElementType(type);
+        element.setAttributes(ElementAttributes.of(attributes));
+        element.setOrderIndex(1024);
+        return element;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.ktriasia.contractmanager.model.enums.ClauseCategory;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.handler.ElementAttributesTypeHandler;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ContractMapper 聚合查询测试（H2内存库，使用真实的 mapper/ContractMapper.xml）
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("合同聚合查询测试")
+class ContractMapperAggregateTest {
+
+    private static final String URL = "jdbc:h2:mem:contract_aggregate;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private SqlSession session;
+    private ContractMapper contractMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE contract (contract_id INT AUTO_INCREMENT PRIMARY KEY, contract_name VARCHAR(255), "
+                    + "created_at DATETIME, updated_at DATETIME, content_version BIGINT NOT NULL DEFAULT 0)");
+            statement.execute("CREATE TABLE contract_element (element_id BIGINT AUTO_INCREMENT PRIMARY KEY, contract_id INT, "
+                    + "order_index INT, element_type VARCHAR(20), content TEXT, content_hash CHAR(64), source_clause_id INT, attributes JSON)");
+            statement.execute("CREATE TABLE clause (clause_id INT PRIMARY KEY, title VARCHAR(200), content TEXT, clause_category VARCHAR(50))");
+
+            statement.execute("INSERT INTO contract (contract_id, contract_name, content_version) VALUES (1, '采购合同', 5), (2, '空合同', 0)");
+            statement.execute("INSERT INTO clause VALUES (100, '保密条款', '双方应对合同内容保密', 'CONFIDENTIALITY')");
+            statement.execute("INSERT INTO contract_element (element_id, contract_id, order_index, element_type, content, source_clause_id) VALUES "
+                    + "(11, 1, 3072, 'CLAUSE', '双方应对合同内容保密', 100), "
+                    + "(12, 1, 1024, 'PARAGRAPH', '第一条', NULL), "
+                    + "(13, 1, 2048, 'CLAUSE', '已删除条款', 999)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register(ElementAttributesTypeHandler.class);
+        configuration.addMapper(ContractMapper.class);
+        try (InputStream xml = getClass().getResourceAsStream("/mapper/ContractMapper.xml")) {
+            new XMLMapperBuilder(xml, configuration, "mapper/ContractMapper.xml", configuration.getSqlFragments()).parse();
+        }
+        SqlSessionFactory sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        session = sqlSessionFactory.openSession();
+        contractMapper = session.getMapper(ContractMapper.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    @DisplayName("应一次返回合同主信息与按顺序排列的元素")
+    void shouldReturnContractWithOrderedElements() {
+        Contract contract = contractMapper.selectAggregate(1, false, false);
+
+        assertThat(contract.getContractName()).isEqualTo("采购合同");
+        assertThat(contract.getContentVersion()).isEqualTo(5L);
+        assertThat(contract.getContractElements()).extracting(ContractElement::getElementId).containsExactly(12, 13, 11);
+        assertThat(contract.getContractElements()).extracting(ContractElement::getElementType)
+                .containsExactly(ElementType.PARAGRAPH, ElementType.CLAUSE, ElementType.CLAUSE);
+        assertThat(contract.getContractElements()).extracting(ContractElement::getClause).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("包含条款时应填充元素引用的条款，引用不存在的条款保持为空")
+    void shouldFillReferencedClauses() {
+        Contract contract = contractMapper.selectAggregate(1, true, true);
+
+        assertThat(contract.getContractElements()).extracting(ContractElement::getElementId).containsExactly(13, 11);
+        assertThat(contract.getContractElements().get(0).getClause()).isNull();
+        assertThat(contract.getContractElements().get(1).getClause().getTitle()).isEqualTo("保密条款");
+        assertThat(contract.getContractElements().get(1).getClause().getClauseCategory()).isEqualTo(ClauseCategory.CONFIDENTIALITY);
+    }
+
+    @Test
+    @DisplayName("空合同应返回空元素列表，不存在的合同应返回null")
+    void emptyContractShouldDifferFromMissingContract() {
+        Contract empty = contractMapper.selectAggregate(2, false, true);
+
+        assertThat(empty).isNotNull();
+        assertThat(empty.getContractElements()).isEmpty();
+        assertThat(contractMapper.selectAggregate(3, false, false)).isNull();
+    }
+}
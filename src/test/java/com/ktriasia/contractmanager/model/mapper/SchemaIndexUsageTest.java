@@ -0,0 +1,298 @@
+package com.ktriasia.contractmanager.model.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.ktriasia.contractmanager.model.dto.ElementAttributeFilterDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.handler.ElementAttributesTypeHandler;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数据库迁移与查询索引测试
+ * <p>以 db/migration/h2 的迁移脚本建表（H2内存库），拦截 Mapper 实际发出的语句，以相同的SQL与绑定参数执行 EXPLAIN，
+ * 要求执行计划使用预期的索引而不是整表扫描。QueryWrapper 条件按调用处的写法构造。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("数据库迁移与查询索引测试")
+class SchemaIndexUsageTest {
+
+    private static final String URL = "jdbc:h2:mem:schema_index_usage;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private final ExplainInterceptor explainInterceptor = new ExplainInterceptor();
+    private MigrateResult migrateResult;
+    private SqlSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        migrateResult = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").load().migrate();
+
+        // 每个表都有足够的行，使整表扫描与索引查找的代价有明显差别
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO contract (contract_name) SELECT '合同' || X FROM SYSTEM_RANGE(1, 50)");
+            statement.execute("INSERT INTO contract_element (contract_id, order_index, element_type, content, attributes) "
+                    + "SELECT MOD(X, 50) + 1, X * 1024, CASEWHEN(MOD(X, 3) = 0, 'CLAUSE', 'FILLABLE_FIELD'), '内容' || X, "
+                    + "'{\"value\":\"\"}' FROM SYSTEM_RANGE(1, 2000)");
+            statement.execute("INSERT INTO clause (title, content, clause_category) "
+                    + "SELECT '条款' || X, '条款内容' || X, 'CONFIDENTIALITY' FROM SYSTEM_RANGE(1, 200)");
+            statement.execute("INSERT INTO template_element_config (template_id, order_index, element_type, content_source, static_content) "
+                    + "SELECT MOD(X, 20) + 1, X, 'PARAGRAPH', 'STATIC', '文本' || X FROM SYSTEM_RANGE(1, 400)");
+            statement.execute("ANALYZE");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register(ElementAttributesTypeHandler.class);
+        configuration.addInterceptor(explainInterceptor);
+        configuration.addMapper(ContractMapper.class);
+        configuration.addMapper(ContractElementMapper.class);
+        configuration.addMapper(TemplateElementConfigMapper.class);
+        configuration.addMapper(ClauseMapper.class);
+        try (InputStream xml = getClass().getResourceAsStream("/mapper/ContractMapper.xml")) {
+            new XMLMapperBuilder(xml, configuration, "mapper/ContractMapper.xml", configuration.getSqlFragments()).parse();
+        }
+        session = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession();
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    @DisplayName("空库应依次执行基线与之后的全部迁移")
+    void shouldMigrateEmptyDatabase() {
+        assertThat(migrateResult.success).isTrue();
+        assertThat(migrateResult.migrationsExecuted).isEqualTo(8);
+        assertThat(migrateResult.targetSchemaVersion).isEqualTo("8");
+    }
+
+    @Test
+    @DisplayName("没有迁移记录的已有库应记为基线版本并执行之后的全部迁移")
+    void shouldMigrateBaselinedDatabase() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        // 只有基线表、没有 flyway_schema_history 的库，与启用迁移之前部署的库相同
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").target("1").load().migrate();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE \"flyway_schema_history\"");
+            statement.execute("INSERT INTO contract_element (contract_id, content) VALUES (1, '已有元素')");
+        }
+
+        MigrateResult result = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertThat(result.migrationsExecuted).isEqualTo(7);
+        assertThat(result.targetSchemaVersion).isEqualTo("8");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO contract_element (contract_id, content) VALUES (1, '新元素')");
+            ResultSet resultSet = statement.executeQuery("SELECT DATA_TYPE, IS_IDENTITY FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_NAME = 'CONTRACT_ELEMENT' AND COLUMN_NAME = 'ELEMENT_ID'");
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString("DATA_TYPE")).isEqualTo("BIGINT");
+            assertThat(resultSet.getString("IS_IDENTITY")).isEqualTo("YES");
+            // 变更日志中的元素ID与元素表主键类型一致，不收窄已有的主键
+            resultSet = statement.executeQuery("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_NAME = 'CONTRACT_CHANGE_EVENT' AND COLUMN_NAME = 'ELEMENT_ID'");
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString("DATA_TYPE")).isEqualTo("BIGINT");
+            resultSet = statement.executeQuery("SELECT element_id, content_hash FROM contract_element ORDER BY element_id");
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getInt("element_id")).isEqualTo(1);
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getInt("element_id")).isEqualTo(2);
+            resultSet = statement.executeQuery("SELECT version FROM cache_version WHERE cache_name = '#'");
+            assertThat(resultSet.next()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("按合同读取元素的查询应使用合同ID开头的索引")
+    void contractElementQueriesShouldUseIndexes() {
+        ContractElementMapper contractElementMapper = session.getMapper(ContractElementMapper.class);
+
+        // H2 在以 contract_id 开头的几个索引（idx_element_contract*）之间不按排序列挑选，只要求使用其中之一
+        // ContractElementServiceImpl.getContractElements、ContractServiceImpl.orderedElementsQuery、ContractSnapshotter
+        assertIndexed("IDX_ELEMENT_CONTRACT", () -> {
+            QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("contract_id", 7).orderByAsc("order_index", "element_id");
+            contractElementMapper.selectList(queryWrapper);
+        });
+        // OrderIndexRebalancer
+        assertIndexed("IDX_ELEMENT_CONTRACT", () -> {
+            QueryWrapper<ContractElement> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("element_id", "order_index").eq("contract_id", 7).orderByAsc("order_index", "element_id");
+            contractElementMapper.selectList(queryWrapper);
+        });
+        assertIndexed("IDX_ELEMENT_CONTRACT", () -> contractElementMapper.selectIdsByContractId(7, 500));
+        assertIndexed("IDX_ELEMENT_CONTRACT", () -> {
+            try (Cursor<ContractElement> cursor = contractElementMapper.streamByContractId(7)) {
+                cursor.forEach(element -> { });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("合同聚合读取应按主键定位合同并按索引关联元素")
+    void contractAggregateShouldUseIndexes() {
+        ContractMapper contractMapper = session.getMapper(ContractMapper.class);
+
+        assertIndexed("IDX_ELEMENT_CONTRACT", () -> contractMapper.selectAggregate(7, false, false));
+        assertIndexed("IDX_ELEMENT_CONTRACT", () -> contractMapper.selectAggregate(7, true, true));
+    }
+
+    @Test
+    @DisplayName("按属性过滤元素的查询应使用属性生成列索引")
+    void attributeQueriesShouldUseIndexes() {
+        ContractElementMapper contractElementMapper = session.getMapper(ContractElementMapper.class);
+        ElementAttributeFilterDTO filter = new ElementAttributeFilterDTO();
+        filter.setElementType(ElementType.FILLABLE_FIELD);
+        filter.setValueEmpty(true);
+
+        assertIndexed("IDX_ELEMENT_ATTR_VALUE", () -> contractElementMapper.selectByAttributes(filter, null, 100));
+        assertIndexed("IDX_ELEMENT_ATTR_VALUE", () -> contractElementMapper.selectContractIdsByAttributes(filter, null, 100));
+    }
+
+    @Test
+    @DisplayName("编译模板时按模板ID读取配置应使用索引")
+    void templateConfigQueryShouldUseIndex() {
+        TemplateElementConfigMapper templateElementConfigMapper = session.getMapper(TemplateElementConfigMapper.class);
+
+        // CompiledTemplateCache
+        assertIndexed("IDX_TEMPLATE_CONFIG_TEMPLATE", () -> {
+            QueryWrapper<TemplateElementConfig> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("template_id", 3);
+            templateElementConfigMapper.selectList(queryWrapper);
+        });
+    }
+
+    @Test
+    @DisplayName("条款库的整表加载与标题模糊查询按主键顺序读取，不要求二级索引")
+    void clauseQueriesShouldReadInPrimaryKeyOrder() {
+        ClauseMapper clauseMapper = session.getMapper(ClauseMapper.class);
+
+        // ClauseLibrary：条款库整体加载到内存，整表读取是预期行为
+        List<String> fullLoad = explain(() -> {
+            QueryWrapper<Clause> queryWrapper = new QueryWrapper<>();
+            queryWrapper.orderByAsc("clause_id");
+            clauseMapper.selectList(queryWrapper);
+        });
+        // ClauseServiceImpl.getClausesByTitle：前后都带通配符的 LIKE 无法使用索引，按主键键集分页限制每页读取的行数
+        List<String> titleSearch = explain(() -> {
+            QueryWrapper<Clause> queryWrapper = new QueryWrapper<>();
+            queryWrapper.like("title", "条款1").gt("clause_id", 20).orderByAsc("clause_id").last("LIMIT 21");
+            clauseMapper.selectList(queryWrapper);
+        });
+
+        assertThat(fullLoad).singleElement().asString().contains("index sorted");
+        assertThat(titleSearch).singleElement().asString().contains("PRIMARY_KEY").contains("CLAUSE_ID > ?");
+    }
+
+    @Test
+    @DisplayName("只有流式读取的语句设置 fetchSize（MySQL 只对这些语句使用服务端游标）")
+    void onlyStreamingStatementsShouldSetFetchSize() {
+        assertThat(session.getConfiguration().getDefaultFetchSize()).isNull();
+        // 映射表中的短名称条目可能是歧义占位对象，只检查 MappedStatement
+        List<String> withFetchSize = new ArrayList<>();
+        for (Object statement : session.getConfiguration().getMappedStatements()) {
+            if (statement instanceof MappedStatement mappedStatement && mappedStatement.getFetchSize() != null) {
+                withFetchSize.add(mappedStatement.getId());
+            }
+        }
+        assertThat(withFetchSize)
+                .containsOnly(ContractElementMapper.class.getName() + ".streamByContractId");
+    }
+
+    private void assertIndexed(String index, Runnable query) {
+        List<String> plans = explain(query);
+        assertThat(plans).isNotEmpty().allSatisfy(plan -> assertThat(plan).contains(index).doesNotContain("tableScan"));
+    }
+
+    private List<String> explain(Runnable query) {
+        explainInterceptor.plans.clear();
+        query.run();
+        return List.copyOf(explainInterceptor.plans);
+    }
+
+    /**
+     * 在语句执行前以同一连接、同样的SQL与绑定参数执行 EXPLAIN，记录执行计划
+     */
+    @Intercepts({
+            @Signature(type = Executor.class, method = "query",
+                    args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+            @Signature(type = Executor.class, method = "query",
+                    args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+            @Signature(type = Executor.class, method = "queryCursor",
+                    args = {MappedStatement.class, Object.class, RowBounds.class})
+    })
+    private static final class ExplainInterceptor implements Interceptor {
+
+        private final List<String> plans = new ArrayList<>();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+            Object parameter = invocation.getArgs()[1];
+            BoundSql boundSql = invocation.getArgs().length == 6
+                    ? (BoundSql) invocation.getArgs()[5] : mappedStatement.getBoundSql(parameter);
+            Connection connection = ((Executor) invocation.getTarget()).getTransaction().getConnection();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+                new DefaultParameterHandler(mappedStatement, parameter, boundSql).setParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1));
+                    }
+                    plans.add(plan.toString());
+                }
+            }
+            return invocation.proceed();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.mapper.CacheVersionMapper;
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.mapper.TemplateElementConfigMapper;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import com.ktriasia.contractmanager.service.search.ClauseSearchIndex;
+import com.ktriasia.contractmanager.service.serviceImpl.ClauseServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 多节点缓存一致性测试
+ * <p>两个应用上下文模拟两个节点，共用同一个H2内存库；轮询由测试直接触发。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("多节点缓存一致性测试")
+class CacheCoherenceTest {
+
+    private static final String URL = "jdbc:h2:mem:cache_coherence;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final int BATCH_SIZE = 2;
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (var connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE clause (clause_id INT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(200), "
+                    + "content TEXT, clause_category VARCHAR(50))");
+            statement.execute("CREATE TABLE template_element_config (config_id INT AUTO_INCREMENT PRIMARY KEY, template_id INT, "
+                    + "order_index INT, element_type VARCHAR(50), content_source VARCHAR(50), static_content TEXT, "
+                    + "source_clause_id INT, default_attributes TEXT)");
+            statement.execute("CREATE TABLE cache_version (cache_name VARCHAR(32) NOT NULL, cache_key VARCHAR(64) NOT NULL, "
+                    + "version BIGINT NOT NULL, origin VARCHAR(36) NOT NULL, updated_at DATETIME NOT NULL, "
+                    + "PRIMARY KEY (cache_name, cache_key))");
+            statement.execute("CREATE INDEX idx_cache_version_version ON cache_version (version)");
+            statement.execute("INSERT INTO clause VALUES (1, '保密条款', '双方应对合同内容保密', 'CONFIDENTIALITY')");
+            statement.execute("INSERT INTO template_element_config (template_id, order_index, element_type, content_source, "
+                    + "source_clause_id) VALUES (7, 1, 'CLAUSE', 'CLAUSE_LIBRARY', 1)");
+        }
+        nodeA = startNode(dataSource);
+        nodeB = startNode(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("一个节点修改条款后，另一个节点轮询后应不再读到旧的条款和编译模板")
+    void shouldInvalidateClauseCachesOnOtherNode() {
+        for (AnnotationConfigApplicationContext node : new AnnotationConfigApplicationContext[]{nodeA, nodeB}) {
+            assertThat(node.getBean(ClauseLibrary.class).getById(1).getTitle()).isEqualTo("保密条款");
+            assertThat(node.getBean(CompiledTemplateCache.class).get(7)).isNotNull();
+        }
+
+        Clause update = new Clause();
+        update.setTitle("保密与不披露条款");
+        nodeA.getBean(ClauseServiceImpl.class).updateClause(1, update);
+
+        // 写入节点立即可见，另一节点在轮询前仍是旧快照
+        assertThat(nodeA.getBean(ClauseLibrary.class).getById(1).getTitle()).isEqualTo("保密与不披露条款");
+        assertThat(nodeB.getBean(ClauseLibrary.class).getById(1).getTitle()).isEqualTo("保密条款");
+        assertThat(clauseList(nodeA)).contains("保密与不披露条款");
+        assertThat(clauseList(nodeB)).contains("保密条款").doesNotContain("不披露");
+
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isEqualTo(1);
+        assertThat(nodeB.getBean(ClauseLibrary.class).getById(1).getTitle()).isEqualTo("保密与不披露条款");
+        assertThat(clauseList(nodeB)).contains("保密与不披露条款");
+        assertThat(nodeB.getBean(CompiledTemplateCache.class).size()).isZero();
+        assertThat(nodeB.getBean(ClauseSearchIndex.class).search("不披露", 10))
+                .extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(1);
+
+        // 写入节点跳过自己发布的修改，再次轮询没有新的修改
+        assertThat(nodeA.getBean(CacheCoherence.class).poll()).isZero();
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isZero();
+        assertThat(nodeA.getBean(CacheCoherence.class).watermark()).isEqualTo(nodeB.getBean(CacheCoherence.class).watermark());
+    }
+
+    @Test
+    @DisplayName("通过端点使模板失效时应同时通知其他节点")
+    void shouldPropagateTemplateInvalidation() {
+        nodeB.getBean(CompiledTemplateCache.class).get(7);
+        assertThat(nodeB.getBean(CompiledTemplateCache.class).size()).isEqualTo(1);
+
+        nodeA.getBean(CompiledTemplateCacheEndpoint.class).invalidate(7);
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isEqualTo(1);
+        assertThat(nodeB.getBean(CompiledTemplateCache.class).size()).isZero();
+
+        nodeB.getBean(CompiledTemplateCache.class).get(7);
+        nodeA.getBean(CompiledTemplateCacheEndpoint.class).invalidateAll();
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isEqualTo(1);
+        assertThat(nodeB.getBean(CompiledTemplateCache.class).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("事务中发布的失效应随事务提交，回滚时不应通知其他节点")
+    void shouldPublishWithTransaction() {
+        CacheCoherence coherence = nodeA.getBean(CacheCoherence.class);
+        TransactionTemplate transactionTemplate = nodeA.getBean(TransactionTemplate.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            coherence.publish(CompiledTemplateCache.COHERENCE_NAME, 7);
+            status.setRollbackOnly();
+        });
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            coherence.publish(CompiledTemplateCache.COHERENCE_NAME, 7);
+            coherence.publish(CompiledTemplateCache.COHERENCE_NAME, 7);
+            coherence.publish(CompiledTemplateCache.COHERENCE_NAME, 8);
+        });
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("同一事务发布的键多于每页行数时，轮询应读取全部键")
+    void shouldReadWholeVersionAcrossPages() {
+        CacheCoherence coherence = nodeA.getBean(CacheCoherence.class);
+        CompiledTemplateCache templateCache = nodeB.getBean(CompiledTemplateCache.class);
+        nodeB.getBean(TransactionTemplate.class).executeWithoutResult(status -> templateCache.get(7));
+        assertThat(templateCache.size()).isEqualTo(1);
+
+        nodeA.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            // 缓存中的模板7按键排序位于最后一页
+            for (int templateId = 7 - BATCH_SIZE * 2; templateId <= 7; templateId++) {
+                coherence.publish(CompiledTemplateCache.COHERENCE_NAME, templateId);
+            }
+        });
+
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isEqualTo(BATCH_SIZE * 2 + 1);
+        assertThat(templateCache.size()).isZero();
+        assertThat(nodeB.getBean(CacheCoherence.class).poll()).isZero();
+        assertThat(coherence.poll()).isZero();
+        assertThat(nodeB.getBean(CacheCoherence.class).watermark()).isEqualTo(coherence.watermark());
+    }
+
+    /**
+     * 节点的条款列表首页响应（经过序列化响应缓存）
+     */
+    private static String clauseList(AnnotationConfigApplicationContext node) {
+        return new String(node.getBean(ClauseServiceImpl.class).getAllClauses(null, null).body(), StandardCharsets.UTF_8);
+    }
+
+    private static AnnotationConfigApplicationContext startNode(DataSource dataSource) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        // 轮询间隔为0：不启动后台轮询，由测试调用 poll()；每页行数很小，使同一事务的修改跨越多页
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("contract-manager.cache-coherence.poll-interval", "0",
+                        "contract-manager.cache-coherence.batch-size", String.valueOf(BATCH_SIZE))));
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.register(NodeConfiguration.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * 一个节点的最小应用上下文：条款与模板的缓存、条款服务、序列化响应缓存以及缓存一致性组件
+     */
+    @Configuration
+    @Import({ClauseLibrary.class, ClauseSearchIndex.class, CompiledTemplateCache.class, CompiledTemplateCacheEndpoint.class,
+            TemplateToContractConverter.class, ClauseCacheInvalidator.class, CacheCoherence.class, ClauseServiceImpl.class,
+            SerializedResponseCache.class})
+    static class NodeConfiguration {
+
+        @Bean
+        SqlSessionTemplate sqlSessionTemplate(DataSource dataSource) {
+            MybatisConfiguration configuration = new MybatisConfiguration(
+                    new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+            configuration.setMapUnderscoreToCamelCase(true);
+            configuration.addMapper(ClauseMapper.class);
+            configuration.addMapper(TemplateElementConfigMapper.class);
+            configuration.addMapper(CacheVersionMapper.class);
+            return new SqlSessionTemplate(new MybatisSqlSessionFactoryBuilder().build(configuration));
+        }
+
+        @Bean
+        ClauseMapper clauseMapper(SqlSessionTemplate sqlSessionTemplate) {
+            return sqlSessionTemplate.getMapper(ClauseMapper.class);
+        }
+
+        @Bean
+        TemplateElementConfigMapper templateElementConfigMapper(SqlSessionTemplate sqlSessionTemplate) {
+            return sqlSessionTemplate.getMapper(TemplateElementConfigMapper.class);
+        }
+
+        @Bean
+        CacheVersionMapper cacheVersionMapper(SqlSessionTemplate sqlSessionTemplate) {
+            return sqlSessionTemplate.getMapper(CacheVersionMapper.class);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        ThreadingMode threadingMode() {
+            return new ThreadingMode(false);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.model.enums.ClauseCategory;
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ClauseLibrary 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("内存条款库测试")
+class ClauseLibraryTest {
+
+    @Mock
+    private ClauseMapper clauseMapper;
+
+    @InjectMocks
+    private ClauseLibrary clauseLibrary;
+
+    @Test
+    @DisplayName("首次读取后全部读取都不应访问数据库")
+    void shouldLoadOnceAndServeFromMemory() {
+        when(clauseMapper.selectList(any())).thenReturn(List.of(
+                createClause(1, ClauseCategory.CONFIDENTIALITY, "保密条款"),
+                createClause(2, ClauseCategory.GOVERNING_LAW, "适用法律"),
+                createClause(3, ClauseCategory.CONFIDENTIALITY, "保密期限"),
+                createClause(4, null, "未分类条款")));
+
+        assertThat(clauseLibrary.getAll()).extracting(ClauseDTO::getClauseId).containsExactly(1, 2, 3, 4);
+        assertThat(clauseLibrary.getByCategory(ClauseCategory.CONFIDENTIALITY))
+                .extracting(ClauseDTO::getTitle).containsExactly("保密条款", "保密期限");
+        assertThat(clauseLibrary.getByCategory(ClauseCategory.PRICING)).isEmpty();
+        assertThat(clauseLibrary.getById(2).getTitle()).isEqualTo("适用法律");
+        assertThat(clauseLibrary.getById(99)).isNull();
+
+        verify(clauseMapper, times(1)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("刷新后应读取到新的快照")
+    void shouldSwapSnapshotOnRefresh() {
+        when(clauseMapper.selectList(any()))
+                .thenReturn(List.of(createClause(1, ClauseCategory.PRICING, "定价")))
+                .thenReturn(List.of(createClause(1, ClauseCategory.PRICING, "定价"),
+                        createClause(2, ClauseCategory.PRICING, "调价")));
+        List<ClauseDTO> before = clauseLibrary.getByCategory(ClauseCategory.PRICING);
+
+        clauseLibrary.refresh();
+
+        assertThat(before).hasSize(1);
+        assertThat(clauseLibrary.getByCategory(ClauseCategory.PRICING)).hasSize(2);
+        verify(clauseMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("失效后应在下次读取时重新加载")
+    void shouldReloadLazilyAfterInvalidate() {
+        when(clauseMapper.selectList(any())).thenReturn(List.of(createClause(1, ClauseCategory.TAXES, "税费")));
+        clauseLibrary.getAll();
+
+        clauseLibrary.invalidate();
+        verify(clauseMapper, times(1)).selectList(any());
+
+        clauseLibrary.getAll();
+        verify(clauseMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("刷新不应等待进行中的延迟加载，先开始的加载也不应覆盖刷新得到的快照")
+    void shouldNotLetInFlightLoadOverwriteRefresh() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(clauseMapper.selectList(any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(createClause(1, ClauseCategory.PRICING, "旧定价"));
+            }
+            return List.of(createClause(1, ClauseCategory.PRICING, "新定价"));
+        });
+
+        Thread reader = new Thread(clauseLibrary::getAll);
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // 延迟加载的查询仍未返回，刷新不持有它的锁，应立即完成
+        Thread writer = new Thread(clauseLibrary::refresh);
+        writer.start();
+        writer.join(2000);
+        assertThat(writer.isAlive()).isFalse();
+        assertThat(clauseLibrary.getById(1).getTitle()).isEqualTo("新定价");
+
+        release.countDown();
+        reader.join(5000);
+
+        assertThat(clauseLibrary.getById(1).getTitle()).isEqualTo("新定价");
+        verify(clauseMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("加载期间失效时不应安装加载结果")
+    void shouldDiscardLoadStartedBeforeInvalidate() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(clauseMapper.selectList(any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(createClause(1, ClauseCategory.PRICING, "旧定价"));
+            }
+            return List.of(createClause(1, ClauseCategory.PRICING, "新定价"));
+        });
+
+        Thread reader = new Thread(clauseLibrary::getAll);
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        clauseLibrary.invalidate();
+        release.countDown();
+        reader.join(5000);
+
+        assertThat(clauseLibrary.getById(1).getTitle()).isEqualTo("新定价");
+        verify(clauseMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("并发的首次读取应合并为一次查询")
+    void shouldLoadOnceForConcurrentReaders() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(clauseMapper.selectList(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(createClause(1, ClauseCategory.TAXES, "税费"));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<ClauseDTO>>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(clauseLibrary::getAll));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<ClauseDTO>> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).extracting(ClauseDTO::getTitle).containsExactly("税费");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(clauseMapper, times(1)).selectList(any());
+    }
+
+    private Clause createClause(Integer clauseId, ClauseCategory category, String title) {
+        Clause clause = new Clause();
+        clause.setClauseId(clauseId);
+        clause.setClauseCategory(category);
+        clause.setTitle(title);
+        clause.setContent(title + "的内容");
+        return clause;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.mapper.TemplateElementConfigMapper;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CompiledTemplateCache 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("编译模板缓存测试")
+class CompiledTemplateCacheTest {
+
+    @Mock
+    private TemplateElementConfigMapper templateElementConfigMapper;
+    @Mock
+    private ClauseMapper clauseMapper;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompiledTemplateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CompiledTemplateCache(templateElementConfigMapper, new TemplateToContractConverter(clauseMapper),
+                meterRegistry, 2, Duration.ofMinutes(30));
+
+        Clause clause = new Clause();
+        clause.setClauseId(100);
+        clause.setContent("双方应对合同内容保密...");
+        lenient().when(clauseMapper.selectByIds(anyCollection())).thenReturn(List.of(clause));
+    }
+
+    @Test
+    @DisplayName("命中缓存时不应重复查询和编译模板")
+    void shouldServeRepeatedReadsFromCache() {
+        when(templateElementConfigMapper.selectList(any())).thenReturn(createTemplate());
+
+        CompiledTemplate first = cache.get(1);
+        CompiledTemplate second = cache.get(1);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getElements()).extracting(CompiledTemplate.CompiledElement::getElementType)
+                .containsExactly(ElementType.HEADER_1, ElementType.CLAUSE);
+        assertThat(first.getElements().get(1).getContent()).isEqualTo("双方应对合同内容保密...");
+        verify(templateElementConfigMapper, times(1)).selectList(any());
+        verify(clauseMapper, times(1)).selectByIds(anyCollection());
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("空模板不应被缓存")
+    void shouldNotCacheMissingTemplate() {
+        when(templateElementConfigMapper.selectList(any())).thenReturn(new ArrayList<>());
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(1)).isNull();
+
+        verify(templateElementConfigMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    @DisplayName("条款变更应使引用该条款的模板失效")
+    void shouldInvalidateTemplatesReferencingClause() {
+        when(templateElementConfigMapper.selectList(any())).thenReturn(createTemplate());
+        cache.get(1);
+
+        cache.invalidateClause(999);
+        cache.get(1);
+        verify(templateElementConfigMapper, times(1)).selectList(any());
+
+        cache.invalidateClause(100);
+        cache.get(1);
+        verify(templateElementConfigMapper, times(2)).selectList(any());
+    }
+
+    private List<TemplateElementConfig> createTemplate() {
+        TemplateElementConfig clauseConfig = new TemplateElementConfig();
+        clauseConfig.setOrderIndex(2);
+        clauseConfig.setElementType("clause");
+        clauseConfig.setContentSource("CLAUSE_LIBRARY");
+        clauseConfig.setSourceClauseId(100);
+
+        TemplateElementConfig headerConfig = new TemplateElementConfig();
+        headerConfig.setOrderIndex(1);
+        headerConfig.setElementType("HEADER");
+        headerConfig.setContentSource("STATIC");
+        headerConfig.setStaticContent("第一章 总则");
+
+        return new ArrayList<>(List.of(clauseConfig, headerConfig));
+    }
+}
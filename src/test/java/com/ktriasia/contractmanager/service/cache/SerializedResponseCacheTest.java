@@ -0,0 +1,96 @@
+package com.ktriasia.contractmanager.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.model.result.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 序列化响应缓存测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("序列化响应缓存测试")
+class SerializedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger generated = new AtomicInteger();
+    private SerializedResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SerializedResponseCache(objectMapper, new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(1), Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("命中时不再生成响应，并返回首次生成时压缩好的 gzip 表示")
+    void shouldServeCachedRepresentations() throws IOException {
+        SerializedResponse first = cache.get("clause", "all", largeResult());
+        SerializedResponse second = cache.get("clause", "all", largeResult());
+
+        assertThat(generated).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(objectMapper.readTree(first.body()).get("data")).hasSize(200);
+        assertThat(first.hasGzip()).isTrue();
+        assertThat(first.gzipBody().length).isLessThan(first.body().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzipBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(first.body());
+        }
+        assertThat(first.eTag()).startsWith("\"").endsWith("\"");
+        assertThat(first.gzipETag()).isNotEqualTo(first.eTag());
+    }
+
+    @Test
+    @DisplayName("区域失效后应重新生成响应，其他区域不受影响")
+    void shouldRegenerateInvalidatedRegion() {
+        String before = cache.get("clause", "all", largeResult()).eTag();
+        cache.get("clauseCategory", "all", smallResult());
+
+        cache.invalidate("clause");
+        SerializedResponse after = cache.get("clause", "all", largeResult());
+        cache.get("clauseCategory", "all", smallResult());
+
+        assertThat(generated).hasValue(3);
+        // 内容相同时ETag不变，客户端的缓存仍然有效
+        assertThat(after.eTag()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("过小的响应不压缩")
+    void shouldNotCompressSmallResponses() {
+        SerializedResponse small = cache.get("clauseCategory", "all", smallResult());
+
+        assertThat(small.hasGzip()).isFalse();
+        assertThat(small.gzipBody()).isNull();
+    }
+
+    private Supplier<Result<?>> largeResult() {
+        return () -> {
+            generated.incrementAndGet();
+            return Result.success(IntStream.rangeClosed(1, 200).mapToObj(i -> "条款" + i).toList());
+        };
+    }
+
+    private Supplier<Result<?>> smallResult() {
+        return () -> {
+            generated.incrementAndGet();
+            return Result.success(List.of("TAXES"));
+        };
+    }
+}
@@ -0,0 +1,182 @@
+package com.ktriasia.contractmanager.service.content;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.handler.ElementAttributesTypeHandler;
+import com.ktriasia.contractmanager.model.mapper.ContentBlobMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 按内容寻址的文本存储测试
+ * <p>在H2内存库上验证：条款库长文本只写入一份且元素只保存地址，查询（含游标）透明还原内容，
+ * 已有的内联内容可按区间迁移。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("内容寻址存储测试")
+class ContentBlobStoreTest {
+
+    private static final String URL = "jdbc:h2:mem:content_blobs;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String CLAUSE_TEXT = "双方应对合同内容保密。".repeat(30);
+
+    private SqlSession session;
+    private ContractElementMapper contractElementMapper;
+    private ContentBlobMapper contentBlobMapper;
+    private StaticListableBeanFactory beanFactory;
+    private ContentBlobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (var connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE contract_element (element_id INT AUTO_INCREMENT PRIMARY KEY, contract_id INT, "
+                    + "order_index INT, element_type VARCHAR(20), content TEXT, content_hash CHAR(64), "
+                    + "source_clause_id INT, attributes TEXT)");
+            statement.execute("CREATE TABLE content_blob (content_hash CHAR(64) PRIMARY KEY, content TEXT NOT NULL, created_at DATETIME)");
+        }
+
+        beanFactory = new StaticListableBeanFactory();
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register(ElementAttributesTypeHandler.class);
+        configuration.addInterceptor(new ElementContentInterceptor(beanFactory.getBeanProvider(ContentBlobStore.class)));
+        configuration.addMapper(ContractElementMapper.class);
+        configuration.addMapper(ContentBlobMapper.class);
+        SqlSessionFactory sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        session = sqlSessionFactory.openSession();
+        contractElementMapper = session.getMapper(ContractElementMapper.class);
+        contentBlobMapper = session.getMapper(ContentBlobMapper.class);
+        store = newStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+    }
+
+    @Test
+    @DisplayName("相同的条款库长文本只应存储一份，元素只保存地址并在读取时还原")
+    void shouldStoreClauseTextOnceAndResolveOnRead() throws Exception {
+        List<ContractElement> elements = new ArrayList<>();
+        for (int contractId = 1; contractId <= 3; contractId++) {
+            elements.add(element(contractId, 100, CLAUSE_TEXT));
+        }
+        elements.add(element(1, 101, "短条款"));
+        elements.add(element(1, null, CLAUSE_TEXT));
+
+        store.store(elements);
+        contractElementMapper.insertBatch(elements);
+
+        assertThat(count("SELECT COUNT(*) FROM content_blob")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM contract_element WHERE content IS NULL")).isEqualTo(3);
+        assertThat(elements.get(0).getContentHash()).isEqualTo(ContentAddress.of(CLAUSE_TEXT)).hasSize(64);
+        assertThat(elements.get(3).getContentHash()).isNull();
+        assertThat(elements.get(4).getContentHash()).isNull();
+
+        // 读取时的元素是新对象，内容由拦截器还原
+        session.clearCache();
+        assertThat(contractElementMapper.selectList(new QueryWrapper<ContractElement>().orderByAsc("element_id")))
+                .extracting(ContractElement::getContent)
+                .containsExactly(CLAUSE_TEXT, CLAUSE_TEXT, CLAUSE_TEXT, "短条款", CLAUSE_TEXT);
+        assertThat(contractElementMapper.selectById(elements.get(1).getElementId()).getContent()).isEqualTo(CLAUSE_TEXT);
+    }
+
+    @Test
+    @DisplayName("游标读取时缓存未命中的内容应从数据库加载")
+    void shouldResolveContentWhileIteratingCursor() throws Exception {
+        List<ContractElement> elements = List.of(element(1, 100, CLAUSE_TEXT), element(1, 101, CLAUSE_TEXT + "补充"));
+        store.store(elements);
+        contractElementMapper.insertBatch(elements);
+        // 以空缓存的新实例读取
+        store = newStore();
+        session.clearCache();
+
+        List<String> contents = new ArrayList<>();
+        try (Cursor<ContractElement> cursor = contractElementMapper.streamByContractId(1)) {
+            cursor.forEach(element -> contents.add(element.getContent()));
+        }
+
+        assertThat(contents).containsExactly(CLAUSE_TEXT, CLAUSE_TEXT + "补充");
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("应按区间迁移已有的内联内容，重复执行不再改写，编辑过的内联内容优先")
+    void shouldMigrateInlineContent() throws Exception {
+        try (Statement statement = session.getConnection().createStatement()) {
+            for (int i = 0; i < 5; i++) {
+                statement.execute("INSERT INTO contract_element (contract_id, order_index, element_type, content, source_clause_id) "
+                        + "VALUES (" + (i + 1) + ", 1024, 'CLAUSE', '" + CLAUSE_TEXT + "', 100)");
+            }
+            statement.execute("INSERT INTO contract_element (contract_id, order_index, element_type, content, source_clause_id) "
+                    + "VALUES (1, 2048, 'CLAUSE', '短条款', 101)");
+            statement.execute("INSERT INTO contract_element (contract_id, order_index, element_type, content, content_hash, source_clause_id) "
+                    + "VALUES (1, 3072, 'CLAUSE', '已编辑的条款', '" + ContentAddress.of(CLAUSE_TEXT) + "', 100)");
+        }
+        ContentBlobMigrator migrator = new ContentBlobMigrator(contractElementMapper, store,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new ThreadingMode(false), 2);
+
+        assertThat(migrator.migrateAll()).isEqualTo(5);
+        assertThat(migrator.migrateAll()).isZero();
+
+        assertThat(count("SELECT COUNT(*) FROM content_blob")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM contract_element WHERE content IS NULL")).isEqualTo(5);
+        session.clearCache();
+        assertThat(contractElementMapper.selectList(new QueryWrapper<ContractElement>().orderByAsc("element_id")))
+                .extracting(ContractElement::getContent)
+                .containsExactly(CLAUSE_TEXT, CLAUSE_TEXT, CLAUSE_TEXT, CLAUSE_TEXT, CLAUSE_TEXT, "短条款", "已编辑的条款");
+    }
+
+    private ContentBlobStore newStore() {
+        ContentBlobStore created = new ContentBlobStore(contentBlobMapper, new SimpleMeterRegistry(), DataSize.ofMegabytes(1));
+        beanFactory.addBean("contentBlobStore", created);
+        return created;
+    }
+
+    private long count(String sql) throws Exception {
+        try (Statement statement = session.getConnection().createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static ContractElement element(int contractId, Integer sourceClauseId, String content) {
+        ContractElement element = new ContractElement();
+        element.setContractId(contractId);
+        element.setElementType(ElementType.CLAUSE);
+        element.setSourceClauseId(sourceClauseId);
+        element.setContent(content);
+        element.setOrderIndex(1024);
+        return element;
+    }
+}
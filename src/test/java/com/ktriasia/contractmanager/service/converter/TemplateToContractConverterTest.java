@@ -1,10 +1,14 @@
 package com.ktriasia.contractmanager.service.converter;
 
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
+import com.ktriasia.contractmanager.model.enums.ElementOperationType;
 import com.ktriasia.contractmanager.model.enums.ElementType;
 import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
 import com.ktriasia.contractmanager.model.pojo.Clause;
 import com.ktriasia.contractmanager.model.pojo.ContractElement;
 import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.service.ordering.ElementOperationPlan;
+import com.ktriasia.contractmanager.service.ordering.GapOrderIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,14 +17,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 /**
  * TemplateToContractConverter 单元测试
@@ -90,12 +98,12 @@ class TemplateToContractConverterTest {
         assertThat(element.getContractId()).isEqualTo(contractId);
         assertThat(element.getElementType()).isEqualTo(ElementType.HEADER_1);
         assertThat(element.getContent()).isEqualTo("第一章 总则");
-        assertThat(element.getAttributes()).isEqualTo("{\"fontSize\": 16}");
-        assertThat(element.getOrderIndex()).isEqualTo(1);
+        assertThat(element.getAttributes().json()).isEqualTo("{\"fontSize\": 16}");
+        assertThat(element.getOrderIndex()).isEqualTo(GapOrderIndex.GAP);
         assertThat(element.getSourceClauseId()).isNull();
         
         // 验证没有调用条款查询
-        verify(clauseMapper, never()).selectById(anyInt());
+        verify(clauseMapper, never()).selectByIds(anyCollection());
     }
 
     @Test
@@ -103,7 +111,7 @@ class TemplateToContractConverterTest {
     void shouldConvertClauseLibraryConfigToContractElement() {
         // Given
         List<TemplateElementConfig> configs = Arrays.asList(clauseConfig);
-        when(clauseMapper.selectById(100)).thenReturn(mockClause);
+        when(clauseMapper.selectByIds(Set.of(100))).thenReturn(List.of(mockClause));
 
         // When
         List<ContractElement> result = converter.convertToContractElements(configs, contractId);
@@ -115,12 +123,12 @@ class TemplateToContractConverterTest {
         assertThat(element.getContractId()).isEqualTo(contractId);
         assertThat(element.getElementType()).isEqualTo(ElementType.CLAUSE);
         assertThat(element.getContent()).isEqualTo("双方应对合同内容保密...");
-        assertThat(element.getAttributes()).isEqualTo("{\"required\": true}");
-        assertThat(element.getOrderIndex()).isEqualTo(2);
+        assertThat(element.getAttributes().json()).isEqualTo("{\"required\": true}");
+        assertThat(element.getOrderIndex()).isEqualTo(GapOrderIndex.GAP);
         assertThat(element.getSourceClauseId()).isEqualTo(100);
         
         // 验证调用了条款查询
-        verify(clauseMapper).selectById(100);
+        verify(clauseMapper).selectByIds(Set.of(100));
     }
 
     @Test
@@ -128,7 +136,7 @@ class TemplateToContractConverterTest {
     void shouldSetEmptyContentWhenClauseNotFound() {
         // Given
         List<TemplateElementConfig> configs = Arrays.asList(clauseConfig);
-        when(clauseMapper.selectById(100)).thenReturn(null);
+        when(clauseMapper.selectByIds(Set.of(100))).thenReturn(Collections.emptyList());
 
         // When
         List<ContractElement> result = converter.convertToContractElements(configs, contractId);
@@ -140,11 +148,11 @@ class TemplateToContractConverterTest {
         assertThat(element.getContent()).isNull();
         assertThat(element.getSourceClauseId()).isEqualTo(100);
         
-        verify(clauseMapper).selectById(100);
+        verify(clauseMapper).selectByIds(Set.of(100));
     }
 
     @Test
-    @DisplayName("应该按orderIndex正确排序配置")
+    @DisplayName("应该按orderIndex正确排序配置，并按位置以间隔重新分配顺序值")
     void shouldSortConfigsByOrderIndex() {
         // Given
         TemplateElementConfig config1 = createConfigWithOrder(3, "PARAGRAPH");
@@ -159,11 +167,36 @@ class TemplateToContractConverterTest {
         // Then
         assertThat(result).hasSize(3);
         assertThat(result.get(0).getElementType()).isEqualTo(ElementType.HEADER_1);
-        assertThat(result.get(0).getOrderIndex()).isEqualTo(1);
+        assertThat(result.get(0).getOrderIndex()).isEqualTo(GapOrderIndex.GAP);
         assertThat(result.get(1).getElementType()).isEqualTo(ElementType.HEADER_2);
-        assertThat(result.get(1).getOrderIndex()).isEqualTo(2);
+        assertThat(result.get(1).getOrderIndex()).isEqualTo(2 * GapOrderIndex.GAP);
         assertThat(result.get(2).getElementType()).isEqualTo(ElementType.PARAGRAPH);
-        assertThat(result.get(2).getOrderIndex()).isEqualTo(3);
+        assertThat(result.get(2).getOrderIndex()).isEqualTo(3 * GapOrderIndex.GAP);
+    }
+
+    @Test
+    @DisplayName("从模板创建的合同移动元素时只应修改被移动的一行")
+    void movingElementOfTemplateContractShouldUpdateOneRow() {
+        List<TemplateElementConfig> configs = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            configs.add(createConfigWithOrder(i, "PARAGRAPH"));
+        }
+        List<ContractElement> elements = converter.convertToContractElements(configs, contractId);
+        for (int i = 0; i < elements.size(); i++) {
+            elements.get(i).setElementId(i + 1);
+        }
+
+        ElementOperationPlan plan = ElementOperationPlan.of(contractId, elements);
+        ContractElementOperationDTO move = new ContractElementOperationDTO();
+        move.setOp(ElementOperationType.MOVE);
+        move.setElementId(20);
+        move.setAfterElementId(1);
+        plan.apply(List.of(move));
+
+        assertThat(plan.getUpdates()).extracting(ContractElement::getElementId).containsExactly(20);
+        assertThat(plan.isRenumbered()).isFalse();
+        assertThat(plan.isRebalanceSuggested()).isFalse();
+        assertThat(plan.getElements()).extracting(ContractElement::getElementId).startsWith(1, 20, 2);
     }
 
     @Test
@@ -171,7 +204,7 @@ class TemplateToContractConverterTest {
     void shouldHandleMixedContentSourceConfigs() {
         // Given
         List<TemplateElementConfig> configs = Arrays.asList(staticConfig, clauseConfig);
-        when(clauseMapper.selectById(100)).thenReturn(mockClause);
+        when(clauseMapper.selectByIds(Set.of(100))).thenReturn(List.of(mockClause));
 
         // When
         List<ContractElement> result = converter.convertToContractElements(configs, contractId);
@@ -189,7 +222,7 @@ class TemplateToContractConverterTest {
         assertThat(clauseElement.getContent()).isEqualTo("双方应对合同内容保密...");
         assertThat(clauseElement.getElementType()).isEqualTo(ElementType.CLAUSE);
         
-        verify(clauseMapper).selectById(100);
+        verify(clauseMapper).selectByIds(Set.of(100));
     }
 
     @Test
@@ -225,7 +258,7 @@ class TemplateToContractConverterTest {
         assertThat(element.getSourceClauseId()).isNull();
         
         // 不应该调用条款查询
-        verify(clauseMapper, never()).selectById(anyInt());
+        verify(clauseMapper, never()).selectByIds(anyCollection());
     }
 
     @Test
@@ -239,7 +272,41 @@ class TemplateToContractConverterTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(clauseMapper, never()).selectById(anyInt());
+        verify(clauseMapper, never()).selectByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("多个条款库配置应只触发一次批量条款查询")
+    void shouldLoadAllReferencedClausesWithSingleQuery() {
+        // Given
+        TemplateElementConfig secondClauseConfig = createClauseConfig(3, 101);
+        TemplateElementConfig repeatedClauseConfig = createClauseConfig(4, 100);
+        Clause otherClause = new Clause();
+        otherClause.setClauseId(101);
+        otherClause.setContent("争议提交仲裁委员会解决...");
+
+        List<TemplateElementConfig> configs = Arrays.asList(clauseConfig, secondClauseConfig, staticConfig, repeatedClauseConfig);
+        when(clauseMapper.selectByIds(Set.of(100, 101))).thenReturn(List.of(mockClause, otherClause));
+
+        // When
+        List<ContractElement> result = converter.convertToContractElements(configs, contractId);
+
+        // Then
+        assertThat(result).extracting(ContractElement::getContent)
+                .containsExactly("第一章 总则", "双方应对合同内容保密...", "争议提交仲裁委员会解决...", "双方应对合同内容保密...");
+        verify(clauseMapper, times(1)).selectByIds(Set.of(100, 101));
+        verify(clauseMapper, never()).selectById(100);
+    }
+
+    private TemplateElementConfig createClauseConfig(Integer orderIndex, Integer clauseId) {
+        TemplateElementConfig config = new TemplateElementConfig();
+        config.setConfigId(orderIndex);
+        config.setTemplateId(1);
+        config.setOrderIndex(orderIndex);
+        config.setElementType("CLAUSE");
+        config.setContentSource("CLAUSE_LIBRARY");
+        config.setSourceClauseId(clauseId);
+        return config;
     }
 
     private TemplateElementConfig createConfigWithOrder(Integer orderIndex, String elementType) {
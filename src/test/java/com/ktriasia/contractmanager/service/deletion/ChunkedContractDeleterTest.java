@@ -0,0 +1,169 @@
+package com.ktriasia.contractmanager.service.deletion;
+
+import com.ktriasia.contractmanager.model.dto.ContractDeletionDTO;
+import com.ktriasia.contractmanager.model.enums.DeletionStatus;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ChunkedContractDeleter 单元测试
+ * <p>以内存中的元素ID列表模拟合同元素表，每次删除都从列表中移除对应的ID。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("合同分块删除测试")
+class ChunkedContractDeleterTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    @Mock
+    private ContractMapper contractMapper;
+    @Mock
+    private ContractElementMapper contractElementMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ContractChangeLog contractChangeLog;
+
+    private ChunkedContractDeleter deleter;
+
+    /** 合同剩余的元素ID */
+    private final List<Integer> remaining = new ArrayList<>();
+    private boolean contractExists = true;
+    /** 第几次删除元素时失败（从1开始），0表示不失败 */
+    private int failOnDelete;
+    private final AtomicInteger deleteCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        deleter = new ChunkedContractDeleter(contractMapper, contractElementMapper,
+                new TransactionTemplate(transactionManager), contractChangeLog, CHUNK_SIZE, 2);
+
+        lenient().when(contractMapper.selectVersion(1)).thenAnswer(invocation -> contractExists ? new Contract() : null);
+        lenient().when(contractMapper.selectByIdForUpdate(1)).thenAnswer(invocation -> contractExists ? new Contract() : null);
+        lenient().when(contractMapper.deleteById(1)).thenAnswer(invocation -> {
+            contractExists = false;
+            return 1;
+        });
+        lenient().when(contractElementMapper.selectIdsByContractId(eq(1), anyInt())).thenAnswer(invocation ->
+                List.copyOf(remaining.subList(0, Math.min(invocation.<Integer>getArgument(1), remaining.size()))));
+        lenient().when(contractElementMapper.deleteByIds(anyCollection())).thenAnswer(invocation -> {
+            if (deleteCalls.incrementAndGet() == failOnDelete) {
+                throw new DataAccessResourceFailureException("连接中断");
+            }
+            Collection<Integer> ids = invocation.getArgument(0);
+            remaining.removeAll(ids);
+            return ids.size();
+        });
+    }
+
+    @Test
+    @DisplayName("元素应按块删除，合同行随最后一块删除")
+    void shouldDeleteElementsInBoundedChunks() {
+        addElements(250);
+
+        ContractDeletionDTO result = deleter.delete(1);
+
+        assertThat(result.getStatus()).isEqualTo(DeletionStatus.DELETED);
+        assertThat(result.getElementsDeleted()).isEqualTo(250);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(remaining).isEmpty();
+        verify(transactionManager, times(3)).commit(any());
+        // 中间的块使缓存的元素列表失效，最后一块直接删除合同
+        verify(contractMapper, times(2)).bumpContentVersion(eq(1), any());
+        verify(contractMapper, times(1)).deleteById(1);
+    }
+
+    @Test
+    @DisplayName("元素数恰好为块大小的整数倍时应多执行一块以删除合同")
+    void exactMultipleShouldFinishWithEmptyChunk() {
+        addElements(200);
+
+        ContractDeletionDTO result = deleter.delete(1);
+
+        assertThat(result.getStatus()).isEqualTo(DeletionStatus.DELETED);
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(contractExists).isFalse();
+    }
+
+    @Test
+    @DisplayName("中途失败时应保留已提交的块，再次删除从剩余元素继续")
+    void failedChunkShouldBeResumable() {
+        addElements(350);
+        failOnDelete = 3;
+
+        ContractDeletionDTO failed = deleter.delete(1);
+
+        assertThat(failed.getStatus()).isEqualTo(DeletionStatus.FAILED);
+        assertThat(failed.getElementsDeleted()).isEqualTo(200);
+        assertThat(failed.getError()).contains("连接中断");
+        assertThat(remaining).hasSize(150);
+        assertThat(contractExists).isTrue();
+
+        ContractDeletionDTO resumed = deleter.delete(1);
+
+        assertThat(resumed.getStatus()).isEqualTo(DeletionStatus.DELETED);
+        assertThat(resumed.getElementsDeleted()).isEqualTo(150);
+        assertThat(remaining).isEmpty();
+    }
+
+    @Test
+    @DisplayName("暂时性错误应就地重试该块")
+    void transientErrorShouldRetryChunk() {
+        addElements(150);
+        lenient().when(contractMapper.selectByIdForUpdate(1))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"))
+                .thenAnswer(invocation -> contractExists ? new Contract() : null);
+
+        ContractDeletionDTO result = deleter.delete(1);
+
+        assertThat(result.getStatus()).isEqualTo(DeletionStatus.DELETED);
+        assertThat(result.getElementsDeleted()).isEqualTo(150);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("合同不存在时不应开启删除事务")
+    void missingContractShouldReportNotFound() {
+        contractExists = false;
+
+        ContractDeletionDTO result = deleter.delete(1);
+
+        assertThat(result.getStatus()).isEqualTo(DeletionStatus.NOT_FOUND);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private void addElements(int count) {
+        IntStream.rangeClosed(1, count).forEach(remaining::add);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ktriasia.contractmanager.service.diff;
+
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.dto.ContractDiffDTO;
+import com.ktriasia.contractmanager.model.dto.ElementDiffDTO;
+import com.ktriasia.contractmanager.model.dto.TextSegmentDTO;
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 合同元素差异比较测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("合同元素差异比较测试")
+class ElementDifferTest {
+
+    @Test
+    @DisplayName("条款应按条款ID对齐，改写的内容给出词级差异，新增和删除的元素单独列出")
+    void shouldAlignClausesAndReportChanges() {
+        List<ContractElement> left = List.of(
+                element(1, 1024, ElementType.HEADER_1, null, "采购合同"),
+                element(2, 2048, ElementType.CLAUSE, 100, "甲方应在30日内付款。"),
+                element(3, 3072, ElementType.CLAUSE, 101, "本合同一式两份。"),
+                element(4, 4096, ElementType.SIGNATURE, null, "甲方签字"));
+        List<ContractElement> right = List.of(
+                element(14, 4096, ElementType.SIGNATURE, null, "甲方签字"),
+                element(11, 1024, ElementType.HEADER_1, null, "采购合同"),
+                element(12, 2048, ElementType.CLAUSE, 100, "甲方应在15日内付款。"),
+                element(15, 2560, ElementType.PARAGRAPH, null, "补充说明"));
+
+        ContractDiffDTO diff = ElementDiffer.diff(left, right, false);
+
+        assertThat(diff.getUnchanged()).isEqualTo(2);
+        assertThat(diff.getModified()).isEqualTo(1);
+        assertThat(diff.getInserted()).isEqualTo(1);
+        assertThat(diff.getDeleted()).isEqualTo(1);
+        assertThat(diff.getElements()).extracting(ElementDiffDTO::getOperation).containsExactly(
+                DiffOperation.MODIFIED, DiffOperation.DELETED, DiffOperation.INSERTED);
+
+        ElementDiffDTO modified = diff.getElements().get(0);
+        assertThat(modified.getLeftElementId()).isEqualTo(2);
+        assertThat(modified.getRightElementId()).isEqualTo(12);
+        assertThat(modified.getSourceClauseId()).isEqualTo(100);
+        assertThat(modified.getContentDiff()).extracting(TextSegmentDTO::getOperation, TextSegmentDTO::getText)
+                .containsExactly(
+                        tuple(DiffOperation.UNCHANGED, "甲方应在"),
+                        tuple(DiffOperation.DELETED, "30"),
+                        tuple(DiffOperation.INSERTED, "15"),
+                        tuple(DiffOperation.UNCHANGED, "日内付款。"));
+        assertThat(diff.getElements().get(1).getLeftElementId()).isEqualTo(3);
+        assertThat(diff.getElements().get(2).getContent()).isEqualTo("补充说明");
+        assertThat(diff.getElements().get(2).getRightPosition()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("被替换的同类型元素应视为改写，属性变化应单独标出")
+    void shouldPairReplacedElementsOfSameType() {
+        ContractElement checkbox = element(1, 1024, ElementType.CHECKBOX, null, "同意");
+        checkbox.setAttributes(ElementAttributes.of("{\"checked\":false}"));
+        ContractElement checked = element(11, 1024, ElementType.CHECKBOX, null, "同意");
+        checked.setAttributes(ElementAttributes.of("{\"checked\":true}"));
+        List<ContractElement> left = List.of(
+                element(2, 2048, ElementType.PARAGRAPH, null, "原有说明"), checkbox);
+        List<ContractElement> right = List.of(
+                element(12, 2048, ElementType.PARAGRAPH, null, "修改后的说明"), checked);
+
+        ContractDiffDTO diff = ElementDiffer.diff(left, right, true);
+
+        assertThat(diff.getModified()).isEqualTo(2);
+        assertThat(diff.getElements()).extracting(ElementDiffDTO::getOperation)
+                .containsOnly(DiffOperation.MODIFIED);
+        ElementDiffDTO attributes = diff.getElements().get(0);
+        assertThat(attributes.getElementType()).isEqualTo(ElementType.CHECKBOX);
+        assertThat(attributes.getContentDiff()).isNull();
+        assertThat(attributes.getContent()).isEqualTo("同意");
+        assertThat(attributes.getRightAttributes().json()).isEqualTo("{\"checked\":true}");
+    }
+
+    @Test
+    @DisplayName("属性只有字段顺序和空白不同时不应视为修改")
+    void shouldIgnoreAttributeFieldOrder() {
+        ContractElement left = element(1, 1024, ElementType.FILLABLE_FIELD, null, "甲方名称");
+        left.setAttributes(ElementAttributes.of("{\"label\":\"甲方\",\"required\":true}"));
+        ContractElement right = element(11, 1024, ElementType.FILLABLE_FIELD, null, "甲方名称");
+        right.setAttributes(ElementAttributes.of("{ \"required\": true, \"label\": \"甲方\" }"));
+
+        ContractDiffDTO diff = ElementDiffer.diff(List.of(left), List.of(right), false);
+
+        assertThat(left.getAttributes()).isEqualTo(right.getAttributes()).hasSameHashCodeAs(right.getAttributes());
+        assertThat(diff.getUnchanged()).isEqualTo(1);
+        assertThat(diff.getModified()).isZero();
+    }
+
+    @Test
+    @DisplayName("数千个元素的合同应在一次比较中完成对齐")
+    void shouldDiffLargeContracts() {
+        List<ContractElement> left = new ArrayList<>();
+        List<ContractElement> right = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            left.add(element(i, i * 1024, ElementType.CLAUSE, i, "第" + i + "条 双方应遵守本条约定。"));
+            if (i % 100 == 0) {
+                right.add(element(10000 + i, i * 1024, ElementType.CLAUSE, i, "第" + i + "条 双方应严格遵守本条约定。"));
+            } else if (i % 250 != 1) {
+                right.add(element(10000 + i, i * 1024, ElementType.CLAUSE, i, "第" + i + "条 双方应遵守本条约定。"));
+            }
+        }
+
+        ContractDiffDTO diff = ElementDiffer.diff(left, right, false);
+
+        assertThat(diff.getModified()).isEqualTo(50);
+        assertThat(diff.getDeleted()).isEqualTo(20);
+        assertThat(diff.getInserted()).isZero();
+        assertThat(diff.getUnchanged()).isEqualTo(5000 - 50 - 20);
+    }
+
+    private static ContractElement element(int id, int orderIndex, ElementType type, Integer sourceClauseId, String content) {
+        ContractElement element = new ContractElement();
+        element.setElementId(id);
+        element.setOrderIndex(orderIndex);
+        element.setElementType(type);
+        element.setSourceClauseId(sourceClauseId);
+        element.setContent(content);
+        return element;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ktriasia.contractmanager.service.diff;
+
+import com.ktriasia.contractmanager.model.dto.TextSegmentDTO;
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Myers差异算法与词级文本差异测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("Myers差异算法测试")
+class MyersDiffTest {
+
+    @Test
+    @DisplayName("编辑脚本应能还原两侧序列且编辑数最少")
+    void shouldProduceMinimalEditScript() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            int[] a = randomSequence(random, random.nextInt(40));
+            int[] b = randomSequence(random, random.nextInt(40));
+
+            List<MyersDiff.Edit> edits = MyersDiff.diff(a, b);
+
+            int leftCursor = 0;
+            int rightCursor = 0;
+            int changes = 0;
+            for (MyersDiff.Edit edit : edits) {
+                assertThat(edit.leftFrom()).isEqualTo(leftCursor);
+                assertThat(edit.rightFrom()).isEqualTo(rightCursor);
+                if (edit.operation() == MyersDiff.Operation.EQUAL) {
+                    for (int i = edit.leftFrom(), j = edit.rightFrom(); i < edit.leftTo(); i++, j++) {
+                        assertThat(a[i]).isEqualTo(b[j]);
+                    }
+                } else {
+                    changes += (edit.leftTo() - edit.leftFrom()) + (edit.rightTo() - edit.rightFrom());
+                }
+                leftCursor = edit.leftTo();
+                rightCursor = edit.rightTo();
+            }
+            assertThat(leftCursor).isEqualTo(a.length);
+            assertThat(rightCursor).isEqualTo(b.length);
+            assertThat(changes).isEqualTo(a.length + b.length - 2 * lcsLength(a, b));
+        }
+    }
+
+    @Test
+    @DisplayName("词级差异应按词切分中英文文本并合并为片段")
+    void shouldDiffTextByWords() {
+        List<TextSegmentDTO> segments = TextDiff.diff(
+                "Party A shall pay 100 yuan 甲方应付款。", "Party B shall pay 120 yuan 乙方应付款。");
+
+        assertThat(segments).extracting(TextSegmentDTO::getOperation, TextSegmentDTO::getText).containsExactly(
+                tuple(DiffOperation.UNCHANGED, "Party "),
+                tuple(DiffOperation.DELETED, "A"),
+                tuple(DiffOperation.INSERTED, "B"),
+                tuple(DiffOperation.UNCHANGED, " shall pay "),
+                tuple(DiffOperation.DELETED, "100"),
+                tuple(DiffOperation.INSERTED, "120"),
+                tuple(DiffOperation.UNCHANGED, " yuan "),
+                tuple(DiffOperation.DELETED, "甲"),
+                tuple(DiffOperation.INSERTED, "乙"),
+                tuple(DiffOperation.UNCHANGED, "方应付款。"));
+        assertThat(TextDiff.tokenize("条款 v2.0")).containsExactly("条", "款", " ", "v2", ".", "0");
+    }
+
+    private static int[] randomSequence(Random random, int length) {
+        int[] sequence = new int[length];
+        for (int i = 0; i < length; i++) {
+            sequence[i] = random.nextInt(5);
+        }
+        return sequence;
+    }
+
+    private static int lcsLength(int[] a, int[] b) {
+        int[][] table = new int[a.length + 1][b.length + 1];
+        for (int i = 1; i <= a.length; i++) {
+            for (int j = 1; j <= b.length; j++) {
+                table[i][j] = a[i - 1] == b[j - 1]
+                        ? table[i - 1][j - 1] + 1
+                        : Math.max(table[i - 1][j], table[i][j - 1]);
+            }
+        }
+        return table[a.length][b.length];
+    }
+}
@@ -0,0 +1,343 @@
+package com.ktriasia.contractmanager.service.history;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
+import com.ktriasia.contractmanager.model.enums.ElementOperationType;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.handler.ElementAttributesTypeHandler;
+import com.ktriasia.contractmanager.model.mapper.ContentBlobMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractChangeEventMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractSnapshotMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.content.ContentBlobStore;
+import com.ktriasia.contractmanager.service.ordering.ElementOperationPlan;
+import com.ktriasia.contractmanager.service.ordering.GapOrderIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 合同变更日志与历史版本还原测试
+ * <p>在H2内存库上按各写入路径的方式修改元素并记录事件，验证由快照重放事件得到的每个历史版本
+ * 与当时的元素一致，以及快照按事件间隔写入。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("合同历史版本测试")
+class ContractHistoryTest {
+
+    private static final String URL = "jdbc:h2:mem:contract_history;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final int CONTRACT_ID = 1;
+    private static final int SNAPSHOT_INTERVAL = 3;
+
+    private SqlSession session;
+    private ContractMapper contractMapper;
+    private ContractElementMapper contractElementMapper;
+    private ContractHistory contractHistory;
+    private ContractSnapshotter contractSnapshotter;
+    private ContractChangeLog contractChangeLog;
+    private List<ContractElement> initial;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", URL, "sa", "");
+        try (var connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE contract (contract_id INT AUTO_INCREMENT PRIMARY KEY, contract_name VARCHAR(255), "
+                    + "created_at DATETIME, updated_at DATETIME, content_version BIGINT NOT NULL DEFAULT 0)");
+            statement.execute("CREATE TABLE contract_element (element_id INT AUTO_INCREMENT PRIMARY KEY, contract_id INT, "
+                    + "order_index INT, element_type VARCHAR(20), content TEXT, content_hash CHAR(64), "
+                    + "source_clause_id INT, attributes TEXT)");
+            statement.execute("CREATE TABLE content_blob (content_hash CHAR(64) PRIMARY KEY, content TEXT NOT NULL, created_at DATETIME)");
+            statement.execute("CREATE TABLE contract_change_event (event_id BIGINT AUTO_INCREMENT PRIMARY KEY, contract_id INT NOT NULL, "
+                    + "content_version BIGINT NOT NULL, event_type VARCHAR(20) NOT NULL, element_id INT, payload TEXT NOT NULL, "
+                    + "created_at DATETIME)");
+            statement.execute("CREATE TABLE contract_snapshot (snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY, contract_id INT NOT NULL, "
+                    + "content_version BIGINT NOT NULL, last_event_id BIGINT NOT NULL, element_count INT NOT NULL, "
+                    + "elements TEXT NOT NULL, created_at DATETIME, UNIQUE (contract_id, content_version))");
+            statement.execute("INSERT INTO contract (contract_id, contract_name, content_version) VALUES (1, '采购合同', 0)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register(ElementAttributesTypeHandler.class);
+        configuration.addMapper(ContractMapper.class);
+        configuration.addMapper(ContractElementMapper.class);
+        configuration.addMapper(ContentBlobMapper.class);
+        configuration.addMapper(ContractChangeEventMapper.class);
+        configuration.addMapper(ContractSnapshotMapper.class);
+        SqlSessionFactory sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        session = sqlSessionFactory.openSession();
+        contractMapper = session.getMapper(ContractMapper.class);
+        contractElementMapper = session.getMapper(ContractElementMapper.class);
+        ContractChangeEventMapper eventMapper = session.getMapper(ContractChangeEventMapper.class);
+        ContractSnapshotMapper snapshotMapper = session.getMapper(ContractSnapshotMapper.class);
+
+        ChangeLogCodec codec = new ChangeLogCodec(new ObjectMapper());
+        ContentBlobStore contentBlobStore = new ContentBlobStore(session.getMapper(ContentBlobMapper.class),
+                new SimpleMeterRegistry(), DataSize.ofMegabytes(1));
+        contractHistory = new ContractHistory(snapshotMapper, eventMapper, contentBlobStore, codec);
+        contractSnapshotter = new ContractSnapshotter(snapshotMapper, eventMapper, contractMapper, contractElementMapper,
+                contractHistory, codec, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new ThreadingMode(false), SNAPSHOT_INTERVAL, 100);
+        // 快照由测试直接触发，记录事件时不进入后台队列（相当于后台队列始终已满）
+        contractChangeLog = new ContractChangeLog(eventMapper, snapshotMapper, mock(ContractSnapshotter.class), codec);
+
+        initial = List.of(element("第一条", 1), element("第二条", 2), element("第三条", 3));
+        contractElementMapper.insertBatch(initial);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contractSnapshotter.shutdown();
+        session.close();
+    }
+
+    @Test
+    @DisplayName("应由基线快照重放事件还原每个历史版本")
+    void shouldReconstructEveryVersion() {
+        assertThat(contractSnapshotter.snapshotIfDue(CONTRACT_ID)).isTrue();
+        List<List<String>> expected = new ArrayList<>();
+        expected.add(current());
+
+        // 版本1：修改内容
+        ContractElement update = new ContractElement();
+        update.setElementId(initial.get(0).getElementId());
+        update.setContent("第一条（修订）");
+        ElementState updated = ElementState.of(contractElementMapper.selectById(update.getElementId())).merge(update);
+        write(() -> {
+            contractElementMapper.updateById(update);
+            contractChangeLog.updated(CONTRACT_ID, updated);
+        });
+        expected.add(current());
+
+        // 版本2：插入
+        ContractElement inserted = element("第四条", 4);
+        write(() -> {
+            contractElementMapper.insertBatch(List.of(inserted));
+            contractChangeLog.inserted(List.of(inserted));
+        });
+        expected.add(current());
+
+        // 版本3：删除
+        write(() -> {
+            contractElementMapper.deleteById(initial.get(1).getElementId());
+            contractChangeLog.deleted(CONTRACT_ID, List.of(initial.get(1).getElementId()));
+        });
+        expected.add(current());
+
+        // 版本4：重新编号
+        write(() -> {
+            List<ContractElement> renumbered = GapOrderIndex.renumber(contractElementMapper.selectList(
+                    new QueryWrapper<ContractElement>().eq("contract_id", CONTRACT_ID).orderByAsc("order_index", "element_id")));
+            renumbered.forEach(contractElementMapper::updateById);
+            contractChangeLog.reindexed(CONTRACT_ID, renumbered);
+        });
+        expected.add(current());
+
+        for (int version = 0; version < expected.size(); version++) {
+            ContractHistory.Reconstruction reconstruction = contractHistory.reconstruct(CONTRACT_ID, version);
+            assertThat(reconstruction.contentVersion()).isEqualTo(version);
+            assertThat(reconstruction.eventsReplayed()).isEqualTo(version);
+            assertThat(describe(contractHistory.elements(reconstruction))).as("版本 %d", version)
+                    .isEqualTo(expected.get(version));
+        }
+    }
+
+    @Test
+    @DisplayName("批量操作中的移动、修改与插入应记录完整的元素状态并能还原")
+    void shouldReconstructAfterMixedElementOperations() {
+        assertThat(contractSnapshotter.snapshotIfDue(CONTRACT_ID)).isTrue();
+        List<String> before = current();
+        Integer first = initial.get(0).getElementId();
+        Integer third = initial.get(2).getElementId();
+
+        // 与 ContractServiceImpl.applyElementOperations 相同：按ID更新只写变化的列，事件记录合并后的完整元素
+        write(() -> {
+            ElementOperationPlan plan = ElementOperationPlan.of(CONTRACT_ID, contractElementMapper.selectList(
+                    new QueryWrapper<ContractElement>().eq("contract_id", CONTRACT_ID).orderByAsc("order_index", "element_id")));
+            plan.apply(List.of(
+                    operation(ElementOperationType.MOVE, third, null, 0, null),
+                    operation(ElementOperationType.UPDATE, first, null, null, "第一条（修订）"),
+                    operation(ElementOperationType.INSERT, null, "new", first, "第一条之二"),
+                    operation(ElementOperationType.MOVE, first, null, third, null)));
+            plan.getUpdates().forEach(contractElementMapper::updateById);
+            contractElementMapper.insertBatch(plan.getInserts());
+            contractChangeLog.applied(CONTRACT_ID, plan);
+        });
+        List<String> after = current();
+
+        assertThat(after).extracting(described -> described.substring(described.indexOf(':') + 1))
+                .containsExactly("第三条", "第一条（修订）", "第一条之二", "第二条");
+        assertThat(describe(contractHistory.elements(contractHistory.reconstruct(CONTRACT_ID, 0)))).isEqualTo(before);
+        ContractHistory.Reconstruction reconstruction = contractHistory.reconstruct(CONTRACT_ID, 1);
+        assertThat(reconstruction.eventsReplayed()).isEqualTo(3);
+        assertThat(contractHistory.elements(reconstruction)).allSatisfy(element ->
+                assertThat(element.getElementType()).isEqualTo(ElementType.PARAGRAPH));
+        assertThat(describe(contractHistory.elements(reconstruction))).isEqualTo(after);
+    }
+
+    @Test
+    @DisplayName("事件数达到间隔时应写入快照，之后的还原从新快照开始")
+    void shouldSnapshotEveryIntervalEvents() {
+        assertThat(contractSnapshotter.snapshotIfDue(CONTRACT_ID)).isTrue();
+        for (int i = 1; i < SNAPSHOT_INTERVAL; i++) {
+            appendElement("补充条款" + i, 10 + i);
+            assertThat(contractSnapshotter.snapshotIfDue(CONTRACT_ID)).isFalse();
+        }
+        appendElement("补充条款" + SNAPSHOT_INTERVAL, 10 + SNAPSHOT_INTERVAL);
+        assertThat(contractSnapshotter.snapshotIfDue(CONTRACT_ID)).isTrue();
+
+        ContractHistory.Reconstruction latest = contractHistory.reconstruct(CONTRACT_ID, SNAPSHOT_INTERVAL);
+        assertThat(latest.snapshotVersion()).isEqualTo(SNAPSHOT_INTERVAL);
+        assertThat(latest.eventsReplayed()).isZero();
+        assertThat(describe(contractHistory.elements(latest))).isEqualTo(current());
+
+        ContractHistory.Reconstruction earlier = contractHistory.reconstruct(CONTRACT_ID, SNAPSHOT_INTERVAL - 1);
+        assertThat(earlier.snapshotVersion()).isZero();
+        assertThat(earlier.eventsReplayed()).isEqualTo(SNAPSHOT_INTERVAL - 1);
+        assertThat(earlier.elements()).hasSize(initial.size() + SNAPSHOT_INTERVAL - 1);
+    }
+
+    @Test
+    @DisplayName("合同行删除后仍应能还原删除前后的版本")
+    void shouldKeepHistoryOfDeletedContract() {
+        assertThat(contractSnapshotter.snapshotIfDue(CONTRACT_ID)).isTrue();
+        List<String> beforeDelete = current();
+        List<Integer> elementIds = initial.stream().map(ContractElement::getElementId).toList();
+
+        // 与分块删除的最后一块相同：元素与合同行在同一事务中删除，事件版本须显式指定
+        long version = contractMapper.selectByIdForUpdate(CONTRACT_ID).getContentVersion();
+        contractElementMapper.deleteByIds(elementIds);
+        contractMapper.deleteById(CONTRACT_ID);
+        contractChangeLog.deleted(CONTRACT_ID, elementIds, version + 1);
+
+        assertThat(describe(contractHistory.elements(contractHistory.reconstruct(CONTRACT_ID, 0)))).isEqualTo(beforeDelete);
+        ContractHistory.Reconstruction deleted = contractHistory.reconstruct(CONTRACT_ID, 1);
+        assertThat(deleted.contentVersion()).isEqualTo(1);
+        assertThat(deleted.elements()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("新建合同的初始快照应在创建事务中写入，后台未执行且随即被修改时仍能还原版本0")
+    void shouldSnapshotCreatedContractInCreationTransaction() {
+        Contract contract = new Contract();
+        contract.setContractName("服务合同");
+        contract.setContentVersion(0L);
+        List<ContractElement> elements = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contractMapper.insert(contract);
+            for (int i = 1; i <= 3; i++) {
+                ContractElement element = element("服务条款" + i, i);
+                element.setContractId(contract.getContractId());
+                elements.add(element);
+            }
+            contractElementMapper.insertBatch(elements);
+            contractChangeLog.created(contract, elements);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        List<String> created = describe(elements);
+
+        // 提交后立即修改，后台的快照检查从未执行
+        Integer first = elements.get(0).getElementId();
+        ContractElement update = new ContractElement();
+        update.setElementId(first);
+        update.setContent("服务条款1（修订）");
+        ElementState updated = ElementState.of(contractElementMapper.selectById(first)).merge(update);
+        contractMapper.bumpContentVersion(contract.getContractId(), LocalDateTime.now());
+        contractElementMapper.updateById(update);
+        contractChangeLog.updated(contract.getContractId(), updated);
+
+        ContractHistory.Reconstruction initialVersion = contractHistory.reconstruct(contract.getContractId(), 0);
+        assertThat(initialVersion.snapshotVersion()).isZero();
+        assertThat(describe(contractHistory.elements(initialVersion))).isEqualTo(created);
+        ContractHistory.Reconstruction edited = contractHistory.reconstruct(contract.getContractId(), 1);
+        assertThat(edited.eventsReplayed()).isEqualTo(1);
+        assertThat(describe(contractHistory.elements(edited))).first().isEqualTo(first + "@1024:服务条款1（修订）");
+        // 已有初始快照，后台检查不再写入以修改后状态为准的基线
+        assertThat(contractSnapshotter.snapshotIfDue(contract.getContractId())).isFalse();
+    }
+
+    private void appendElement(String content, int order) {
+        ContractElement element = element(content, order);
+        write(() -> {
+            contractElementMapper.insertBatch(List.of(element));
+            contractChangeLog.inserted(List.of(element));
+        });
+    }
+
+    /**
+     * 与各写入路径相同：先递增合同的内容版本，再记录事件
+     */
+    private void write(Runnable change) {
+        contractMapper.bumpContentVersion(CONTRACT_ID, LocalDateTime.now());
+        change.run();
+    }
+
+    private List<String> current() {
+        session.clearCache();
+        return describe(contractElementMapper.selectList(new QueryWrapper<ContractElement>()
+                .eq("contract_id", CONTRACT_ID).orderByAsc("order_index", "element_id")));
+    }
+
+    private static List<String> describe(List<ContractElement> elements) {
+        return elements.stream()
+                .map(element -> element.getElementId() + "@" + element.getOrderIndex() + ":" + element.getContent())
+                .toList();
+    }
+
+    private static ContractElementOperationDTO operation(ElementOperationType op, Integer elementId, String ref,
+                                                         Integer afterElementId, String content) {
+        ContractElementOperationDTO operation = new ContractElementOperationDTO();
+        operation.setOp(op);
+        operation.setElementId(elementId);
+        operation.setRef(ref);
+        operation.setAfterElementId(afterElementId);
+        operation.setContent(content);
+        if (op == ElementOperationType.INSERT) {
+            operation.setElementType(ElementType.PARAGRAPH.name());
+        }
+        return operation;
+    }
+
+    private static ContractElement element(String content, int order) {
+        ContractElement element = new ContractElement();
+        element.setContractId(CONTRACT_ID);
+        element.setElementType(ElementType.PARAGRAPH);
+        element.setContent(content);
+        element.setOrderIndex(order * 1024);
+        return element;
+    }
+}
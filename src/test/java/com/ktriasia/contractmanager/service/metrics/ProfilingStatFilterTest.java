@@ -0,0 +1,165 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL剖析测试
+ * <p>在H2内存库上挂载 {@link ProfilingStatFilter} 与 {@link SampledSqlLogFilter}，所有语句都按慢查询记录并抽样写日志。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("SQL剖析测试")
+class ProfilingStatFilterTest {
+
+    private static final String URL = "jdbc:h2:mem:sql_profile;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private DruidDataSource dataSource;
+    private ProfilingStatFilter profilingStatFilter;
+    private SampledSqlLogFilter sampledSqlLogFilter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        createDataSource(true);
+    }
+
+    private void createDataSource(boolean includeParameters) {
+        profilingStatFilter = new ProfilingStatFilter(2, 40, includeParameters);
+        profilingStatFilter.setSlowSqlMillis(0);
+        profilingStatFilter.setMergeSql(true);
+        sampledSqlLogFilter = new SampledSqlLogFilter(new ThreadingMode(false), new SimpleMeterRegistry(), 1.0, 100, 2000,
+                includeParameters);
+
+        dataSource = new DruidDataSource();
+        dataSource.setName("primary");
+        dataSource.setUrl(URL);
+        dataSource.setUsername("sa");
+        dataSource.setTestWhileIdle(false);
+        dataSource.setProxyFilters(List.of(profilingStatFilter, sampledSqlLogFilter));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 建表不经过Druid，不计入统计
+        JdbcTemplate ddl = new JdbcTemplate(new UnpooledDataSource("org.h2.Driver", URL, "sa", ""));
+        ddl.execute("DROP ALL OBJECTS");
+        ddl.execute("CREATE TABLE clause (clause_id INT PRIMARY KEY, title VARCHAR(200))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("应按语句统计执行次数、读取行数与耗时直方图")
+    void shouldProfileStatements() {
+        for (int i = 1; i <= 3; i++) {
+            jdbcTemplate.update("INSERT INTO clause VALUES (?, ?)", i, "条款" + i);
+        }
+        jdbcTemplate.queryForList("SELECT title FROM clause WHERE clause_id > ?", String.class, 0);
+        jdbcTemplate.queryForList("SELECT title FROM clause WHERE clause_id > ?", String.class, 1);
+
+        List<ProfilingStatFilter.StatementProfile> profiles = profilingStatFilter.statements(10);
+        assertThat(profiles).hasSize(2);
+        assertThat(profilingStatFilter.dataSourceNames()).containsExactly("primary");
+
+        ProfilingStatFilter.StatementProfile insert = find(profiles, "INSERT");
+        assertThat(insert.executeCount()).isEqualTo(3);
+        assertThat(insert.updateCount()).isEqualTo(3);
+        ProfilingStatFilter.StatementProfile select = find(profiles, "SELECT");
+        assertThat(select.executeCount()).isEqualTo(2);
+        assertThat(select.fetchRowCount()).isEqualTo(5);
+        assertThat(select.fetchRowCountMax()).isEqualTo(3);
+        assertThat(select.histogram()).containsKey("0-1ms");
+        assertThat(select.histogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(2);
+        assertThat(profilingStatFilter.statements(1)).hasSize(1);
+    }
+
+    private static ProfilingStatFilter.StatementProfile find(List<ProfilingStatFilter.StatementProfile> profiles, String prefix) {
+        return profiles.stream().filter(profile -> profile.sql().startsWith(prefix)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("慢查询应连同绑定参数写入环形缓冲区，超出容量时覆盖最旧的记录")
+    void shouldKeepRecentSlowQueries() {
+        jdbcTemplate.update("INSERT INTO clause VALUES (?, ?)", 1, "保密条款");
+        jdbcTemplate.update("INSERT INTO clause VALUES (?, ?)", 2, "违约责任");
+        jdbcTemplate.update("UPDATE clause SET title = ? WHERE clause_id = ?", "很长的标题".repeat(20), 2);
+
+        List<ProfilingStatFilter.SlowQuery> slowQueries = profilingStatFilter.slowQueries();
+        assertThat(slowQueries).hasSize(2);
+        assertThat(slowQueries.get(0).sql()).startsWith("UPDATE clause");
+        // 参数按 max-text-length 截断
+        assertThat(slowQueries.get(0).parameters()).contains("很长的标题").endsWith("chars)");
+        assertThat(slowQueries.get(1).parameters()).contains("违约责任");
+        assertThat(slowQueries.get(1).dataSource()).isEqualTo("primary");
+
+        profilingStatFilter.reset();
+        assertThat(profilingStatFilter.slowQueries()).isEmpty();
+        assertThat(profilingStatFilter.statements(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("抽样的语句应在后台线程写入日志")
+    void shouldLogSampledStatementsAsynchronously() throws Exception {
+        List<ILoggingEvent> events = captureLog(() -> jdbcTemplate.update("INSERT INTO clause VALUES (?, ?)", 7, "争议解决"));
+
+        assertThat(events).hasSize(1);
+        ILoggingEvent event = events.get(0);
+        assertThat(event.getFormattedMessage()).contains("INSERT INTO clause VALUES (?, ?)")
+                .contains("updated: 1").contains("[7, 争议解决]");
+        assertThat(event.getThreadName()).startsWith("sql-log-");
+    }
+
+    @Test
+    @DisplayName("默认不应在慢查询、Druid统计与日志中记录绑定参数的值")
+    void shouldMaskParametersByDefault() throws Exception {
+        dataSource.close();
+        createDataSource(false);
+
+        List<ILoggingEvent> events = captureLog(
+                () -> jdbcTemplate.update("UPDATE clause SET title = ? WHERE clause_id = ?", "违约责任", 2));
+
+        assertThat(profilingStatFilter.slowQueries()).singleElement()
+                .extracting(ProfilingStatFilter.SlowQuery::parameters).isEqualTo("[?, ?]");
+        assertThat(profilingStatFilter.statements(10)).singleElement()
+                .extracting(ProfilingStatFilter.StatementProfile::lastSlowParameters).isEqualTo("[?, ?]");
+        assertThat(events).singleElement().extracting(ILoggingEvent::getFormattedMessage).asString()
+                .contains("[?, ?]").doesNotContain("违约责任");
+    }
+
+    /**
+     * 执行语句并等待后台线程写完日志
+     */
+    private List<ILoggingEvent> captureLog(Runnable statements) throws InterruptedException {
+        Logger logger = (Logger) LoggerFactory.getLogger(SampledSqlLogFilter.LOGGER_NAME);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            statements.run();
+            sampledSqlLogFilter.shutdown();
+            for (int i = 0; i < 50 && appender.list.isEmpty(); i++) {
+                Thread.sleep(20);
+            }
+            return appender.list;
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+}
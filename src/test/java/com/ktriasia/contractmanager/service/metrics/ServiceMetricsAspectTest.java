@@ -0,0 +1,96 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ContractService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * ServiceMetricsAspect 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("服务层耗时指标测试")
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private ContractService target;
+
+    private SimpleMeterRegistry registry;
+    private ContractService contractService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(ContractService.class);
+        factory.addAspect(new ServiceMetricsAspect(registry, Set.of(7)));
+        contractService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("成功调用应记录SUCCESS结果及方法标签")
+    void shouldTimeSuccessfulCalls() {
+        when(target.getContractElements(1, false, null)).thenReturn(ResponseEntity.ok(Result.success(null)));
+
+        contractService.getContractElements(1, false, null);
+
+        Timer timer = registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("class", "ContractService")
+                .tag("method", "getContractElements")
+                .tag("outcome", "SUCCESS")
+                .tag("endpoint", "none")
+                .tag("template", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("业务异常应以其响应码作为结果标签")
+    void shouldTagServiceExceptionWithResponseCode() {
+        when(target.createContractFromTemplate(any(), any()))
+                .thenThrow(new ServiceException(ResponseCode.CONTRACT_TEMPLATE_NOT_FOUND, "模板不存在"));
+
+        assertThatThrownBy(() -> contractService.createContractFromTemplate(7, new Contract()))
+                .isInstanceOf(ServiceException.class);
+
+        Timer timer = registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("method", "createContractFromTemplate")
+                .tag("outcome", "CONTRACT_TEMPLATE_NOT_FOUND")
+                .tag("exception", "ServiceException")
+                .tag("template", "7")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("未跟踪的模板应归入other分桶")
+    void untrackedTemplateShouldFallIntoOtherBucket() {
+        when(target.createContractFromTemplate(any(), any())).thenReturn(ResponseEntity.ok(Result.success(null)));
+
+        contractService.createContractFromTemplate(8, new Contract());
+        contractService.createContractFromTemplate(9, new Contract());
+
+        assertThat(registry.get(ServiceMetricsAspect.METRIC_NAME).tag("template", "other").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ktriasia.contractmanager.service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SqlMetricsInterceptor 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("SQL语句指标测试")
+class SqlMetricsInterceptorTest {
+
+    private static final String MAPPER = "com.ktriasia.contractmanager.model.mapper.ContractElementMapper";
+
+    private SimpleMeterRegistry registry;
+    private SqlMetricsInterceptor interceptor;
+    private Executor executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new SqlMetricsInterceptor(registry);
+        executor = mock(Executor.class);
+    }
+
+    @Test
+    @DisplayName("查询应按语句记录耗时与返回行数")
+    void shouldRecordQueryTimeAndRows() throws Throwable {
+        MappedStatement statement = statement(MAPPER + ".selectList", SqlCommandType.SELECT);
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of(1, 2, 3));
+
+        interceptor.intercept(query(statement));
+
+        assertThat(registry.get(SqlMetricsInterceptor.TIMER_NAME)
+                .tag("statement", "ContractElementMapper.selectList")
+                .tag("command", "SELECT")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(SqlMetricsInterceptor.ROWS_NAME).summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("批处理更新不应记录行数")
+    void batchUpdateShouldNotRecordRows() throws Throwable {
+        MappedStatement statement = statement(MAPPER + ".updateById", SqlCommandType.UPDATE);
+        when(executor.update(any(), any())).thenReturn(BatchExecutor.BATCH_UPDATE_RETURN_VALUE);
+
+        interceptor.intercept(new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class, Object.class),
+                new Object[]{statement, null}));
+
+        assertThat(registry.get(SqlMetricsInterceptor.TIMER_NAME).timer().count()).isEqualTo(1);
+        assertThat(registry.find(SqlMetricsInterceptor.ROWS_NAME).summary()).isNull();
+    }
+
+    @Test
+    @DisplayName("执行失败应记录error结果")
+    void failureShouldBeTaggedAsError() throws Throwable {
+        MappedStatement statement = statement(MAPPER + ".selectList", SqlCommandType.SELECT);
+        when(executor.query(any(), any(), any(), any())).thenThrow(new SQLException("boom"));
+
+        assertThatThrownBy(() -> interceptor.intercept(query(statement))).hasRootCauseInstanceOf(SQLException.class);
+
+        assertThat(registry.get(SqlMetricsInterceptor.TIMER_NAME).tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    private Invocation query(MappedStatement statement) throws NoSuchMethodException {
+        return new Invocation(executor,
+                Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class),
+                new Object[]{statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+    }
+
+    private MappedStatement statement(String id, SqlCommandType commandType) {
+        Configuration configuration = new Configuration();
+        return new MappedStatement.Builder(configuration, id, new StaticSqlSource(configuration, "SELECT 1"), commandType).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.ktriasia.contractmanager.service.ordering;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
+import com.ktriasia.contractmanager.model.enums.ElementOperationType;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ElementOperationPlan 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("合同元素批量操作计划测试")
+class ElementOperationPlanTest {
+
+    @Test
+    @DisplayName("移动元素只应修改该元素的顺序值")
+    void moveShouldTouchOnlyTheMovedElement() {
+        ElementOperationPlan plan = ElementOperationPlan.of(1, createElements(100));
+
+        plan.apply(List.of(move(100, 1), move(1, 0)));
+
+        assertThat(plan.getUpdates()).extracting(ContractElement::getElementId).containsExactly(100, 1);
+        assertThat(plan.getElements()).extracting(ContractElement::getElementId).startsWith(1, 100, 2);
+        assertThat(plan.getElements()).extracting(ContractElement::getOrderIndex).isSorted().doesNotHaveDuplicates();
+        assertThat(plan.isRebalanceSuggested()).isFalse();
+    }
+
+    @Test
+    @DisplayName("在同一位置连续插入耗尽间隔后只应在附近重新分配")
+    void repeatedInsertsAtOnePositionShouldRedistributeLocally() {
+        ElementOperationPlan plan = ElementOperationPlan.of(1, createElements(1000));
+
+        List<ContractElementOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            operations.add(insert("r" + i, i == 0 ? null : "r" + (i - 1), 500));
+        }
+        plan.apply(operations);
+
+        assertThat(plan.getInserts()).hasSize(30);
+        assertThat(plan.getElements()).extracting(ContractElement::getOrderIndex).isSorted().doesNotHaveDuplicates();
+        assertThat(plan.getElements().subList(500, 530)).containsExactlyElementsOf(plan.getInserts());
+        assertThat(plan.getUpdates()).hasSizeLessThan(100);
+        assertThat(plan.isRenumbered()).isFalse();
+        assertThat(plan.isRebalanceSuggested()).isTrue();
+    }
+
+    @Test
+    @DisplayName("同一元素的多次修改应合并为一条更新，删除后不再更新")
+    void changesShouldBeMergedPerElement() {
+        ElementOperationPlan plan = ElementOperationPlan.of(1, createElements(10));
+
+        ContractElementOperationDTO update = operation(ElementOperationType.UPDATE, 3);
+        update.setContent("新内容");
+        ContractElementOperationDTO updateDeleted = operation(ElementOperationType.UPDATE, 5);
+        updateDeleted.setContent("将被删除");
+        plan.apply(List.of(update, move(3, 7), updateDeleted, operation(ElementOperationType.DELETE, 5)));
+
+        assertThat(plan.getUpdates()).hasSize(1);
+        ContractElement merged = plan.getUpdates().iterator().next();
+        assertThat(merged.getElementId()).isEqualTo(3);
+        assertThat(merged.getContent()).isEqualTo("新内容");
+        assertThat(merged.getOrderIndex()).isBetween(7 * GapOrderIndex.GAP, 8 * GapOrderIndex.GAP);
+        assertThat(plan.getDeletes()).containsExactly(5);
+        assertThat(plan.getElements()).extracting(ContractElement::getElementId).doesNotContain(5);
+    }
+
+    @Test
+    @DisplayName("插入后在同一批次中删除的元素不应写入数据库")
+    void insertedThenDeletedElementShouldNotBeWritten() {
+        ElementOperationPlan plan = ElementOperationPlan.of(1, createElements(3));
+        ContractElementOperationDTO delete = new ContractElementOperationDTO();
+        delete.setOp(ElementOperationType.DELETE);
+        delete.setRef("tmp");
+
+        plan.apply(List.of(insert("tmp", null, null), delete));
+
+        assertThat(plan.getInserts()).isEmpty();
+        assertThat(plan.getDeletes()).isEmpty();
+        assertThat(plan.getElements()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("顺序值重复的历史数据应先统一编号")
+    void duplicateOrderIndexesShouldBeRenumbered() {
+        List<ContractElement> elements = createElements(4);
+        elements.forEach(element -> element.setOrderIndex(1));
+
+        ElementOperationPlan plan = ElementOperationPlan.of(1, elements);
+
+        assertThat(plan.isRenumbered()).isTrue();
+        assertThat(plan.getElements()).extracting(ContractElement::getOrderIndex)
+                .containsExactly(GapOrderIndex.GAP, 2 * GapOrderIndex.GAP, 3 * GapOrderIndex.GAP, 4 * GapOrderIndex.GAP);
+    }
+
+    @Test
+    @DisplayName("不属于该合同的元素应返回元素不存在")
+    void unknownElementShouldBeRejected() {
+        ElementOperationPlan plan = ElementOperationPlan.of(1, createElements(3));
+
+        assertThatThrownBy(() -> plan.apply(List.of(move(99, 1))))
+                .isInstanceOf(ServiceException.class)
+                .extracting("responseCode").isEqualTo(ResponseCode.ELEMENT_NOT_FOUND);
+    }
+
+    private ContractElementOperationDTO operation(ElementOperationType type, Integer elementId) {
+        ContractElementOperationDTO operation = new ContractElementOperationDTO();
+        operation.setOp(type);
+        operation.setElementId(elementId);
+        return operation;
+    }
+
+    private ContractElementOperationDTO move(Integer elementId, Integer afterElementId) {
+        ContractElementOperationDTO operation = operation(ElementOperationType.MOVE, elementId);
+        operation.setAfterElementId(afterElementId);
+        return operation;
+    }
+
+    private ContractElementOperationDTO insert(String ref, String afterRef, Integer afterElementId) {
+        ContractElementOperationDTO operation = new ContractElementOperationDTO();
+        operation.setOp(ElementOperationType.INSERT);
+        operation.setRef(ref);
+        operation.setElementType(ElementType.PARAGRAPH.name());
+        if (afterRef != null) {
+            operation.setAfterRef(afterRef);
+        } else {
+            operation.setAfterElementId(afterElementId);
+        }
+        return operation;
+    }
+
+    private List<ContractElement> createElements(int size) {
+        List<ContractElement> elements = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            ContractElement element = new ContractElement();
+            element.setElementId(i);
+            element.setContractId(1);
+            element.setElementType(ElementType.PARAGRAPH);
+            element.setOrderIndex(i * GapOrderIndex.GAP);
+            elements.add(element);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ktriasia.contractmanager.service.pagination;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.CursorPageDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * KeysetPagination 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("键集分页测试")
+class KeysetPaginationTest {
+
+    private static final Function<Integer, Integer> IDENTITY = Function.identity();
+
+    @Test
+    @DisplayName("按游标逐页遍历应不重不漏")
+    void shouldWalkAllPagesWithoutGapsOrDuplicates() {
+        // 主键不连续，模拟删除过数据的表
+        List<Integer> ids = IntStream.rangeClosed(1, 23).map(i -> i * 3).boxed().toList();
+
+        List<Integer> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<Integer> page = KeysetPagination.pageSortedList(ids, KeysetPagination.decodeCursor(cursor), 5, IDENTITY);
+            visited.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(visited).isEqualTo(ids);
+        assertThat(pages).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("恰好取满一页时不应返回下一页游标")
+    void shouldNotReturnCursorOnExactLastPage() {
+        CursorPageDTO<Integer> page = KeysetPagination.toPage(List.of(1, 2, 3), 3, IDENTITY);
+
+        assertThat(page.getItems()).containsExactly(1, 2, 3);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("游标应能往返编码且分页大小应被限制")
+    void shouldRoundTripCursorAndClampSize() {
+        assertThat(KeysetPagination.decodeCursor(KeysetPagination.encodeCursor(12345))).isEqualTo(12345);
+        assertThat(KeysetPagination.decodeCursor(null)).isNull();
+        assertThat(KeysetPagination.normalizeSize(null)).isEqualTo(KeysetPagination.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetPagination.normalizeSize(100_000)).isEqualTo(KeysetPagination.MAX_PAGE_SIZE);
+        assertThat(KeysetPagination.normalizeSize(0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("非法游标应抛出业务异常")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> KeysetPagination.decodeCursor("not-a-cursor"))
+                .isInstanceOf(ServiceException.class);
+    }
+}
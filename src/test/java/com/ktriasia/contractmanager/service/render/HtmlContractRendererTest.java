@@ -0,0 +1,92 @@
+package com.ktriasia.contractmanager.service.render;
+
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HtmlContractRenderer 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("HTML合同渲染测试")
+class HtmlContractRendererTest {
+
+    private final HtmlContractRenderer renderer = new HtmlContractRenderer();
+
+    @Test
+    @DisplayName("应按元素类型输出对应的HTML结构")
+    void shouldRenderEachElementType() throws IOException {
+        String html = render(List.of(
+                element(1, ElementType.HEADER_1, "采购合同", null),
+                element(2, ElementType.CLAUSE, "第一条\n双方应对合同内容保密", null),
+                element(3, ElementType.TABLE, "付款计划", "{\"rows\":2,\"cols\":2,\"data\":[[\"期次\",\"金额\"],[\"1\",\"100\"]]}"),
+                element(4, ElementType.ORDERED_LIST, "交付\n\n验收", null),
+                element(5, ElementType.FILLABLE_FIELD, "甲方：", "{\"type\":\"text\",\"value\":\"张三\"}"),
+                element(6, ElementType.FILLABLE_FIELD, "日期：", "{\"type\":\"date\",\"placeholder\":\"年月日\"}"),
+                element(7, ElementType.CHECKBOX, "同意条款", "{\"checked\":true}"),
+                element(8, ElementType.SIGNATURE, "乙方签字：", null),
+                element(9, ElementType.SEAL, "公章", "{\"url\":\"https://example.com/seal.png\",\"width\":120}")));
+
+        assertThat(html).startsWith("<!DOCTYPE html>")
+                .contains("<title>测试合同</title>")
+                .contains("data-content-version=\"3\"")
+                .contains("<h1 data-element-id=\"1\">采购合同</h1>")
+                .contains("<section class=\"clause\" data-element-id=\"2\">第一条<br>双方应对合同内容保密</section>")
+                .contains("<caption>付款计划</caption>")
+                .contains("<tr><td>期次</td><td>金额</td></tr>")
+                .contains("<li>交付</li>\n<li>验收</li>")
+                .contains("<span class=\"field-value\">张三</span>")
+                .contains("<span class=\"field-value field-empty\" title=\"年月日\"></span>")
+                .contains("<input type=\"checkbox\" disabled checked> 同意条款")
+                .contains("<span class=\"signature-label\">乙方签字：</span><span class=\"signature-line\"></span>")
+                .contains("<img class=\"seal\" data-element-id=\"9\" src=\"https://example.com/seal.png\" alt=\"公章\" width=\"120\">")
+                .endsWith("</html>\n");
+    }
+
+    @Test
+    @DisplayName("应转义内容中的HTML并拒绝不安全的图片地址")
+    void shouldEscapeContentAndRejectUnsafeUrls() throws IOException {
+        String html = render(List.of(
+                element(1, ElementType.PARAGRAPH, "<script>alert('x')</script> & \"y\"", null),
+                element(2, ElementType.IMAGE, "Logo", "{\"url\":\"javascript:alert(1)\"}"),
+                element(3, ElementType.TABLE, null, "not json")));
+
+        assertThat(html).contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;y&quot;")
+                .doesNotContain("<script>")
+                .doesNotContain("javascript:")
+                .contains("<div class=\"image image-placeholder\" data-element-id=\"2\">Logo</div>")
+                .contains("<table class=\"contract-table\" data-element-id=\"3\">\n<tbody>\n</tbody>\n</table>");
+    }
+
+    private String render(List<ContractElement> elements) throws IOException {
+        Contract contract = new Contract();
+        contract.setContractId(1);
+        contract.setContractName("测试合同");
+        contract.setContentVersion(3L);
+        StringWriter writer = new StringWriter();
+        renderer.render(contract, elements, writer);
+        return writer.toString();
+    }
+
+    static ContractElement element(int id, ElementType type, String content, String attributes) {
+        ContractElement element = new ContractElement();
+        element.setElementId(id);
+        element.setContractId(1);
+        element.setElementType(type);
+        element.setContent(content);
+        element.setAttributes(attributes != null ? ElementAttributes.of(attributes) : null);
+        element.setOrderIndex(id * 1024);
+        return element;
+    }
+}
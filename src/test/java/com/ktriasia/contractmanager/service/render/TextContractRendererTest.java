@@ -0,0 +1,63 @@
+package com.ktriasia.contractmanager.service.render;
+
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static com.ktriasia.contractmanager.service.render.HtmlContractRendererTest.element;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TextContractRenderer 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("纯文本合同渲染测试")
+class TextContractRendererTest {
+
+    @Test
+    @DisplayName("应以空行分隔元素并输出列表编号、表格和待填写的下划线")
+    void shouldRenderPlainText() throws IOException {
+        Contract contract = new Contract();
+        contract.setContractName("采购合同");
+        StringWriter writer = new StringWriter();
+
+        new TextContractRenderer().render(contract, List.of(
+                element(1, ElementType.HEADER_2, "第一章 总则", null),
+                element(2, ElementType.ORDERED_LIST, "交付\n验收", null),
+                element(3, ElementType.UNORDERED_LIST, "现金", null),
+                element(4, ElementType.TABLE, null, "{\"data\":[[\"期次\",\"金额\"],[\"1\",null]]}"),
+                element(5, ElementType.FILLABLE_FIELD, "甲方：", "{\"value\":\"\"}"),
+                element(6, ElementType.CHECKBOX, null, "{\"label\":\"同意\",\"checked\":false}"),
+                element(7, ElementType.SIGNATURE, "签字：", null),
+                element(8, ElementType.SEAL, null, null)), writer);
+
+        assertThat(writer.toString()).isEqualTo("""
+                采购合同
+
+                第一章 总则
+
+                1. 交付
+                2. 验收
+
+                • 现金
+
+                期次 | 金额
+                1 |\s
+
+                甲方：________
+
+                ☐ 同意
+
+                签字：________________
+
+                [印章]
+                """);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ktriasia.contractmanager.service.search;
+
+import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.service.cache.ClauseLibrary;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 倒排索引与 {@code LIKE '%x%'} 查询的对比基准测试
+ * <p>在H2内存库中生成合成的中文条款库，分别用原有的 LIKE 查询（标题与内容）和 {@link ClauseSearchIndex} 执行相同的查询集合，
+ * 输出平均耗时。默认不运行，使用 {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark} 执行。</p>
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("条款检索基准测试")
+class ClauseSearchBenchmarkTest {
+
+    private static final int CLAUSE_COUNT = 20_000;
+    private static final int ROUNDS = 20;
+    private static final String[] PHRASES = {
+            "双方应对合作过程中知悉的商业秘密承担保密义务", "任何一方违反本合同约定的应承担违约责任",
+            "因不可抗力导致无法履行合同的", "甲方应于收到发票后三十日内支付款项", "本合同适用中华人民共和国法律",
+            "争议提交仲裁委员会按照其仲裁规则进行仲裁", "乙方保证交付的产品符合国家质量标准", "知识产权归甲方所有",
+            "未经对方书面同意不得转让本合同项下的权利义务", "本合同一式两份双方各执一份具有同等法律效力",
+            "逾期付款的每日按未付金额的万分之五支付违约金", "乙方应按照甲方要求提供数据处理记录"
+    };
+    private static final String[] QUERIES = {"保密义务", "仲裁", "违约金", "知识产权", "数据处理", "不可抗力"};
+
+    private Connection connection;
+    private ClauseSearchIndex index;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:clause_bench;MODE=MySQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE clause (clause_id INT PRIMARY KEY, title VARCHAR(200), content TEXT, clause_category VARCHAR(50))");
+        }
+
+        Random random = new Random(42);
+        List<ClauseDTO> clauses = new ArrayList<>(CLAUSE_COUNT);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO clause VALUES (?, ?, ?, 'OTHERS')")) {
+            for (int i = 1; i <= CLAUSE_COUNT; i++) {
+                String title = PHRASES[random.nextInt(PHRASES.length)].substring(0, 6) + "条款" + i;
+                StringBuilder content = new StringBuilder();
+                for (int p = 0; p < 8; p++) {
+                    content.append(PHRASES[random.nextInt(PHRASES.length)]).append('。');
+                }
+                insert.setInt(1, i);
+                insert.setString(2, title);
+                insert.setString(3, content.toString());
+                insert.addBatch();
+
+                ClauseDTO clause = new ClauseDTO();
+                clause.setClauseId(i);
+                clause.setTitle(title);
+                clause.setContent(content.toString());
+                clauses.add(clause);
+            }
+            insert.executeBatch();
+        }
+
+        ClauseLibrary clauseLibrary = mock(ClauseLibrary.class);
+        when(clauseLibrary.getAll()).thenReturn(clauses);
+        index = new ClauseSearchIndex(clauseLibrary);
+        long start = System.nanoTime();
+        index.search("预热", 1);
+        System.out.printf("[benchmark] index build: %d clauses in %.1f ms%n", CLAUSE_COUNT, (System.nanoTime() - start) / 1e6);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("倒排索引检索应快于LIKE全表扫描")
+    void compareIndexWithLikeQuery() throws SQLException {
+        // 预热
+        runLike();
+        runIndex();
+
+        long likeStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            runLike();
+        }
+        double likeMillis = (System.nanoTime() - likeStart) / 1e6 / (ROUNDS * QUERIES.length);
+
+        long indexStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            runIndex();
+        }
+        double indexMillis = (System.nanoTime() - indexStart) / 1e6 / (ROUNDS * QUERIES.length);
+
+        System.out.printf("[benchmark] LIKE '%%x%%' on title+content: %.3f ms/query%n", likeMillis);
+        System.out.printf("[benchmark] bigram index BM25 top-10:    %.3f ms/query (%.1fx)%n", indexMillis, likeMillis / indexMillis);
+        assertThat(indexMillis).isLessThan(likeMillis);
+    }
+
+    private void runLike() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT clause_id, title, content FROM clause WHERE title LIKE ? OR content LIKE ?")) {
+            for (String keyword : QUERIES) {
+                query.setString(1, "%" + keyword + "%");
+                query.setString(2, "%" + keyword + "%");
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getString(3);
+                    }
+                }
+            }
+        }
+    }
+
+    private void runIndex() {
+        for (String keyword : QUERIES) {
+            assertThat(index.search(keyword, 10)).isNotEmpty();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ktriasia.contractmanager.service.search;
+
+import com.ktriasia.contractmanager.model.dto.ClauseDTO;
+import com.ktriasia.contractmanager.service.cache.ClauseLibrary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * ClauseSearchIndex 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("条款倒排索引测试")
+class ClauseSearchIndexTest {
+
+    @Mock
+    private ClauseLibrary clauseLibrary;
+
+    @InjectMocks
+    private ClauseSearchIndex index;
+
+    private final List<ClauseDTO> clauses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        clauses.add(createClause(1, "保密条款", "双方应对在合作过程中知悉的商业秘密承担保密义务。"));
+        clauses.add(createClause(2, "违约责任", "任何一方违反本合同约定的，应承担违约责任并赔偿损失，包括保密义务的违反。"));
+        clauses.add(createClause(3, "争议解决", "因本合同引起的争议，双方应协商解决；协商不成的，提交仲裁委员会仲裁。"));
+        clauses.add(createClause(4, "Governing Law", "This Agreement shall be governed by the laws of the PRC."));
+        lenient().when(clauseLibrary.getAll()).thenAnswer(invocation -> List.copyOf(clauses));
+        lenient().when(clauseLibrary.getById(org.mockito.ArgumentMatchers.anyInt())).thenAnswer(invocation ->
+                clauses.stream().filter(c -> c.getClauseId().equals(invocation.getArgument(0))).findFirst().orElse(null));
+    }
+
+    @Test
+    @DisplayName("标题命中的条款应排在仅内容命中的条款之前")
+    void shouldRankTitleMatchesAboveContentMatches() {
+        List<ClauseSearchIndex.Hit> hits = index.search("保密", 10);
+
+        assertThat(hits).extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(1, 2);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("应能检索内容中的中文词语以及英文单词")
+    void shouldMatchContentBigramsAndLatinWords() {
+        assertThat(index.search("仲裁", 10)).extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(3);
+        assertThat(index.search("LAWS", 10)).extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(4);
+        assertThat(index.search("税", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("应只返回前K个结果")
+    void shouldLimitToTopK() {
+        assertThat(index.search("合同", 1)).hasSize(1);
+        assertThat(index.search("合同", 10)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("条款变化后应增量更新索引")
+    void shouldUpdateIncrementally() {
+        index.search("保密", 10);
+
+        clauses.set(0, createClause(1, "知识产权", "本合同项下产生的知识产权归甲方所有。"));
+        index.update(1);
+        clauses.remove(2);
+        index.update(3);
+
+        assertThat(index.search("保密", 10)).extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(2);
+        assertThat(index.search("知识产权", 10)).extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(1);
+        assertThat(index.search("仲裁", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("首次构建期间写入的条款应在构建完成后进入索引")
+    void shouldApplyUpdateArrivingDuringInitialBuild() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<ClauseDTO> staleSnapshot = List.copyOf(clauses);
+        when(clauseLibrary.getAll()).thenAnswer(invocation -> {
+            building.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return staleSnapshot;
+        });
+
+        Thread searcher = new Thread(() -> index.search("保密", 10));
+        searcher.start();
+        assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+        clauses.add(createClause(5, "不可抗力", "因不可抗力导致无法履行的，双方互不承担责任。"));
+        Thread writer = new Thread(() -> index.update(5));
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING && writer.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        searcher.join(5000);
+        writer.join(5000);
+
+        assertThat(index.search("不可抗力", 10)).extracting(ClauseSearchIndex.Hit::clauseId).containsExactly(5);
+    }
+
+    private ClauseDTO createClause(Integer clauseId, String title, String content) {
+        ClauseDTO clause = new ClauseDTO();
+        clause.setClauseId(clauseId);
+        clause.setTitle(title);
+        clause.setContent(content);
+        return clause;
+    }
+}
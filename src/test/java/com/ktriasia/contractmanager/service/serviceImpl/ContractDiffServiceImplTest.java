@@ -0,0 +1,138 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.ContractDiffDTO;
+import com.ktriasia.contractmanager.model.enums.DiffOperation;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import com.ktriasia.contractmanager.service.history.ContractHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * ContractDiffServiceImpl 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("合同差异比较服务测试")
+class ContractDiffServiceImplTest {
+
+    @Mock
+    private ContractMapper contractMapper;
+    @Mock
+    private CompiledTemplateCache compiledTemplateCache;
+
+    @Mock
+    private ClauseMapper clauseMapper;
+    @Mock
+    private ContractHistory contractHistory;
+
+    private TemplateToContractConverter converter;
+    private ContractDiffServiceImpl diffService;
+
+    @BeforeEach
+    void setUp() {
+        converter = new TemplateToContractConverter(clauseMapper);
+        diffService = new ContractDiffServiceImpl(contractMapper, compiledTemplateCache, converter, contractHistory);
+    }
+
+    @Test
+    @DisplayName("合同与模板比较时应以模板实例化出的元素为左侧")
+    void shouldDiffContractAgainstTemplate() {
+        TemplateElementConfig header = config(1, ElementType.HEADER_1, "采购合同");
+        TemplateElementConfig clause = config(2, ElementType.CLAUSE, "甲方应在30日内付款。");
+        CompiledTemplate template = converter.compile(7, new ArrayList<>(List.of(header, clause)));
+        when(compiledTemplateCache.get(7)).thenReturn(template);
+
+        List<ContractElement> elements = new ArrayList<>(converter.convertToContractElements(template, 5));
+        elements.get(1).setElementId(52);
+        elements.get(1).setContent("甲方应在15日内付款。");
+        when(contractMapper.selectAggregate(5, false, false)).thenReturn(contract(5, elements));
+
+        ResponseEntity<Result<Object>> response = diffService.diffWithTemplate(5, 7, false);
+
+        ContractDiffDTO diff = (ContractDiffDTO) response.getBody().getData();
+        assertThat(diff.getLeft()).isEqualTo("template:7");
+        assertThat(diff.getRight()).isEqualTo("contract:5");
+        assertThat(diff.getUnchanged()).isEqualTo(1);
+        assertThat(diff.getElements()).singleElement().satisfies(element -> {
+            assertThat(element.getOperation()).isEqualTo(DiffOperation.MODIFIED);
+            assertThat(element.getRightElementId()).isEqualTo(52);
+            assertThat(element.getLeftElementId()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("任一侧合同或模板不存在时应抛出对应的异常")
+    void shouldRejectMissingSides() {
+        when(contractMapper.selectAggregate(1, false, false)).thenReturn(contract(1, List.of()));
+
+        assertThatThrownBy(() -> diffService.diffContracts(1, 2, false))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.CONTRACT_NOT_FOUND);
+        assertThatThrownBy(() -> diffService.diffWithTemplate(1, 9, false))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.CONTRACT_TEMPLATE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("比较历史版本时版本超过当前版本或早于最早的快照应返回404")
+    void shouldRejectUnknownVersions() {
+        Contract current = contract(3, List.of());
+        current.setContentVersion(5L);
+        when(contractMapper.selectVersion(3)).thenReturn(current);
+        when(contractHistory.reconstruct(3, 1L)).thenReturn(null);
+
+        assertThatThrownBy(() -> diffService.diffVersions(3, 1, 9, false))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.NOT_FOUND);
+        assertThatThrownBy(() -> diffService.diffVersions(3, -1, 2, false))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.BAD_REQUEST);
+    }
+
+    private static Contract contract(int id, List<ContractElement> elements) {
+        Contract contract = new Contract();
+        contract.setContractId(id);
+        contract.setContractElements(elements);
+        return contract;
+    }
+
+    private static TemplateElementConfig config(int order, ElementType type, String content) {
+        TemplateElementConfig config = new TemplateElementConfig();
+        config.setConfigId(order);
+        config.setTemplateId(7);
+        config.setOrderIndex(order);
+        config.setElementType(type.name());
+        config.setContentSource(TemplateToContractConverter.SOURCE_STATIC);
+        config.setStaticContent(content);
+        return config;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ContractElementServiceImpl 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("合同元素服务测试")
+class ContractElementServiceImplTest {
+
+    @Mock
+    private ContractElementMapper contractElementMapper;
+    @Mock
+    private ContractMapper contractMapper;
+    @Mock
+    private ContractChangeLog contractChangeLog;
+
+    @InjectMocks
+    private ContractElementServiceImpl contractElementService;
+
+    @Test
+    @DisplayName("创建元素应递增所属合同的内容版本")
+    void createShouldBumpContractVersion() {
+        contractElementService.createContractElement(element(null, 1));
+
+        verify(contractMapper).bumpContentVersion(eq(1), any());
+    }
+
+    @Test
+    @DisplayName("更新元素应递增所属合同的内容版本")
+    void updateShouldBumpContractVersion() {
+        when(contractElementMapper.selectById(10)).thenReturn(element(10, 1));
+
+        contractElementService.updateContractElement(10, element(null, null));
+
+        verify(contractMapper).bumpContentVersion(eq(1), any());
+    }
+
+    @Test
+    @DisplayName("把元素移到另一个合同时两个合同的版本都应递增")
+    void movingElementBetweenContractsShouldBumpBoth() {
+        when(contractElementMapper.selectById(10)).thenReturn(element(10, 1));
+
+        contractElementService.updateContractElement(10, element(null, 2));
+
+        verify(contractMapper).bumpContentVersion(eq(1), any());
+        verify(contractMapper).bumpContentVersion(eq(2), any());
+        // 变更日志中记为从原合同删除、在新合同插入
+        verify(contractChangeLog).deleted(1, List.of(10));
+        verify(contractChangeLog).inserted(eq(2), argThat(state -> state.elementId() == 10));
+    }
+
+    @Test
+    @DisplayName("删除元素应递增所属合同的内容版本")
+    void deleteShouldBumpContractVersion() {
+        when(contractElementMapper.selectById(10)).thenReturn(element(10, 1));
+
+        contractElementService.deleteContractElement(10);
+
+        verify(contractMapper).bumpContentVersion(eq(1), any());
+    }
+
+    private ContractElement element(Integer elementId, Integer contractId) {
+        ContractElement element = new ContractElement();
+        element.setElementId(elementId);
+        element.setContractId(contractId);
+        element.setElementType(ElementType.PARAGRAPH);
+        element.setContent("段落");
+        return element;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktriasia.contractmanager.model.dto.ContractImportResultDTO;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.content.ContentBlobStore;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import com.ktriasia.contractmanager.service.ordering.GapOrderIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ContractImportServiceImpl 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("合同批量导入测试")
+class ContractImportServiceImplTest {
+
+    @Mock
+    private ContractMapper contractMapper;
+    @Mock
+    private ContractElementMapper contractElementMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ContentBlobStore contentBlobStore;
+    @Mock
+    private ContractChangeLog contractChangeLog;
+
+    private ContractImportServiceImpl importService;
+
+    private final AtomicInteger idSequence = new AtomicInteger();
+    /** 已提交事务写入的合同名称 */
+    private final List<String> committedNames = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new ContractImportServiceImpl(contractMapper, contractElementMapper,
+                new TransactionTemplate(transactionManager), contentBlobStore, contractChangeLog, new ObjectMapper().registerModule(new JavaTimeModule()), 3, 10);
+
+        lenient().when(contractMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<Contract> contracts = invocation.getArgument(0);
+            if (contracts.stream().anyMatch(contract -> contract.getContractName().startsWith("重复"))) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            contracts.forEach(contract -> contract.setContractId(idSequence.incrementAndGet()));
+            contracts.forEach(contract -> committedNames.add(contract.getContractName()));
+            return contracts.size();
+        });
+        lenient().when(contractElementMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<ContractElement> elements = invocation.getArgument(0);
+            return elements.size();
+        });
+    }
+
+    @Test
+    @DisplayName("合同应按块以多行插入写入，每块一个事务")
+    void shouldWriteContractsInChunks() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 7; i++) {
+            body.append("{\"contractName\":\"合同").append(i).append("\",\"elements\":[")
+                    .append("{\"elementType\":\"HEADER_1\",\"content\":\"标题\"},")
+                    .append("{\"elementType\":\"PARAGRAPH\",\"content\":\"正文\"}]}\n");
+        }
+
+        ContractImportResultDTO result = importContracts(body.toString());
+
+        assertThat(result.getLinesRead()).isEqualTo(7);
+        assertThat(result.getContractsImported()).isEqualTo(7);
+        assertThat(result.getElementsImported()).isEqualTo(14);
+        assertThat(result.getFailedLines()).isZero();
+        assertThat(result.getLastCommittedLine()).isEqualTo(7);
+        // 3 + 3 + 1
+        verify(contractMapper, times(3)).insertBatch(anyList());
+        verify(contractElementMapper, times(3)).insertBatch(anyList());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("元素应关联回填的合同ID，未提供顺序值时按位置以间隔编号")
+    void elementsShouldReferenceGeneratedContractIds() {
+        List<ContractElement> written = new ArrayList<>();
+        lenient().when(contractElementMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return written.size();
+        });
+
+        importContracts("""
+                {"contractName":"甲","elements":[{"elementType":"CLAUSE","content":"a"},{"elementType":"CLAUSE","content":"b"}]}
+                {"contractName":"乙","elements":[{"elementType":"PARAGRAPH","content":"c","orderIndex":5}]}
+                """);
+
+        assertThat(written).extracting(ContractElement::getContractId).containsExactly(1, 1, 2);
+        assertThat(written).extracting(ContractElement::getOrderIndex)
+                .containsExactly(GapOrderIndex.GAP, 2 * GapOrderIndex.GAP, 5);
+    }
+
+    @Test
+    @DisplayName("格式错误的行应按行号报告，不影响其他行")
+    void malformedLinesShouldBeReportedPerLine() {
+        ContractImportResultDTO result = importContracts("""
+                {"contractName":"合同1"}
+
+                {"contractName":
+                {"contractName":""}
+                {"contractName":"合同2","elements":[{"elementType":"UNKNOWN"}]}
+                {"contractName":"合同3","elements":[{"content":"无类型"}]}
+                {"contractName":"合同4"}
+                """);
+
+        assertThat(result.getLinesRead()).isEqualTo(7);
+        assertThat(result.getContractsImported()).isEqualTo(2);
+        assertThat(result.getFailedLines()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(ContractImportResultDTO.LineError::getLine).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(committedNames).containsExactly("合同1", "合同4");
+    }
+
+    @Test
+    @DisplayName("整块写入失败时应逐行重试，只报告出错的行")
+    void failedChunkShouldFallBackToPerLineWrites() {
+        ContractImportResultDTO result = importContracts("""
+                {"contractName":"合同1"}
+                {"contractName":"重复合同"}
+                {"contractName":"合同3"}
+                """);
+
+        assertThat(result.getContractsImported()).isEqualTo(2);
+        assertThat(result.getFailedLines()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2L);
+            assertThat(error.getMessage()).contains("Duplicate entry");
+        });
+        assertThat(committedNames).containsExactly("合同1", "合同3");
+        // 整块一次、出错的行一次
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    private ContractImportResultDTO importContracts(String body) {
+        return (ContractImportResultDTO) importService
+                .importContracts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+                .getBody().getData();
+    }
+}
@@ -0,0 +1,167 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.service.cache.RenderedContractCache;
+import com.ktriasia.contractmanager.service.render.HtmlContractRenderer;
+import com.ktriasia.contractmanager.service.render.TextContractRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ContractRenderServiceImpl 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("合同渲染服务测试")
+class ContractRenderServiceImplTest {
+
+    @Mock
+    private ContractMapper contractMapper;
+    @Mock
+    private ContractElementMapper contractElementMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private Cursor<ContractElement> cursor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContractRenderServiceImpl renderService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RenderedContractCache cache = new RenderedContractCache(meterRegistry, DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(64), Duration.ofMinutes(10));
+        renderService = new ContractRenderServiceImpl(contractMapper, contractElementMapper, cache,
+                List.of(new HtmlContractRenderer(), new TextContractRenderer()),
+                new TransactionTemplate(transactionManager), meterRegistry);
+
+        ContractElement element = new ContractElement();
+        element.setElementId(10);
+        element.setElementType(ElementType.PARAGRAPH);
+        element.setContent("双方应对合同内容保密");
+        lenient().when(contractElementMapper.streamByContractId(1)).thenReturn(cursor);
+        lenient().when(cursor.iterator()).thenAnswer(invocation -> List.of(element).iterator());
+    }
+
+    @Test
+    @DisplayName("同一内容版本的第二次请求应直接返回缓存，不再读取元素")
+    void shouldServeUnchangedContractFromCache() throws IOException {
+        when(contractMapper.selectVersion(1)).thenReturn(contract(5L));
+        when(contractMapper.selectById(1)).thenReturn(contract(5L));
+
+        ResponseEntity<StreamingResponseBody> first = renderService.renderContract(1, "text", null);
+        String rendered = body(first);
+        ResponseEntity<StreamingResponseBody> second = renderService.renderContract(1, "TEXT", null);
+
+        assertThat(rendered).isEqualTo("测试合同\n\n双方应对合同内容保密\n");
+        assertThat(body(second)).isEqualTo(rendered);
+        assertThat(first.getHeaders().getETag()).isEqualTo("\"1-5-render-text\"");
+        assertThat(second.getHeaders().getContentLength()).isEqualTo(rendered.getBytes(StandardCharsets.UTF_8).length);
+        verify(contractElementMapper, times(1)).streamByContractId(1);
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ContractRenderServiceImpl.METRIC_NAME).tag("format", "text").tag("cache", "miss")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ContractRenderServiceImpl.METRIC_NAME).tag("cache", "hit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("内容版本变化后应重新渲染")
+    void shouldRenderAgainAfterContentVersionChanges() throws IOException {
+        when(contractMapper.selectVersion(1)).thenReturn(contract(1L), contract(2L));
+        when(contractMapper.selectById(1)).thenReturn(contract(1L), contract(2L));
+
+        body(renderService.renderContract(1, "html", null));
+        ResponseEntity<StreamingResponseBody> response = renderService.renderContract(1, "html", null);
+
+        assertThat(body(response)).contains("data-content-version=\"2\"");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-2-render-html\"");
+        verify(contractElementMapper, times(2)).streamByContractId(1);
+    }
+
+    @Test
+    @DisplayName("渲染期间合同被修改时不应以旧版本缓存结果")
+    void shouldNotCacheWhenVersionChangedDuringRender() throws IOException {
+        when(contractMapper.selectVersion(1)).thenReturn(contract(1L));
+        when(contractMapper.selectById(1)).thenReturn(contract(2L));
+
+        body(renderService.renderContract(1, "html", null));
+        body(renderService.renderContract(1, "html", null));
+
+        verify(contractElementMapper, times(2)).streamByContractId(1);
+    }
+
+    @Test
+    @DisplayName("ETag未变化时应返回304且不渲染")
+    void shouldReturnNotModifiedForMatchingETag() {
+        when(contractMapper.selectVersion(1)).thenReturn(contract(5L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contracts/1/render");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-5-render-html\"");
+
+        ResponseEntity<StreamingResponseBody> response = renderService.renderContract(1, "html",
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        verify(contractMapper, never()).selectById(any());
+    }
+
+    @Test
+    @DisplayName("不支持的格式和不存在的合同应抛出业务异常")
+    void shouldRejectUnknownFormatAndMissingContract() {
+        assertThatThrownBy(() -> renderService.renderContract(1, "pdf", null)).isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> renderService.renderContract(2, "html", null)).isInstanceOf(ServiceException.class);
+    }
+
+    private static Contract contract(long contentVersion) {
+        Contract contract = new Contract();
+        contract.setContractId(1);
+        contract.setContractName("测试合同");
+        contract.setContentVersion(contentVersion);
+        return contract;
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
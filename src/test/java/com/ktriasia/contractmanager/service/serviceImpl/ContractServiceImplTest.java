@@ -0,0 +1,383 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.dto.ContractElementOperationDTO;
+import com.ktriasia.contractmanager.model.enums.ElementOperationType;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.mapper.ClauseMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractElementMapper;
+import com.ktriasia.contractmanager.model.mapper.ContractMapper;
+import com.ktriasia.contractmanager.model.mapper.TemplateElementConfigMapper;
+import com.ktriasia.contractmanager.model.pojo.Clause;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.pojo.TemplateElementConfig;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.content.ContentBlobStore;
+import com.ktriasia.contractmanager.service.converter.TemplateToContractConverter;
+import com.ktriasia.contractmanager.service.deletion.ChunkedContractDeleter;
+import com.ktriasia.contractmanager.service.history.ContractChangeLog;
+import com.ktriasia.contractmanager.service.job.InstantiationProgress;
+import com.ktriasia.contractmanager.service.job.TemplateJob;
+import com.ktriasia.contractmanager.service.ordering.OrderIndexRebalancer;
+import com.ktriasia.contractmanager.service.stream.ResultJsonStreamWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ContractServiceImpl 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("合同服务测试")
+class ContractServiceImplTest {
+
+    @Mock
+    private ContractMapper contractMapper;
+    @Mock
+    private ContractElementMapper contractElementMapper;
+    @Mock
+    private TemplateElementConfigMapper templateElementConfigMapper;
+    @Mock
+    private ClauseMapper clauseMapper;
+    @Mock
+    private OrderIndexRebalancer orderIndexRebalancer;
+    @Mock
+    private ChunkedContractDeleter chunkedContractDeleter;
+    @Mock
+    private ContentBlobStore contentBlobStore;
+    @Mock
+    private ContractChangeLog contractChangeLog;
+
+    private ContractServiceImpl contractService;
+
+    private final AtomicInteger elementIdSequence = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        CompiledTemplateCache compiledTemplateCache = new CompiledTemplateCache(templateElementConfigMapper,
+                new TemplateToContractConverter(clauseMapper), new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+        contractService = new ContractServiceImpl(contractMapper, contractElementMapper,
+                compiledTemplateCache, new TemplateToContractConverter(clauseMapper),
+                new ResultJsonStreamWriter(new ObjectMapper()), new TransactionTemplate(), orderIndexRebalancer, chunkedContractDeleter,
+                contentBlobStore, contractChangeLog);
+
+        lenient().when(contractMapper.insert(any(Contract.class))).thenAnswer(invocation -> {
+            invocation.<Contract>getArgument(0).setContractId(1);
+            return 1;
+        });
+        lenient().when(contractElementMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<ContractElement> batch = invocation.getArgument(0);
+            batch.forEach(element -> element.setElementId(elementIdSequence.incrementAndGet()));
+            return batch.size();
+        });
+        lenient().when(clauseMapper.selectByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream().map(this::createClause).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("从模板创建合同的SQL语句数不应随模板规模增长")
+    void statementCountShouldStayConstantAsTemplateGrows() {
+        int smallTemplateStatements = countStatementsForTemplateOfSize(1, 10);
+        int largeTemplateStatements = countStatementsForTemplateOfSize(2, 300);
+
+        // 查询模板配置、插入合同、批量查询条款、批量插入元素
+        assertThat(smallTemplateStatements).isEqualTo(4);
+        assertThat(largeTemplateStatements).isEqualTo(smallTemplateStatements);
+    }
+
+    @Test
+    @DisplayName("超过单批上限的元素应按批次写入")
+    void shouldSplitElementInsertIntoBatches() {
+        int size = ContractServiceImpl.ELEMENT_INSERT_BATCH_SIZE * 2 + 1;
+        lenient().when(templateElementConfigMapper.selectList(any())).thenReturn(createTemplate(size));
+
+        contractService.createContractFromTemplate(1, new Contract());
+
+        long batches = mockingDetails(contractElementMapper).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("insertBatch"))
+                .count();
+        assertThat(batches).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("从模板创建合同时应报告元素总数并在每批写入后报告进度")
+    void shouldReportProgressPerInsertBatch() {
+        int size = ContractServiceImpl.ELEMENT_INSERT_BATCH_SIZE * 2 + 1;
+        lenient().when(templateElementConfigMapper.selectList(any())).thenReturn(createTemplate(size));
+        TemplateJob job = new TemplateJob("job", 1, "合同");
+        List<Integer> progress = new ArrayList<>();
+
+        contractService.createContractFromTemplate(1, new Contract(), new InstantiationProgress() {
+            @Override
+            public void onStart(int totalElements) {
+                job.onStart(totalElements);
+            }
+
+            @Override
+            public void onElementsWritten(int count) {
+                job.onElementsWritten(count);
+                progress.add(job.getElementsWritten());
+            }
+        });
+
+        assertThat(job.getTotalElements()).isEqualTo(size);
+        assertThat(progress).containsExactly(500, 1000, size);
+    }
+
+    @Test
+    @DisplayName("返回的元素应带有回填的主键并保持模板顺序")
+    void shouldReturnElementsWithGeneratedKeysInTemplateOrder() {
+        lenient().when(templateElementConfigMapper.selectList(any())).thenReturn(createTemplate(6));
+
+        ResponseEntity<Result<Object>> response = contractService.createContractFromTemplate(1, new Contract());
+
+        @SuppressWarnings("unchecked")
+        List<ContractElementDTO> elements = (List<ContractElementDTO>) response.getBody().getData();
+        assertThat(elements).hasSize(6);
+        assertThat(elements).extracting(ContractElementDTO::getElementId).doesNotContainNull();
+        assertThat(elements).extracting(ContractElementDTO::getOrderIndex)
+                .containsExactly(1024, 2048, 3072, 4096, 5120, 6144);
+        assertThat(elements).extracting(ContractElementDTO::getContractId).containsOnly(1);
+    }
+
+    @Test
+    @DisplayName("模板命中缓存时只需写入合同和元素")
+    void cachedTemplateShouldOnlyIssueWrites() {
+        countStatementsForTemplateOfSize(1, 50);
+
+        int cachedStatements = countStatementsForTemplateOfSize(1, 50);
+
+        // 插入合同、批量插入元素
+        assertThat(cachedStatements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("批量操作应以固定数量的语句写回，移动元素只更新该元素")
+    void bulkOperationsShouldWriteWithBatchedStatements() {
+        lenient().when(contractMapper.selectByIdForUpdate(1)).thenReturn(new Contract());
+        lenient().when(contractElementMapper.selectList(any())).thenReturn(createElements(200));
+        lenient().when(contractElementMapper.updateById(anyCollection(), anyInt())).thenReturn(List.of());
+
+        List<ContractElementOperationDTO> operations = new ArrayList<>();
+        operations.add(operation(ElementOperationType.MOVE, 200, 0));
+        operations.add(operation(ElementOperationType.DELETE, 5, null));
+        operations.add(operation(ElementOperationType.DELETE, 6, null));
+        ContractElementOperationDTO update = operation(ElementOperationType.UPDATE, 10, null);
+        update.setContent("新内容");
+        operations.add(update);
+        for (int i = 0; i < 20; i++) {
+            ContractElementOperationDTO insert = operation(ElementOperationType.INSERT, null, null);
+            insert.setElementType(ElementType.PARAGRAPH.name());
+            operations.add(insert);
+        }
+
+        ResponseEntity<Result<Object>> response = contractService.applyElementOperations(1, operations);
+
+        // 锁定合同、递增内容版本；查询元素、删除、批量更新、批量插入
+        assertThat(mockingDetails(contractMapper).getInvocations()).hasSize(2);
+        assertThat(mockingDetails(contractElementMapper).getInvocations()).hasSize(4);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ContractElement>> updates = ArgumentCaptor.forClass(Collection.class);
+        verify(contractElementMapper).updateById(updates.capture(), anyInt());
+        assertThat(updates.getValue()).extracting(ContractElement::getElementId).containsExactlyInAnyOrder(200, 10);
+
+        @SuppressWarnings("unchecked")
+        List<ContractElementDTO> elements = (List<ContractElementDTO>) response.getBody().getData();
+        assertThat(elements).hasSize(218);
+        assertThat(elements.get(0).getElementId()).isEqualTo(200);
+        assertThat(elements).extracting(ContractElementDTO::getOrderIndex).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("读取合同元素应只执行一条聚合查询")
+    void elementReadShouldIssueSingleStatement() {
+        Contract aggregate = contractVersion(3L);
+        aggregate.setContractElements(createElements(5));
+        lenient().when(contractMapper.selectAggregate(1, false, false)).thenReturn(aggregate);
+
+        ResponseEntity<Result<Object>> response = contractService.getContractElements(1, false, null);
+
+        @SuppressWarnings("unchecked")
+        List<ContractElementDTO> elements = (List<ContractElementDTO>) response.getBody().getData();
+        assertThat(elements).extracting(ContractElementDTO::getElementId).containsExactly(1, 2, 3, 4, 5);
+        assertThat(mockingDetails(contractMapper).getInvocations()).hasSize(1);
+        assertThat(mockingDetails(contractElementMapper).getInvocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("合同不存在与合同为空应能区分")
+    void missingContractShouldDifferFromEmptyContract() {
+        Contract empty = contractVersion(0L);
+        empty.setContractElements(List.of());
+        lenient().when(contractMapper.selectAggregate(1, true, false)).thenReturn(empty);
+
+        ResponseEntity<Result<Object>> response = contractService.getContractClauseElements(1, false, null);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat((List<?>) response.getBody().getData()).isEmpty();
+        assertThatThrownBy(() -> contractService.getContractClauseElements(2, false, null))
+                .isInstanceOf(ServiceException.class)
+                .extracting("responseCode").isEqualTo(ResponseCode.CONTRACT_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("元素列表应带有由内容版本构成的ETag与Last-Modified")
+    void elementsShouldCarryValidators() {
+        lenient().when(contractMapper.selectAggregate(1, false, false)).thenReturn(aggregate(3L));
+
+        ResponseEntity<Result<Object>> response = contractService.getContractElements(1, false, conditionalRequest(null));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-3-elements\"");
+        assertThat(response.getHeaders().getLastModified()).isPositive();
+    }
+
+    @Test
+    @DisplayName("ETag匹配时应返回304且不查询元素")
+    void matchingETagShouldReturnNotModifiedWithoutElementQuery() {
+        lenient().when(contractMapper.selectVersion(1)).thenReturn(contractVersion(3L));
+
+        ResponseEntity<Result<Object>> response = contractService.getContractElements(1, false, conditionalRequest("\"1-3-elements\""));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(304);
+        assertThat(response.getBody()).isNull();
+        verify(contractMapper).selectVersion(1);
+        assertThat(mockingDetails(contractMapper).getInvocations()).hasSize(1);
+        assertThat(mockingDetails(contractElementMapper).getInvocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("内容版本变化后旧ETag应失效")
+    void staleETagShouldReturnFullResponse() {
+        lenient().when(contractMapper.selectVersion(1)).thenReturn(contractVersion(4L));
+        lenient().when(contractMapper.selectAggregate(1, true, false)).thenReturn(aggregate(4L));
+
+        ResponseEntity<Result<Object>> response = contractService.getContractClauseElements(1, false, conditionalRequest("\"1-3-clause-elements\""));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-4-clause-elements\"");
+        verify(contractMapper).selectAggregate(1, true, false);
+    }
+
+    private Contract aggregate(Long contentVersion) {
+        Contract contract = contractVersion(contentVersion);
+        contract.setContractElements(createElements(2));
+        return contract;
+    }
+
+    private Contract contractVersion(Long contentVersion) {
+        Contract contract = new Contract();
+        contract.setContractId(1);
+        contract.setContentVersion(contentVersion);
+        contract.setUpdatedAt(LocalDateTime.of(2026, 10, 1, 12, 0));
+        return contract;
+    }
+
+    private ServletWebRequest conditionalRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contracts/1/elements");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private ContractElementOperationDTO operation(ElementOperationType type, Integer elementId, Integer afterElementId) {
+        ContractElementOperationDTO operation = new ContractElementOperationDTO();
+        operation.setOp(type);
+        operation.setElementId(elementId);
+        operation.setAfterElementId(afterElementId);
+        return operation;
+    }
+
+    private List<ContractElement> createElements(int size) {
+        List<ContractElement> elements = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            ContractElement element = new ContractElement();
+            element.setElementId(i);
+            element.setContractId(1);
+            element.setElementType(ElementType.PARAGRAPH);
+            element.setOrderIndex(i * 1024);
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    private int countStatementsForTemplateOfSize(int templateId, int size) {
+        lenient().when(templateElementConfigMapper.selectList(any())).thenReturn(createTemplate(size));
+        clearInvocations(contractMapper, contractElementMapper, templateElementConfigMapper, clauseMapper);
+
+        contractService.createContractFromTemplate(templateId, new Contract());
+
+        return Stream.of(contractMapper, contractElementMapper, templateElementConfigMapper, clauseMapper)
+                .mapToInt(mapper -> mockingDetails(mapper).getInvocations().size())
+                .sum();
+    }
+
+    private List<TemplateElementConfig> createTemplate(int size) {
+        List<TemplateElementConfig> configs = new ArrayList<>();
+        for (int i = size; i >= 1; i--) {
+            TemplateElementConfig config = new TemplateElementConfig();
+            config.setConfigId(i);
+            config.setTemplateId(1);
+            config.setOrderIndex(i);
+            if (i % 2 == 0) {
+                config.setElementType("CLAUSE");
+                config.setContentSource("CLAUSE_LIBRARY");
+                config.setSourceClauseId(i);
+            } else {
+                config.setElementType("PARAGRAPH");
+                config.setContentSource("STATIC");
+                config.setStaticContent("段落 " + i);
+            }
+            configs.add(config);
+        }
+        return configs;
+    }
+
+    private Clause createClause(Integer clauseId) {
+        Clause clause = new Clause();
+        clause.setClauseId(clauseId);
+        clause.setContent("条款内容 " + clauseId);
+        return clause;
+    }
+}
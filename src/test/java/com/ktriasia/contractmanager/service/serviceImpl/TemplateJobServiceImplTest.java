@@ -0,0 +1,224 @@
+package com.ktriasia.contractmanager.service.serviceImpl;
+
+import com.ktriasia.contractmanager.config.ThreadingConfig;
+import com.ktriasia.contractmanager.config.ThreadingMode;
+import com.ktriasia.contractmanager.exception.ServiceException;
+import com.ktriasia.contractmanager.model.dto.TemplateJobDTO;
+import com.ktriasia.contractmanager.model.enums.TemplateJobStatus;
+import com.ktriasia.contractmanager.model.pojo.Contract;
+import com.ktriasia.contractmanager.model.result.ResponseCode;
+import com.ktriasia.contractmanager.model.result.Result;
+import com.ktriasia.contractmanager.service.ContractService;
+import com.ktriasia.contractmanager.service.cache.CompiledTemplateCache;
+import com.ktriasia.contractmanager.service.converter.CompiledTemplate;
+import com.ktriasia.contractmanager.service.job.InstantiationProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * TemplateJobServiceImpl 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("模板异步创建任务测试")
+class TemplateJobServiceImplTest {
+
+    @Mock
+    private ContractService contractService;
+    @Mock
+    private CompiledTemplateCache compiledTemplateCache;
+
+    private ThreadPoolExecutor executor;
+    private TemplateJobServiceImpl templateJobService;
+
+    /** 阻塞执行中的任务，直到测试放行 */
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadingConfig().templateJobExecutor(new ThreadingMode(false), new SimpleMeterRegistry(), 1, 1);
+        templateJobService = new TemplateJobServiceImpl(contractService, compiledTemplateCache, executor, Duration.ofMinutes(5));
+        lenient().when(compiledTemplateCache.get(anyInt())).thenReturn(mock(CompiledTemplate.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("提交任务应返回202和任务地址，轮询可看到写入进度和创建的合同")
+    void shouldRunJobAndExposeProgress() throws Exception {
+        doAnswer(invocation -> {
+            Contract contract = invocation.getArgument(1);
+            InstantiationProgress progress = invocation.getArgument(2);
+            progress.onStart(1200);
+            progress.onElementsWritten(500);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            progress.onElementsWritten(700);
+            contract.setContractId(42);
+            return null;
+        }).when(contractService).createContractFromTemplate(anyInt(), any(Contract.class), any(InstantiationProgress.class));
+
+        ResponseEntity<Result<Object>> submitted = templateJobService.submitCreateContractFromTemplate(7, contract(), null);
+
+        assertThat(submitted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        String jobId = job(submitted).getJobId();
+        assertThat(submitted.getHeaders().getLocation()).hasToString(TemplateJobServiceImpl.JOB_LOCATION_PREFIX + jobId);
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        TemplateJobDTO running = job(templateJobService.getTemplateJob(jobId));
+        assertThat(running.getStatus()).isEqualTo(TemplateJobStatus.RUNNING);
+        assertThat(running.getElementsWritten()).isEqualTo(500);
+        assertThat(running.getTotalElements()).isEqualTo(1200);
+
+        release.countDown();
+        TemplateJobDTO finished = awaitFinished(jobId);
+        assertThat(finished.getStatus()).isEqualTo(TemplateJobStatus.SUCCEEDED);
+        assertThat(finished.getElementsWritten()).isEqualTo(1200);
+        assertThat(finished.getContractId()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("以同一幂等键重复提交应返回同一个任务，只创建一份合同")
+    void duplicateIdempotencyKeyShouldReturnSameJob() throws Exception {
+        String first = job(templateJobService.submitCreateContractFromTemplate(7, contract(), "retry-1")).getJobId();
+        awaitFinished(first);
+
+        String second = job(templateJobService.submitCreateContractFromTemplate(7, contract(), "retry-1")).getJobId();
+
+        assertThat(second).isEqualTo(first);
+        verify(contractService, times(1))
+                .createContractFromTemplate(anyInt(), any(Contract.class), any(InstantiationProgress.class));
+    }
+
+    @Test
+    @DisplayName("失败的任务应记录错误并释放幂等键")
+    void failedJobShouldReleaseIdempotencyKey() throws Exception {
+        doAnswer(invocation -> {
+            throw new ServiceException(ResponseCode.CONTRACT_CREATE_ERROR, "写入失败");
+        }).doReturn(null)
+                .when(contractService).createContractFromTemplate(anyInt(), any(Contract.class), any(InstantiationProgress.class));
+
+        String first = job(templateJobService.submitCreateContractFromTemplate(7, contract(), "retry-2")).getJobId();
+        TemplateJobDTO failed = awaitFinished(first);
+        assertThat(failed.getStatus()).isEqualTo(TemplateJobStatus.FAILED);
+        assertThat(failed.getErrorCode()).isEqualTo(ResponseCode.CONTRACT_CREATE_ERROR.name());
+
+        String second = job(templateJobService.submitCreateContractFromTemplate(7, contract(), "retry-2")).getJobId();
+        assertThat(second).isNotEqualTo(first);
+        assertThat(awaitFinished(second).getStatus()).isEqualTo(TemplateJobStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("提交返回前就已失败的任务也应释放幂等键")
+    void immediatelyFailedJobShouldReleaseIdempotencyKey() {
+        doAnswer(invocation -> {
+            throw new ServiceException(ResponseCode.CONTRACT_CREATE_ERROR, "写入失败");
+        }).doReturn(null)
+                .when(contractService).createContractFromTemplate(anyInt(), any(Contract.class), any(InstantiationProgress.class));
+        // 在提交线程上直接执行，任务在 submit 返回前就已结束
+        ThreadPoolExecutor callerRuns = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1)) {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        TemplateJobServiceImpl service = new TemplateJobServiceImpl(contractService, compiledTemplateCache, callerRuns,
+                Duration.ofMinutes(5));
+
+        TemplateJobDTO failed = job(service.submitCreateContractFromTemplate(7, contract(), "retry-4"));
+        assertThat(job(service.getTemplateJob(failed.getJobId())).getStatus()).isEqualTo(TemplateJobStatus.FAILED);
+
+        TemplateJobDTO retried = job(service.submitCreateContractFromTemplate(7, contract(), "retry-4"));
+        assertThat(retried.getJobId()).isNotEqualTo(failed.getJobId());
+        assertThat(job(service.getTemplateJob(retried.getJobId())).getStatus()).isEqualTo(TemplateJobStatus.SUCCEEDED);
+        // 成功后幂等键指向已结束的任务
+        assertThat(job(service.submitCreateContractFromTemplate(7, contract(), "retry-4")).getJobId())
+                .isEqualTo(retried.getJobId());
+        callerRuns.shutdown();
+    }
+
+    @Test
+    @DisplayName("执行线程和队列都已占满时应拒绝提交")
+    void fullQueueShouldRejectSubmission() throws Exception {
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(contractService).createContractFromTemplate(anyInt(), any(Contract.class), any(InstantiationProgress.class));
+
+        templateJobService.submitCreateContractFromTemplate(7, contract(), null);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        templateJobService.submitCreateContractFromTemplate(7, contract(), null);
+
+        assertThatThrownBy(() -> templateJobService.submitCreateContractFromTemplate(7, contract(), "retry-3"))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.CONTRACT_TEMPLATE_JOB_REJECTED);
+    }
+
+    @Test
+    @DisplayName("模板不存在时应直接返回错误而不创建任务")
+    void missingTemplateShouldFailBeforeSubmission() {
+        lenient().when(compiledTemplateCache.get(9)).thenReturn(null);
+
+        assertThatThrownBy(() -> templateJobService.submitCreateContractFromTemplate(9, contract(), null))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.CONTRACT_TEMPLATE_NOT_FOUND);
+        assertThatThrownBy(() -> templateJobService.getTemplateJob("unknown"))
+                .isInstanceOf(ServiceException.class)
+                .extracting(e -> ((ServiceException) e).getResponseCode())
+                .isEqualTo(ResponseCode.CONTRACT_TEMPLATE_JOB_NOT_FOUND);
+    }
+
+    private TemplateJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        TemplateJobDTO job = job(templateJobService.getTemplateJob(jobId));
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = job(templateJobService.getTemplateJob(jobId));
+        }
+        return job;
+    }
+
+    private static TemplateJobDTO job(ResponseEntity<Result<Object>> response) {
+        return (TemplateJobDTO) response.getBody().getData();
+    }
+
+    private static Contract contract() {
+        Contract contract = new Contract();
+        contract.setContractName("采购合同");
+        return contract;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ktriasia.contractmanager.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktriasia.contractmanager.model.attributes.ElementAttributes;
+import com.ktriasia.contractmanager.model.dto.ContractElementDTO;
+import com.ktriasia.contractmanager.model.enums.ElementType;
+import com.ktriasia.contractmanager.model.pojo.ContractElement;
+import com.ktriasia.contractmanager.model.result.Result;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ResultJsonStreamWriter 单元测试
+ *
+ * @author Ktriasia
+ * @since 2026-10-18
+ */
+@DisplayName("流式JSON输出测试")
+class ResultJsonStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResultJsonStreamWriter writer = new ResultJsonStreamWriter(objectMapper);
+
+    @Test
+    @DisplayName("流式输出应与一次性序列化的Result结果一致")
+    void shouldMatchBufferedSerialization() throws Exception {
+        List<ContractElement> elements = List.of(
+                createElement(1, ElementType.HEADER_1, "第一章 总则", null),
+                createElement(2, ElementType.TABLE, null, "{\"rows\": 2, \"cols\": 2}"),
+                createElement(3, ElementType.CLAUSE, "双方应对合同内容保密...", null));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long written = writer.writeSuccessArray(outputStream, elements, ContractElementDTO::fromEntity);
+
+        List<ContractElementDTO> dtos = elements.stream().map(ContractElementDTO::fromEntity).collect(Collectors.toList());
+        assertThat(written).isEqualTo(3);
+        assertThat(objectMapper.readTree(outputStream.toString(StandardCharsets.UTF_8)))
+                .isEqualTo(objectMapper.valueToTree(Result.success(dtos)));
+    }
+
+    @Test
+    @DisplayName("无数据时应输出空数组")
+    void shouldWriteEmptyArray() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        writer.writeSuccessArray(outputStream, List.<ContractElement>of(), ContractElementDTO::fromEntity);
+
+        assertThat(objectMapper.readTree(outputStream.toString(StandardCharsets.UTF_8)))
+                .isEqualTo(objectMapper.valueToTree(Result.success(List.of())));
+    }
+
+    private ContractElement createElement(Integer id, ElementType type, String content, String attributes) {
+        ContractElement element = new ContractElement();
+        element.setElementId(id);
+        element.setContractId(1);
+        element.setElementType(type);
+        element.setContent(content);
+        element.setAttributes(ElementAttributes.of(attributes));
+        element.setOrderIndex(id);
+        return element;
+    }
+}